@@ -0,0 +1,61 @@
+#!/bin/sh
+#
+# 在JVM上编译XCL-Charts的图表库与jvm/下的导出工具。
+# 编译时需要android.jar,只用于通过编译,不打进jar,运行时也不在类路径上:
+# 只在Android上用的类(AndroidChartCanvas,AndroidPaint,分层缓存等)在JVM上不会被执行。
+# 用ANDROID_JAR指定android.jar,没指定时取$ANDROID_HOME/platforms下最新的一个。
+#
+#   jvm/build.sh           编译到jvm/build/classes,并打包jvm/build/xclcharts-jvm.jar
+#   jvm/build.sh test      编译后在无显示器模式下运行冒烟测试
+#   jvm/build.sh export [ChartExportTool的参数]
+#                          编译后运行批量导出工具,如 jvm/build.sh export -n 300 -t 4
+#
+set -e
+
+JVM_DIR=$(cd "$(dirname "$0")" && pwd)
+ROOT_DIR=$(dirname "$JVM_DIR")
+BUILD_DIR="$JVM_DIR/build"
+CLASSES="$BUILD_DIR/classes"
+TEST_CLASSES="$BUILD_DIR/test-classes"
+JAR="$BUILD_DIR/xclcharts-jvm.jar"
+
+JAVAC=${JAVAC:-javac}
+JAVA=${JAVA:-java}
+JAR_TOOL=${JAR_TOOL:-jar}
+
+if [ -z "$ANDROID_JAR" ] && [ -n "$ANDROID_HOME" ]; then
+	ANDROID_JAR=$(ls -d "$ANDROID_HOME"/platforms/android-*/android.jar 2>/dev/null | sort -V | tail -n 1)
+fi
+if [ -z "$ANDROID_JAR" ] || [ ! -e "$ANDROID_JAR" ]; then
+	echo "android.jar not found: set ANDROID_JAR or ANDROID_HOME" >&2
+	exit 1
+fi
+
+compile() {
+	rm -rf "$CLASSES" "$TEST_CLASSES"
+	mkdir -p "$CLASSES" "$TEST_CLASSES"
+	find "$ROOT_DIR/src/org" "$JVM_DIR/src" -name '*.java' > "$BUILD_DIR/sources.txt"
+	"$JAVAC" -nowarn -encoding UTF-8 -cp "$ANDROID_JAR" -d "$CLASSES" @"$BUILD_DIR/sources.txt"
+	"$JAR_TOOL" cf "$JAR" -C "$CLASSES" .
+}
+
+mkdir -p "$BUILD_DIR"
+compile
+
+case "$1" in
+	"")
+		;;
+	test)
+		find "$JVM_DIR/test" -name '*.java' > "$BUILD_DIR/test-sources.txt"
+		"$JAVAC" -nowarn -encoding UTF-8 -cp "$JAR:$ANDROID_JAR" -d "$TEST_CLASSES" @"$BUILD_DIR/test-sources.txt"
+		"$JAVA" -Djava.awt.headless=true -cp "$JAR:$TEST_CLASSES" org.xclcharts.export.HeadlessSmokeTest
+		;;
+	export)
+		shift
+		"$JAVA" -Djava.awt.headless=true -cp "$JAR" org.xclcharts.export.ChartExportTool "$@"
+		;;
+	*)
+		echo "usage: $0 [test | export [ChartExportTool options]]" >&2
+		exit 2
+		;;
+esac
@@ -0,0 +1,324 @@
+/**
+ * Copyright 2014  XCL-Charts
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 	
+ * @Project XCL-Charts 
+ * @Description Android图表基类库
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ * @license http://www.apache.org/licenses/  Apache v2 License
+ * @version v0.1
+ */
+package org.xclcharts.export;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.Deflater;
+
+import org.xclcharts.renderer.XChart;
+import org.xclcharts.renderer.canvas.Java2DChartCanvas;
+import org.xclcharts.renderer.canvas.SvgChartCanvas;
+
+/**
+ * @ClassName ChartBatchExporter
+ * @Description  在指定的Executor上并行导出一批图表为PNG或SVG文件。
+ * 				  每个导出线程有自己的绘制上下文:按大小重复使用的位图与画布,
+ * 				  PNG编码器与编码缓冲区,一个线程上的图表之间不再重新分配。
+ * 				  PNG由PngEncoder编码,比ImageIO快得多。
+ * 				  背景不透明时位图不带透明通道,编码更快,文件也更小。
+ * 				  只在jvm/src下,运行时的要求同Java2DChartCanvas
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ *  * MODIFIED    YYYY-MM-DD   REASON
+ */
+
+public class ChartBatchExporter {
+
+	public static final String FORMAT_PNG = "png";
+	public static final String FORMAT_SVG = "svg";
+
+	//每个线程最多留住的位图个数
+	private static final int MAX_SURFACES = 4;
+
+	private final Executor mExecutor;
+	private final File mOutputDir;
+
+	private String mFormat = FORMAT_PNG;
+	//背景色,为0时背景透明
+	private int mBackgroundColor = 0xFFFFFFFF;
+	private int mCompressionLevel = Deflater.BEST_SPEED;
+
+	//各导出线程的绘制上下文
+	private final ThreadLocal<RenderContext> mContext = new ThreadLocal<RenderContext>() {
+		@Override
+		protected RenderContext initialValue() {
+			return new RenderContext();
+		}
+	};
+
+	/**
+	 * 构建导出器
+	 * @param executor	执行导出的Executor,并行度由它决定
+	 * @param outputDir	输出目录
+	 */
+	public ChartBatchExporter(Executor executor,File outputDir)
+	{
+		if(null == executor) throw new IllegalArgumentException("executor is null");
+		if(null == outputDir) throw new IllegalArgumentException("outputDir is null");
+		mExecutor = executor;
+		mOutputDir = outputDir;
+	}
+
+	/**
+	 * 设置输出格式
+	 * @param format FORMAT_PNG或FORMAT_SVG
+	 */
+	public void setFormat(String format)
+	{
+		if(!FORMAT_PNG.equals(format) && !FORMAT_SVG.equals(format))
+		{
+			throw new IllegalArgumentException("unsupported format: " + format);
+		}
+		mFormat = format;
+	}
+
+	/**
+	 * 返回输出格式
+	 * @return 格式
+	 */
+	public String getFormat()
+	{
+		return mFormat;
+	}
+
+	/**
+	 * 设置PNG的背景色,默认为白色,为0时背景透明
+	 * @param color ARGB颜色
+	 */
+	public void setBackgroundColor(int color)
+	{
+		mBackgroundColor = color;
+	}
+
+	/**
+	 * 返回PNG的背景色
+	 * @return ARGB颜色
+	 */
+	public int getBackgroundColor()
+	{
+		return mBackgroundColor;
+	}
+
+	/**
+	 * 设置PNG的压缩级别,默认为最快的1
+	 * @param level 压缩级别,0到9
+	 */
+	public void setCompressionLevel(int level)
+	{
+		if(level < 0 || level > 9) throw new IllegalArgumentException("level: " + level);
+		mCompressionLevel = level;
+	}
+
+	/**
+	 * 返回PNG的压缩级别
+	 * @return 压缩级别
+	 */
+	public int getCompressionLevel()
+	{
+		return mCompressionLevel;
+	}
+
+	/**
+	 * 导出一批图表,等到全部导出完才返回。
+	 * 单张图表失败不影响其它图表,失败记在结果中,
+	 * 包括类初始化失败等Error与Executor拒绝执行的任务
+	 * @param specs 图表
+	 * @return 结果
+	 * @throws IOException 输出目录不可用
+	 * @throws InterruptedException 等待时被中断
+	 */
+	public ChartExportResult export(List<? extends IChartSpec> specs)
+			throws IOException, InterruptedException
+	{
+		if(!mOutputDir.isDirectory() && !mOutputDir.mkdirs())
+		{
+			throw new IOException("cannot create " + mOutputDir);
+		}
+
+		final ChartExportResult result = new ChartExportResult();
+		final CountDownLatch done = new CountDownLatch(specs.size());
+		final String format = mFormat;
+		final int background = mBackgroundColor;
+		final int level = mCompressionLevel;
+
+		long start = System.nanoTime();
+		for(final IChartSpec spec : specs)
+		{
+			try {
+				mExecutor.execute(new Runnable() {
+					@Override
+					public void run() {
+						try {
+							exportChart(spec, format, background, level);
+							result.addExported();
+						} catch (Throwable e) {
+							result.addFailed(spec.getName(), e);
+						} finally {
+							done.countDown();
+						}
+					}
+				});
+			} catch (RejectedExecutionException e) {
+				//不计数的话下面会一直等
+				result.addFailed(spec.getName(), e);
+				done.countDown();
+			}
+		}
+		done.await();
+		result.setElapsedNanos(System.nanoTime() - start);
+		return result;
+	}
+
+	/**
+	 * 在当前线程上导出一张图表
+	 */
+	private void exportChart(IChartSpec spec,String format,int background,int level) throws Exception
+	{
+		int width = spec.getWidth();
+		int height = spec.getHeight();
+		if(width <= 0 || height <= 0) throw new IllegalArgumentException("width or height <= 0");
+
+		XChart chart = spec.createChart();
+		chart.setChartRange(0.0f, 0.0f, width, height);
+
+		File file = new File(mOutputDir, spec.getName() + "." + format);
+		if(FORMAT_SVG.equals(format))
+		{
+			OutputStream out = new BufferedOutputStream(new FileOutputStream(file));
+			try {
+				SvgChartCanvas canvas = new SvgChartCanvas(out, width, height);
+				chart.render(canvas);
+				canvas.finish();
+			} finally {
+				out.close();
+			}
+			return;
+		}
+
+		RenderContext context = mContext.get();
+		Surface surface = context.getSurface(width, height, (background >>> 24) == 0xFF);
+		surface.clear(background);
+		try {
+			chart.render(surface.canvas);
+		} catch (Throwable e) {
+			//出错时画布的save()可能没有恢复,不再使用这个位图
+			context.discard(surface);
+			throw e;
+		}
+		context.writePng(surface.image, file, level);
+	}
+
+	/**
+	 * 一个位图与在其上绘制的画布
+	 */
+	private static class Surface {
+		final BufferedImage image;
+		final Java2DChartCanvas canvas;
+		final int[] pixels;
+
+		Surface(int width,int height,boolean opaque)
+		{
+			image = new BufferedImage(width, height,
+						opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+			canvas = new Java2DChartCanvas(image);
+			pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+		}
+
+		boolean matches(int width,int height,boolean opaque)
+		{
+			return image.getWidth() == width && image.getHeight() == height
+					&& opaque == (BufferedImage.TYPE_INT_RGB == image.getType());
+		}
+
+		/**
+		 * 直接填充像素,不改动画布缓存的绘图状态
+		 */
+		void clear(int color)
+		{
+			Arrays.fill(pixels, color);
+		}
+	}
+
+	/**
+	 * 一个导出线程的绘制上下文,只在所属线程上使用
+	 */
+	private static class RenderContext {
+		//越靠后越是最近用过的
+		private final List<Surface> mSurfaces = new ArrayList<Surface>();
+		private final PngEncoder mPngEncoder = new PngEncoder();
+		//PNG先编码到这里再一次写出,缓冲区在各图表间重复使用
+		private final ByteArrayOutputStream mPngBytes = new ByteArrayOutputStream(64 * 1024);
+
+		Surface getSurface(int width,int height,boolean opaque)
+		{
+			for(int i = mSurfaces.size() - 1; i >= 0; i--)
+			{
+				Surface surface = mSurfaces.get(i);
+				if(surface.matches(width, height, opaque))
+				{
+					if(i != mSurfaces.size() - 1)
+					{
+						mSurfaces.remove(i);
+						mSurfaces.add(surface);
+					}
+					return surface;
+				}
+			}
+			if(mSurfaces.size() >= MAX_SURFACES) mSurfaces.remove(0).canvas.dispose();
+			Surface surface = new Surface(width, height, opaque);
+			mSurfaces.add(surface);
+			return surface;
+		}
+
+		void discard(Surface surface)
+		{
+			if(mSurfaces.remove(surface)) surface.canvas.dispose();
+		}
+
+		void writePng(BufferedImage image,File file,int level) throws IOException
+		{
+			mPngEncoder.setCompressionLevel(level);
+			mPngBytes.reset();
+			mPngEncoder.encode(image, mPngBytes);
+
+			OutputStream out = new FileOutputStream(file);
+			try {
+				mPngBytes.writeTo(out);
+			} finally {
+				out.close();
+			}
+		}
+	}
+
+}
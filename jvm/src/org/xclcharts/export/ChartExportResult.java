@@ -0,0 +1,122 @@
+/**
+ * Copyright 2014  XCL-Charts
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 	
+ * @Project XCL-Charts 
+ * @Description Android图表基类库
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ * @license http://www.apache.org/licenses/  Apache v2 License
+ * @version v0.1
+ */
+package org.xclcharts.export;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @ClassName ChartExportResult
+ * @Description  一次批量导出的结果:导出与失败的张数,耗时与每秒导出的张数。
+ * 				  失败的图表只保留前MAX_ERRORS个例外
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ *  * MODIFIED    YYYY-MM-DD   REASON
+ */
+
+public class ChartExportResult {
+
+	//最多保留的例外个数
+	public static final int MAX_ERRORS = 16;
+
+	private int mExportedCount = 0;
+	private int mFailedCount = 0;
+	private long mElapsedNanos = 0L;
+	private final List<String> mFailedNames = new ArrayList<String>();
+	private final List<Throwable> mErrors = new ArrayList<Throwable>();
+
+	synchronized void addExported()
+	{
+		mExportedCount++;
+	}
+
+	synchronized void addFailed(String name,Throwable e)
+	{
+		mFailedCount++;
+		if(mErrors.size() < MAX_ERRORS)
+		{
+			mFailedNames.add(name);
+			mErrors.add(e);
+		}
+	}
+
+	synchronized void setElapsedNanos(long nanos)
+	{
+		mElapsedNanos = nanos;
+	}
+
+	/**
+	 * 返回成功导出的张数
+	 * @return 张数
+	 */
+	public synchronized int getExportedCount()
+	{
+		return mExportedCount;
+	}
+
+	/**
+	 * 返回导出失败的张数
+	 * @return 张数
+	 */
+	public synchronized int getFailedCount()
+	{
+		return mFailedCount;
+	}
+
+	/**
+	 * 返回整批的耗时
+	 * @return 纳秒
+	 */
+	public synchronized long getElapsedNanos()
+	{
+		return mElapsedNanos;
+	}
+
+	/**
+	 * 返回每秒成功导出的张数
+	 * @return 张数
+	 */
+	public synchronized double getChartsPerSecond()
+	{
+		if(mElapsedNanos <= 0) return 0d;
+		return mExportedCount * 1e9d / mElapsedNanos;
+	}
+
+	/**
+	 * 返回失败的图表名,与getErrors()一一对应
+	 * @return 图表名
+	 */
+	public synchronized List<String> getFailedNames()
+	{
+		return Collections.unmodifiableList(new ArrayList<String>(mFailedNames));
+	}
+
+	/**
+	 * 返回失败时的例外或错误
+	 * @return 例外
+	 */
+	public synchronized List<Throwable> getErrors()
+	{
+		return Collections.unmodifiableList(new ArrayList<Throwable>(mErrors));
+	}
+
+}
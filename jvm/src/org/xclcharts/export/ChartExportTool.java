@@ -0,0 +1,244 @@
+/**
+ * Copyright 2014  XCL-Charts
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 	
+ * @Project XCL-Charts 
+ * @Description Android图表基类库
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ * @license http://www.apache.org/licenses/  Apache v2 License
+ * @version v0.1
+ */
+package org.xclcharts.export;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.xclcharts.chart.BarChart;
+import org.xclcharts.chart.BarData;
+import org.xclcharts.chart.LineChart;
+import org.xclcharts.chart.LineData;
+import org.xclcharts.chart.PieChart;
+import org.xclcharts.chart.PieData;
+import org.xclcharts.renderer.XChart;
+import org.xclcharts.renderer.XEnum;
+
+/**
+ * @ClassName ChartExportTool
+ * @Description  批量导出的命令行工具,在没有显示器的Linux JVM上导出一批示例的
+ * 				  柱形图,饼图与折线图,并输出每秒导出的张数,有图表失败时退出码为1。
+ * 				  用法: jvm/build.sh export
+ * 				  [-n 张数] [-t 线程数] [-o 输出目录] [-f png|svg] [-w 宽度] [-h 高度] [-p 折线点数]
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ *  * MODIFIED    YYYY-MM-DD   REASON
+ */
+
+public class ChartExportTool {
+
+	private static final int[] COLORS = new int[]{
+		0xFF9BBB5A, 0xFFBF4F4B, 0xFFF2A745, 0xFF3CADD5, 0xFF8064A2 };
+
+	public static void main(String[] args) throws Exception
+	{
+		System.setProperty("java.awt.headless", "true");
+
+		int count = 1000;
+		int threads = Runtime.getRuntime().availableProcessors();
+		File outputDir = new File("chart-export");
+		String format = ChartBatchExporter.FORMAT_PNG;
+		int width = 800;
+		int height = 600;
+		int points = 200;
+
+		for(int i = 0; i < args.length; i++)
+		{
+			String arg = args[i];
+			if(i + 1 >= args.length) usage("missing value for " + arg);
+			String value = args[++i];
+			if("-n".equals(arg)) {
+				count = Integer.parseInt(value);
+			}else if("-t".equals(arg)){
+				threads = Integer.parseInt(value);
+			}else if("-o".equals(arg)){
+				outputDir = new File(value);
+			}else if("-f".equals(arg)){
+				format = value;
+			}else if("-w".equals(arg)){
+				width = Integer.parseInt(value);
+			}else if("-h".equals(arg)){
+				height = Integer.parseInt(value);
+			}else if("-p".equals(arg)){
+				points = Integer.parseInt(value);
+			}else{
+				usage("unknown option " + arg);
+			}
+		}
+		if(count <= 0 || threads <= 0 || width <= 0 || height <= 0 || points < 2)
+		{
+			usage("counts and sizes must be positive");
+		}
+
+		List<IChartSpec> specs = new ArrayList<IChartSpec>(count);
+		for(int i = 0; i < count; i++) specs.add(new SampleSpec(i, width, height, points));
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			ChartBatchExporter exporter = new ChartBatchExporter(executor, outputDir);
+			exporter.setFormat(format);
+			ChartExportResult result = exporter.export(specs);
+
+			System.out.println(String.format("exported %d charts (%d failed) to %s in %.1f ms with %d threads: %.1f charts/sec",
+					result.getExportedCount(), result.getFailedCount(), outputDir.getPath(),
+					result.getElapsedNanos() / 1e6d, threads, result.getChartsPerSecond()));
+			List<String> names = result.getFailedNames();
+			List<Throwable> errors = result.getErrors();
+			for(int i = 0; i < errors.size(); i++)
+			{
+				System.err.print(names.get(i) + ": ");
+				errors.get(i).printStackTrace();
+			}
+			if(result.getFailedCount() > 0) System.exit(1);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private static void usage(String message)
+	{
+		System.err.println(message);
+		System.err.println("usage: ChartExportTool [-n count] [-t threads] [-o dir] [-f png|svg]"
+							+ " [-w width] [-h height] [-p linePoints]");
+		System.exit(2);
+	}
+
+	/**
+	 * 按序号轮流生成柱形图,饼图与折线图,数据由序号决定
+	 */
+	private static class SampleSpec implements IChartSpec {
+		private final int mIndex;
+		private final int mWidth;
+		private final int mHeight;
+		private final int mPoints;
+
+		SampleSpec(int index,int width,int height,int points)
+		{
+			mIndex = index;
+			mWidth = width;
+			mHeight = height;
+			mPoints = points;
+		}
+
+		@Override
+		public String getName() {
+			return "chart-" + mIndex;
+		}
+
+		@Override
+		public int getWidth() {
+			return mWidth;
+		}
+
+		@Override
+		public int getHeight() {
+			return mHeight;
+		}
+
+		@Override
+		public XChart createChart() throws Exception {
+			switch(mIndex % 3)
+			{
+			case 0:
+				return createBarChart();
+			case 1:
+				return createPieChart();
+			default:
+				return createLineChart();
+			}
+		}
+
+		private double value(int series,int i)
+		{
+			return ((i * 7 + series * 13 + mIndex) % 50) + 5;
+		}
+
+		private XChart createBarChart()
+		{
+			BarChart chart = new BarChart();
+			List<BarData> dataSet = new LinkedList<BarData>();
+			List<String> labels = new LinkedList<String>();
+			for(int s = 0; s < 3; s++)
+			{
+				double[] values = new double[12];
+				for(int i = 0; i < values.length; i++) values[i] = value(s, i);
+				dataSet.add(new BarData("S" + s, values, COLORS[s]));
+			}
+			for(int i = 0; i < 12; i++) labels.add("M" + (i + 1));
+			chart.setDataSource(dataSet);
+			chart.setLabels(labels);
+			chart.getDataAxis().setAxisMax(60);
+			chart.getDataAxis().setAxisMin(0);
+			chart.getDataAxis().setAxisSteps(10);
+			chart.setChartTitle("Bar " + mIndex);
+			return chart;
+		}
+
+		private XChart createPieChart()
+		{
+			PieChart chart = new PieChart();
+			List<PieData> dataSet = new LinkedList<PieData>();
+			double total = 0d;
+			for(int i = 0; i < COLORS.length; i++) total += value(0, i);
+			//PieData按块把百分比四舍五入成角度,合计超过360度时饼图不画,
+			//所以按整度数分配,最后一块取余下的
+			int remain = 360;
+			for(int i = 0; i < COLORS.length; i++)
+			{
+				int angle = i + 1 < COLORS.length ? (int)Math.round(value(0, i) * 360d / total) : remain;
+				remain -= angle;
+				double percent = angle / 3.6d;
+				dataSet.add(new PieData("P" + i, String.format("%.1f%%", percent), percent, COLORS[i]));
+			}
+			chart.setDataSource(dataSet);
+			chart.setChartTitle("Pie " + mIndex);
+			return chart;
+		}
+
+		private XChart createLineChart()
+		{
+			LineChart chart = new LineChart();
+			LinkedList<LineData> dataSet = new LinkedList<LineData>();
+			List<String> labels = new ArrayList<String>(mPoints);
+			for(int s = 0; s < 2; s++)
+			{
+				double[] values = new double[mPoints];
+				for(int i = 0; i < mPoints; i++) values[i] = value(s, i);
+				dataSet.add(new LineData("L" + s, values, COLORS[s], XEnum.DotStyle.HIDE));
+			}
+			//只标出十个刻度
+			int step = Math.max(1, mPoints / 10);
+			for(int i = 0; i < mPoints; i++) labels.add(0 == i % step ? Integer.toString(i) : "");
+			chart.setDataSource(dataSet);
+			chart.setLabels(labels);
+			chart.getDataAxis().setAxisMax(60);
+			chart.getDataAxis().setAxisMin(0);
+			chart.getDataAxis().setAxisSteps(10);
+			chart.setChartTitle("Line " + mIndex);
+			return chart;
+		}
+	}
+
+}
@@ -0,0 +1,62 @@
+/**
+ * Copyright 2014  XCL-Charts
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 	
+ * @Project XCL-Charts 
+ * @Description Android图表基类库
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ * @license http://www.apache.org/licenses/  Apache v2 License
+ * @version v0.1
+ */
+package org.xclcharts.export;
+
+import org.xclcharts.renderer.XChart;
+
+/**
+ * @ClassName IChartSpec
+ * @Description  批量导出时一张图表的描述。
+ * 				  createChart()在导出线程上调用,每次都应返回新的图表对象,
+ * 				  各线程间不共用图表
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ *  * MODIFIED    YYYY-MM-DD   REASON
+ */
+
+public interface IChartSpec {
+
+	/**
+	 * 返回输出文件名,不含扩展名
+	 * @return 文件名
+	 */
+	public String getName();
+
+	/**
+	 * 返回图片宽度
+	 * @return 宽度
+	 */
+	public int getWidth();
+
+	/**
+	 * 返回图片高度
+	 * @return 高度
+	 */
+	public int getHeight();
+
+	/**
+	 * 构建图表并设置好数据,图表范围由导出时按宽高设置
+	 * @return 图表
+	 * @throws Exception 例外
+	 */
+	public XChart createChart() throws Exception;
+
+}
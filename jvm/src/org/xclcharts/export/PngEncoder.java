@@ -0,0 +1,206 @@
+/**
+ * Copyright 2014  XCL-Charts
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 	
+ * @Project XCL-Charts 
+ * @Description Android图表基类库
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ * @license http://www.apache.org/licenses/  Apache v2 License
+ * @version v0.1
+ */
+package org.xclcharts.export;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * @ClassName PngEncoder
+ * @Description  把位图编码为PNG。每行固定用Sub过滤,图表中大片的纯色与水平线
+ * 				  过滤后都是0,压缩得很好,不用像ImageIO那样逐行尝试各种过滤方式。
+ * 				  Deflater,CRC32与行,输出缓冲区都在各次编码间重复使用,
+ * 				  编码一张图不再分配对象。不是线程安全的,每个线程用自己的编码器
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ *  * MODIFIED    YYYY-MM-DD   REASON
+ */
+
+public class PngEncoder {
+
+	private static final byte[] SIGNATURE = new byte[]{
+		(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' };
+	private static final byte[] IHDR = new byte[]{'I', 'H', 'D', 'R'};
+	private static final byte[] IDAT = new byte[]{'I', 'D', 'A', 'T'};
+	private static final byte[] IEND = new byte[]{'I', 'E', 'N', 'D'};
+
+	//PNG的颜色类型
+	private static final int COLOR_RGB = 2;
+	private static final int COLOR_RGBA = 6;
+	//Sub过滤
+	private static final int FILTER_SUB = 1;
+
+	private final Deflater mDeflater;
+	private final CRC32 mCrc = new CRC32();
+	//过滤后的一行,首字节为过滤类型
+	private byte[] mRow = new byte[0];
+	//不能直接取像素数组时,每行的像素
+	private int[] mRowPixels = new int[0];
+	//压缩后的数据,满了就写出一个IDAT块
+	private final byte[] mOutput = new byte[64 * 1024];
+	private final byte[] mHeader = new byte[13];
+	//块的长度与类型,块的CRC
+	private final byte[] mChunkHeader = new byte[8];
+	private final byte[] mChunkCrc = new byte[4];
+
+	/**
+	 * 按最快的压缩级别构建
+	 */
+	public PngEncoder()
+	{
+		this(Deflater.BEST_SPEED);
+	}
+
+	/**
+	 * 按指定压缩级别构建
+	 * @param level 压缩级别,0到9
+	 */
+	public PngEncoder(int level)
+	{
+		mDeflater = new Deflater(level);
+	}
+
+	/**
+	 * 设置压缩级别
+	 * @param level 压缩级别,0到9
+	 */
+	public void setCompressionLevel(int level)
+	{
+		mDeflater.setLevel(level);
+	}
+
+	/**
+	 * 编码位图并写到输出流,输出流由调用者关闭
+	 * @param image	位图,TYPE_INT_RGB时不带透明通道
+	 * @param out	输出流
+	 * @throws IOException 写入出错
+	 */
+	public void encode(BufferedImage image,OutputStream out) throws IOException
+	{
+		int width = image.getWidth();
+		int height = image.getHeight();
+		boolean alpha = image.getColorModel().hasAlpha();
+		int channels = alpha ? 4 : 3;
+
+		out.write(SIGNATURE);
+		writeInt(mHeader, 0, width);
+		writeInt(mHeader, 4, height);
+		mHeader[8] = 8;
+		mHeader[9] = (byte) (alpha ? COLOR_RGBA : COLOR_RGB);
+		mHeader[10] = 0;
+		mHeader[11] = 0;
+		mHeader[12] = 0;
+		writeChunk(out, IHDR, mHeader, mHeader.length);
+
+		int rowLength = 1 + width * channels;
+		if(mRow.length < rowLength) mRow = new byte[rowLength];
+
+		//新建的INT_RGB,INT_ARGB位图直接读像素数组,其它格式逐行转换
+		int[] pixels = null;
+		if((BufferedImage.TYPE_INT_RGB == image.getType() || BufferedImage.TYPE_INT_ARGB == image.getType())
+				&& null == image.getRaster().getParent())
+		{
+			pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+		}else if(mRowPixels.length < width){
+			mRowPixels = new int[width];
+		}
+
+		mDeflater.reset();
+		int outputLength = 0;
+		for(int y = 0; y < height; y++)
+		{
+			int offset;
+			int[] source;
+			if(null != pixels)
+			{
+				source = pixels;
+				offset = y * width;
+			}else{
+				source = mRowPixels;
+				offset = 0;
+				image.getRGB(0, y, width, 1, mRowPixels, 0, width);
+			}
+			filterRow(source, offset, width, alpha);
+
+			boolean last = y == height - 1;
+			mDeflater.setInput(mRow, 0, rowLength);
+			if(last) mDeflater.finish();
+			while(!mDeflater.needsInput() || (last && !mDeflater.finished()))
+			{
+				outputLength += mDeflater.deflate(mOutput, outputLength, mOutput.length - outputLength);
+				if(outputLength == mOutput.length)
+				{
+					writeChunk(out, IDAT, mOutput, outputLength);
+					outputLength = 0;
+				}
+			}
+		}
+		if(outputLength > 0) writeChunk(out, IDAT, mOutput, outputLength);
+		writeChunk(out, IEND, mHeader, 0);
+	}
+
+	/**
+	 * 按Sub过滤一行:每个字节减去左边像素的同一字节
+	 */
+	private void filterRow(int[] source,int offset,int width,boolean alpha)
+	{
+		byte[] row = mRow;
+		row[0] = FILTER_SUB;
+		int pos = 1;
+		int prev = 0;
+		for(int x = 0; x < width; x++)
+		{
+			int pixel = source[offset + x];
+			row[pos++] = (byte) ((pixel >> 16) - (prev >> 16));
+			row[pos++] = (byte) ((pixel >> 8) - (prev >> 8));
+			row[pos++] = (byte) (pixel - prev);
+			if(alpha) row[pos++] = (byte) ((pixel >>> 24) - (prev >>> 24));
+			prev = pixel;
+		}
+	}
+
+	private void writeChunk(OutputStream out,byte[] type,byte[] data,int length) throws IOException
+	{
+		mCrc.reset();
+		mCrc.update(type, 0, type.length);
+		mCrc.update(data, 0, length);
+
+		writeInt(mChunkHeader, 0, length);
+		System.arraycopy(type, 0, mChunkHeader, 4, 4);
+		writeInt(mChunkCrc, 0, (int) mCrc.getValue());
+		out.write(mChunkHeader);
+		out.write(data, 0, length);
+		out.write(mChunkCrc);
+	}
+
+	private static void writeInt(byte[] buffer,int offset,int value)
+	{
+		buffer[offset] = (byte) (value >>> 24);
+		buffer[offset + 1] = (byte) (value >>> 16);
+		buffer[offset + 2] = (byte) (value >>> 8);
+		buffer[offset + 3] = (byte) value;
+	}
+
+}
@@ -0,0 +1,407 @@
+/**
+ * Copyright 2014  XCL-Charts
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 	
+ * @Project XCL-Charts 
+ * @Description Android图表基类库
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ * @license http://www.apache.org/licenses/  Apache v2 License
+ * @version v0.1
+ */
+package org.xclcharts.renderer.canvas;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.LinearGradientPaint;
+import java.awt.MultipleGradientPaint;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.Stroke;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Arc2D;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.GeneralPath;
+import java.awt.geom.Line2D;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.xclcharts.renderer.canvas.ChartPaint.Align;
+import org.xclcharts.renderer.canvas.ChartPaint.Style;
+
+/**
+ * @ClassName Java2DChartCanvas
+ * @Description  在java.awt.Graphics2D上绘制的画布实现,用于在服务器等没有Android的JVM上
+ * 				  输出图表或测试,度量绘制性能。
+ * 				  只在jvm/src下,不参与Android的编译,由jvm/build.sh编译,运行时不需要android.jar。
+ * 				  读取画笔的颜色,样式,线宽,抗锯齿,字号,对齐,虚线间隔与线性渐变。
+ * 				  图形,线宽,颜色与渐变对象都按上次的值缓存,连续绘制时不再分配
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ *  * MODIFIED    YYYY-MM-DD   REASON
+ */
+
+public class Java2DChartCanvas implements IChartCanvas {
+
+	private final Graphics2D mGraphics;
+	private final int mWidth;
+	private final int mHeight;
+
+	//save()时保存的变换与裁剪范围
+	private final List<AffineTransform> mTransforms = new ArrayList<AffineTransform>();
+	private final List<Shape> mClips = new ArrayList<Shape>();
+
+	//重复使用的图形
+	private final Line2D.Float mLine = new Line2D.Float();
+	private final Rectangle2D.Float mRect = new Rectangle2D.Float();
+	private final Ellipse2D.Float mEllipse = new Ellipse2D.Float();
+	private final Arc2D.Float mArc = new Arc2D.Float();
+	private final GeneralPath mPath = new GeneralPath();
+
+	//上次用的颜色,线宽与字体
+	private int mColorValue = 0;
+	private Color mColor = new Color(0, true);
+	private float mStrokeWidth = -1f;
+	private ChartDash mStrokeDash = null;
+	private Stroke mStroke = null;
+	//上次用的渐变及其版本
+	private ChartGradient mGradient = null;
+	private int mGradientVersion = -1;
+	private java.awt.Paint mGradientPaint = null;
+	private float mFontSize = -1f;
+	private boolean mFontBold = false;
+	private Font mFont = null;
+	private boolean mAntiAlias = false;
+
+	/**
+	 * 在位图上绘制
+	 * @param image 位图
+	 */
+	public Java2DChartCanvas(BufferedImage image)
+	{
+		this(image.createGraphics(), image.getWidth(), image.getHeight());
+	}
+
+	/**
+	 * 在指定的Graphics2D上绘制
+	 * @param graphics	绘图对象
+	 * @param width		宽度
+	 * @param height	高度
+	 */
+	public Java2DChartCanvas(Graphics2D graphics,int width,int height)
+	{
+		mGraphics = graphics;
+		mWidth = width;
+		mHeight = height;
+		mGraphics.setColor(mColor);
+		mGraphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+		mGraphics.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+	}
+
+	/**
+	 * 返回绘图对象
+	 * @return Graphics2D
+	 */
+	public Graphics2D getGraphics()
+	{
+		return mGraphics;
+	}
+
+	/**
+	 * 释放绘图对象,之后不能再绘制
+	 */
+	public void dispose()
+	{
+		mGraphics.dispose();
+	}
+
+	@Override
+	public int getWidth() {
+		return mWidth;
+	}
+
+	@Override
+	public int getHeight() {
+		return mHeight;
+	}
+
+	@Override
+	public int save() {
+		int count = mTransforms.size();
+		mTransforms.add(mGraphics.getTransform());
+		mClips.add(mGraphics.getClip());
+		return count;
+	}
+
+	@Override
+	public void restore() {
+		int last = mTransforms.size() - 1;
+		if(last < 0) return;
+		mGraphics.setTransform(mTransforms.remove(last));
+		mGraphics.setClip(mClips.remove(last));
+	}
+
+	@Override
+	public void translate(float dx, float dy) {
+		mGraphics.translate(dx, dy);
+	}
+
+	@Override
+	public void scale(float sx, float sy) {
+		mGraphics.scale(sx, sy);
+	}
+
+	@Override
+	public void rotate(float degrees, float px, float py) {
+		//y轴向下,正角度与Android一样是顺时针
+		mGraphics.rotate(Math.toRadians(degrees), px, py);
+	}
+
+	@Override
+	public boolean clipRect(float left, float top, float right, float bottom) {
+		mRect.setRect(left, top, right - left, bottom - top);
+		mGraphics.clip(mRect);
+		Shape clip = mGraphics.getClip();
+		return null == clip || !clip.getBounds2D().isEmpty();
+	}
+
+	@Override
+	public void drawLine(float startX, float startY, float stopX, float stopY, ChartPaint paint) {
+		applyStroke(paint);
+		mLine.setLine(startX, startY, stopX, stopY);
+		mGraphics.draw(mLine);
+	}
+
+	@Override
+	public void drawLines(float[] pts, int offset, int count, ChartPaint paint) {
+		applyStroke(paint);
+		int end = offset + count - 3;
+		for(int i = offset; i < end; i += 4)
+		{
+			mLine.setLine(pts[i], pts[i + 1], pts[i + 2], pts[i + 3]);
+			mGraphics.draw(mLine);
+		}
+	}
+
+	@Override
+	public void drawRect(float left, float top, float right, float bottom, ChartPaint paint) {
+		mRect.setRect(left, top, right - left, bottom - top);
+		drawShape(mRect, paint);
+	}
+
+	@Override
+	public void drawCircle(float cx, float cy, float radius, ChartPaint paint) {
+		mEllipse.setFrame(cx - radius, cy - radius, radius * 2, radius * 2);
+		drawShape(mEllipse, paint);
+	}
+
+	@Override
+	public void drawArc(float left, float top, float right, float bottom,
+			float startAngle, float sweepAngle, boolean useCenter, ChartPaint paint) {
+		//Java2D的角度是逆时针的
+		mArc.setArc(left, top, right - left, bottom - top, -startAngle, -sweepAngle,
+				useCenter ? Arc2D.PIE : Arc2D.OPEN);
+		drawShape(mArc, paint);
+	}
+
+	@Override
+	public void drawPath(ChartPath path, ChartPaint paint) {
+		byte[] ops = path.getOps();
+		float[] points = path.getPoints();
+		int count = path.getOpCount();
+		int j = 0;
+
+		mPath.reset();
+		for(int i = 0; i < count; i++)
+		{
+			switch(ops[i])
+			{
+			case ChartPath.MOVE_TO:
+				mPath.moveTo(points[j], points[j + 1]);
+				j += 2;
+				break;
+			case ChartPath.LINE_TO:
+				mPath.lineTo(points[j], points[j + 1]);
+				j += 2;
+				break;
+			default:
+				mPath.closePath();
+				break;
+			}
+		}
+		drawShape(mPath, paint);
+	}
+
+	@Override
+	public void drawText(String text, float x, float y, ChartPaint paint) {
+		applyFont(paint);
+		mGraphics.drawString(text, alignX(text, x, paint), y);
+	}
+
+	@Override
+	public void drawText(char[] text, int index, int count, float x, float y, ChartPaint paint) {
+		drawText(new String(text, index, count), x, y, paint);
+	}
+
+	/**
+	 * 按画笔的样式填充或描边
+	 * @param shape	图形
+	 * @param paint	画笔
+	 */
+	public void drawShape(Shape shape,ChartPaint paint)
+	{
+		Style style = paint.getStyle();
+		if(Style.STROKE != style)
+		{
+			applyColor(paint);
+			if(null != paint.getGradient()) applyGradient(paint.getGradient());
+			mGraphics.fill(shape);
+			if(null != paint.getGradient()) mGraphics.setColor(mColor);
+		}
+		if(Style.FILL != style)
+		{
+			applyStroke(paint);
+			mGraphics.draw(shape);
+		}
+	}
+
+	/**
+	 * 文字按对齐方式换算到左边的x
+	 */
+	private float alignX(String text,float x,ChartPaint paint)
+	{
+		Align align = paint.getTextAlign();
+		if(Align.LEFT == align) return x;
+		FontMetrics metrics = mGraphics.getFontMetrics();
+		float width = metrics.stringWidth(text);
+		return Align.CENTER == align ? x - width / 2 : x - width;
+	}
+
+	private void applyColor(ChartPaint paint)
+	{
+		int color = paint.getColor();
+		if(color != mColorValue)
+		{
+			mColorValue = color;
+			mColor = new Color(color, true);
+			mGraphics.setColor(mColor);
+		}
+
+		boolean antiAlias = paint.isAntiAlias();
+		if(antiAlias != mAntiAlias)
+		{
+			mAntiAlias = antiAlias;
+			mGraphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+					antiAlias ? RenderingHints.VALUE_ANTIALIAS_ON : RenderingHints.VALUE_ANTIALIAS_OFF);
+			mGraphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
+					antiAlias ? RenderingHints.VALUE_TEXT_ANTIALIAS_ON : RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
+		}
+	}
+
+	private void applyStroke(ChartPaint paint)
+	{
+		applyColor(paint);
+
+		//与Android一样,线宽为0时画1像素宽的细线
+		float width = Math.max(1f, paint.getStrokeWidth());
+		ChartDash dash = paint.getDash();
+		if(null == mStroke || width != mStrokeWidth || dash != mStrokeDash)
+		{
+			mStrokeWidth = width;
+			mStrokeDash = dash;
+			mStroke = null != dash ? new BasicStroke(width, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER,
+												10f, dash.getIntervals(), dash.getPhase())
+							 : new BasicStroke(width);
+		}
+		mGraphics.setStroke(mStroke);
+	}
+
+	/**
+	 * 换成渐变填充,渐变或其变换没变时用上次的对象
+	 */
+	private void applyGradient(ChartGradient gradient)
+	{
+		if(gradient != mGradient || gradient.getVersion() != mGradientVersion)
+		{
+			mGradient = gradient;
+			mGradientVersion = gradient.getVersion();
+			mGradientPaint = toAwtGradient(gradient);
+		}
+		mGraphics.setPaint(mGradientPaint);
+	}
+
+	private java.awt.Paint toAwtGradient(ChartGradient gradient)
+	{
+		int[] colors = gradient.getColors();
+		Color[] awtColors = new Color[colors.length];
+		for(int i = 0; i < colors.length; i++) awtColors[i] = new Color(colors[i], true);
+		//起点与终点重合时画不出渐变,用第一个颜色
+		if(gradient.getX0() == gradient.getX1() && gradient.getY0() == gradient.getY1())
+			return awtColors[0];
+
+		//Java2D要求位置严格递增,相同时往后挪一点
+		float[] positions = gradient.getPositions();
+		float[] fractions = new float[colors.length];
+		for(int i = 0; i < colors.length; i++)
+		{
+			float f = null == positions ? (float) i / (colors.length - 1) : positions[i];
+			if(i > 0 && f <= fractions[i - 1]) f = Math.nextUp(fractions[i - 1]);
+			fractions[i] = f;
+		}
+
+		MultipleGradientPaint.CycleMethod cycle;
+		switch(gradient.getTileMode())
+		{
+		case REPEAT:
+			cycle = MultipleGradientPaint.CycleMethod.REPEAT;
+			break;
+		case MIRROR:
+			cycle = MultipleGradientPaint.CycleMethod.REFLECT;
+			break;
+		default:
+			cycle = MultipleGradientPaint.CycleMethod.NO_CYCLE;
+			break;
+		}
+
+		//先缩放再平移,与Android的setScale后postTranslate一样
+		AffineTransform transform = new AffineTransform();
+		transform.translate(gradient.getTranslateX(), gradient.getTranslateY());
+		transform.scale(gradient.getScaleX(), gradient.getScaleY());
+		return new LinearGradientPaint(
+				new Point2D.Float(gradient.getX0(), gradient.getY0()),
+				new Point2D.Float(gradient.getX1(), gradient.getY1()),
+				fractions, awtColors, cycle,
+				MultipleGradientPaint.ColorSpaceType.SRGB, transform);
+	}
+
+	private void applyFont(ChartPaint paint)
+	{
+		applyColor(paint);
+
+		float size = paint.getTextSize();
+		boolean bold = paint.isFakeBoldText();
+		if(null == mFont || size != mFontSize || bold != mFontBold)
+		{
+			mFontSize = size;
+			mFontBold = bold;
+			mFont = new Font(Font.SANS_SERIF, bold ? Font.BOLD : Font.PLAIN, 1).deriveFont(size);
+		}
+		mGraphics.setFont(mFont);
+	}
+
+}
@@ -0,0 +1,64 @@
+/**
+ * Copyright 2014  XCL-Charts
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 	
+ * @Project XCL-Charts 
+ * @Description Android图表基类库
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ * @license http://www.apache.org/licenses/  Apache v2 License
+ * @version v0.1
+ */
+package org.xclcharts.renderer.canvas;
+
+import java.awt.Font;
+import java.awt.font.FontRenderContext;
+import java.awt.font.LineMetrics;
+
+/**
+ * @ClassName Java2DTextMeasurer
+ * @Description  用java.awt的字体测量文字,与Java2DChartCanvas绘制时用同样的字体。
+ * 				  在Android以外的JVM上由ChartPaint按类名自动加载,不需另外设置
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ *  * MODIFIED    YYYY-MM-DD   REASON
+ */
+
+public class Java2DTextMeasurer implements ITextMeasurer {
+
+	//开了抗锯齿与小数宽度的测量环境,不可变,可多线程共用
+	private static final FontRenderContext FRC = new FontRenderContext(null, true, true);
+
+	@Override
+	public float measureText(ChartPaint paint, String text) {
+		return (float) getFont(paint).getStringBounds(text, FRC).getWidth();
+	}
+
+	@Override
+	public float getFontHeight(ChartPaint paint) {
+		LineMetrics metrics = getFont(paint).getLineMetrics("Xg", FRC);
+		return metrics.getAscent() + metrics.getDescent();
+	}
+
+	@Override
+	public Object getFontKey(ChartPaint paint) {
+		//字体只随字号与粗体变化,缓存已按这两项区分
+		return null;
+	}
+
+	private Font getFont(ChartPaint paint)
+	{
+		return new Font(Font.SANS_SERIF, paint.isFakeBoldText() ? Font.BOLD : Font.PLAIN, 1)
+					.deriveFont(paint.getTextSize());
+	}
+
+}
@@ -0,0 +1,247 @@
+/**
+ * Copyright 2014  XCL-Charts
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 	
+ * @Project XCL-Charts 
+ * @Description Android图表基类库
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ * @license http://www.apache.org/licenses/  Apache v2 License
+ * @version v0.1
+ */
+package org.xclcharts.export;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.imageio.ImageIO;
+
+import org.xclcharts.chart.LineChart;
+import org.xclcharts.chart.LineData;
+import org.xclcharts.renderer.XChart;
+import org.xclcharts.renderer.XEnum;
+import org.xclcharts.renderer.canvas.Java2DChartCanvas;
+
+/**
+ * @ClassName HeadlessSmokeTest
+ * @Description  在没有显示器,类路径上也没有android.jar的JVM上绘制一张折线图,检查:
+ * 				  直接画在Java2DChartCanvas上,录下绘制命令后回放,
+ * 				  以及经ChartBatchExporter导出PNG,三种方式都画出了折线;
+ * 				  创建图表时抛出Error的也记为导出失败。
+ * 				  由jvm/build.sh test运行,失败时退出码不为0
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ *  * MODIFIED    YYYY-MM-DD   REASON
+ */
+
+public class HeadlessSmokeTest {
+
+	private static final int WIDTH = 480;
+	private static final int HEIGHT = 320;
+	private static final int LINE_COLOR = 0xFFFF0000;
+	//折线至少要占的像素数,约为绘图区宽度的一半
+	private static final int MIN_LINE_PIXELS = 150;
+
+	public static void main(String[] args) throws Exception
+	{
+		System.setProperty("java.awt.headless", "true");
+
+		int failures = 0;
+		failures += check("Java2DChartCanvas", renderJava2D());
+		failures += check("replayed display list", renderRecorded());
+		failures += check("ChartBatchExporter", renderExported());
+		failures += checkFailedExport();
+
+		if(failures > 0)
+		{
+			System.err.println(failures + " check(s) failed");
+			System.exit(1);
+		}
+		System.out.println("OK");
+	}
+
+	private static int check(String name,BufferedImage image)
+	{
+		int count = countLinePixels(image);
+		boolean passed = WIDTH == image.getWidth() && HEIGHT == image.getHeight()
+							&& count >= MIN_LINE_PIXELS;
+		System.out.println((passed ? "PASS " : "FAIL ") + name + ": "
+							+ count + " line pixels in " + image.getWidth() + "x" + image.getHeight());
+		return passed ? 0 : 1;
+	}
+
+	/**
+	 * 接近折线颜色的像素数
+	 */
+	private static int countLinePixels(BufferedImage image)
+	{
+		int count = 0;
+		for(int y = 0; y < image.getHeight(); y++)
+		{
+			for(int x = 0; x < image.getWidth(); x++)
+			{
+				int rgb = image.getRGB(x, y);
+				int r = (rgb >> 16) & 0xFF, g = (rgb >> 8) & 0xFF, b = rgb & 0xFF;
+				if((rgb >>> 24) > 0x80 && r > 200 && g < 80 && b < 80) count++;
+			}
+		}
+		return count;
+	}
+
+	private static LineChart createChart()
+	{
+		LineChart chart = new LineChart();
+		LinkedList<LineData> dataSet = new LinkedList<LineData>();
+		List<String> labels = new ArrayList<String>();
+		double[] values = new double[20];
+		for(int i = 0; i < values.length; i++)
+		{
+			values[i] = 50 + 40 * Math.sin(i / 3d);
+			labels.add(Integer.toString(i));
+		}
+		LineData line = new LineData("sin", values, LINE_COLOR, XEnum.DotStyle.HIDE);
+		dataSet.add(line);
+		chart.setDataSource(dataSet);
+		chart.setLabels(labels);
+		chart.getDataAxis().setAxisMax(100);
+		chart.getDataAxis().setAxisMin(0);
+		chart.getDataAxis().setAxisSteps(20);
+		chart.setChartTitle("smoke");
+		chart.setChartRange(0f, 0f, WIDTH, HEIGHT);
+		return chart;
+	}
+
+	private static BufferedImage renderJava2D() throws Exception
+	{
+		BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB);
+		Java2DChartCanvas canvas = new Java2DChartCanvas(image);
+		try {
+			createChart().render(canvas);
+		} finally {
+			canvas.dispose();
+		}
+		return image;
+	}
+
+	/**
+	 * 打开录制后画两次,第二次只回放录下的命令
+	 */
+	private static BufferedImage renderRecorded() throws Exception
+	{
+		LineChart chart = createChart();
+		chart.setDisplayListEnabled(true);
+		BufferedImage image = null;
+		for(int i = 0; i < 2; i++)
+		{
+			image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB);
+			Java2DChartCanvas canvas = new Java2DChartCanvas(image);
+			try {
+				chart.render(canvas);
+			} finally {
+				canvas.dispose();
+			}
+		}
+		return image;
+	}
+
+	/**
+	 * 创建图表时抛出Error也要记为失败,不能让导出一直等下去
+	 */
+	private static int checkFailedExport() throws Exception
+	{
+		File dir = new File(System.getProperty("java.io.tmpdir"), "xclcharts-smoke-" + System.nanoTime());
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			ChartBatchExporter exporter = new ChartBatchExporter(executor, dir);
+			List<IChartSpec> specs = new ArrayList<IChartSpec>();
+			specs.add(new IChartSpec() {
+				@Override
+				public String getName() {
+					return "broken";
+				}
+
+				@Override
+				public int getWidth() {
+					return WIDTH;
+				}
+
+				@Override
+				public int getHeight() {
+					return HEIGHT;
+				}
+
+				@Override
+				public XChart createChart() throws Exception {
+					throw new ExceptionInInitializerError("smoke");
+				}
+			});
+			ChartExportResult result = exporter.export(specs);
+			dir.delete();
+			boolean passed = 1 == result.getFailedCount() && 0 == result.getExportedCount()
+								&& result.getErrors().get(0) instanceof ExceptionInInitializerError;
+			System.out.println((passed ? "PASS " : "FAIL ") + "failed export: "
+								+ result.getFailedCount() + " failed, " + result.getErrors());
+			return passed ? 0 : 1;
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private static BufferedImage renderExported() throws Exception
+	{
+		File dir = new File(System.getProperty("java.io.tmpdir"), "xclcharts-smoke-" + System.nanoTime());
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			ChartBatchExporter exporter = new ChartBatchExporter(executor, dir);
+			List<IChartSpec> specs = new ArrayList<IChartSpec>();
+			specs.add(new IChartSpec() {
+				@Override
+				public String getName() {
+					return "smoke";
+				}
+
+				@Override
+				public int getWidth() {
+					return WIDTH;
+				}
+
+				@Override
+				public int getHeight() {
+					return HEIGHT;
+				}
+
+				@Override
+				public XChart createChart() throws Exception {
+					return HeadlessSmokeTest.createChart();
+				}
+			});
+			ChartExportResult result = exporter.export(specs);
+			if(result.getFailedCount() > 0)
+			{
+				throw new IllegalStateException("export failed: " + result.getErrors());
+			}
+			File file = new File(dir, "smoke.png");
+			BufferedImage image = ImageIO.read(file);
+			file.delete();
+			dir.delete();
+			return image;
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+}
@@ -21,6 +21,8 @@
  */
 package com.demo.xclcharts;
 
+import org.xclcharts.chart.common.BitmapPool;
+import org.xclcharts.chart.common.DrawHelper;
 
 import android.app.Activity;
 import android.content.Intent;
@@ -108,6 +110,21 @@ public class ChartsActivity extends Activity {
 						
 	}
 
+	@Override
+	public void onTrimMemory(int level) {
+		super.onTrimMemory(level);
+		//按内存紧张的程度释放位图池中的空闲位图
+		BitmapPool.getDefault().trimMemory(level);
+		if(level >= BitmapPool.TRIM_MEMORY_BACKGROUND) DrawHelper.getMeasureCache().clear();
+	}
+
+	@Override
+	public void onLowMemory() {
+		super.onLowMemory();
+		BitmapPool.getDefault().clear();
+		DrawHelper.getMeasureCache().clear();
+	}
+
 	@Override
 	public boolean onCreateOptionsMenu(Menu menu) {
 		// Inflate the menu; this adds items to the action bar if it is present.
@@ -99,10 +99,8 @@ public class SeekBarActivity extends Activity {
 	            	mDesc.setText(Integer.toString(progress));	            
 		            if(0 == mSelected )
 		       		{
-		            	mGaChart.initCache();
-		                mGaChart.setAgent(progress);
-		        		mGaChart.chartRender();
-		        		mGaChart.invalidate();	            	
+		            	//表盘已缓存,只重画指针移动的范围
+		                mGaChart.updatePointer(progress);	            	
 		       		}else if(1 == mSelected ){
 		       			mCirChart2.initCache();
 		        		mCirChart2.setPercentage(progress);
@@ -53,17 +53,16 @@ public class AreaChart01View extends GraphicalView {
 				
 		chartLabels();
 		chartDataSet();
-		chartRender();
 	}
 	
 	
-	private void chartRender()
+	public void chartRender()
 	{
 		try{				
 				AreaChart chart = new AreaChart();
 				 
 				//柱形图所占范围大小
-				chart.setChartRange(0.0f, 0.0f,getScreenWidth(),getScreenHeight());
+				chart.setChartRange(0.0f, 0.0f,getWidth(),getHeight());
 				chart.setCanvas(this.mCacheCanvas);
 				chart.setPadding(15, 30, 10, 5);
 											
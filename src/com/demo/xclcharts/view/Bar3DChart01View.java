@@ -54,16 +54,15 @@ public class Bar3DChart01View extends GraphicalView {
 				
 		chartLabels();
 		chartDataSet();
-		chartRender();				
 	}
 	
-	private void chartRender()
+	public void chartRender()
 	{
 		try {						
 			Bar3DChart chart = new Bar3DChart();
 			chart.setCanvas(this.mCacheCanvas);
 			//柱形图所占范围大小
-			chart.setChartRange(0.0f, 0.0f,getScreenWidth(),getScreenHeight());
+			chart.setChartRange(0.0f, 0.0f,getWidth(),getHeight());
 			//Plot的内边距比例		
 			if(chart.isVerticalScreen())
 			{
@@ -53,19 +53,20 @@ public class BarChart01View extends GraphicalView {
 	public BarChart01View(Context context) {
 		super(context);
 		// TODO Auto-generated constructor stub
+		//图表不透明,缓冲区用RGB_565
+		setOpaqueCache(Color.WHITE);
 		chartLabels();
 		chartDataSet();
-		chartRender();
 		
 	}
 	
-	private void chartRender()
+	public void chartRender()
 	{
 		try {
 			
 			BarChart chart = new BarChart();
 			//图所占范围大小
-			chart.setChartRange(0.0f, 0.0f, getScreenWidth(),getScreenHeight());
+			chart.setChartRange(0.0f, 0.0f, getWidth(),getHeight());
 			chart.setCanvas(this.mCacheCanvas);
 			if(chart.isVerticalScreen())
 			{
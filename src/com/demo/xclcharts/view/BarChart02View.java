@@ -54,17 +54,16 @@ public class BarChart02View extends GraphicalView {
 		
 		chartLabels();
 		chartDataSet();
-		chartRender();
 		
 	}
 	
-	private void chartRender()
+	public void chartRender()
 	{
 		try {
 			
 			BarChart chart = new BarChart();
 			//图所占范围大小
-			chart.setChartRange(0.0f, 0.0f, getScreenWidth(),getScreenHeight());
+			chart.setChartRange(0.0f, 0.0f, getWidth(),getHeight());
 			chart.setCanvas(this.mCacheCanvas);
 			
 			if(chart.isVerticalScreen())
@@ -0,0 +1,242 @@
+/**
+ * Copyright 2014  XCL-Charts
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 	
+ * @Project XCL-Charts 
+ * @Description Android图表基类库
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ * @license http://www.apache.org/licenses/  Apache v2 License
+ * @version v0.1
+ */
+package com.demo.xclcharts.view;
+
+import org.xclcharts.chart.common.BitmapPool;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Bitmap.Config;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.util.Log;
+import android.view.View;
+
+/**
+ * @ClassName ChartRenderView
+ * @Description  在单独的绘制线程上画图表的View基类。
+ * 				  图表画在后台缓冲区上,画完后与前台缓冲区交换,onDraw()只贴上前台缓冲区,
+ * 				  所以不论图表多复杂,UI线程每帧的耗时都差不多。
+ * 				  多次requestRender()在开始绘制前合并成一次;前一帧显示出来之前不会开始画下一帧,
+ * 				  输出的帧率不会超过屏幕刷新率。
+ * 				  renderChart()在绘制线程上调用,要在其中修改的图表数据应由子类自行同步。
+ * 				  离开窗口时UI线程不等绘制线程结束,后台缓冲区由绘制线程退出时自己放回位图池
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ *  * MODIFIED    YYYY-MM-DD   REASON
+ */
+public abstract class ChartRenderView extends View {
+
+	private static final String TAG = "ChartRenderView";
+
+	//后台缓冲区分配失败后重试的间隔(毫秒)
+	private static final long RETRY_DELAY_MS = 250;
+
+	//保护下面各字段
+	private final Object mLock = new Object();
+
+	//前台缓冲区,onDraw()时贴到屏幕上。后台缓冲区是绘制线程的局部变量
+	private Bitmap mFrontBitmap = null;
+	private Canvas mFrontCanvas = null;
+
+	//View的大小
+	private int mWidth = 0;
+	private int mHeight = 0;
+	//是否有还没处理的重画请求
+	private boolean mRenderRequested = false;
+	//交换后的前台缓冲区是否还没显示
+	private boolean mFramePending = false;
+	//当前的绘制线程,为null或换了线程时旧线程自行退出
+	private Thread mRenderThread = null;
+
+	public ChartRenderView(Context context) {
+		super(context);
+	}
+
+	/**
+	 * 在绘制线程上把图表画到缓冲区上
+	 * @param canvas	缓冲区画布,已清空
+	 * @param width		宽度
+	 * @param height	高度
+	 * @throws Exception 例外
+	 */
+	protected abstract void renderChart(Canvas canvas,int width,int height) throws Exception;
+
+	/**
+	 * 请求重画,可在任何线程调用。
+	 * 绘制线程开始画之前的多次请求只画一次
+	 */
+	public void requestRender()
+	{
+		synchronized (mLock) {
+			mRenderRequested = true;
+			mLock.notifyAll();
+		}
+	}
+
+	@Override
+	protected void onAttachedToWindow() {
+		super.onAttachedToWindow();
+		synchronized (mLock) {
+			if(null != mRenderThread) return;
+			mRenderRequested = true;
+			mRenderThread = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					renderLoop();
+				}
+			}, TAG);
+			mRenderThread.start();
+		}
+	}
+
+	@Override
+	protected void onDetachedFromWindow() {
+		synchronized (mLock) {
+			//只通知绘制线程退出,不在UI线程上等它画完当前帧
+			mRenderThread = null;
+			mFramePending = false;
+			mLock.notifyAll();
+			//交换缓冲区要在锁内确认自己仍是当前线程,前台缓冲区可以直接放回
+			BitmapPool.getDefault().release(mFrontBitmap);
+			mFrontBitmap = null;
+			mFrontCanvas = null;
+		}
+		super.onDetachedFromWindow();
+	}
+
+	@Override
+	protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+		super.onSizeChanged(w, h, oldw, oldh);
+		synchronized (mLock) {
+			mWidth = w;
+			mHeight = h;
+			mRenderRequested = true;
+			mLock.notifyAll();
+		}
+	}
+
+	@Override
+	protected void onDraw(Canvas canvas) {
+		synchronized (mLock) {
+			if(null != mFrontBitmap && !mFrontBitmap.isRecycled())
+			{
+				canvas.drawBitmap(mFrontBitmap, 0, 0, null);
+			}
+			//前一帧已显示,绘制线程可以画下一帧
+			mFramePending = false;
+			mLock.notifyAll();
+		}
+	}
+
+	/**
+	 * 绘制线程:等到有重画请求且前一帧已显示后,画到后台缓冲区再交换。
+	 * 不再是当前绘制线程时退出,并把自己持有的后台缓冲区放回位图池
+	 */
+	private void renderLoop()
+	{
+		final Thread self = Thread.currentThread();
+		Bitmap backBitmap = null;
+		Canvas backCanvas = null;
+		try {
+			while(true)
+			{
+				int width;
+				int height;
+				synchronized (mLock) {
+					while(mRenderThread == self && (!mRenderRequested || mFramePending
+											|| mWidth <= 0 || mHeight <= 0))
+					{
+						mLock.wait();
+					}
+					if(mRenderThread != self) return;
+					mRenderRequested = false;
+					width = mWidth;
+					height = mHeight;
+				}
+
+				//池中的位图按档取整,同一档内不用重新取
+				if(null == backBitmap || backBitmap.getWidth() != BitmapPool.roundSize(width)
+						|| backBitmap.getHeight() != BitmapPool.roundSize(height))
+				{
+					BitmapPool.getDefault().release(backBitmap);
+					backCanvas = null;
+					backBitmap = allocateBuffer(width, height);
+					if(null == backBitmap)
+					{
+						//这一帧不丢掉,过一会儿再试
+						synchronized (mLock) {
+							mRenderRequested = true;
+							if(mRenderThread == self) mLock.wait(RETRY_DELAY_MS);
+						}
+						continue;
+					}
+					backCanvas = new Canvas(backBitmap);
+				}
+
+				backBitmap.eraseColor(Color.TRANSPARENT);
+				try {
+					renderChart(backCanvas, width, height);
+				} catch (Exception e) {
+					Log.e(TAG, e.toString());
+				}
+
+				synchronized (mLock) {
+					if(mRenderThread != self) return;
+					Bitmap frontBitmap = mFrontBitmap;
+					Canvas frontCanvas = mFrontCanvas;
+					mFrontBitmap = backBitmap;
+					mFrontCanvas = backCanvas;
+					backBitmap = frontBitmap;
+					backCanvas = frontCanvas;
+					mFramePending = true;
+				}
+				postInvalidate();
+			}
+		} catch (InterruptedException e) {
+			//线程被中断时直接退出
+		} finally {
+			BitmapPool.getDefault().release(backBitmap);
+		}
+	}
+
+	/**
+	 * 从位图池取后台缓冲区,内存不足时清空位图池再取一次
+	 * @param width		宽度
+	 * @param height	高度
+	 * @return 缓冲区,仍然失败时为null
+	 */
+	private Bitmap allocateBuffer(int width,int height)
+	{
+		try {
+			return BitmapPool.getDefault().acquire(width, height, Config.ARGB_8888);
+		} catch (OutOfMemoryError e) {
+			Log.w(TAG, e.toString());
+		}
+		BitmapPool.getDefault().clear();
+		try {
+			return BitmapPool.getDefault().acquire(width, height, Config.ARGB_8888);
+		} catch (OutOfMemoryError e) {
+			Log.e(TAG, e.toString());
+			return null;
+		}
+	}
+}
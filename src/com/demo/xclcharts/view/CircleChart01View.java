@@ -49,7 +49,6 @@ public class CircleChart01View extends GraphicalView {
 		// TODO Auto-generated constructor stub
 		
 		setPercentage(0);
-		chartRender();
 	}
 	
 	public void chartRender()
@@ -58,11 +57,11 @@ public class CircleChart01View extends GraphicalView {
 			CircleChart chart = new CircleChart();	
 			
 			//图所占范围大小			
-			if(getScreenWidth() < this.getScreenHeight())
+			if(getWidth() < this.getHeight())
 			{
-				chart.setChartRange(0.0f, 0.0f,getScreenWidth(),getScreenWidth());
+				chart.setChartRange(0.0f, 0.0f,getWidth(),getWidth());
 			}else{
-				chart.setChartRange(0.0f, 0.0f,getScreenHeight(),getScreenHeight());
+				chart.setChartRange(0.0f, 0.0f,getHeight(),getHeight());
 			}
 			chart.setCanvas(this.mCacheCanvas);			
 		
@@ -45,7 +45,6 @@ public class CircleChart02View extends GraphicalView {
 		// TODO Auto-generated constructor stub
 						
 		setPercentage(0);
-		chartRender();
 	}
 	
 	public void chartRender()
@@ -55,11 +54,11 @@ public class CircleChart02View extends GraphicalView {
 			chart.setCanvas(this.mCacheCanvas);
 							
 			//图所占范围大小
-			if(getScreenWidth() < this.getScreenHeight())
+			if(getWidth() < this.getHeight())
 			{
-				chart.setChartRange(0.0f, 0.0f,getScreenWidth(),getScreenWidth());
+				chart.setChartRange(0.0f, 0.0f,getWidth(),getWidth());
 			}else{
-				chart.setChartRange(0.0f, 0.0f,getScreenHeight(),getScreenHeight());
+				chart.setChartRange(0.0f, 0.0f,getHeight(),getHeight());
 			}
 			
 			chart.setPadding(10, 10, 10, 15);				
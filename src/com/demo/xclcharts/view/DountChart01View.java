@@ -45,15 +45,14 @@ public class DountChart01View extends GraphicalView {
 		// TODO Auto-generated constructor stub
 		
 		chartDataSet();
-		chartRender();
 	}
 	
-	private void chartRender()
+	public void chartRender()
 	{
 		try {
 			DountChart chart = new DountChart();
 			//柱形图所占范围大小
-			chart.setChartRange(0.0f, 0.0f,getScreenWidth(),getScreenHeight());
+			chart.setChartRange(0.0f, 0.0f,getWidth(),getHeight());
 			chart.setCanvas(this.mCacheCanvas);
 			chart.setPadding(20, 30, 15, 15);
 							
@@ -29,7 +29,9 @@ import java.util.List;
 import org.xclcharts.chart.GaugeChart;
 
 import android.content.Context;
+import android.graphics.Canvas;
 import android.graphics.Color;
+import android.graphics.Rect;
 import android.util.Pair;
 
 /**
@@ -43,6 +45,8 @@ public class GaugeChart01View  extends GraphicalView {
 	private List<Pair> mPartitionSet = new ArrayList<Pair>();		
 	private float mAgent = 0f;
 	private GaugeChart chart = new GaugeChart();
+	//指针移动时需要重画的范围
+	private Rect mDirtyRect = new Rect();
 	
 	public GaugeChart01View(Context context) {
 		super(context);
@@ -50,7 +54,6 @@ public class GaugeChart01View  extends GraphicalView {
 						
 		chartLabels();
 		chartDataSet();
-		chartRender();
 		
 		//new Thread(this).start();
 	}
@@ -61,14 +64,49 @@ public class GaugeChart01View  extends GraphicalView {
 		mAgent = currentAgent;
 	}
 	
+	/**
+	 * 只更新指针:表盘已缓存时只在缓冲区上重画新旧指针所占的范围,
+	 * 并只让这个范围失效
+	 * @param currentAgent 指针角度
+	 */
+	public void updatePointer(float currentAgent)
+	{
+		mAgent = currentAgent;
+		chart.setCurrentAgent(mAgent);
+		//缓冲区在View移出时已放回位图池,重新加入时会整个重画
+		if(null == mCacheCanvas) return;
+		try {
+			if(chart.getDirtyRect(mDirtyRect))
+			{
+				chart.renderPointer();
+				invalidate(mDirtyRect);
+			}else{
+				chartRender();
+				invalidate();
+			}
+		} catch (Exception e) {
+			// TODO Auto-generated catch block
+			e.printStackTrace();
+		}
+	}
+	
+	@Override
+	public void onDraw(Canvas canvas)
+	{
+		//缓冲区要留给下次局部更新,不能回收
+		if(null != mCacheBitmap && !mCacheBitmap.isRecycled()) canvas.drawBitmap(mCacheBitmap, 0, 0, null);
+	}
+	
 		
 	public void chartRender()
 	{
 		try {								
 			//图所占范围大小
-			chart.setChartRange(0.0f, 0.0f,getScreenWidth() - 100,getScreenHeight());
+			chart.setChartRange(0.0f, 0.0f,getWidth() - 100,getHeight());
 			chart.setCanvas(this.mCacheCanvas);								
 			chart.setPadding(25, 20, 10, 10);
+			//缓存表盘,指针变化时只画指针
+			chart.setDialCacheEnabled(true);
 				
 			//设置标题
 			chart.setChartTitle("仪表盘 ");
@@ -22,13 +22,14 @@
  */
 package com.demo.xclcharts.view;
 
+import org.xclcharts.chart.common.BitmapPool;
 
 import android.annotation.SuppressLint;
 import android.content.Context;
 import android.graphics.Bitmap;
 import android.graphics.Bitmap.Config;
 import android.graphics.Canvas;
-import android.graphics.Paint;
+import android.graphics.Color;
 import android.util.AttributeSet;
 import android.util.DisplayMetrics;
 import android.util.Log;
@@ -48,10 +49,15 @@ public class GraphicalView extends View {
 	protected int mScrWidth = 0;
 	protected int mScrHeight = 0;
 	
-	//定义一个内存中的图片,作为绘图缓冲区
+	//定义一个内存中的图片,作为绘图缓冲区,按View大小从位图池中取出
 	protected Bitmap mCacheBitmap = null;
     //定义canvas对象
 	protected Canvas mCacheCanvas = null;
+	
+	//缓冲区的像素格式,不透明的图表可用RGB_565,内存只要一半
+	private Config mCacheConfig = Config.ARGB_8888;
+	//不透明时的底色
+	private int mCacheBackgroundColor = Color.TRANSPARENT;
 
 	public GraphicalView(Context context) {
 		super(context);
@@ -61,27 +67,83 @@ public class GraphicalView extends View {
 		disableHardwareAccelerated();	
 		//得到屏幕信息
 		getScreenInfo();
-		
-		initCache();
 	}
 	
+	/**
+	 * 用不透明的RGB_565缓冲区,内存只有ARGB_8888的一半。
+	 * 图表会先铺上底色,只适合不需要透出下层内容的图表,应在构造函数中调用
+	 * @param backgroundColor 底色
+	 */
+	public void setOpaqueCache(int backgroundColor)
+	{
+		mCacheConfig = Config.RGB_565;
+		mCacheBackgroundColor = backgroundColor | 0xFF000000;
+		if(null != mCacheBitmap) 
+		{
+			initCache();
+			chartRender();
+		}
+	}
+	
+	@Override
+	public boolean isOpaque()
+	{
+		return Config.RGB_565 == mCacheConfig;
+	}
 	
+	/**
+	 * 按View当前大小准备缓冲区,View还没有大小时不分配
+	 */
 	public void initCache()
 	{	
+		releaseCache();
+		if(getWidth() <= 0 || getHeight() <= 0) return;
+		
 		//生成缓存区
-		createCacheBitmap(getScreenWidth(),getScreenHeight());		
+		createCacheBitmap(getWidth(),getHeight());		
 		setCacheBitmapCanvas();
 	}
 	
+	/**
+	 * 把图表画到缓冲区上。缓冲区按View大小准备好后调用,子类在此绘制图表
+	 */
+	public void chartRender()
+	{
+		
+	}
+	
+	@Override
+	protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+		super.onSizeChanged(w, h, oldw, oldh);
+		initCache();
+		chartRender();
+	}
+	
+	@Override
+	protected void onAttachedToWindow() {
+		super.onAttachedToWindow();
+		//移出后再加入时大小可能没变,不会调用onSizeChanged()
+		if(null == mCacheBitmap && getWidth() > 0 && getHeight() > 0)
+		{
+			initCache();
+			chartRender();
+		}
+	}
+	
+	@Override
+	protected void onDetachedFromWindow() {
+		//缓冲区放回位图池,给其它图表使用
+		releaseCache();
+		super.onDetachedFromWindow();
+	}
+	
 	
 	  public void onDraw(Canvas canvas)
 	    {
 		 
 		  try {
-	
-		     Paint bmpPaint = new Paint();		   
-		     canvas.drawBitmap(mCacheBitmap, 0, 0, bmpPaint);		    
-		     mCacheBitmap.recycle();
+			 //缓冲区留到View移出时才放回位图池
+			 if(null != mCacheBitmap) canvas.drawBitmap(mCacheBitmap, 0, 0, null);		    
 		  } catch (Exception e) {
 				// TODO Auto-generated catch block
 				e.printStackTrace();
@@ -139,11 +201,12 @@ public class GraphicalView extends View {
 	}
 	
 	/**
-	 * 生成缓存区
+	 * 生成缓存区,从位图池中取出,可能比View大
 	 */
 	protected void createCacheBitmap(int width,int height)
 	{							
-	  mCacheBitmap = Bitmap.createBitmap(width,height,Config.ARGB_8888);		   					 
+	  mCacheBitmap = BitmapPool.getDefault().acquire(width, height, mCacheConfig);
+	  mCacheBitmap.eraseColor(mCacheBackgroundColor);
 	}
 	
 	private void setCacheBitmapCanvas()
@@ -153,6 +216,16 @@ public class GraphicalView extends View {
 	    //将图绘制到内存中的mCacheBitmap上
 	    mCacheCanvas.setBitmap(mCacheBitmap);
 	}
+	
+	/**
+	 * 把缓冲区放回位图池
+	 */
+	protected void releaseCache()
+	{
+		BitmapPool.getDefault().release(mCacheBitmap);
+		mCacheBitmap = null;
+		mCacheCanvas = null;
+	}
 
 	public int getScreenWidth() {
 		return mScrWidth;
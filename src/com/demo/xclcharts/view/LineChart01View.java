@@ -29,6 +29,7 @@ import org.xclcharts.chart.LineData;
 import org.xclcharts.renderer.XEnum;
 
 import android.content.Context;
+import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint.Align;
 
@@ -37,11 +38,12 @@ import android.graphics.Paint.Align;
  * @Description  折线图的例子
  * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
  */
-public class LineChart01View extends GraphicalView {
+public class LineChart01View extends ChartRenderView {
 	
 	//标签集合
 	private LinkedList<String> lables = new LinkedList<String>();
 	private LinkedList<LineData> chartData = new LinkedList<LineData>();
+	private LineChart chart = new LineChart();
 
 	public LineChart01View(Context context) {
 		super(context);
@@ -50,15 +52,19 @@ public class LineChart01View extends GraphicalView {
 		chartDataSet();
 		chartRender();	
 	}
+	
+	@Override
+	protected void renderChart(Canvas canvas,int width,int height) throws Exception
+	{
+		//在绘制线程上按View的大小画到缓冲区
+		chart.setChartRange(0.0f, 0.0f, width, height);
+		chart.render(canvas);
+	}
 
 	private void chartRender()
 	{
 		try {				
 			
-			LineChart chart = new LineChart();
-			//柱形图所占范围大小
-			chart.setChartRange(0.0f, 0.0f,getScreenWidth(),getScreenHeight());
-			chart.setCanvas(this.mCacheCanvas);
 			chart.setPadding(20, 20, 10, 5);
 			
 			//设定数据源
@@ -88,9 +94,8 @@ public class LineChart01View extends GraphicalView {
 			
 			chart.getLegend().setLowerLegend("(年份)");
 			
-		
-			
-			chart.render();
+			//大小确定后在绘制线程上画出
+			requestRender();
 		} catch (Exception e) {
 			// TODO Auto-generated catch block
 			e.printStackTrace();
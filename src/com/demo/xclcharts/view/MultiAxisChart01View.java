@@ -66,19 +66,22 @@ public class MultiAxisChart01View extends GraphicalView {
 			
 			chartLnLabels();
 			chartLnDataSet();
-			
-			chartRender();
-			chartLnRender();
-
 		}
 
-		private void chartRender()
+		@Override
+		public void chartRender()
+		{
+			chartBarRender();
+			chartLnRender();
+		}
+		
+		private void chartBarRender()
 		{
 			try {
 								
 				chart.setCanvas(this.mCacheCanvas);
 				//柱形图所占范围大小
-				chart.setChartRange(0.0f, 0.0f, getScreenWidth(),getScreenHeight());
+				chart.setChartRange(0.0f, 0.0f, getWidth(),getHeight());
 				chart.setChartDirection(XEnum.Direction.VERTICAL);	
 				
 				if(chart.isVerticalScreen())
@@ -296,7 +299,7 @@ public class MultiAxisChart01View extends GraphicalView {
 			try {
 				
 				//柱形图所占范围大小
-				lnChart.setChartRange(0.0f, 0.0f, getScreenWidth(),getScreenHeight());
+				lnChart.setChartRange(0.0f, 0.0f, getWidth(),getHeight());
 				lnChart.setCanvas(this.mCacheCanvas);
 				
 				if(lnChart.isVerticalScreen())
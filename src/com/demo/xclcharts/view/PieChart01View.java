@@ -45,15 +45,14 @@ public class PieChart01View extends GraphicalView {
 		// TODO Auto-generated constructor stub
 		
 		chartDataSet();
-		chartRender();
 	}
 	
-	private void chartRender()
+	public void chartRender()
 	{
 		try {					
 			PieChart chart = new PieChart();
 			//图所占范围大小
-			chart.setChartRange(0.0f, 0.0f,getScreenWidth(),getScreenHeight());
+			chart.setChartRange(0.0f, 0.0f,getWidth(),getHeight());
 			chart.setCanvas(this.mCacheCanvas);
 			//图的内边距
 			chart.setPadding(10, 20, 15, 15);
@@ -45,15 +45,14 @@ public class RoseChart01View extends GraphicalView {
 		// TODO Auto-generated constructor stub
 		
 		chartDataSet();
-		chartRender();
 	}
 	
-	private void chartRender()
+	public void chartRender()
 	{
 		try {						
 			RoseChart chart = new RoseChart();
 			//柱形图所占范围大小
-			chart.setChartRange(0.0f, 0.0f,getScreenWidth(),getScreenHeight());
+			chart.setChartRange(0.0f, 0.0f,getWidth(),getHeight());
 			chart.setCanvas(this.mCacheCanvas);		
 			chart.setPadding(20, 20, 15, 15);
 			chart.setBackgroupColor(true,Color.BLACK);
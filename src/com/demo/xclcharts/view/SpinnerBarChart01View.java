@@ -33,7 +33,6 @@ public class SpinnerBarChart01View extends GraphicalView {
 		mMoveHeight = moveHeight;		
 		chartLabels();
 		chartDataSet();
-		chartRender();
 		
 	}
 	
@@ -77,7 +76,7 @@ public class SpinnerBarChart01View extends GraphicalView {
 			initChart(mChartStyle);
 			
 			//图所占范围大小
-			mChart.setChartRange(0.0f, mMoveHeight, getScreenWidth(),getScreenHeight() - mMoveHeight);
+			mChart.setChartRange(0.0f, mMoveHeight, getWidth(),getHeight() - mMoveHeight);
 			mChart.setCanvas(this.mCacheCanvas);
 			if(mChart.isVerticalScreen())
 			{
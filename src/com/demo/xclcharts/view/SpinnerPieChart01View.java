@@ -27,7 +27,6 @@ public class SpinnerPieChart01View extends GraphicalView {
 		mChartStyle = chartStyle;
 		mMoveHeight = moveHeight;
 		chartDataSet();
-		chartRender();
 	}
 	
 	
@@ -59,14 +58,14 @@ public class SpinnerPieChart01View extends GraphicalView {
  		}
  	}
      
-     private void chartRender()
+     public void chartRender()
  	{
  		try {					
  			initChart(mChartStyle);
  			//图所占范围大小 		
  			mChart.setChartRange( 0.0f,mMoveHeight,
- 									getScreenWidth(),
- 									getScreenHeight() - mMoveHeight);
+ 									getWidth(),
+ 									getHeight() - mMoveHeight);
  			mChart.setCanvas(this.mCacheCanvas);
  			//图的内边距
  			mChart.setPadding(5, 35, 15, 20);
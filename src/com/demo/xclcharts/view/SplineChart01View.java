@@ -52,16 +52,15 @@ public class SplineChart01View extends GraphicalView {
 				
 		chartLabels();
 		chartDataSet();
-		chartRender();	
 	}
 	
-	private void chartRender()
+	public void chartRender()
 	{
 		try {
 			
 			SplineChart chart = new SplineChart();
 			//柱形图所占范围大小
-			chart.setChartRange(0.0f, 0.0f,getScreenWidth(),getScreenHeight());
+			chart.setChartRange(0.0f, 0.0f,getWidth(),getHeight());
 			chart.setCanvas(this.mCacheCanvas);
 			chart.setPadding(20, 20, 13, 5);
 			
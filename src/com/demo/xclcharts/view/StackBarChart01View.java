@@ -53,17 +53,16 @@ public class StackBarChart01View extends GraphicalView {
 		// TODO Auto-generated constructor stub
 		chartLabels();
 		chartDataSet();
-		chartRender();
 	}
 	
-	private void chartRender()
+	public void chartRender()
 	{
 		try {
 			
 			StackBarChart chart = new StackBarChart();
 			chart.setCanvas(this.mCacheCanvas);
 			//柱形图所占范围大小
-			chart.setChartRange(0.0f, 0.0f,getScreenWidth(),getScreenHeight());
+			chart.setChartRange(0.0f, 0.0f,getWidth(),getHeight());
 			chart.setChartDirection(XEnum.Direction.VERTICAL);
 			if(chart.isVerticalScreen())
 			{
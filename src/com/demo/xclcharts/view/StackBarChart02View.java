@@ -51,16 +51,15 @@ public class StackBarChart02View extends GraphicalView {
 		
 		chartLabels();
 		chartDataSet();
-		chartRender();
 	}
 	
-	private void chartRender()
+	public void chartRender()
 	{
 		try {		
 			StackBarChart chart = new StackBarChart();
 			chart.setCanvas(this.mCacheCanvas);
 			//柱形图所占范围大小
-			chart.setChartRange(0.0f, 0.0f,getScreenWidth(),getScreenHeight());
+			chart.setChartRange(0.0f, 0.0f,getWidth(),getHeight());
 			//指定显示为横向柱形
 			chart.setChartDirection(XEnum.Direction.HORIZONTAL);
 			if(chart.isVerticalScreen())
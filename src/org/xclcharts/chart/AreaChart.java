@@ -24,16 +24,19 @@ package org.xclcharts.chart;
 
 import java.util.List;
 
+import org.xclcharts.chart.series.IDataSeries;
 import org.xclcharts.renderer.LnChart;
+import org.xclcharts.renderer.SeriesBounds;
+import org.xclcharts.renderer.SeriesGeometry;
 import org.xclcharts.renderer.XEnum;
+import org.xclcharts.renderer.canvas.ChartPath;
+import org.xclcharts.renderer.line.LineSegmentBatch;
 import org.xclcharts.renderer.line.PlotDot;
 import org.xclcharts.renderer.line.PlotLines;
-
-import android.graphics.Color;
-import android.graphics.Paint;
-import android.graphics.Paint.Align;
-import android.graphics.Paint.Style;
-import android.graphics.Path;
+import org.xclcharts.renderer.canvas.ChartPaint.Align;
+import org.xclcharts.renderer.canvas.ChartPaint.Style;
+import org.xclcharts.renderer.canvas.ChartColor;
+import org.xclcharts.renderer.canvas.ChartPaint;
 
 
 /**
@@ -45,22 +48,25 @@ import android.graphics.Path;
 public class AreaChart extends LnChart{	
 	
 	//画点标签的画笔
-  	protected Paint mPaintAreaFill =  null; 
+  	protected ChartPaint mPaintAreaFill =  null; 
   	
     //数据源
   	protected List<AreaData> mDataSet;
   	
   	//透明度
   	private int mAreaAlpha = 100;
+  	
+  	//填充区域用的路径,各序列重复使用
+  	private final ChartPath mPathArea = new ChartPath();
 	
 	public AreaChart()
 	{
 		super();
 		
-		mPaintAreaFill = new Paint();
+		mPaintAreaFill = new ChartPaint();
 		mPaintAreaFill.setStyle(Style.FILL);
 		mPaintAreaFill.setAntiAlias(true);
-		mPaintAreaFill.setColor((int)Color.rgb(73, 172, 72));		
+		mPaintAreaFill.setColor((int)ChartColor.rgb(73, 172, 72));		
 		
 		labelsAxis.setAxisHorizontalTickAlign(Align.CENTER);
 		dataAxis.setAxisHorizontalTickAlign(Align.LEFT);
@@ -95,119 +101,168 @@ public class AreaChart extends LnChart{
 	}	
 
 	/**
-	 * 绘制区域
+	 * 计算区域上各点的屏幕坐标,数据与绘图区都没变化时直接返回上次的结果
 	 * @param bd	数据序列
-	 * @param type	绘制类型
-	 * @param alpha 透明度
+	 * @param viewportVersion 绘图区版本
+	 * @return 坐标缓存
 	 */
-	private void renderLine(AreaData bd,String type,int alpha)
+	private SeriesGeometry projectLine(AreaData bd,long viewportVersion)
 	{
+		SeriesGeometry geometry = getSeriesGeometry(bd);
+		long dataVersion = bd.getVersion();
+		if(geometry.isValid(dataVersion, viewportVersion)) return geometry;
+		
 		float initX =  plotArea.getPlotLeft();
         float initY =  plotArea.getPlotBottom();
-         
-		float lineStartX = initX;
-        float lineStartY = initY;
-        float lineEndX = 0.0f;
-        float lineEndY = 0.0f;
         						
 		float axisScreenHeight = getAxisScreenHeight();
 		float axisDataHeight =  (float) dataAxis.getAxisRange();	
-		float currLablesSteps = this.getAxisScreenWidth() / (labelsAxis.getDataSet().size() -1) ;  	
+		float currLablesSteps = getVerticalXSteps(labelsAxis.getDataSet().size() -1) ;  	
 		
 		//数据源
-		List<Double> chartValues = bd.getLinePoint();
-		 //用于画折线   
-        Path pathArea = new Path();  
-        pathArea.moveTo(initX,initY);   
-        
-        //透明度。其取值范围是0---255,数值越小，越透明，颜色上表现越淡             
-        mPaintAreaFill.setAlpha( mAreaAlpha );            
-        PlotLines pLine = bd.getPlotLines(); 
-		int j = 0;					 
-		for(Double bv : chartValues)
+		IDataSeries chartValues = bd.getLineSeries();
+		int count = chartValues.size();
+		double offset = getDataOffset();
+		
+		//整个区域都在绘图区外时不用再计算
+		SeriesBounds bounds = geometry.getBounds();
+		bounds.update(chartValues);
+		if(!bounds.intersects(offset, offset + getAxisScreenWidth() / currLablesSteps,
+						dataAxis.getAxisMin(), dataAxis.getAxisMax()))
+		{
+			geometry.reset(0);
+			geometry.commit(dataVersion, viewportVersion);
+			return geometry;
+		}
+		
+		//只取绘图区内的点,两边各多取一个
+		int first = getVisibleFirstIndex();
+		int last = getVisibleLastIndex(count, currLablesSteps);
+		
+		//点数远多于像素时先降采样,只计算选出的点
+		int sampled = sample(chartValues, first, last + 1, offset, initX, currLablesSteps);
+		int[] indexes = getSampleIndexes();
+		int points = sampled < 0 ? Math.max(0, last - first + 1) : sampled;
+		
+		geometry.reset(points);
+		for(int k = 0; k < points; k++)
         {								
+			int j = sampled < 0 ? first + k : indexes[k];
+			double bv = chartValues.get(j);
 			//参数值与最大值的比例  照搬到 y轴高度与矩形高度的比例上来 	                                
         	float valuePostion = (float) Math.round( 
 					axisScreenHeight * ( (bv - dataAxis.getAxisMin() ) / axisDataHeight)) ; 
         	
-        	if(j == 0 )
-			{
-				lineStartX = initX;
-				lineStartY = initY - valuePostion;
-				
-				lineEndX = lineStartX;
-				lineEndY = lineStartY;
-			}else{
-				lineEndX =  initX + (j) * currLablesSteps;
-				lineEndY = initY - valuePostion;
-			}
-        	        	 
-        	if(j == chartValues.size() - 1)    //收尾，将path连接一气  
-            {  
-        		// p.lineTo(lineEndX ,initY);                
-        	}else{
-        		pathArea.lineTo(lineEndX ,lineEndY);   
-        	}
-       
-        	////////////////////
-        	if(type.equalsIgnoreCase("LINE"))
-        	{
-        		mCanvas.drawLine( lineStartX ,lineStartY ,lineEndX ,lineEndY,
-        												pLine.getPlotLinesPaint());            	
-        	}else if(type.equalsIgnoreCase("DOT2LABEL")){
-        		
-        		
-        		if(!pLine.getDotStyle().equals(XEnum.DotStyle.HIDE))
-            	{            	
-            		PlotDot pDot = pLine.getPlotDot();	              
-            		float rendEndX  = lineEndX  + pDot.getDotRadius();               		
-        			
-            		renderDot(pDot, 
-            				lineStartX ,lineStartY ,
-            				lineEndX ,lineEndY,
-            				pLine.getPlotDotPaint()); //标识图形            			                	
-        			lineEndX = rendEndX;
-            	}
-        		
-        		if(bd.getLineLabelVisible())
-            	{
-            		//fromatter
-            		mCanvas.drawText(Double.toString(bv) ,
-							lineEndX, lineEndY,  pLine.getPlotLabelsPaint());
-            	}
-        	}else{
-        		return ;
-        	}      
-        	////////////////////
-        	
-        	lineStartX = lineEndX;
-			lineStartY = lineEndY;
+        	geometry.add((float)(initX + (j - offset) * currLablesSteps), initY - valuePostion, j);
+        }
+		geometry.commit(dataVersion, viewportVersion);
+		return geometry;
+	}
 
-			j++;
+	/**
+	 * 填充区域,路径只构建一次,Path对象重复使用
+	 * @param geometry 坐标缓存
+	 */
+	private void renderArea(SeriesGeometry geometry)
+	{
+		int count = geometry.getCount();
+		if(0 == count) return;
+		
+        float initY =  plotArea.getPlotBottom();
+		
+        mPathArea.reset();
+        mPathArea.moveTo(geometry.getX(0), initY);   
+		for(int i = 0; i < count; i++)
+        {								
+			mPathArea.lineTo(geometry.getX(i), geometry.getY(i));   
         }	
-                	
-		pathArea.lineTo(lineStartX ,lineStartY);  
-		pathArea.lineTo(lineStartX ,initY);  
-		pathArea.close(); 
-		mCanvas.drawPath(pathArea, mPaintAreaFill);
+		//收尾，将path连接一气  
+		mPathArea.lineTo(geometry.getX(count - 1), initY);  
+		mPathArea.close(); 
+		
+        //透明度。其取值范围是0---255,数值越小，越透明，颜色上表现越淡             
+        mPaintAreaFill.setAlpha( mAreaAlpha );            
+		mCanvas.drawPath(mPathArea, mPaintAreaFill);
+	}
+	
+	/**
+	 * 画区域的边线
+	 * @param bd	数据序列
+	 * @param geometry 坐标缓存
+	 */
+	private void renderLines(AreaData bd,SeriesGeometry geometry)
+	{
+        //线段先收集起来,一次画出
+        LineSegmentBatch batch = getLineSegmentBatch();
+        batch.begin(mCanvas, bd.getPlotLines().getPlotLinesChartPaint());
+        batch.addPolyline(geometry.getPoints(), 0, geometry.getCount());
+		batch.end();
+	}
+	
+	/**
+	 * 画线上的点和标签
+	 * @param bd	数据序列
+	 * @param geometry 坐标缓存
+	 */
+	private void renderDotsAndLabels(AreaData bd,SeriesGeometry geometry)
+	{
+        PlotLines pLine = bd.getPlotLines(); 
+		boolean dotVisible = !pLine.getDotStyle().equals(XEnum.DotStyle.HIDE);
+		boolean labelVisible = bd.getLineLabelVisible();
+		if(!dotVisible && !labelVisible) return;
+		
+		PlotDot pDot = pLine.getPlotDot();
+		float labelOffset = dotVisible ? pDot.getDotRadius() : 0f;
+		
+		IDataSeries chartValues = bd.getLineSeries();
+		int count = geometry.getCount();
+		for(int i = 0; i < count; i++)
+        {	
+			float x = geometry.getX(i);
+			float y = geometry.getY(i);
+			if(dotVisible) renderDot(pDot, x, y, pLine.getPlotDotChartPaint()); //标识图形
+			if(labelVisible)
+			{
+    			double bv = chartValues.get(geometry.getDataIndex(i));
+        		renderItemLabel(bv, x + labelOffset, y, pLine.getPlotLabelsChartPaint());
+			}
+        }
 	}
 	
 	
 	private void renderVerticalPlot()
 	{				
-		renderVerticalDataAxis();
-		renderVerticalLabelsAxis();
+		//坐标系画在静态层
+		if(beginLayer(XEnum.ChartLayer.STATIC))
+		{
+			renderVerticalDataAxis();
+			renderVerticalLabelsAxis();
+		}
+		
+		//区域画在数据层
+		if(!beginLayer(XEnum.ChartLayer.DATA)) return;
+		
+		//绘图区没变化时,只有数据变了的序列才重新计算坐标
+		long viewportVersion = updateViewportVersion(getDataOffset(), labelsAxis.getDataSet().size());
 		
 		//开始处 X 轴 即标签轴                  
 		for(int i=0;i<mDataSet.size();i++)
 		{								
-			this.renderLine( mDataSet.get(i),"LINE",(int)Math.round(mDataSet.size() *i));
-			this.renderLine( mDataSet.get(i),"DOT2LABEL",(int)Math.round(mDataSet.size() *i));		
+			AreaData bd = mDataSet.get(i);
+			SeriesGeometry geometry = projectLine(bd, viewportVersion);
+			renderArea(geometry);
+			renderLines(bd,geometry);
+			renderDotsAndLabels(bd,geometry);
 		}
 			
 	}
 	
 	
+	@Override
+	protected long getDataStamp() {
+		return getDataStamp(mDataSet);
+	}
+	
 	public boolean render() throws Exception {
 		// TODO Auto-generated method stub
 	
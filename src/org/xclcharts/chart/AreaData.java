@@ -24,10 +24,11 @@ package org.xclcharts.chart;
 import java.util.LinkedList;
 import java.util.List;
 
+import org.xclcharts.chart.series.IDataSeries;
 import org.xclcharts.renderer.XEnum;
+import org.xclcharts.renderer.canvas.ChartColor;
+import org.xclcharts.renderer.canvas.ChartPaint;
 
-import android.graphics.Color;
-import android.graphics.Paint;
 
 /**
  * @ClassName AreaData
@@ -37,7 +38,7 @@ import android.graphics.Paint;
  */
 public class AreaData extends LineData {
 	
-	private Paint mPaintOutline = null;
+	private ChartPaint mPaintOutline = null;
 	
 	private int mAreaFillColor = -999; // 255;
 	
@@ -72,6 +73,36 @@ public class AreaData extends LineData {
 		setLineColor(lineColor);				
 	}
 	
+	/**
+	 * 
+	 * @param key		key值
+	 * @param dataSeries	数据序列,直接使用不复制
+	 * @param lineColor	线颜色
+	 * @param areaColor	区域填充颜色
+	 */
+	public AreaData(String key,double[] dataSeries,int lineColor,int areaColor) 
+	{
+		setLineLabel(key);	
+		setLinePoint(dataSeries);
+		setLineColor(lineColor);	
+		setAreaFillColor(areaColor);
+	}
+	
+	/**
+	 * 
+	 * @param key		key值
+	 * @param dataSeries	数据序列,如实时刷新用的RingSeries,直接使用不复制
+	 * @param lineColor	线颜色
+	 * @param areaColor	区域填充颜色
+	 */
+	public AreaData(String key,IDataSeries dataSeries,int lineColor,int areaColor) 
+	{
+		setLineLabel(key);	
+		setLineSeries(dataSeries);
+		setLineColor(lineColor);	
+		setAreaFillColor(areaColor);
+	}
+	
 	/**
 	 * 
 	 * @param key		key值
@@ -92,8 +123,8 @@ public class AreaData extends LineData {
 	
 	private void init()
 	{
-		mPaintOutline = new Paint();
-		mPaintOutline.setColor(Color.BLACK);
+		mPaintOutline = new ChartPaint();
+		mPaintOutline.setColor(ChartColor.BLACK);
 	}
 	
 	/**
@@ -103,6 +134,7 @@ public class AreaData extends LineData {
 	public void setAreaFillColor(int color)
 	{
 		mAreaFillColor = color;
+		notifyChanged();
 	}
 	
 	/**
@@ -23,12 +23,16 @@
 package org.xclcharts.chart;
 
 import java.util.List;
+import java.util.logging.Logger;
 
 import org.xclcharts.chart.common.DrawHelper;
+import org.xclcharts.chart.series.IDataSeries;
+import org.xclcharts.renderer.SeriesGeometry;
+import org.xclcharts.renderer.XEnum;
 import org.xclcharts.renderer.bar.Bar;
 import org.xclcharts.renderer.bar.Bar3D;
+import org.xclcharts.renderer.canvas.ChartPaint;
 
-import android.util.Log;
 
 /**
  * @ClassName Bar3DChart
@@ -142,7 +146,7 @@ public class Bar3DChart extends BarChart{
 				}
 			}
 		}catch(Exception ex){
-			Log.e("ERROR-Bar3DChart", ex.toString());
+			Logger.getLogger("ERROR-Bar3DChart").severe(ex.toString());
 		}
 	}
 	
@@ -172,73 +176,87 @@ public class Bar3DChart extends BarChart{
 	@Override
 	protected void renderHorizontalBar()
 	{		
-		renderHorizontalBarDataAxis();		
+		//坐标系和3D底座画在静态层
+		if(beginLayer(XEnum.ChartLayer.STATIC))
+		{
+			renderHorizontalBarDataAxis();		
 		 
-		//x轴 线 [要向里突]
-		 dataAxis.renderAxis(plotArea.getPlotLeft(), plotArea.getPlotBottom(), 
-				 			 plotArea.getPlotRight(),  plotArea.getPlotBottom());	
-		 //Y 轴           
-		 renderHorizontalBarLabelAxis(); 	
-			
-			//Y轴线
-		 mBar3D.render3DYAxis(plotArea.getPlotLeft(), plotArea.getPlotTop(), 
-							 plotArea.getPlotRight(), plotArea.getPlotBottom(),mCanvas); 
+			//x轴 线 [要向里突]
+			 dataAxis.renderAxis(plotArea.getPlotLeft(), plotArea.getPlotBottom(), 
+					 			 plotArea.getPlotRight(),  plotArea.getPlotBottom());	
+			 //Y 轴           
+			 renderHorizontalBarLabelAxis(); 	
 			
+				//Y轴线
+			 mBar3D.render3DYAxis(plotArea.getPlotLeft(), plotArea.getPlotTop(), 
+								 plotArea.getPlotRight(), plotArea.getPlotBottom(),mCanvas); 
+		}
+		//柱形画在数据层
+		if(beginLayer(XEnum.ChartLayer.DATA))
+		{
 			//得到Y 轴标签横向间距高度
 			 float YSteps = getHorizontalYSteps();
-	
+
 			//得到数据源
 			List<BarData> chartDataSource = this.getDataSource(); 
 			//依柱形宽度，多柱形间的偏移值 与当前数据集的总数据个数得到当前标签柱形要占的高度	
 			int barNumber = chartDataSource.size();
 			int currNumber = 0;			
-			
-			List<Integer> ret = mBar3D.getBarHeightAndMargin(YSteps, barNumber);	
-			int barHeight = ret.get(0);
-			int barInnerMargin = ret.get(1);			
+		
+			mBar3D.measureBarHeight(YSteps, barNumber);
+			int barHeight = mBar3D.getMeasuredBarSize();
+			int barInnerMargin = mBar3D.getMeasuredBarInnerMargin();			
 			int labelBarUseHeight = barNumber * barHeight + (barNumber - 1) * barInnerMargin;	
-			
-			float scrWidth = plotArea.getPlotWidth();
-			float valueWidth = (float) dataAxis.getAxisRange();
-			
+		
+			//绘图区没变化时,只有数据变了的序列才重新计算坐标
+			long viewportVersion = getBarViewportVersion();
+		
 			for(int i=0;i<barNumber;i++)
 			{					    
 				//得到标签对应的值数据集
 				BarData bd = chartDataSource.get(i) ; 
-				List<Double> barValues = bd.getDataSet(); 
+				IDataSeries barValues = bd.getDataSeries(); 
+				SeriesGeometry geometry = projectBar(bd, viewportVersion);
 				//设置成对应的颜色
-				mBar3D.getBarPaint().setColor(bd.getColor());				
-				int k = 1;						 
-			    //画同标签下的所有柱形
-				for(Double bv : barValues)
-                {																																						
-					float drawBarButtomY = plotArea.getPlotBottom() - (k) * YSteps + labelBarUseHeight / 2;							
-					drawBarButtomY = drawBarButtomY - (barHeight + barInnerMargin ) * currNumber;
-					
-																				
-                	//参数值与最大值的比例  照搬到 y轴高度与矩形高度的比例上来
-                	float valuePostion = (float) Math.round( 
-                			scrWidth * ( (bv - dataAxis.getAxisMin() ) / valueWidth)) ;                 	
+				mBar3D.getBarChartPaint().setColor(bd.getColor());				
+				int count = geometry.getCount();
+				float offsetY = labelBarUseHeight / 2 - (barHeight + barInnerMargin ) * currNumber;
+			    //画同标签下的所有柱形,同一序列的各个面合并后一次画出
+				mBar3D.beginBatch(this.mCanvas);
+				for(int j = 0; j < count; j++)
+                {
+					float drawBarButtomY = geometry.getY(j) + offsetY;
+				
+                	//柱形右端的x坐标
+                	float drawBarEndX = (float) Math.round(geometry.getX(j));                 	
                             	        
                 	//画出柱形                	 	            
 	                mBar3D.renderHorizontal3DBar(plotArea.getPlotLeft(), 
 	                							drawBarButtomY - barHeight, 
-						                		(float) Math.round(plotArea.getPlotLeft()  +  valuePostion), 
+						                		drawBarEndX, 
 						                		drawBarButtomY, 
-	                							mBar3D.getBarPaint().getColor(), this.mCanvas);
-	                	             	
-                	                               	
-                	//在柱形的顶端显示上柱形的当前值	                
-	                mBar3D.renderBarItemLabel(getFormatterItemLabel(bv),
-	                		 (float) Math.round(plotArea.getPlotLeft() + valuePostion)  , 
-	                		 (float) Math.round(drawBarButtomY - barHeight/2), mCanvas);
-                               
-                	k++;
+						                		bd.getColor(), this.mCanvas);
                 }
+				mBar3D.endBatch();
+			
+				//柱形画完后再画标签,免得被柱形盖住
+				for(int j = 0; j < count; j++)
+				{
+					float drawBarButtomY = geometry.getY(j) + offsetY;
+                	//在柱形的顶端显示上柱形的当前值	                
+	                renderItemLabel(mBar3D,barValues.get(j),
+	                		 (float) Math.round(geometry.getX(j)), 
+	                		 (float) Math.round(drawBarButtomY - barHeight/2));
+				}
 				currNumber ++;
 			}	
+		}
+		//说明画在覆盖层
+		if(beginLayer(XEnum.ChartLayer.OVERLAY))
+		{
 			//画Key说明
 			drawDataSetKey();	 
+		}
 	}
 	
 	
@@ -257,12 +275,11 @@ public class Bar3DChart extends BarChart{
 		
 		//3D 偏移值		
 	    double baseTickness = mBar3D.getAxis3DBaseThickness();
-	    double baseAngle = mBar3D.getAngle();	
-		double baseOffsetX = mBar3D.getOffsetX(baseTickness,baseAngle);
-		double baseOffsetY = mBar3D.getOffsetY(baseTickness,baseAngle);	
+		double baseOffsetX = mBar3D.getOffsetX();
+		double baseOffsetY = mBar3D.getOffsetY();	
 	
-		DrawHelper dw = new DrawHelper();
-		double labelHeight = dw.getPaintFontHeight(labelsAxis.getAxisTickLabelsPaint());
+		DrawHelper dw = mDrawHelper;
+		double labelHeight = dw.getPaintFontHeight(labelsAxis.getAxisTickLabelsChartPaint());
 		
 	
 
@@ -274,7 +291,7 @@ public class Bar3DChart extends BarChart{
 			if (plotGrid.getVerticalLinesVisible()) {
 				this.mCanvas.drawLine(currentX, plotArea.getPlotBottom(),
 						currentX, plotArea.getPlotTop(),
-						this.plotGrid.getVerticalLinesPaint());
+						this.plotGrid.getVerticalLinesChartPaint());
 			}
 			// 画上标签/刻度线
 			float currentY = Math.round(plotArea.getPlotBottom() + baseOffsetY + baseTickness+labelHeight);
@@ -287,79 +304,89 @@ public class Bar3DChart extends BarChart{
 	@Override
 	protected void renderVerticalBar()
 	{		
-		renderVerticalBarDataAxis();			
-		renderVerticalBarLabelsAxis();
-		
-		//标签轴(X 轴) 且在这画柱形    
-		 float initX= plotArea.getPlotLeft();
-		 float currentX = initX;		
-			 		
 		 //得到标签轴数据集
 		List<String> dataSet =  labelsAxis.getDataSet();
 				
 		// 依传入的标签个数与轴总宽度算出要画的标签间距数是多少
 		// 总宽度 / 标签个数 = 间距长度	
 		int XSteps = (int) Math.ceil( plotArea.getPlotWidth()/ (dataSet.size() + 1 ));				 			 
-	 	//X轴 线
-		mBar3D.render3DXAxis(plotArea.getPlotLeft(), plotArea.getPlotBottom(),
-							 plotArea.getPlotRight(), plotArea.getPlotBottom(), 
-							 this.mCanvas); 
-	
-		//得到数据源
-		List<BarData> chartDataSource = this.getDataSource();
-		int barNumber = chartDataSource.size();
-		int currNumber = 0;			
 		
-		List<Integer> ret = mBar3D.getBarWidthAndMargin(XSteps, barNumber);
-		int barWidth = ret.get(0);
-		int barInnerMargin = ret.get(1);
-		int labelBarUseWidth = barNumber * barWidth + (barNumber - 1) * barInnerMargin;		
+		//坐标系和3D底座画在静态层
+		if(beginLayer(XEnum.ChartLayer.STATIC))
+		{
+			renderVerticalBarDataAxis();			
+			renderVerticalBarLabelsAxis();
+		 	//X轴 线
+			mBar3D.render3DXAxis(plotArea.getPlotLeft(), plotArea.getPlotBottom(),
+								 plotArea.getPlotRight(), plotArea.getPlotBottom(), 
+								 this.mCanvas); 
+		}
+		//柱形画在数据层
+		if(beginLayer(XEnum.ChartLayer.DATA))
+		{
+			//得到数据源
+			List<BarData> chartDataSource = this.getDataSource();
+			int barNumber = chartDataSource.size();
+			int currNumber = 0;			
+		
+			mBar3D.measureBarWidth(XSteps, barNumber);
+			int barWidth = mBar3D.getMeasuredBarSize();
+			int barInnerMargin = mBar3D.getMeasuredBarInnerMargin();
+			int labelBarUseWidth = barNumber * barWidth + (barNumber - 1) * barInnerMargin;		
 	
+			//绘图区没变化时,只有数据变了的序列才重新计算坐标
+			long viewportVersion = getBarViewportVersion();
 		 
-		//开始处 X 轴 即标签轴                  
-		for(int i=0;i<barNumber;i++)
-		{
-		    //依初超始X坐标与标签间距算出当前刻度的X坐标
-			currentX = initX + (i+1) * XSteps; 
-			
-			//得到标签对应的值数据集				
-			BarData bd = chartDataSource.get(i);
-			List<Double> barValues = bd.getDataSet();
-			//设成对应的颜色
-			mBar3D.getBarPaint().setColor(bd.getColor());				
+			//开始处 X 轴 即标签轴                  
+			for(int i=0;i<barNumber;i++)
+			{
+				//得到标签对应的值数据集				
+				BarData bd = chartDataSource.get(i);
+				IDataSeries barValues = bd.getDataSeries();
+				SeriesGeometry geometry = projectBar(bd, viewportVersion);
+				//设成对应的颜色
+				mBar3D.getBarChartPaint().setColor(bd.getColor());				
+				int count = geometry.getCount();
+				//计算同标签多柱 形时，新柱形相对标签的起始X偏移
+				float offsetX = (barWidth + barInnerMargin ) * currNumber - labelBarUseWidth / 2;
 			
-		   int k=0;					 
-		   //画出标签下的所有柱形
-		   for(Double bv : barValues)
-           {
-				//参数值与最大值的比例  照搬到 y轴高度与矩形高度的比例上来					
-				float valuePostion = (float) Math.round( 
-						plotArea.getPlotHeight() * ( (bv - dataAxis.getAxisMin() ) / dataAxis.getAxisRange())) ;              																
-				float drawBarStartX = initX + (k + 1) * XSteps - labelBarUseWidth / 2;
-				//计算同标签多柱 形时，新柱形的起始X坐标
-				drawBarStartX = drawBarStartX + (barWidth + barInnerMargin ) * currNumber;
-				//计算同标签多柱 形时，新柱形的结束X坐标
-				float drawBarEndX = drawBarStartX + barWidth;	  					
+			   //画出标签下的所有柱形,同一序列的各个面合并后一次画出
+				mBar3D.beginBatch(this.mCanvas);
+			   for(int j = 0; j < count; j++)
+	           {
+					//柱形顶端的y坐标
+					float drawBarTopY = (float) Math.round(geometry.getY(j));              																
+					float drawBarStartX = geometry.getX(j) + offsetX;
+					//计算同标签多柱 形时，新柱形的结束X坐标
+					float drawBarEndX = drawBarStartX + barWidth;	  					
 				
-				//画出柱形      
-				mBar3D.renderVertical3DBar(drawBarStartX, 
-           								(float) Math.round(plotArea.getPlotBottom()  -  valuePostion) , 
-				               			drawBarEndX, 
-				               			plotArea.getPlotBottom(),
-				               			bd.getColor(), this.mCanvas);
-        
-			
-           		//在柱形的顶端显示上柱形的当前值
-           		mBar3D.renderBarItemLabel(getFormatterItemLabel(bv),
-			                		 (float) Math.round(drawBarStartX + barWidth/2) ,
-			                		 (float) Math.round(plotArea.getPlotBottom()  -  valuePostion), mCanvas);            				
-				k++;                
-           }	
-			currNumber ++;				
+					//画出柱形      
+					mBar3D.renderVertical3DBar(drawBarStartX, 
+	           								drawBarTopY , 
+					               			drawBarEndX, 
+					               			plotArea.getPlotBottom(),
+					               			bd.getColor(), this.mCanvas);
+	           }	
+			   mBar3D.endBatch();
+		   
+			   //柱形画完后再画标签,免得被柱形盖住
+			   for(int j = 0; j < count; j++)
+			   {
+				   float drawBarStartX = geometry.getX(j) + offsetX;
+				   //在柱形的顶端显示上柱形的当前值
+				   renderItemLabel(mBar3D,barValues.get(j),
+				                		 (float) Math.round(drawBarStartX + barWidth/2) ,
+				                		 (float) Math.round(geometry.getY(j)));
+			   }
+				currNumber ++;				
+			}
+		}
+		//说明画在覆盖层
+		if(beginLayer(XEnum.ChartLayer.OVERLAY))
+		{
+			//绘制标签各柱形集的说明描述
+			drawDataSetKey();
 		}
-	 
-		//绘制标签各柱形集的说明描述
-		drawDataSetKey();
 	}
 	
 	
@@ -23,18 +23,20 @@
 package org.xclcharts.chart;
 
 import java.util.List;
+import java.util.logging.Logger;
 
 import org.xclcharts.chart.common.DrawHelper;
 import org.xclcharts.chart.common.IFormatterDoubleCallBack;
+import org.xclcharts.chart.common.IFormatterNumberCallBack;
+import org.xclcharts.chart.common.NumberFormatter;
+import org.xclcharts.chart.series.IDataSeries;
 import org.xclcharts.renderer.AxisChart;
+import org.xclcharts.renderer.SeriesGeometry;
 import org.xclcharts.renderer.XEnum;
 import org.xclcharts.renderer.bar.Bar;
 import org.xclcharts.renderer.bar.FlatBar;
-
-import android.graphics.Color;
-import android.graphics.Paint;
-import android.graphics.Paint.Align;
-import android.util.Log;
+import org.xclcharts.renderer.canvas.ChartPaint.Align;
+import org.xclcharts.renderer.canvas.ChartPaint;
 
 /**
  * @ClassName BarChart
@@ -49,6 +51,8 @@ public class BarChart extends AxisChart {
 	private FlatBar mFlatBar = new FlatBar();
 	// 格式化柱形上的标签
 	private IFormatterDoubleCallBack mItemLabelFormatter;
+	// 柱形上的标签转成文字,复用同一块缓冲
+	private final NumberFormatter mItemLabel = new NumberFormatter();
 	// 数据源
 	private List<BarData> mDataSet;
 	// 确定是竖向柱形图(默认)还是横向
@@ -85,6 +89,8 @@ public class BarChart extends AxisChart {
 	 * @return 转换后的文本标签
 	 */
 	protected String getFormatterItemLabel(double value) {
+		if (null == mItemLabelFormatter)
+			return Double.toString(value);
 		String itemLabel = "";
 		try {
 			itemLabel = mItemLabelFormatter.doubleFormatter(value);
@@ -94,6 +100,34 @@ public class BarChart extends AxisChart {
 		return itemLabel;
 	}
 
+	/**
+	 * 设置柱形顶上标签的数值格式,格式化结果直接写入复用的缓冲,不生成String。
+	 * 同时设置了setItemLabelFormatter()时以后者为准
+	 * @param callBack 回调函数,为null时使用默认格式
+	 */
+	public void setItemLabelNumberFormatter(IFormatterNumberCallBack callBack) {
+		mItemLabel.setCallBack(callBack);
+	}
+
+	/**
+	 * 绘制柱形顶上的标签,标签不显示时不做格式化
+	 * @param bar 柱形绘制类
+	 * @param value 值
+	 * @param x x坐标
+	 * @param y y坐标
+	 */
+	protected void renderItemLabel(Bar bar, double value, float x, float y) {
+		if (!bar.getItemLabelsVisible())
+			return;
+		if (null != mItemLabelFormatter) {
+			mItemLabel.begin().append(getFormatterItemLabel(value)).end();
+		} else {
+			mItemLabel.format(value);
+		}
+		bar.renderBarItemLabel(mItemLabel.getChars(), mItemLabel.getLength(),
+				x, y, mCanvas);
+	}
+
 	/**
 	 * 标签轴的数据源
 	 * 
@@ -124,6 +158,9 @@ public class BarChart extends AxisChart {
 	 */
 	public void setChartDirection(XEnum.Direction direction) {
 		mDirection = direction;
+		//横竖向缓存的坐标不同
+		clearSeriesGeometry();
+		invalidateLayers();
 		
 		defaultAxisSetting();		
 	}
@@ -146,24 +183,24 @@ public class BarChart extends AxisChart {
 			switch (mDirection) {
 				case HORIZONTAL: {
 					labelsAxis.setAxisHorizontalTickAlign(Align.LEFT);		
-					labelsAxis.getAxisTickLabelsPaint().setTextAlign(Align.RIGHT);					
+					labelsAxis.getAxisTickLabelsChartPaint().setTextAlign(Align.RIGHT);					
 					dataAxis.setAxisHorizontalTickAlign(Align.CENTER);
-					dataAxis.getAxisTickLabelsPaint().setTextAlign(Align.CENTER);					
-					getBar().getItemLabelsPaint().setTextAlign(Align.LEFT);			
+					dataAxis.getAxisTickLabelsChartPaint().setTextAlign(Align.CENTER);					
+					getBar().getItemLabelsChartPaint().setTextAlign(Align.LEFT);			
 					break;
 				}
 				case VERTICAL: {					
 					dataAxis.setAxisHorizontalTickAlign(Align.LEFT);
-					dataAxis.getAxisTickLabelsPaint().setTextAlign(Align.RIGHT);					
+					dataAxis.getAxisTickLabelsChartPaint().setTextAlign(Align.RIGHT);					
 									
 					labelsAxis.setAxisHorizontalTickAlign(Align.CENTER);			
-					labelsAxis.getAxisTickLabelsPaint().setTextAlign(Align.CENTER);					
+					labelsAxis.getAxisTickLabelsChartPaint().setTextAlign(Align.CENTER);					
 					labelsAxis.setAxisVerticalTickPostion(XEnum.Postion.LOWER);				
 					break;
 				}
 			}
 		}catch(Exception ex){
-			Log.e("ERROR-BarChart", ex.toString());
+			Logger.getLogger("ERROR-BarChart").severe(ex.toString());
 		}
 	}
 
@@ -197,10 +234,10 @@ public class BarChart extends AxisChart {
 	 */
 	private void drawDataSetKeyLeft() {
 
-		DrawHelper dw = new DrawHelper();
+		DrawHelper dw = mDrawHelper;
 
 		float keyTextHeight = dw.getPaintFontHeight(this
-				.getPlotDataSetKeyPaint());
+				.getPlotDataSetKeyChartPaint());
 		float keyLablesX = this.plotArea.getPlotLeft();
 		float keyLablesY = this.plotArea.getPlotTop() - keyTextHeight;
 
@@ -209,12 +246,12 @@ public class BarChart extends AxisChart {
 		float rectHeight = keyTextHeight;
 		float rectOffset = getPlotDataSetKeyMargin();
 		
-		getPlotDataSetKeyPaint().setTextAlign(Align.LEFT);
-		for (BarData cData : mDataSet) {
+		getPlotDataSetKeyChartPaint().setTextAlign(Align.LEFT);
+		for (int i = 0; i < mDataSet.size(); i++) {
+			BarData cData = mDataSet.get(i);
 			String key = cData.getKey();
-			getPlotDataSetKeyPaint().setColor(cData.getColor());
-			float strWidth = getPlotDataSetKeyPaint().measureText(key, 0,
-					key.length());
+			getPlotDataSetKeyChartPaint().setColor(cData.getColor());
+			float strWidth = dw.measureText(getPlotDataSetKeyChartPaint(), key);
 
 			if (keyLablesX + 2 * rectWidth + strWidth > this.getChartRight()) {
 				keyLablesX = this.plotArea.getPlotLeft();
@@ -222,11 +259,11 @@ public class BarChart extends AxisChart {
 			}
 
 			mCanvas.drawRect(keyLablesX, keyLablesY, keyLablesX + rectWidth,
-					keyLablesY - rectHeight, getPlotDataSetKeyPaint());
+					keyLablesY - rectHeight, getPlotDataSetKeyChartPaint());
 
-			getPlotDataSetKeyPaint().setTextAlign(Align.LEFT);
+			getPlotDataSetKeyChartPaint().setTextAlign(Align.LEFT);
 			dw.drawRotateText(key, keyLablesX + rectWidth + rectOffset,
-					keyLablesY, 0, this.mCanvas, getPlotDataSetKeyPaint());
+					keyLablesY, 0, this.mCanvas, getPlotDataSetKeyChartPaint());
 
 			keyLablesX += rectWidth + strWidth + 2 * rectOffset;
 		}
@@ -240,9 +277,9 @@ public class BarChart extends AxisChart {
 		if (false == getPlotKeyVisible())
 			return;
 
-		DrawHelper dw = new DrawHelper();
+		DrawHelper dw = mDrawHelper;
 
-		float keyTextHeight = dw.getPaintFontHeight(getPlotDataSetKeyPaint());
+		float keyTextHeight = dw.getPaintFontHeight(getPlotDataSetKeyChartPaint());
 		float keyLablesX = this.plotArea.getPlotRight();
 		float keyLablesY = (float) (this.getChartTop() + keyTextHeight);
 
@@ -251,17 +288,18 @@ public class BarChart extends AxisChart {
 		float rectHeight = keyTextHeight;
 		float rectOffset = getPlotDataSetKeyMargin();
 
-		getPlotDataSetKeyPaint().setTextAlign(Align.RIGHT);
-		for (BarData cData : mDataSet) {
+		getPlotDataSetKeyChartPaint().setTextAlign(Align.RIGHT);
+		for (int i = 0; i < mDataSet.size(); i++) {
+			BarData cData = mDataSet.get(i);
 			String key = cData.getKey();
-			getPlotDataSetKeyPaint().setColor(cData.getColor());
+			getPlotDataSetKeyChartPaint().setColor(cData.getColor());
 
 			mCanvas.drawRect(keyLablesX, keyLablesY, keyLablesX - rectWidth,
-					keyLablesY + rectHeight, getPlotDataSetKeyPaint());
+					keyLablesY + rectHeight, getPlotDataSetKeyChartPaint());
 
 			dw.drawRotateText(key, keyLablesX - rectWidth - rectOffset,
 					keyLablesY + rectHeight, 0, this.mCanvas,
-					getPlotDataSetKeyPaint());
+					getPlotDataSetKeyChartPaint());
 
 			keyLablesY += keyTextHeight;
 		}
@@ -276,8 +314,8 @@ public class BarChart extends AxisChart {
 		// 得到最大size个数
 		int dsetMaxSize = 0;
 		for (int i = 0; i < mDataSet.size(); i++) {
-			if (dsetMaxSize < mDataSet.get(i).getDataSet().size())
-				dsetMaxSize = mDataSet.get(i).getDataSet().size();
+			if (dsetMaxSize < mDataSet.get(i).getDataSeries().size())
+				dsetMaxSize = mDataSet.get(i).getDataSeries().size();
 		}
 		return dsetMaxSize;
 	}
@@ -328,7 +366,7 @@ public class BarChart extends AxisChart {
 		// 数据轴高度步长
 		float YSteps = getVerticalYSteps(tickCount);
 		float currentY = plotArea.getPlotBottom();
-		float maskHeight =  dataAxis.getAxisTickMarksPaint().getStrokeWidth()/2;
+		float maskHeight =  dataAxis.getAxisTickMarksChartPaint().getStrokeWidth()/2;
 
 		// 数据轴(Y 轴)
 		for (int i = 0; i <= tickCount; i++) {
@@ -337,9 +375,6 @@ public class BarChart extends AxisChart {
 			// 依起始数据坐标与数据刻度间距算出上移高度
 			//currentY = (float) Math.rint(plotArea.getPlotBottom() - i * YSteps);
 			currentY = (float)(plotArea.getPlotBottom() - i * YSteps);
-			// 标签
-			float currentTickLabel = (float) (dataAxis.getAxisMin() + (i * dataAxis
-					.getAxisSteps()));
 						
 			// 从左到右的横向网格线		
 			if ( i % 2 != 0) {
@@ -358,10 +393,10 @@ public class BarChart extends AxisChart {
 			{
 				dataAxis.renderAxisHorizontalTick(plotArea.getPlotLeft(),
 												  plotArea.getPlotTop() , //- maskHeight, 
-								Float.toString(currentTickLabel));
+								i);
 			}else{
 				this.dataAxis.renderAxisHorizontalTick(plotArea.getPlotLeft(),
-						currentY, Float.toString(currentTickLabel));
+						currentY, i);
 			}
 			
 		}
@@ -393,7 +428,7 @@ public class BarChart extends AxisChart {
 			if (plotGrid.getVerticalLinesVisible()) {
 				this.mCanvas.drawLine(currentX, plotArea.getPlotBottom(),
 						currentX, plotArea.getPlotTop(),
-						this.plotGrid.getVerticalLinesPaint());
+						this.plotGrid.getVerticalLinesChartPaint());
 			}
 			// 画上标签/刻度线
 			labelsAxis.renderAxisVerticalTick(currentX,
@@ -420,10 +455,8 @@ public class BarChart extends AxisChart {
 			currentX = (int) Math.round((this.plotArea.getPlotLeft() + i
 					* XSteps));
 									
-			float currentTickLabel = (float) (dataAxis.getAxisMin() + (i * dataAxis
-					.getAxisSteps()));
 			this.dataAxis.renderAxisVerticalTick(currentX,
-					plotArea.getPlotBottom(), Float.toString(currentTickLabel));
+					plotArea.getPlotBottom(), i);
 		
 
 			// 从底到上的竖向网格线
@@ -462,144 +495,224 @@ public class BarChart extends AxisChart {
 	}
 
 	/**
-	 * 绘制横向柱形图
+	 * 返回绘图区版本,在画完坐标轴后调用
+	 * @return 绘图区版本
 	 */
-	protected void renderHorizontalBar() {
-		//坐标系
-		renderHorizontalBarDataAxis();
-		renderHorizontalBarLabelAxis();
-
-		// 得到Y 轴标签横向间距高度
-		float YSteps = getHorizontalYSteps();
-
-		// 画柱形
-		// 依柱形宽度，多柱形间的偏移值 与当前数据集的总数据个数得到当前标签柱形要占的高度
-		int barNumber = mDataSet.size();
-		int currNumber = 0;
-		List<Integer> ret = mFlatBar.getBarHeightAndMargin(YSteps, barNumber);
-		int barHeight = ret.get(0);
-		int barInnerMargin = ret.get(1);
-		int labelBarUseHeight = barNumber * barHeight + (barNumber - 1)
-				* barInnerMargin;
-
-		float scrWidth = getAxisScreenWidth();
-		float valueWidth = (float) dataAxis.getAxisRange();
-
-		for (int i = 0; i < barNumber; i++) {
-			// 得到标签对应的值数据集
-			BarData bd = mDataSet.get(i);
-			List<Double> barValues = bd.getDataSet();
-			// 设置成对应的颜色
-			mFlatBar.getBarPaint().setColor(bd.getColor());
-
-			// 画同标签下的所有柱形
-			int k = 1;
-			for (Double bv : barValues) {
-				float currLableY = plotArea.getPlotBottom() - (k) * YSteps;
-				float drawBarButtomY = currLableY + labelBarUseHeight / 2;
-				drawBarButtomY = drawBarButtomY - (barHeight + barInnerMargin)
-						* currNumber;
-				float drawBarTopY = drawBarButtomY - barHeight;
-
-				// 宽度
-				float valuePostion = (float) Math.round(scrWidth
-						* ((bv - dataAxis.getAxisMin()) / valueWidth));
-
-				// 画出柱形
-				mFlatBar.renderBar(plotArea.getPlotLeft(), drawBarButtomY,
-						plotArea.getPlotLeft() + valuePostion, drawBarTopY,
-						this.mCanvas);
-
-				// 柱形顶端标识
-				mFlatBar.renderBarItemLabel(getFormatterItemLabel(bv),
-						plotArea.getPlotLeft() + valuePostion,
-						(float) Math.round(drawBarButtomY - barHeight / 2),
-						mCanvas);
+	protected long getBarViewportVersion() {
+		return updateViewportVersion(0, labelsAxis.getDataSet().size());
+	}
 
-				k++;
+	/**
+	 * 计算各柱形在屏幕上的位置,数据与绘图区都没变化时直接返回上次的结果。
+	 * 竖向时x为标签刻度的x坐标,y为柱形顶端的y坐标;
+	 * 横向时x为柱形右端的x坐标,y为标签刻度的y坐标。
+	 * 同一标签下多个柱形间的偏移在绘制时再加上
+	 * @param bd 数据集
+	 * @param viewportVersion 绘图区版本
+	 * @return 坐标缓存
+	 */
+	protected SeriesGeometry projectBar(BarData bd, long viewportVersion) {
+		SeriesGeometry geometry = getSeriesGeometry(bd);
+		long dataVersion = bd.getVersion();
+		if (geometry.isValid(dataVersion, viewportVersion))
+			return geometry;
+
+		IDataSeries barValues = bd.getDataSeries();
+		int count = barValues.size();
+		double axisMin = dataAxis.getAxisMin();
+		float axisDataRange = (float) dataAxis.getAxisRange();
+
+		geometry.reset(count);
+		if (XEnum.Direction.HORIZONTAL == mDirection) {
+			float YSteps = getHorizontalYSteps();
+			float scrWidth = getAxisScreenWidth();
+			for (int j = 0; j < count; j++) {
+				float valuePostion = (float) Math.round(scrWidth
+						* ((barValues.get(j) - axisMin) / axisDataRange));
+				geometry.add(plotArea.getPlotLeft() + valuePostion,
+						plotArea.getPlotBottom() - (j + 1) * YSteps, j);
+			}
+		} else {
+			float XSteps = getVerticalXSteps(labelsAxis.getDataSet().size() + 1);
+			float axisScreenHeight = getAxisScreenHeight();
+			for (int j = 0; j < count; j++) {
+				float valuePostion = (float) Math.round(axisScreenHeight
+						* ((barValues.get(j) - axisMin) / axisDataRange));
+				geometry.add(plotArea.getPlotLeft() + (j + 1) * XSteps,
+						plotArea.getPlotBottom() - valuePostion, j);
 			}
-			currNumber++;
 		}
+		geometry.commit(dataVersion, viewportVersion);
+		return geometry;
+	}
 
-		// Y轴线
-		dataAxis.renderAxis(plotArea.getPlotLeft(), plotArea.getPlotBottom(),
-				plotArea.getPlotLeft(), plotArea.getPlotTop());
-
-		// X轴 线
-		labelsAxis.renderAxis(plotArea.getPlotLeft(), plotArea.getPlotBottom(),
-				plotArea.getPlotRight(), plotArea.getPlotBottom());
-		// 画Key说明
-		drawDataSetKey();
+	/**
+	 * 绘制横向柱形图
+	 */
+	protected void renderHorizontalBar() {
+		//坐标系画在静态层
+		if(beginLayer(XEnum.ChartLayer.STATIC))
+		{
+			renderHorizontalBarDataAxis();
+			renderHorizontalBarLabelAxis();
+		}
+		//柱形画在数据层
+		if(beginLayer(XEnum.ChartLayer.DATA))
+		{
+			// 得到Y 轴标签横向间距高度
+			float YSteps = getHorizontalYSteps();
+
+			// 画柱形
+			// 依柱形宽度，多柱形间的偏移值 与当前数据集的总数据个数得到当前标签柱形要占的高度
+			int barNumber = mDataSet.size();
+			int currNumber = 0;
+			mFlatBar.measureBarHeight(YSteps, barNumber);
+			int barHeight = mFlatBar.getMeasuredBarSize();
+			int barInnerMargin = mFlatBar.getMeasuredBarInnerMargin();
+			int labelBarUseHeight = barNumber * barHeight + (barNumber - 1)
+					* barInnerMargin;
+
+			// 绘图区没变化时,只有数据变了的序列才重新计算坐标
+			long viewportVersion = getBarViewportVersion();
+
+			for (int i = 0; i < barNumber; i++) {
+				// 得到标签对应的值数据集
+				BarData bd = mDataSet.get(i);
+				IDataSeries barValues = bd.getDataSeries();
+				SeriesGeometry geometry = projectBar(bd, viewportVersion);
+				// 设置成对应的颜色
+				mFlatBar.getBarChartPaint().setColor(bd.getColor());
+
+				// 画同标签下的所有柱形
+				for (int j = 0; j < geometry.getCount(); j++) {
+					double bv = barValues.get(j);
+					float currLableY = geometry.getY(j);
+					float drawBarButtomY = currLableY + labelBarUseHeight / 2;
+					drawBarButtomY = drawBarButtomY - (barHeight + barInnerMargin)
+							* currNumber;
+					float drawBarTopY = drawBarButtomY - barHeight;
+
+					// 宽度
+					float drawBarEndX = geometry.getX(j);
+
+					// 画出柱形
+					mFlatBar.renderBar(plotArea.getPlotLeft(), drawBarButtomY,
+							drawBarEndX, drawBarTopY,
+							this.mCanvas);
+
+					// 柱形顶端标识
+					renderItemLabel(mFlatBar,bv,
+							drawBarEndX,
+							(float) Math.round(drawBarButtomY - barHeight / 2));
+				}
+				currNumber++;
+			}
+		}
+		//压在柱形上的轴线和说明画在覆盖层
+		if(beginLayer(XEnum.ChartLayer.OVERLAY))
+		{
+			// Y轴线
+			dataAxis.renderAxis(plotArea.getPlotLeft(), plotArea.getPlotBottom(),
+					plotArea.getPlotLeft(), plotArea.getPlotTop());
+
+			// X轴 线
+			labelsAxis.renderAxis(plotArea.getPlotLeft(), plotArea.getPlotBottom(),
+					plotArea.getPlotRight(), plotArea.getPlotBottom());
+			// 画Key说明
+			drawDataSetKey();
+		}
 	}
 
 	/**
 	 * 绘制竖向柱形图
 	 */
 	protected void renderVerticalBar() {
-		renderVerticalBarDataAxis();
-		renderVerticalBarLabelsAxis();
-
-		float axisScreenHeight = getAxisScreenHeight();
-		float axisDataHeight = (float) dataAxis.getAxisRange();
-
-		// 得到标签轴数据集
-		List<String> dataSet = labelsAxis.getDataSet();
-		float XSteps = getVerticalXSteps(dataSet.size() + 1);
-
-		int barNumber = mDataSet.size();
-		int currNumber = 0;
-		List<Integer> ret = mFlatBar.getBarWidthAndMargin(XSteps, barNumber);
-		int barWidth = ret.get(0);
-		int barInnerMargin = ret.get(1);
-		int labelBarUseWidth = barNumber * barWidth + (barNumber - 1)
-				* barInnerMargin;
-
-		// X 轴 即标签轴
-		for (int i = 0; i < mDataSet.size(); i++) {
-			// 得到标签对应的值数据集
-			BarData bd = mDataSet.get(i);
-			List<Double> barValues = bd.getDataSet();
-			// 设成对应的颜色
-			mFlatBar.getBarPaint().setColor(bd.getColor());
-
-			// 画出标签对应的所有柱形
-			for (int j = 0; j < barValues.size(); j++) {
-				Double bv = barValues.get(j);
-
-				float valuePostion = (float) Math.round(axisScreenHeight
-						* ((bv - dataAxis.getAxisMin()) / axisDataHeight));
-
-				float currLableX = plotArea.getPlotLeft() + (j + 1) * XSteps;
-				float drawBarStartX = currLableX - labelBarUseWidth / 2;
-
-				// 计算同标签多柱 形时，新柱形的起始X坐标
-				drawBarStartX = drawBarStartX + (barWidth + barInnerMargin)
-						* currNumber;
-				// 计算同标签多柱 形时，新柱形的结束X坐标
-				float drawBarEndX = drawBarStartX + barWidth;
-
-				// 画出柱形
-				mFlatBar.renderBar(drawBarStartX, plotArea.getPlotBottom(),
-						drawBarEndX, plotArea.getPlotBottom() - valuePostion,
-						this.mCanvas);
-
-				// 在柱形的顶端显示上柱形的当前值
-				mFlatBar.renderBarItemLabel(
-						getFormatterItemLabel(bv),
-						(float) Math.round(drawBarStartX + barWidth / 2),
-						(float) Math.round(plotArea.getPlotBottom()
-								- valuePostion), mCanvas);
+		//坐标系画在静态层
+		if(beginLayer(XEnum.ChartLayer.STATIC))
+		{
+			renderVerticalBarDataAxis();
+			renderVerticalBarLabelsAxis();
+		}
+		//柱形画在数据层
+		if(beginLayer(XEnum.ChartLayer.DATA))
+		{
+			// 得到标签轴数据集
+			List<String> dataSet = labelsAxis.getDataSet();
+			float XSteps = getVerticalXSteps(dataSet.size() + 1);
+
+			int barNumber = mDataSet.size();
+			int currNumber = 0;
+			mFlatBar.measureBarWidth(XSteps, barNumber);
+			int barWidth = mFlatBar.getMeasuredBarSize();
+			int barInnerMargin = mFlatBar.getMeasuredBarInnerMargin();
+			int labelBarUseWidth = barNumber * barWidth + (barNumber - 1)
+					* barInnerMargin;
+
+			// 绘图区没变化时,只有数据变了的序列才重新计算坐标
+			long viewportVersion = getBarViewportVersion();
+
+			// X 轴 即标签轴
+			for (int i = 0; i < mDataSet.size(); i++) {
+				// 得到标签对应的值数据集
+				BarData bd = mDataSet.get(i);
+				IDataSeries barValues = bd.getDataSeries();
+				SeriesGeometry geometry = projectBar(bd, viewportVersion);
+				// 设成对应的颜色
+				mFlatBar.getBarChartPaint().setColor(bd.getColor());
+
+				// 画出标签对应的所有柱形
+				for (int j = 0; j < geometry.getCount(); j++) {
+					double bv = barValues.get(j);
+					float drawBarTopY = geometry.getY(j);
+
+					float currLableX = geometry.getX(j);
+					float drawBarStartX = currLableX - labelBarUseWidth / 2;
+
+					// 计算同标签多柱 形时，新柱形的起始X坐标
+					drawBarStartX = drawBarStartX + (barWidth + barInnerMargin)
+							* currNumber;
+					// 计算同标签多柱 形时，新柱形的结束X坐标
+					float drawBarEndX = drawBarStartX + barWidth;
+
+					// 画出柱形
+					mFlatBar.renderBar(drawBarStartX, plotArea.getPlotBottom(),
+							drawBarEndX, drawBarTopY,
+							this.mCanvas);
+
+					// 在柱形的顶端显示上柱形的当前值
+					renderItemLabel(mFlatBar,
+							bv,
+							(float) Math.round(drawBarStartX + barWidth / 2),
+							(float) Math.round(drawBarTopY));
+				}
+				currNumber++;
 			}
-			currNumber++;
+		}
+		//压在柱形上的轴线和说明画在覆盖层
+		if(beginLayer(XEnum.ChartLayer.OVERLAY))
+		{
+			// 轴 线
+			dataAxis.renderAxis(plotArea.getPlotLeft(), plotArea.getPlotBottom(),
+					plotArea.getPlotRight(), plotArea.getPlotBottom());
+
+			// 绘制标签各柱形集的说明描述
+			drawDataSetKey();
 		}
 
-		// 轴 线
-		dataAxis.renderAxis(plotArea.getPlotLeft(), plotArea.getPlotBottom(),
-				plotArea.getPlotRight(), plotArea.getPlotBottom());
-
-		// 绘制标签各柱形集的说明描述
-		drawDataSetKey();
+	}
 
+	/**
+	 * 返回各柱形集的标记,数据集增删或修改时随之变化
+	 * @return 标记
+	 */
+	@Override
+	protected long getDataStamp() {
+		List<BarData> dataSet = getDataSource();
+		if (null == dataSet) return 0;
+		long stamp = dataSet.size();
+		for (BarData bd : dataSet)
+			stamp = stampSeries(stamp, bd, bd.getVersion());
+		return stamp;
 	}
 
 	public boolean render() throws Exception {
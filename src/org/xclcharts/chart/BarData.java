@@ -21,10 +21,13 @@
  */
 package org.xclcharts.chart;
 
-import java.util.LinkedList;
 import java.util.List;
 
-import android.graphics.Color;
+import org.xclcharts.chart.series.DoubleSeries;
+import org.xclcharts.chart.series.IDataSeries;
+import org.xclcharts.chart.series.SeriesListView;
+import org.xclcharts.renderer.canvas.ChartColor;
+
 
 /**
  * @ClassName BarData
@@ -36,7 +39,7 @@ public class BarData {
 
 
 		//线上每个点的值
-		private List<Double> mDataSet;
+		private IDataSeries mDataSet;
 
 		//值
 		private String mKey;
@@ -44,6 +47,11 @@ public class BarData {
 		//线上的颜色
 		private Integer mColor;
 		
+		//修改版本
+		private long mVersion = 0;
+		//上次取版本时数据序列的版本
+		private long mSeriesVersion = 0;
+		
 		public BarData() {
 			// TODO Auto-generated constructor stub
 		}
@@ -70,22 +78,54 @@ public class BarData {
 		public BarData(String key,Double dataSeries) 
 		{
 			setKey(key);
-			
-			List<Double> valueList= new LinkedList<Double>();	
-			valueList.add(dataSeries);
-			setDataSet(valueList);
-			
-			setColor(Color.BLACK);
+			setDataSet(new double[]{dataSeries});
+			setColor(ChartColor.BLACK);
+		}
+		
+		/**
+		 *  构成一条完整的数据集合
+		 * @param key	键值		
+		 * @param color  颜色
+		 * @param dataSeries   对应的数据集,直接使用不复制
+		 */
+		public BarData(String key,double[] dataSeries,Integer color) 
+		{
+			setKey(key);		
+			setColor(color);
+			setDataSet(dataSeries);
 		}
 		
 		
 		/**
-		 * 设置数据源
-		 * @param dataSeries 数据集合序列
+		 * 设置数据源,会复制到内部的double[]中。
+		 * 之后对传入List的修改不会反映到图表上,需修改时再次调用本方法,
+		 * 或通过getDataSet()返回的List修改
+		 * @param dataSeries 数据集合序列,为null时为空序列
 		 */
 		public void setDataSet(List<Double> dataSeries) 
+		{
+			mDataSet = DoubleSeries.fromList(dataSeries);
+			notifyChanged();
+		}
+		
+		/**
+		 * 设置数据源,直接使用传入的数组,不复制
+		 * @param dataSeries 数据集合序列
+		 */
+		public void setDataSet(double[] dataSeries) 
+		{
+			mDataSet = new DoubleSeries(dataSeries);
+			notifyChanged();
+		}
+		
+		/**
+		 * 设置数据序列
+		 * @param dataSeries 数据序列
+		 */
+		public void setDataSeries(IDataSeries dataSeries) 
 		{
 			mDataSet = dataSeries;
+			notifyChanged();
 		}
 		
 		/**
@@ -95,6 +135,7 @@ public class BarData {
 		public void setKey(String value) 
 		{
 			mKey = value;
+			notifyChanged();
 		}
 			
 		/**
@@ -104,13 +145,24 @@ public class BarData {
 		public void setColor(Integer value) 
 		{
 			mColor = value;
+			notifyChanged();
 		}
 
 		/**
-		 * 返回数据集合序列
-		 * @return 集合序列
+		 * 返回数据集合序列,为数据序列的List视图,不是setDataSet()传入的List。
+		 * 通过它的修改直接作用在数据序列上;数据序列不是DoubleSeries时只读
+		 * @return 集合序列,没有设置数据源时为null
 		 */
 		public List<Double> getDataSet() {
+			if(null == mDataSet) return null;
+			return new SeriesListView(mDataSet);
+		}
+		
+		/**
+		 * 返回数据序列
+		 * @return 数据序列
+		 */
+		public IDataSeries getDataSeries() {
 			return mDataSet;
 		}
 
@@ -130,4 +182,28 @@ public class BarData {
 		public Integer getColor() {
 			return mColor;
 		}
+		
+		/**
+		 * 标记数据已修改
+		 */
+		public void notifyChanged()
+		{
+			mVersion++;
+		}
+		
+		/**
+		 * 返回修改版本,属性或数据序列有变化时递增,
+		 * 图表据此判断缓存的坐标是否需要重新计算
+		 * @return 修改版本
+		 */
+		public long getVersion()
+		{
+			long seriesVersion = null == mDataSet ? 0 : mDataSet.getVersion();
+			if(seriesVersion != mSeriesVersion)
+			{
+				mSeriesVersion = seriesVersion;
+				mVersion++;
+			}
+			return mVersion;
+		}
 }
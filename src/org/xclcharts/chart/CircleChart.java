@@ -28,11 +28,12 @@ import java.util.List;
 import org.xclcharts.chart.common.DrawHelper;
 import org.xclcharts.renderer.CirChart;
 import org.xclcharts.renderer.XEnum;
+import org.xclcharts.renderer.canvas.ChartPaint.Align;
+import org.xclcharts.renderer.canvas.ChartColor;
+import org.xclcharts.renderer.canvas.ChartPaint;
+import org.xclcharts.renderer.canvas.AndroidPaint;
 
-import android.graphics.Color;
 import android.graphics.Paint;
-import android.graphics.Paint.Align;
-import android.graphics.RectF;
 
 
 /**
@@ -47,9 +48,9 @@ public class CircleChart extends CirChart{
 			private String mDataInfo ="";				
 			private XEnum.CircleDisplayType  mDisplayType =  XEnum.CircleDisplayType.FULL;	
 			//内环填充颜色			
-			private Paint mPaintBgCircle = null;
-			private Paint mPaintFillCircle = null;		
-			private Paint mPaintDataInfo = null;			
+			private ChartPaint mPaintBgCircle = null;
+			private ChartPaint mPaintFillCircle = null;		
+			private ChartPaint mPaintDataInfo = null;			
 			
 			//数据源
 			protected List<PieData> mDataSet;			
@@ -62,22 +63,22 @@ public class CircleChart extends CirChart{
 			
 			private void initChart()
 			{				
-				mPaintBgCircle = new Paint(); 
-				mPaintBgCircle.setColor((int)Color.rgb(148, 159, 181)); 
+				mPaintBgCircle = new ChartPaint(); 
+				mPaintBgCircle.setColor((int)ChartColor.rgb(148, 159, 181)); 
 				mPaintBgCircle.setAntiAlias(true);
 				
-				mPaintFillCircle = new Paint();
-				mPaintFillCircle.setColor((int)Color.rgb(77, 83, 97)); 
+				mPaintFillCircle = new ChartPaint();
+				mPaintFillCircle.setColor((int)ChartColor.rgb(77, 83, 97)); 
 				mPaintFillCircle.setAntiAlias(true);
 			
-				getLabelsPaint().setColor(Color.WHITE);
-				getLabelsPaint().setTextSize(36);
-				getLabelsPaint().setTextAlign(Align.CENTER);
+				getLabelsChartPaint().setColor(ChartColor.WHITE);
+				getLabelsChartPaint().setTextSize(36);
+				getLabelsChartPaint().setTextAlign(Align.CENTER);
 				
 				
-				mPaintDataInfo = new Paint();
+				mPaintDataInfo = new ChartPaint();
 				mPaintDataInfo.setTextSize(22);
-				mPaintDataInfo.setColor(Color.WHITE);
+				mPaintDataInfo.setColor(ChartColor.WHITE);
 				mPaintDataInfo.setTextAlign(Align.CENTER);	
 				mPaintDataInfo.setAntiAlias(true);
 				
@@ -115,27 +116,60 @@ public class CircleChart extends CirChart{
 			
 			/**
 			 * 开放内部填充的画笔
+			 * 返回对应的Android画笔,在上面的修改同时改到图表的画笔上,只能在Android上使用,
+			 * 其他平台用getChartPaintFillCircle()
 			 * @return 画笔
 			 */
 			public Paint getPaintFillCircle()
+			{
+				return AndroidPaint.of(getChartPaintFillCircle());
+			}
+			
+			/**
+			 * 开放内部填充的画笔
+			 * @return 画笔
+			 */
+			public ChartPaint getChartPaintFillCircle()
 			{
 				return mPaintFillCircle;
 			}
 			
 			/**
 			 * 开放内部背景填充的画笔
+			 * 返回对应的Android画笔,在上面的修改同时改到图表的画笔上,只能在Android上使用,
+			 * 其他平台用getChartPaintBgCircle()
 			 * @return 画笔
 			 */
 			public Paint getPaintBgCircle()
+			{
+				return AndroidPaint.of(getChartPaintBgCircle());
+			}
+			
+			/**
+			 * 开放内部背景填充的画笔
+			 * @return 画笔
+			 */
+			public ChartPaint getChartPaintBgCircle()
 			{
 				return mPaintBgCircle;
 			}
 			
 			/**
 			 * 开放绘制附加信息的画笔
+			 * 返回对应的Android画笔,在上面的修改同时改到图表的画笔上,只能在Android上使用,
+			 * 其他平台用getChartPaintDataInfo()
 			 * @return 画笔
 			 */
 			public Paint getPaintDataInfo()
+			{
+				return AndroidPaint.of(getChartPaintDataInfo());
+			}
+			
+			/**
+			 * 开放绘制附加信息的画笔
+			 * @return 画笔
+			 */
+			public ChartPaint getChartPaintDataInfo()
 			{
 				return mPaintDataInfo;
 			}
@@ -151,7 +185,7 @@ public class CircleChart extends CirChart{
 			 * @param curretAgent	当前值
 			 * @throws Exception	例外
 			 */
-			protected void drawPercent( Paint paintArc,
+			protected void drawPercent( ChartPaint paintArc,
 					final float cirX,
 					final float cirY,
 					final float radius,
@@ -163,9 +197,8 @@ public class CircleChart extends CirChart{
 			        float arcTop  = cirY - radius ;  
 			        float arcRight = cirX + radius ;  
 			        float arcBottom = cirY + radius ;  
-			        RectF arcRF0 = new RectF(arcLeft ,arcTop,arcRight,arcBottom);    					
 					//在饼图中显示所占比例  
-					mCanvas.drawArc(arcRF0, offsetAgent, curretAgent, true, paintArc);     				  				
+					mCanvas.drawArc(arcLeft, arcTop, arcRight, arcBottom, offsetAgent, curretAgent, true, paintArc);     				  				
 				}catch( Exception e){
 					throw e;
 				}
@@ -189,19 +222,17 @@ public class CircleChart extends CirChart{
 			        float arcTop  = cirY - radius ;  
 			        float arcRight = cirX + radius ;  
 			        float arcBottom = cirY + radius ;  
-			        RectF arcRF0 = new RectF(arcLeft ,arcTop,arcRight,arcBottom);   
 				        	       
 			        //画笔初始化
-					Paint paintArc = new Paint();  
-					paintArc.setAntiAlias(true);	
+					ChartPaint paintArc = mPaintArc;  
 					
 					//用于存放当前百分比的圆心角度
 			       float currentAgent = 0.0f;					        
 			        
-			       DrawHelper dw = new DrawHelper();
+			       DrawHelper dw = mDrawHelper;
 					      
 			       int infoHeight =  dw.getPaintFontHeight(mPaintDataInfo);
-			       int LabelHeight = dw.getPaintFontHeight(getLabelsPaint());
+			       int LabelHeight = dw.getPaintFontHeight(getLabelsChartPaint());
 			       int textHeight = LabelHeight + infoHeight;
 				        
 				        for(PieData cData : mDataSet)
@@ -217,7 +248,7 @@ public class CircleChart extends CirChart{
 								 currentAgent =  (int) Math.round( 180 *  (cData.getPercentage() / 100) );
 								 drawPercent(paintArc,cirX,cirY,radius,  180f,currentAgent );
 								 drawPercent(mPaintFillCircle,cirX,cirY,(float) (Math.round(radius * 0.8)), 180f,180 );
-				            	 this.mCanvas.drawText(cData.getLabel(),cirX, cirY - textHeight, getLabelsPaint());
+				            	 this.mCanvas.drawText(cData.getLabel(),cirX, cirY - textHeight, getLabelsChartPaint());
 				            	 this.mCanvas.drawText(mDataInfo,cirX, cirY - infoHeight , mPaintDataInfo);	
 				            	 
 							}else{
@@ -225,9 +256,9 @@ public class CircleChart extends CirChart{
 								 this.mCanvas.drawCircle(cirX, cirY, radius, mPaintBgCircle);
 								 this.mCanvas.drawCircle(cirX, cirY, (float) (Math.round(radius * 0.9)), mPaintFillCircle);
 														     							  
-								 mCanvas.drawArc(arcRF0,mOffsetAgent,currentAgent, true, paintArc);   
+								 mCanvas.drawArc(arcLeft, arcTop, arcRight, arcBottom, mOffsetAgent,currentAgent, true, paintArc);   
 				            	 this.mCanvas.drawCircle(cirX, cirY, (float) (Math.round(radius * 0.8)), mPaintFillCircle);			            	
-				            	 this.mCanvas.drawText(cData.getLabel(),cirX, cirY, getLabelsPaint());
+				            	 this.mCanvas.drawText(cData.getLabel(),cirX, cirY, getLabelsChartPaint());
 				            	
 				            	 if(mDataInfo.length() > 0)
 				            	    this.mCanvas.drawText(mDataInfo,cirX, cirY + LabelHeight, mPaintDataInfo);			            	 
@@ -245,6 +276,15 @@ public class CircleChart extends CirChart{
 			}
 			
 					
+			@Override
+			protected long getDataStamp()
+			{
+				if(null == mDataSet) return 0;
+				long stamp = mDataSet.size();
+				for(PieData cData : mDataSet) stamp = stampSeries(stamp, cData, cData.getVersion());
+				return stamp;
+			}
+			
 			public boolean render() throws Exception {
 				// TODO Auto-generated method stub
 			
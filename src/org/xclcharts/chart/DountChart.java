@@ -23,6 +23,8 @@
 package org.xclcharts.chart;
 
 import org.xclcharts.renderer.XEnum;
+import org.xclcharts.renderer.canvas.ChartPaint;
+import org.xclcharts.renderer.canvas.AndroidPaint;
 
 import android.graphics.Paint;
 
@@ -41,7 +43,7 @@ public class DountChart  extends PieChart{
 	private float mInnerRelativePercentage = 0.8f;
 	
 	//内环填充颜色
-	private Paint mPaintFill;
+	private ChartPaint mPaintFill;
 
 	public DountChart()
 	{
@@ -51,9 +53,9 @@ public class DountChart  extends PieChart{
 	
 	private void initChart()
 	{
-		int fillColor = this.plotArea.getBackgroundPaint().getColor();
+		int fillColor = this.plotArea.getBackgroundChartPaint().getColor();
 		
-		mPaintFill = new Paint();
+		mPaintFill = new ChartPaint();
 		mPaintFill.setColor(fillColor); 
 		mPaintFill.setAntiAlias(true);
 		
@@ -62,9 +64,20 @@ public class DountChart  extends PieChart{
 	
 	/**
 	 * 环内部填充画笔
+	 * 返回对应的Android画笔,在上面的修改同时改到图表的画笔上,只能在Android上使用,
+	 * 其他平台用getInnerChartPaint()
 	 * @return 画笔
 	 */
 	public Paint getInnerPaint()
+	{
+		return AndroidPaint.of(getInnerChartPaint());
+	}
+	
+	/**
+	 * 环内部填充画笔
+	 * @return 画笔
+	 */
+	public ChartPaint getInnerChartPaint()
 	{
 		return mPaintFill;
 	}
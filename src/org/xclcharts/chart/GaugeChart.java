@@ -23,15 +23,23 @@
 package org.xclcharts.chart;
 
 import java.util.List;
+import java.util.logging.Logger;
 
+import org.xclcharts.chart.common.BitmapPool;
 import org.xclcharts.renderer.CirChart;
+import org.xclcharts.renderer.canvas.AndroidChartCanvas;
+import org.xclcharts.renderer.canvas.IChartCanvas;
+import org.xclcharts.renderer.canvas.ChartPaint.Align;
+import org.xclcharts.renderer.canvas.ChartPaint.Style;
+import org.xclcharts.renderer.canvas.ChartColor;
+import org.xclcharts.renderer.canvas.ChartPaint;
+import org.xclcharts.renderer.canvas.AndroidPaint;
 
-import android.graphics.Color;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
 import android.graphics.Paint;
-import android.graphics.Paint.Align;
-import android.graphics.Paint.Style;
-import android.graphics.RectF;
-import android.util.Log;
+import android.graphics.PorterDuff;
+import android.graphics.Rect;
 import android.util.Pair;
 
 /**
@@ -50,17 +58,17 @@ public class GaugeChart extends CirChart{
 	private List<String> mLables = null;
 	
 	//刻度
-	private Paint mPaintTick = null;
+	private ChartPaint mPaintTick = null;
 	
 	//指针
 	private float mPointerAgent = 20f;		
-	private Paint mPaintPointerLine = null;
-	private Paint mPaintPinterCircle  = null;
+	private ChartPaint mPaintPointerLine = null;
+	private ChartPaint mPaintPinterCircle  = null;
 	
 	//分区填充色(比如绿，黄，红),以使区域更清楚
-	private Paint mPaintPartitionFill = null;
+	private ChartPaint mPaintPartitionFill = null;
 	//环
-	private Paint mPaintDount = null;
+	private ChartPaint mPaintDount = null;
 
 	//分区填充数据源(角色(0-180)，颜色)
 	private List<Pair> mPartitionDataset = null;
@@ -68,6 +76,26 @@ public class GaugeChart extends CirChart{
 	//180度
 	private static final int mStartAgent = 180;
 	
+	//是否缓存表盘。缓存时背景,标题,外环,刻度,分区和标签只画一次,之后只画指针
+	private boolean mDialCacheEnabled = false;
+	private Bitmap mDialBitmap = null;
+	private AndroidChartCanvas mDialCanvas = null;
+	//表盘缓存对应的画布大小
+	private int mDialWidth = 0;
+	private int mDialHeight = 0;
+	//表盘缓存是否还能使用
+	private boolean mDialValid = false;
+	//画表盘时的圆心与半径,变化时重画表盘
+	private float mDialCirX = 0.0f;
+	private float mDialCirY = 0.0f;
+	private float mDialRadius = 0.0f;
+	
+	//上次画出的指针范围,依次为左,上,右,下
+	private final float[] mPointerBounds = new float[4];
+	private boolean mPointerDrawn = false;
+	//计算指针范围用
+	private final float[] mPointerBoundsTemp = new float[4];
+	
 
 	public GaugeChart()
 	{
@@ -77,34 +105,34 @@ public class GaugeChart extends CirChart{
 	
 	private void initPaint()
 	{
-		getLabelsPaint().setTextSize(18);
-		getLabelsPaint().setColor(Color.BLUE);
+		getLabelsChartPaint().setTextSize(18);
+		getLabelsChartPaint().setColor(ChartColor.BLUE);
 		
-		mPaintTick = new Paint();
+		mPaintTick = new ChartPaint();
 		mPaintTick.setStyle(Style.FILL);
 		mPaintTick.setAntiAlias(true);	
-		mPaintTick.setColor( (int)Color.rgb(50, 149, 222) ); 
+		mPaintTick.setColor( (int)ChartColor.rgb(50, 149, 222) ); 
 		mPaintTick.setStrokeWidth(1);
 		
-		mPaintPointerLine = new Paint();
+		mPaintPointerLine = new ChartPaint();
 		mPaintPointerLine.setStyle(Style.FILL);
 		mPaintPointerLine.setAntiAlias(true);	
-		mPaintPointerLine.setColor(Color.BLACK);
+		mPaintPointerLine.setColor(ChartColor.BLACK);
 		mPaintPointerLine.setStrokeWidth(8);
 		
-		mPaintPinterCircle = new Paint();
+		mPaintPinterCircle = new ChartPaint();
 		mPaintPinterCircle.setStyle(Style.FILL);
 		mPaintPinterCircle.setAntiAlias(true);	
-		mPaintPinterCircle.setColor(Color.BLACK);
+		mPaintPinterCircle.setColor(ChartColor.BLACK);
 		mPaintPinterCircle.setStrokeWidth(8);
 		
-		mPaintPartitionFill = new Paint();
+		mPaintPartitionFill = new ChartPaint();
 		mPaintPartitionFill.setStyle(Style.FILL);
 		mPaintPartitionFill.setAntiAlias(true);	
 		
-		mPaintDount = new Paint();		
+		mPaintDount = new ChartPaint();		
 		mPaintDount.setStyle(Style.STROKE);
-		mPaintDount.setColor((int)Color.rgb(50, 149, 222));
+		mPaintDount.setColor((int)ChartColor.rgb(50, 149, 222));
 		mPaintDount.setAntiAlias(true);
 		mPaintDount.setStrokeWidth(2);
 		
@@ -112,47 +140,101 @@ public class GaugeChart extends CirChart{
 	
 	/**
 	 * 开放刻度画笔
+	 * 返回对应的Android画笔,在上面的修改同时改到图表的画笔上,只能在Android上使用,
+	 * 其他平台用getTickChartPaint()
 	 * @return 画笔
 	 */
 	public Paint getTickPaint()
+	{
+		return AndroidPaint.of(getTickChartPaint());
+	}
+	
+	/**
+	 * 开放刻度画笔
+	 * @return 画笔
+	 */
+	public ChartPaint getTickChartPaint()
 	{
 		return mPaintTick;
 	}
 	
 	/**
 	 * 开放指针画笔
+	 * 返回对应的Android画笔,在上面的修改同时改到图表的画笔上,只能在Android上使用,
+	 * 其他平台用getPinterCircleChartPaint()
 	 * @return 画笔
 	 */
 	public Paint getPinterCirclePaint()
+	{
+		return AndroidPaint.of(getPinterCircleChartPaint());
+	}
+	
+	/**
+	 * 开放指针画笔
+	 * @return 画笔
+	 */
+	public ChartPaint getPinterCircleChartPaint()
 	{
 		return mPaintPinterCircle;
 	}
 	
 	/**
 	 * 开放指针底部圆画笔
+	 * 返回对应的Android画笔,在上面的修改同时改到图表的画笔上,只能在Android上使用,
+	 * 其他平台用getPointerLineChartPaint()
 	 * @return 画笔
 	 */
 	public Paint getPointerLinePaint()
+	{
+		return AndroidPaint.of(getPointerLineChartPaint());
+	}
+	
+	/**
+	 * 开放指针底部圆画笔
+	 * @return 画笔
+	 */
+	public ChartPaint getPointerLineChartPaint()
 	{
 		return mPaintPointerLine;
 	}
 
 	/**
 	 * 开放用来绘制颜色分区的画笔
+	 * 返回对应的Android画笔,在上面的修改同时改到图表的画笔上,只能在Android上使用,
+	 * 其他平台用getPartitionFillChartPaint()
 	 * @return 画笔
 	 */
 	public Paint getPartitionFillPaint()
+	{
+		return AndroidPaint.of(getPartitionFillChartPaint());
+	}
+	
+	/**
+	 * 开放用来绘制颜色分区的画笔
+	 * @return 画笔
+	 */
+	public ChartPaint getPartitionFillChartPaint()
 	{
 		return mPaintPartitionFill;
 	}
 	
 	/**
 	 * 开放用来绘制外围环的画笔
+	 * 返回对应的Android画笔,在上面的修改同时改到图表的画笔上,只能在Android上使用,
+	 * 其他平台用getDountChartPaint()
 	 * @return 画笔
 	 */
 	public Paint getDountPaint()
 	{
+		return AndroidPaint.of(getDountChartPaint());
+	}
 	
+	/**
+	 * 开放用来绘制外围环的画笔
+	 * @return 画笔
+	 */
+	public ChartPaint getDountChartPaint()
+	{
 		return mPaintDount;
 	}
 	
@@ -166,7 +248,7 @@ public class GaugeChart extends CirChart{
 	 * @param curretAgent	当前角度
 	 * @throws Exception	例外
 	 */
-	protected void drawPercent( Paint paintArc,
+	protected void drawPercent( ChartPaint paintArc,
 			final float cirX,
 			final float cirY,
 			final float radius,
@@ -178,10 +260,9 @@ public class GaugeChart extends CirChart{
 	        float arcTop  = cirY - radius ;  
 	        float arcRight = cirX + radius ;  
 	        float arcBottom = cirY + radius ;  
-	        RectF arcRF0 = new RectF(arcLeft ,arcTop,arcRight,arcBottom);    
 			
 			//在饼图中显示所占比例  
-			mCanvas.drawArc(arcRF0, offsetAgent, curretAgent, true, paintArc);     
+			mCanvas.drawArc(arcLeft, arcTop, arcRight, arcBottom, offsetAgent, curretAgent, true, paintArc);     
 		  
 		
 		}catch( Exception e){
@@ -196,6 +277,7 @@ public class GaugeChart extends CirChart{
 	public void setTickSteps(double step)
 	{
 		mTickSteps = step;
+		invalidateDial();
 	}		
 	
 	/**
@@ -205,6 +287,7 @@ public class GaugeChart extends CirChart{
 	public void setLabels(List<String> labels)
 	{
 		mLables = labels;
+		invalidateDial();
 	}
 	
 	
@@ -215,6 +298,7 @@ public class GaugeChart extends CirChart{
 	public void setPartition(List<Pair> dataSet)
 	{
 		mPartitionDataset = dataSet;
+		invalidateDial();
 	}	
 	
 
@@ -227,6 +311,223 @@ public class GaugeChart extends CirChart{
 		mPointerAgent = agent;
 	}
 	
+	/**
+	 * 设置是否缓存表盘。缓存后背景,标题,外环,刻度,分区和标签只在第一次或
+	 * invalidateDial()后画到位图上,之后每次只贴上位图再画指针。
+	 * 位图与画布同样大小
+	 * @param enabled 是否缓存
+	 */
+	public void setDialCacheEnabled(boolean enabled)
+	{
+		mDialCacheEnabled = enabled;
+		if(!enabled) recycleDial();
+	}
+	
+	/**
+	 * 是否缓存表盘
+	 * @return 是否缓存
+	 */
+	public boolean getDialCacheEnabled()
+	{
+		return mDialCacheEnabled;
+	}
+	
+	/**
+	 * 使表盘缓存失效,下次绘制时重画。修改了刻度,标签,环等画笔或标题后调用
+	 */
+	public void invalidateDial()
+	{
+		mDialValid = false;
+	}
+	
+	/**
+	 * 把表盘缓存的位图放回位图池
+	 */
+	private void recycleDial()
+	{
+		BitmapPool.getDefault().release(mDialBitmap);
+		mDialBitmap = null;
+		mDialWidth = 0;
+		mDialHeight = 0;
+		mDialCanvas = null;
+		mDialValid = false;
+	}
+	
+	/**
+	 * 返回指针从上次绘制的位置移到当前角度时需要重画的范围,即新旧指针范围的并集,
+	 * 可传给View.invalidate(Rect)。表盘需要重画或还没画过指针时返回false
+	 * @param out 重画范围
+	 * @return 是否只需重画这个范围
+	 */
+	public boolean getDirtyRect(Rect out)
+	{
+		if(!mDialCacheEnabled || !mDialValid || !mPointerDrawn) return false;
+		float[] bounds = mPointerBoundsTemp;
+		calcPointerBounds(bounds);
+		unionBounds(bounds, mPointerBounds);
+		out.set((int) Math.floor(bounds[0]), (int) Math.floor(bounds[1]),
+				(int) Math.ceil(bounds[2]), (int) Math.ceil(bounds[3]));
+		return true;
+	}
+	
+	/**
+	 * 在保留了上一帧内容的画布(如缓冲位图)上只更新指针:
+	 * 清空新旧指针的范围后贴上表盘缓存,再画出新指针,其余部分不动。
+	 * 清空后这个范围是透明的,缓冲位图不带透明通道时应显示图的背景,让表盘缓存盖住它。
+	 * 不能局部更新时整个重画
+	 * @return 是否绘制成功
+	 * @throws Exception 例外
+	 */
+	public boolean renderPointer() throws Exception
+	{
+		if(null == mCanvas) return false;
+		Canvas target = AndroidChartCanvas.unwrap(mCanvas);
+		if(!mDialCacheEnabled || !mDialValid || !mPointerDrawn || null == mDialBitmap
+				|| null == target)
+		{
+			return render();
+		}
+		
+		float[] bounds = mPointerBoundsTemp;
+		calcPointerBounds(bounds);
+		unionBounds(bounds, mPointerBounds);
+		
+		mCanvas.save();
+		mCanvas.clipRect(bounds[0], bounds[1], bounds[2], bounds[3]);
+		//表盘缓存中透明与抗锯齿的半透明处盖不住旧指针,先清空这个范围
+		target.drawColor(ChartColor.TRANSPARENT, PorterDuff.Mode.CLEAR);
+		target.drawBitmap(mDialBitmap, 0, 0, null);
+		renderPointerLayer();
+		mCanvas.restore();
+		return true;
+	}
+	
+	/**
+	 * 计算指针和指针底部圆所占的范围,含线宽与抗锯齿的余量
+	 * @param out 范围,依次为左,上,右,下
+	 */
+	private void calcPointerBounds(float[] out)
+	{
+		float cirX = plotArea.getCenterX();
+		float cirY = plotArea.getCenterY();
+		float circleRadius = Math.round(this.getRadius() * 0.05);
+		out[0] = cirX - circleRadius;
+		out[1] = cirY - circleRadius;
+		out[2] = cirX + circleRadius;
+		out[3] = cirY + circleRadius;
+		
+		if(mPointerAgent >= 0 && mPointerAgent <= 180)
+		{
+			float currentRadius = Math.round(this.getRadius() * 0.9);
+			float calcAgent =  Math.round( mPointerAgent + mStartAgent );
+			mCalc.CalcArcEndPointXY(cirX, cirY, currentRadius, calcAgent); 
+			out[0] = Math.min(out[0], mCalc.getPosX());
+			out[1] = Math.min(out[1], mCalc.getPosY());
+			out[2] = Math.max(out[2], mCalc.getPosX());
+			out[3] = Math.max(out[3], mCalc.getPosY());
+		}
+		float pad = mPaintPointerLine.getStrokeWidth() / 2 + 1;
+		out[0] -= pad;
+		out[1] -= pad;
+		out[2] += pad;
+		out[3] += pad;
+	}
+	
+	/**
+	 * 把两个范围合并到第一个中
+	 * @param bounds	范围
+	 * @param other		要并入的范围
+	 */
+	private void unionBounds(float[] bounds,float[] other)
+	{
+		bounds[0] = Math.min(bounds[0], other[0]);
+		bounds[1] = Math.min(bounds[1], other[1]);
+		bounds[2] = Math.max(bounds[2], other[2]);
+		bounds[3] = Math.max(bounds[3], other[3]);
+	}
+	
+	/**
+	 * 画指针及其底部的圆,并记下所占范围
+	 */
+	private void renderPointerLayer()
+	{
+		//最后再画指针
+		 renderPointerLine();
+		 //画上指针尾部的白色圆心
+		 renderPinterCircle();
+		 
+		 calcPointerBounds(mPointerBounds);
+		 mPointerDrawn = true;
+	}
+	
+	/**
+	 * 确保表盘缓存与画布大小一致,圆心与半径没变
+	 * @param width		宽度
+	 * @param height	高度
+	 */
+	private void prepareDial(int width,int height)
+	{
+		if(null == mDialBitmap || mDialWidth != width || mDialHeight != height)
+		{
+			recycleDial();
+			//池中的位图可能比画布大,只用到左上角的部分
+			mDialBitmap = BitmapPool.getDefault().acquire(width, height, Bitmap.Config.ARGB_8888);
+			mDialCanvas = new AndroidChartCanvas(new Canvas(mDialBitmap));
+			mDialWidth = width;
+			mDialHeight = height;
+		}
+		
+		float cirX = plotArea.getCenterX();
+		float cirY = plotArea.getCenterY();
+		float radius = getRadius();
+		if(Float.compare(cirX, mDialCirX) != 0 || Float.compare(cirY, mDialCirY) != 0
+				|| Float.compare(radius, mDialRadius) != 0)
+		{
+			mDialCirX = cirX;
+			mDialCirY = cirY;
+			mDialRadius = radius;
+			mDialValid = false;
+		}
+	}
+	
+	/**
+	 * 使用表盘缓存绘制,表盘有效时只贴上位图再画指针
+	 * @return 是否绘制成功
+	 * @throws Exception 例外
+	 */
+	private boolean renderWithDialCache() throws Exception
+	{
+		IChartCanvas canvas = mCanvas;
+		Canvas target = AndroidChartCanvas.unwrap(canvas);
+		if(null == target) return false;
+		
+		int width = canvas.getWidth();
+		int height = canvas.getHeight();
+		if(width <= 0 || height <= 0)
+		{
+			width = (int) Math.ceil(getChartRight());
+			height = (int) Math.ceil(getChartBottom());
+		}
+		calcPlotRange();
+		prepareDial(width, height);
+		
+		if(!mDialValid)
+		{
+			mDialBitmap.eraseColor(ChartColor.TRANSPARENT);
+			mCanvas = mDialCanvas;
+			try {
+				//表盘没有画成功时不缓存,下一帧重画
+				mDialValid = super.render() && renderDial();
+			} finally {
+				mCanvas = canvas;
+			}
+		}
+		
+		target.drawBitmap(mDialBitmap, 0, 0, null);
+		renderPointerLayer();
+		return true;
+	}
+	
 	private void rederLabels()
 	{		
 		float stepsAgent = Math.round(180/(mLables.size() - 1 ));					
@@ -234,23 +535,23 @@ public class GaugeChart extends CirChart{
 				 
 		float cirX = plotArea.getCenterX();
 		float cirY = plotArea.getCenterY();
-		getLabelsPaint().setTextAlign(Align.CENTER);	
+		getLabelsChartPaint().setTextAlign(Align.CENTER);	
 		int i = 0;
 		for(String label : mLables)
 		{							
 			if(0 == i) //开头
 			{			
 				mCanvas.drawText(label,
-						cirX - calcRadius, cirY ,this.getLabelsPaint());   			
+						cirX - calcRadius, cirY ,this.getLabelsChartPaint());   			
 			}else if(i == mLables.size() -1 ){ //结尾				
 				mCanvas.drawText(label,
-						cirX + calcRadius, cirY ,this.getLabelsPaint());   				
+						cirX + calcRadius, cirY ,this.getLabelsChartPaint());   				
 			}else{				
 				//计算百分比标签
 				mCalc.CalcArcEndPointXY(cirX, cirY, calcRadius, 180 + i *stepsAgent); 
 				//标识
 				mCanvas.drawText(label,
-					 mCalc.getPosX(), mCalc.getPosY() ,this.getLabelsPaint());   
+					 mCalc.getPosX(), mCalc.getPosY() ,this.getLabelsChartPaint());   
 				
 			}
 			i++;
@@ -289,9 +590,9 @@ public class GaugeChart extends CirChart{
 	{		
 		if(mPointerAgent > 180) //爆表了 
 		{
-			Log.e("ERROR","爆表了 !!!");
+			Logger.getLogger("ERROR").severe("爆表了 !!!");
 		}else if(mPointerAgent < 0){
-			Log.e("ERROR","负角度???!!!");
+			Logger.getLogger("ERROR").severe("负角度???!!!");
 		}else{
 			float currentRadius = Math.round(this.getRadius() * 0.9);
 			float calcAgent =  Math.round( mPointerAgent + mStartAgent );
@@ -323,24 +624,23 @@ public class GaugeChart extends CirChart{
 		Integer totalAgent = 0;		
 		 float newRadius = Math.round(getRadius() * 0.8);
 						 
-	     RectF rect =new RectF();
-	     rect.left  = plotArea.getCenterX() - newRadius;
-	     rect.top   = plotArea.getCenterY() - newRadius;
-	     rect.right = plotArea.getCenterX() + newRadius;
-	     rect.bottom= plotArea.getCenterY() + newRadius;  
+	     float arcLeft  = plotArea.getCenterX() - newRadius;
+	     float arcTop   = plotArea.getCenterY() - newRadius;
+	     float arcRight = plotArea.getCenterX() + newRadius;
+	     float arcBottom= plotArea.getCenterY() + newRadius;  
 	     
 		 for(Pair pr : mPartitionDataset)
 		 {			
 			 Integer agentValue = (Integer) pr.first;					 
 			 if(agentValue < 0){
-					Log.e("ERROR","负角度???!!!");
+					Logger.getLogger("ERROR").severe("负角度???!!!");
 			 }else if((totalAgent + agentValue) > 180)
 		     {
-		    	 Log.e("错误!","输入的角度总计大于mStartAgent度");
+		    	 Logger.getLogger("错误!").severe("输入的角度总计大于mStartAgent度");
 		    	 return ;
 		     }			 			 
 			 mPaintPartitionFill.setColor((Integer) pr.second);				 
-			 mCanvas.drawArc(rect, totalAgent + 180, agentValue, true, mPaintPartitionFill);  
+			 mCanvas.drawArc(arcLeft, arcTop, arcRight, arcBottom, totalAgent + 180, agentValue, true, mPaintPartitionFill);  
 		     totalAgent += agentValue;
 		 }
 				 
@@ -356,9 +656,10 @@ public class GaugeChart extends CirChart{
 	}
 	
 	/**
-	 * 绘制图
+	 * 绘制表盘,即指针以外的部分
+	 * @return 是否绘制成功
 	 */
-	protected void renderPlot()
+	private boolean renderDial()
 	{
 		try{	
 			
@@ -371,23 +672,43 @@ public class GaugeChart extends CirChart{
 			 renderPartitionFill() ;
 			 //画上外围标签
 			 rederLabels();			 
-			//最后再画指针
-			 renderPointerLine();
-			 //画上指针尾部的白色圆心
-			 renderPinterCircle();
-			
 				
 		}catch( Exception e){
-			Log.e("ERROR",e.toString());
+			Logger.getLogger("ERROR").severe(e.toString());
+			return false;
 		}
-		
+		return true;
+	}
+	
+	/**
+	 * 绘制图
+	 */
+	protected void renderPlot()
+	{
+		renderDial();
+		renderPointerLayer();
 	}
 	
 			
+	/**
+	 * 指针角度,标签与分区也是图表的数据
+	 * @return 标记
+	 */
+	@Override
+	protected long getDataStamp()
+	{
+		long stamp = Float.floatToIntBits(mPointerAgent);
+		stamp = stampSeries(stamp, mLables, null == mLables ? 0 : mLables.size());
+		return stampSeries(stamp, mPartitionDataset, null == mPartitionDataset ? 0 : mPartitionDataset.size());
+	}
+	
 	public boolean render() throws Exception {
 		// TODO Auto-generated method stub
 	
 		try {
+			//表盘缓存是位图,只有画在Android的Canvas上时才使用
+			if(mDialCacheEnabled && null != AndroidChartCanvas.unwrap(mCanvas)) return renderWithDialCache();
+			
 			super.render();				
 			//绘制图表
 			renderPlot();
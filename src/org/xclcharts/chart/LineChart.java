@@ -21,16 +21,19 @@
  */
 package org.xclcharts.chart;
 
-import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
+import org.xclcharts.chart.series.IDataSeries;
 import org.xclcharts.renderer.LnChart;
+import org.xclcharts.renderer.SeriesBounds;
+import org.xclcharts.renderer.SeriesGeometry;
 import org.xclcharts.renderer.XEnum;
+import org.xclcharts.renderer.line.LineSegmentBatch;
 import org.xclcharts.renderer.line.PlotDot;
 import org.xclcharts.renderer.line.PlotLines;
-
-import android.graphics.Paint.Align;
+import org.xclcharts.renderer.canvas.ChartPaint.Align;
+import org.xclcharts.renderer.canvas.ChartPaint;
 
 /**
  * @ClassName LineChart
@@ -83,7 +86,7 @@ public class LineChart extends LnChart{
 		}else{
 			//renderVerticalDataAxisRight();			
 			dataAxis.setAxisHorizontalTickAlign(Align.RIGHT);
-			dataAxis.getAxisTickLabelsPaint().setTextAlign(Align.LEFT);			
+			dataAxis.getAxisTickLabelsChartPaint().setTextAlign(Align.LEFT);			
 		}	
 	}
 	 
@@ -105,89 +108,128 @@ public class LineChart extends LnChart{
 			this.mDataSet = dataSet;		
 		}
 						
-		private void renderLine(LineData bd,String type)
+		/**
+		 * 计算线上各点的屏幕坐标,数据与绘图区都没变化时直接返回上次的结果
+		 * @param bd	数据集
+		 * @param viewportVersion 绘图区版本
+		 * @return 坐标缓存
+		 */
+		private SeriesGeometry projectLine(LineData bd,long viewportVersion)
 		{
+			SeriesGeometry geometry = getSeriesGeometry(bd);
+			long dataVersion = bd.getVersion();
+			if(geometry.isValid(dataVersion, viewportVersion)) return geometry;
+			
 			float initX =  plotArea.getPlotLeft();
             float initY =  plotArea.getPlotBottom();
-             
-			float lineStartX = initX;
-            float lineStartY = initY;
-            float lineEndX = 0.0f;
-            float lineEndY = 0.0f;
             						
 			float axisScreenHeight = getAxisScreenHeight();
 			float axisDataHeight = (float) dataAxis.getAxisRange();		
 			
 			 //得到标签轴数据集
 			 List<String> dataSet =  labelsAxis.getDataSet();
-			 //步长
-			int XSteps = (int) Math.ceil( getAxisScreenWidth()/ (dataSet.size() - 1)) ;
+			 //步长,不取整,点数多于像素时小于1,可见范围与降采样都按它计算。
+			 //只有一个标签时取整个轴宽,第一个点仍在initX
+			float XSteps = getVerticalXSteps(dataSet.size() - 1);
 			
-			List<Double> chartValues = bd.getLinePoint();			
-			int j = 0;	
+			IDataSeries chartValues = bd.getLineSeries();			
+			int count = chartValues.size();
+			double offset = getDataOffset();
 			
-		    //画线
-			for(Double bv : chartValues)
+			//整条线都在绘图区外时不用再计算
+			SeriesBounds bounds = geometry.getBounds();
+			bounds.update(chartValues);
+			if(!bounds.intersects(offset, offset + getAxisScreenWidth() / XSteps,
+							dataAxis.getAxisMin(), dataAxis.getAxisMax()))
+			{
+				geometry.reset(0);
+				geometry.commit(dataVersion, viewportVersion);
+				return geometry;
+			}
+			
+			//只取绘图区内的点,两边各多取一个
+			int first = getVisibleFirstIndex();
+			int last = getVisibleLastIndex(count, XSteps);
+			
+			//点数远多于像素时先降采样,只计算选出的点
+			int sampled = sample(chartValues, first, last + 1, offset, initX, XSteps);
+			int[] indexes = getSampleIndexes();
+			int points = sampled < 0 ? Math.max(0, last - first + 1) : sampled;
+			
+			geometry.reset(points);
+			for(int k = 0; k < points; k++)
             {									
-				
+				int j = sampled < 0 ? first + k : indexes[k];
+				double bv = chartValues.get(j);
 				
 				//参数值与最大值的比例  照搬到 y轴高度与矩形高度的比例上来 	                                
             	float valuePostion = (float) Math.round( 
 						axisScreenHeight * ( (bv - dataAxis.getAxisMin() ) / axisDataHeight)) ;  
-            		                	
-            	if(j == 0 )
-				{
-					lineStartX = initX;
-					lineStartY = initY - valuePostion;
-					
-					lineEndX = lineStartX;
-					lineEndY = lineStartY;
-				}else{
-					lineEndX =  initX + (j) * XSteps;
-					lineEndY = initY - valuePostion;
-				}            	
-            
-            	//如果值与最小值相等，即到了轴上，则忽略掉
-				if(bv != dataAxis.getAxisMin())
-				{
-				
-	            	PlotLines pLine = bd.getPlotLines();           
-	            	if(type.equalsIgnoreCase("LINE"))
-	            	{
-	            		if( lineStartY != initY )	            			
-	            			mCanvas.drawLine( lineStartX ,lineStartY ,lineEndX ,lineEndY,
-	            												pLine.getPlotLinesPaint()); 
-	            	}else if(type.equalsIgnoreCase("DOT2LABEL")){
-	            		
-	            		if(!pLine.getDotStyle().equals(XEnum.DotStyle.HIDE))
-	                	{                		       	
-	                		PlotDot pDot = pLine.getPlotDot();	                
-	                		float rendEndX  = lineEndX  + pDot.getDotRadius();               		
-	            			
-	                		renderDot(pDot, 
-	                				lineStartX ,lineStartY ,
-	                				lineEndX ,lineEndY,
-	                				pLine.getPlotDotPaint()); //标识图形            			                	
-	            			lineEndX = rendEndX;
-	                	}
-	            		
-	            		if(bd.getLineLabelVisible())
-	                	{
-	                		//fromatter
-	                		mCanvas.drawText(Double.toString(bv) ,
-	    							lineEndX, lineEndY,  pLine.getPlotLabelsPaint());
-	                	}
-	            	}else{
-	            		return ;
-	            	}      
-				} //if(bv != dataAxis.getAxisMin())
             	
-				lineStartX = lineEndX;
-				lineStartY = lineEndY;
-
-				j++;
-            } 				
+            	geometry.add((float)(initX + (j - offset) * XSteps), initY - valuePostion, j);
+            }
+			geometry.commit(dataVersion, viewportVersion);
+			return geometry;
+		}
+						
+		/**
+		 * 画线,数值与数据轴最小值相等的点(即落在轴上的点)不与相邻点连线
+		 * @param bd	数据集
+		 * @param geometry 坐标缓存
+		 */
+		private void renderLines(LineData bd,SeriesGeometry geometry)
+		{
+            float initY =  plotArea.getPlotBottom();
+            double axisMin = dataAxis.getAxisMin();
+			
+			IDataSeries chartValues = bd.getLineSeries();			
+			int count = geometry.getCount();
 			
+			//线段先收集起来,一次画出
+			LineSegmentBatch batch = getLineSegmentBatch();
+			batch.begin(mCanvas, bd.getPlotLines().getPlotLinesChartPaint());
+			for(int i = 1; i < count; i++)
+            {
+				if( geometry.getY(i - 1) == initY ) continue;
+				if( chartValues.get(geometry.getDataIndex(i)) == axisMin ) continue;
+				batch.add(geometry.getX(i - 1), geometry.getY(i - 1),
+							geometry.getX(i), geometry.getY(i));
+            }
+			batch.end();
+		}
+		
+		/**
+		 * 画线上的点和标签
+		 * @param bd	数据集
+		 * @param geometry 坐标缓存
+		 */
+		private void renderDotsAndLabels(LineData bd,SeriesGeometry geometry)
+		{
+			PlotLines pLine = bd.getPlotLines();
+			boolean dotVisible = !pLine.getDotStyle().equals(XEnum.DotStyle.HIDE);
+			boolean labelVisible = bd.getLineLabelVisible();
+			if(!dotVisible && !labelVisible) return;
+			
+			double axisMin = dataAxis.getAxisMin();
+			PlotDot pDot = pLine.getPlotDot();
+			float labelOffset = dotVisible ? pDot.getDotRadius() : 0f;
+			
+			IDataSeries chartValues = bd.getLineSeries();			
+			int count = geometry.getCount();
+			for(int i = 0; i < count; i++)
+            {									
+				double bv = chartValues.get(geometry.getDataIndex(i));
+				//如果值与最小值相等，即到了轴上，则忽略掉
+				if(bv == axisMin) continue;
+				
+				float x = geometry.getX(i);
+				float y = geometry.getY(i);
+				if(dotVisible) renderDot(pDot, x, y, pLine.getPlotDotChartPaint()); //标识图形
+				if(labelVisible)
+				{
+            		renderItemLabel(bv, x + labelOffset, y, pLine.getPlotLabelsChartPaint());
+				}
+            }
 		}
 		
 		/**
@@ -195,27 +237,50 @@ public class LineChart extends LnChart{
 		 */
 		private void renderVerticalPlot()
 		{			
-								
-			if(XEnum.LineDataAxisPostion.LEFT == mDataAxisPostion)
+			//坐标系画在静态层
+			if(beginLayer(XEnum.ChartLayer.STATIC))
 			{
-				renderVerticalDataAxis();
-			}else{
-				renderVerticalDataAxisRight();
-			}						
-			renderVerticalLabelsAxis();	
+				if(XEnum.LineDataAxisPostion.LEFT == mDataAxisPostion)
+				{
+					renderVerticalDataAxis();
+				}else{
+					renderVerticalDataAxisRight();
+				}						
+				renderVerticalLabelsAxis();	
+			}
+			
+			//线画在数据层
+			if(beginLayer(XEnum.ChartLayer.DATA))
+			{
+				//绘图区没变化时,只有数据变了的线才重新计算坐标
+				long viewportVersion = updateViewportVersion(getDataOffset(), labelsAxis.getDataSet().size());
+				
+				//开始处 X 轴 即标签轴                  
+				for(int i=0;i<mDataSet.size();i++)
+				{								
+					LineData bd = mDataSet.get(i);
+					SeriesGeometry geometry = projectLine(bd, viewportVersion);
+					renderLines(bd,geometry);
+					renderDotsAndLabels(bd,geometry);						
+				}			
+			}
 			
-			List<LnData> lstKey = new ArrayList<LnData>();								
-			//开始处 X 轴 即标签轴                  
-			for(int i=0;i<mDataSet.size();i++)
-			{								
-				renderLine(mDataSet.get(i),"LINE");
-				renderLine(mDataSet.get(i),"DOT2LABEL");						
-				lstKey.add(mDataSet.get(i));
-			}			
-			renderKey(lstKey);				
+			//说明画在覆盖层
+			if(beginLayer(XEnum.ChartLayer.OVERLAY))
+			{
+				List<LnData> lstKey = mKeyDataSet;
+				lstKey.clear();								
+				for(int i=0;i<mDataSet.size();i++) lstKey.add(mDataSet.get(i));
+				renderKey(lstKey);				
+			}
 		}	
 		 
 		
+		@Override
+		protected long getDataStamp() {
+			return getDataStamp(mDataSet);
+		}
+		
 		public boolean render() throws Exception {
 			// TODO Auto-generated method stub
 		
@@ -23,6 +23,9 @@ package org.xclcharts.chart;
 
 import java.util.List;
 
+import org.xclcharts.chart.series.DoubleSeries;
+import org.xclcharts.chart.series.IDataSeries;
+import org.xclcharts.chart.series.SeriesListView;
 import org.xclcharts.renderer.XEnum;
 
 /**
@@ -35,7 +38,7 @@ import org.xclcharts.renderer.XEnum;
 public class LineData extends LnData{
 		
 			//线上每个点的值
-			private List<Double> mLinePoint;
+			private IDataSeries mLinePoint;
 
 			
 			public LineData() {
@@ -73,22 +76,96 @@ public class LineData extends LnData{
 				setDotStyle(dotStyle);
 			}
 							
+			/**
+			 * 
+			 * @param key	key值
+			 * @param dataSeries 数据序列,直接使用不复制
+			 * @param color		线颜色
+			 * @param dotStyle	坐标点绘制类型
+			 */
+			public LineData(String key,					
+							double[] dataSeries,
+							int color,
+							XEnum.DotStyle  dotStyle) 
+			{
+				setLineLabel(key);		
+				setLineColor(color);
+				setLinePoint(dataSeries);
+				setDotStyle(dotStyle);
+			}
+							
+			/**
+			 * 
+			 * @param key	key值
+			 * @param dataSeries 数据序列,如实时刷新用的RingSeries,直接使用不复制
+			 * @param color		线颜色
+			 * @param dotStyle	坐标点绘制类型
+			 */
+			public LineData(String key,					
+							IDataSeries dataSeries,
+							int color,
+							XEnum.DotStyle  dotStyle) 
+			{
+				setLineLabel(key);		
+				setLineColor(color);
+				setLineSeries(dataSeries);
+				setDotStyle(dotStyle);
+			}
+							
+			/**
+			 * 设置绘制线的数据序列,会复制到内部的double[]中。
+			 * 之后对传入List的修改不会反映到图表上,需修改时再次调用本方法,
+			 * 或通过getLinePoint()返回的List修改
+			 * @param dataSeries 数据序列,为null时为空序列
+			 */
+			public void setLinePoint(List<Double> dataSeries) 
+			{
+				mLinePoint = DoubleSeries.fromList(dataSeries);
+				notifyChanged();
+			}
+			
+			/**
+			 * 设置绘制线的数据序列,直接使用传入的数组,不复制
+			 * @param dataSeries 数据序列
+			 */
+			public void setLinePoint(double[] dataSeries) 
+			{
+				mLinePoint = new DoubleSeries(dataSeries);
+				notifyChanged();
+			}
+			
 			/**
 			 * 设置绘制线的数据序列
 			 * @param dataSeries 数据序列
 			 */
-			public void setLinePoint(List<Double> dataSeries) 
+			public void setLineSeries(IDataSeries dataSeries) 
 			{
 				mLinePoint = dataSeries;
+				notifyChanged();
 			}
 
 			/**
-			 * 返回绘制线的数据序列
-			 * @return 绘制线的数据序列
+			 * 返回绘制线的数据序列,为数据序列的List视图,不是setLinePoint()传入的List。
+			 * 通过它的修改直接作用在数据序列上;数据序列不是DoubleSeries时只读
+			 * @return 绘制线的数据序列,没有设置数据序列时为null
 			 */
 			public List<Double> getLinePoint() {
+				if(null == mLinePoint) return null;
+				return new SeriesListView(mLinePoint);
+			}
+			
+			/**
+			 * 返回绘制线的数据序列
+			 * @return 数据序列
+			 */
+			public IDataSeries getLineSeries() {
 				return mLinePoint;
 			}
 			
+			@Override
+			protected long getSeriesVersion()
+			{
+				return null == mLinePoint ? 0 : mLinePoint.getVersion();
+			}
 			
 }
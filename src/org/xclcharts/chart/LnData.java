@@ -23,6 +23,8 @@ package org.xclcharts.chart;
 
 import org.xclcharts.renderer.XEnum;
 import org.xclcharts.renderer.line.PlotLines;
+import org.xclcharts.renderer.canvas.ChartPaint;
+import org.xclcharts.renderer.canvas.AndroidPaint;
 
 import android.graphics.Paint;
 
@@ -43,6 +45,11 @@ public class LnData {
 	//线的基类
 	private PlotLines mPlotLines = null;
 	
+	//修改版本
+	private long mVersion = 0;
+	//上次取版本时数据序列的版本
+	private long mSeriesVersion = 0;
+	
 	public LnData()
 	{
 		mPlotLines = new PlotLines(); 
@@ -55,6 +62,7 @@ public class LnData {
 	public void setLineLabelVisible(boolean visible) 
 	{
 		mLablesVisible = visible;
+		notifyChanged();
 	}
 	
 	/**
@@ -73,6 +81,7 @@ public class LnData {
 	public void setLineLabel(String value) 
 	{
 		mLables = value;
+		notifyChanged();
 	}
 	
 	/**
@@ -98,9 +107,10 @@ public class LnData {
 	 */
 	public void setLineColor(int color) 
 	{				
-		mPlotLines.getPlotLinesPaint().setColor(color );
-		mPlotLines.getPlotLabelsPaint().setColor(color );	
-		mPlotLines.getPlotDotPaint().setColor(color );	
+		mPlotLines.getPlotLinesChartPaint().setColor(color );
+		mPlotLines.getPlotLabelsChartPaint().setColor(color );	
+		mPlotLines.getPlotDotChartPaint().setColor(color );	
+		notifyChanged();
 	}
 	
 	/**
@@ -108,7 +118,7 @@ public class LnData {
 	 * @return 线的颜色
 	 */
 	public int getLineColor() {
-		return mPlotLines.getPlotLinesPaint().getColor();
+		return mPlotLines.getPlotLinesChartPaint().getColor();
 	}
 	
 	/**
@@ -118,6 +128,7 @@ public class LnData {
 	public void setDotStyle(XEnum.DotStyle style)
 	{
 		mPlotLines.setDotStyle(style);
+		notifyChanged();
 	}
 	
 	/**
@@ -136,6 +147,7 @@ public class LnData {
 	public void setLineKey(String value) 
 	{
 		mLables = value;
+		notifyChanged();
 	}
 	/**
 	 * 返回Key值
@@ -147,29 +159,62 @@ public class LnData {
 	
 	/**
 	 * 开放标签画笔
+	 * 返回对应的Android画笔,在上面的修改同时改到图表的画笔上,只能在Android上使用,
+	 * 其他平台用getPlotLabelsChartPaint()
 	 * @return 画笔
 	 */
 	public Paint getPlotLabelsPaint()
 	{
-		return mPlotLines.getPlotLabelsPaint();
+		return AndroidPaint.of(getPlotLabelsChartPaint());
+	}
+	
+	/**
+	 * 开放标签画笔
+	 * @return 画笔
+	 */
+	public ChartPaint getPlotLabelsChartPaint()
+	{
+		return mPlotLines.getPlotLabelsChartPaint();
 	}
 	
 	/**
 	 * 开放线的画笔
+	 * 返回对应的Android画笔,在上面的修改同时改到图表的画笔上,只能在Android上使用,
+	 * 其他平台用getPlotLinesChartPaint()
 	 * @return 画笔
 	 */
 	public Paint getPlotLinesPaint()
 	{
-		return mPlotLines.getPlotLinesPaint();
+		return AndroidPaint.of(getPlotLinesChartPaint());
+	}
+	
+	/**
+	 * 开放线的画笔
+	 * @return 画笔
+	 */
+	public ChartPaint getPlotLinesChartPaint()
+	{
+		return mPlotLines.getPlotLinesChartPaint();
 	}
 	
 	/**
 	 * 开放点的画笔
+	 * 返回对应的Android画笔,在上面的修改同时改到图表的画笔上,只能在Android上使用,
+	 * 其他平台用getPlotDotChartPaint()
 	 * @return 画笔
 	 */
 	public Paint getPlotDotPaint()
 	{
-		return mPlotLines.getPlotDotPaint();
+		return AndroidPaint.of(getPlotDotChartPaint());
+	}
+	
+	/**
+	 * 开放点的画笔
+	 * @return 画笔
+	 */
+	public ChartPaint getPlotDotChartPaint()
+	{
+		return mPlotLines.getPlotDotChartPaint();
 	}
 	
 	/**
@@ -179,6 +224,40 @@ public class LnData {
 	public void setDotRadius(int radius)
 	{
 		 mPlotLines.getPlotDot().setDotRadius(radius);
+		 notifyChanged();
+	}
+	
+	/**
+	 * 标记数据已修改,直接改了画笔等属性后可调用它让图表重新计算
+	 */
+	public void notifyChanged()
+	{
+		mVersion++;
+	}
+	
+	/**
+	 * 返回修改版本,属性或数据序列有变化时递增,
+	 * 图表据此判断这条线缓存的坐标是否需要重新计算
+	 * @return 修改版本
+	 */
+	public long getVersion()
+	{
+		long seriesVersion = getSeriesVersion();
+		if(seriesVersion != mSeriesVersion)
+		{
+			mSeriesVersion = seriesVersion;
+			mVersion++;
+		}
+		return mVersion;
+	}
+	
+	/**
+	 * 返回数据序列的版本,由子类提供
+	 * @return 数据序列的版本
+	 */
+	protected long getSeriesVersion()
+	{
+		return 0;
 	}
 	
 }
@@ -24,10 +24,8 @@ package org.xclcharts.chart;
 import java.util.List;
 
 import org.xclcharts.chart.common.DrawHelper;
+import org.xclcharts.renderer.canvas.ChartPaint;
 
-import android.graphics.Canvas;
-import android.graphics.Paint;
-import android.graphics.RectF;
 
 /**
  * @ClassName Pie3DChart
@@ -58,11 +56,9 @@ public class Pie3DChart extends PieChart{
         float arcTop  = cirY - radius ;  
         float arcRight = cirX + radius ;  
         float arcBottom = cirY + radius ;  
-        RectF arcRF0 = new RectF(arcLeft ,arcTop,arcRight,arcBottom);   
         	       
         //画笔初始化
-		Paint paintArc = new Paint();  
-		paintArc.setAntiAlias(true);	
+		ChartPaint paintArc = mPaintArc;  
 		
 		
 		//数据源
@@ -74,7 +70,7 @@ public class Pie3DChart extends PieChart{
         float currentAgent = 0.0f;	        	        
 		for(int i=0;i < mRender3DLevel;i++)
 		{			
-		  this.mCanvas.save(Canvas.MATRIX_SAVE_FLAG); 			
+		  this.mCanvas.save(); 			
 		  mCanvas.translate(0,mRender3DLevel - i );		  			  
 		  for(int j=0;j< chartDataSource.size();j++)
 		  {			  
@@ -93,10 +89,9 @@ public class Pie3DChart extends PieChart{
 			        float arcTop2  = mCalc.getPosY() - radius ;  
 			        float arcRight2 = mCalc.getPosX() + radius ;  
 			        float arcBottom2 = mCalc.getPosY() + radius ;  
-			        RectF arcRF1 = new RectF(arcLeft2 ,arcTop2,arcRight2,arcBottom2);   			        			        
-			        mCanvas.drawArc(arcRF1, mOffsetAgent, currentAgent, true,paintArc); 
+			        mCanvas.drawArc(arcLeft2, arcTop2, arcRight2, arcBottom2, mOffsetAgent, currentAgent, true,paintArc); 
 	            }else{	            
-	            	mCanvas.drawArc(arcRF0, mOffsetAgent, currentAgent, true,paintArc); 
+	            	mCanvas.drawArc(arcLeft, arcTop, arcRight, arcBottom, mOffsetAgent, currentAgent, true,paintArc); 
 	            }			    			    
 	            //下次的起始角度  
 	            mOffsetAgent += currentAgent;  	            
@@ -107,7 +102,7 @@ public class Pie3DChart extends PieChart{
 		}
 		
 		//平面
-		DrawHelper dw = new DrawHelper();			
+		DrawHelper dw = mDrawHelper;			
 		currentAgent = 0.0f;	
 	
 		for(int j=0;j< chartDataSource.size();j++)
@@ -128,12 +123,11 @@ public class Pie3DChart extends PieChart{
 		        float arcTop2  = mCalc.getPosY() - radius ;  
 		        float arcRight2 = mCalc.getPosX() + radius ;  
 		        float arcBottom2 = mCalc.getPosY() + radius ;  
-		        RectF arcRF1 = new RectF(arcLeft2 ,arcTop2,arcRight2,arcBottom2);   
-		        mCanvas.drawArc(arcRF1, mOffsetAgent, currentAgent, true,paintArc); 
+		        mCanvas.drawArc(arcLeft2, arcTop2, arcRight2, arcBottom2, mOffsetAgent, currentAgent, true,paintArc); 
 		        drawLables(cData.getLabel(),mCalc.getPosX(), mCalc.getPosY(),
 		        			radius,mOffsetAgent,currentAgent);                
             }else{            
-            	mCanvas.drawArc(arcRF0, mOffsetAgent, currentAgent, true, paintArc);       	    
+            	mCanvas.drawArc(arcLeft, arcTop, arcRight, arcBottom, mOffsetAgent, currentAgent, true, paintArc);       	    
      	        drawLables(cData.getLabel(),cirX, cirY,radius,mOffsetAgent,currentAgent);
      	    }				    		    
            //下次的起始角度  
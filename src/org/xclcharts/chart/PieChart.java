@@ -22,16 +22,17 @@
 package org.xclcharts.chart;
 
 import java.util.List;
+import java.util.logging.Logger;
 
 import org.xclcharts.chart.common.DrawHelper;
 import org.xclcharts.renderer.CirChart;
+import org.xclcharts.renderer.canvas.ChartPaint.Align;
+import org.xclcharts.renderer.canvas.ChartPaint.Style;
+import org.xclcharts.renderer.canvas.ChartColor;
+import org.xclcharts.renderer.canvas.ChartPaint;
+import org.xclcharts.renderer.canvas.AndroidPaint;
 
-import android.graphics.Color;
 import android.graphics.Paint;
-import android.graphics.Paint.Align;
-import android.graphics.Paint.Style;
-import android.graphics.RectF;
-import android.util.Log;
 
 /**
  * @ClassName PieChart
@@ -44,7 +45,7 @@ public class PieChart extends CirChart{
 	//数据源
 	private List<PieData> mDataSet;
 	//绘制Key的画笔
-	private Paint mPaintKey = null;
+	private ChartPaint mPaintKey = null;
 	//是否显示Key
 	private boolean mKeyVisible = true;
 	
@@ -52,8 +53,8 @@ public class PieChart extends CirChart{
 	{
 		super();
 		
-		mPaintKey = new Paint();
-		mPaintKey.setColor(Color.BLACK);
+		mPaintKey = new ChartPaint();
+		mPaintKey.setColor(ChartColor.BLACK);
 		mPaintKey.setTextSize(18);
 		mPaintKey.setStyle(Style.FILL);	
 		mPaintKey.setAntiAlias(true);
@@ -61,9 +62,20 @@ public class PieChart extends CirChart{
 	
 	/**
 	 * 开放Key画笔
+	 * 返回对应的Android画笔,在上面的修改同时改到图表的画笔上,只能在Android上使用,
+	 * 其他平台用getKeyChartPaint()
 	 * @return 画笔
 	 */
 	public Paint getKeyPaint()
+	{
+		return AndroidPaint.of(getKeyChartPaint());
+	}
+	
+	/**
+	 * 开放Key画笔
+	 * @return 画笔
+	 */
+	public ChartPaint getKeyChartPaint()
 	{
 		return mPaintKey;
 	}
@@ -108,7 +120,10 @@ public class PieChart extends CirChart{
 	/**
 	 * 绘制指定角度扇区
 	 * @param paintArc 画笔
-	 * @param arcRF0   范围
+	 * @param arcLeft	范围左边
+	 * @param arcTop	范围上边
+	 * @param arcRight	范围右边
+	 * @param arcBottom	范围下边
 	 * @param cData  数据集
 	 * @param cirX   中心点X坐标
 	 * @param cirY   中心点Y坐标
@@ -117,7 +132,11 @@ public class PieChart extends CirChart{
 	 * @param curretAgent 当前绘制角度
 	 * @throws Exception  例外处理
 	 */
-	protected void drawSlice( Paint paintArc,RectF arcRF0,
+	protected void drawSlice( ChartPaint paintArc,
+							final float arcLeft,
+							final float arcTop,
+							final float arcRight,
+							final float arcBottom,
 							PieData cData,
 							final float cirX,
 							final float cirY,
@@ -128,7 +147,7 @@ public class PieChart extends CirChart{
 		try{
 		
 			//在饼图中显示所占比例  
-        	mCanvas.drawArc(arcRF0, offsetAgent, curretAgent, true, paintArc);                 
+        	mCanvas.drawArc(arcLeft, arcTop, arcRight, arcBottom, offsetAgent, curretAgent, true, paintArc);                 
          
             //标签
         	drawLables(cData.getLabel(),cirX, cirY,
@@ -150,7 +169,7 @@ public class PieChart extends CirChart{
 	 * @param curretAgent 当前绘制角度
 	 * @throws Exception  例外处理
 	 */
-	protected void drawSelectedSlice( Paint paintArc,
+	protected void drawSelectedSlice( ChartPaint paintArc,
 									PieData cData,
 									final float cirX,
 									final float cirY,
@@ -168,10 +187,9 @@ public class PieChart extends CirChart{
 	        float arcTop  = mCalc.getPosY() - radius ;  
 	        float arcRight = mCalc.getPosX() + radius ;  
 	        float arcBottom = mCalc.getPosY() + radius ;  
-	        RectF arcRF1 = new RectF(arcLeft ,arcTop,arcRight,arcBottom);   
 	        
 	        //在饼图中显示所占比例  
-	        mCanvas.drawArc(arcRF1, offsetAgent, curretAgent, true, paintArc);     
+	        mCanvas.drawArc(arcLeft, arcTop, arcRight, arcBottom, offsetAgent, curretAgent, true, paintArc);     
 	        
 	        //标签
 	        drawLables(cData.getLabel(),mCalc.getPosX(), mCalc.getPosY(),
@@ -190,7 +208,7 @@ public class PieChart extends CirChart{
 		
 		  if(!getKeyVisible())return ;
 		    
-			DrawHelper dw = new DrawHelper();
+			DrawHelper dw = mDrawHelper;
 			float textHeight = dw.getPaintFontHeight(this.mPaintKey);
 			float rectWidth = 2 *textHeight;		
 			float currentX = 0.0f; 				
@@ -256,12 +274,10 @@ public class PieChart extends CirChart{
 	        float arcTop  = cirY - radius ;  
 	        float arcRight = cirX + radius ;  
 	        float arcBottom = cirY + radius ;  
-	        RectF arcRF0 = new RectF(arcLeft ,arcTop,arcRight,arcBottom);   
 	        	     
 		     
 	        //画笔初始化
-			Paint paintArc = new Paint();  
-			paintArc.setAntiAlias(true);	
+			ChartPaint paintArc = mPaintArc;  
 			
 			//用于存放当前百分比的圆心角度
 	        float currentAgent = 0.0f;		
@@ -278,7 +294,7 @@ public class PieChart extends CirChart{
 	            			cirX,cirY,radius,
 	            			mOffsetAgent,currentAgent);			    		            		            		            
 	            }else{
-	            	drawSlice(paintArc,arcRF0,cData,
+	            	drawSlice(paintArc,arcLeft,arcTop,arcRight,arcBottom,cData,
 	            			cirX,cirY,radius,
 	            			mOffsetAgent,currentAgent);	            	
 	            }
@@ -288,7 +304,7 @@ public class PieChart extends CirChart{
 			renderKey();
 		
 		 }catch( Exception e){
-			 Log.e("ERROR-PieChart",e.toString());
+			 Logger.getLogger("ERROR-PieChart").severe(e.toString());
 		 }
 		
 	}
@@ -306,13 +322,22 @@ public class PieChart extends CirChart{
 			if( totalAgent > 360)
 			{
 				//圆心角总计大于360度
-				Log.e("PieChart","传入参数不合理，圆心角总计大于360度. 现有圆心角合计:"+Float.toString(totalAgent));
+				Logger.getLogger("PieChart").severe("传入参数不合理，圆心角总计大于360度. 现有圆心角合计:"+Float.toString(totalAgent));
 				return false;
 			}
 		}
 		return true;
 	}
 	
+	@Override
+	protected long getDataStamp()
+	{
+		if(null == mDataSet) return 0;
+		long stamp = mDataSet.size();
+		for(PieData cData : mDataSet) stamp = stampSeries(stamp, cData, cData.getVersion());
+		return stamp;
+	}
+	
 	public boolean render() throws Exception {
 		// TODO Auto-generated method stub
 	
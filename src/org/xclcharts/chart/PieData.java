@@ -38,6 +38,9 @@ public class PieData {
 	//是否突出饼图
 	private boolean mSelected = false;
 	
+	//修改版本
+	private long mVersion = 0;
+	
 	public PieData() {
 		// TODO Auto-generated constructor stub
 		//super();
@@ -110,6 +113,7 @@ public class PieData {
 	public void setKey(String key)
 	{
 		mPieKey = key;
+		mVersion++;
 	}	
 	
 	/**
@@ -128,6 +132,7 @@ public class PieData {
 	public void setLabel(String label)
 	{
 		mPieLabel = label;
+		mVersion++;
 	}	
 		
 	/**
@@ -137,6 +142,7 @@ public class PieData {
 	public void setPercentage(double value)
 	{
 		mPieValue = value;
+		mVersion++;
 	}
 	
 	/**
@@ -146,6 +152,7 @@ public class PieData {
 	public void setSliceColor(int color)
 	{
 		mPieColor = color;
+		mVersion++;
 	}
 	/**
 	 * 设置当前块是否突出，true为突出
@@ -154,6 +161,7 @@ public class PieData {
 	public void setSelected(boolean selected)
 	{
 		mSelected = selected;
+		mVersion++;
 	}
 
 	/**
@@ -201,4 +209,22 @@ public class PieData {
 		mSliceAgent =  (int) Math.round( 360 *  (mPieValue / 100) );		
 		return mSliceAgent;
 	}
+	
+	/**
+	 * 标记数据已修改
+	 */
+	public void notifyChanged()
+	{
+		mVersion++;
+	}
+	
+	/**
+	 * 返回修改版本,每次调用设置方法都会递增
+	 * @return 修改版本
+	 */
+	public long getVersion()
+	{
+		return mVersion;
+	}
+	
 }
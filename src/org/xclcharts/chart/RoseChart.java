@@ -23,11 +23,13 @@ package org.xclcharts.chart;
 
 import java.util.List;
 
-import android.graphics.Color;
+import org.xclcharts.renderer.canvas.ChartPaint.Align;
+import org.xclcharts.renderer.canvas.ChartPaint.Style;
+import org.xclcharts.renderer.canvas.ChartColor;
+import org.xclcharts.renderer.canvas.ChartPaint;
+import org.xclcharts.renderer.canvas.AndroidPaint;
+
 import android.graphics.Paint;
-import android.graphics.Paint.Align;
-import android.graphics.Paint.Style;
-import android.graphics.RectF;
 
 /**
  * @ClassName RoseChart
@@ -37,7 +39,7 @@ import android.graphics.RectF;
  */
 public class RoseChart extends PieChart{
 	
-	private Paint mPaintInner = new Paint();
+	private ChartPaint mPaintInner = new ChartPaint();
 
 	public RoseChart() {
 		// TODO Auto-generated constructor stub
@@ -48,24 +50,35 @@ public class RoseChart extends PieChart{
 	private void initChart()
 	{										
 		//深色内环
-		mPaintInner = new Paint();
-		mPaintInner.setColor(Color.DKGRAY);
+		mPaintInner = new ChartPaint();
+		mPaintInner.setColor(ChartColor.DKGRAY);
 		//mPaintInner.setStyle(Style.STROKE);
 		mPaintInner.setStyle(Style.FILL);		
 		mPaintInner.setAntiAlias(true);		
 		
 		//白色标签
-		getLabelsPaint().setColor(Color.WHITE);
-		getLabelsPaint().setTextSize(22);
-		getLabelsPaint().setTextAlign(Align.CENTER);	
+		getLabelsChartPaint().setColor(ChartColor.WHITE);
+		getLabelsChartPaint().setTextSize(22);
+		getLabelsChartPaint().setTextAlign(Align.CENTER);	
 				
 	}
 	
 	/**
 	 * 开放内部背景画笔
+	 * 返回对应的Android画笔,在上面的修改同时改到图表的画笔上,只能在Android上使用,
+	 * 其他平台用getInnerChartPaint()
 	 * @return 画笔
 	 */
 	public Paint getInnerPaint()
+	{
+		return AndroidPaint.of(getInnerChartPaint());
+	}
+	
+	/**
+	 * 开放内部背景画笔
+	 * @return 画笔
+	 */
+	public ChartPaint getInnerChartPaint()
 	{
 		return mPaintInner;
 	}
@@ -87,8 +100,7 @@ public class RoseChart extends PieChart{
 	        float radius = getRadius();
 	     
 	        //画笔初始化
-			Paint paintArc = new Paint();  
-			paintArc.setAntiAlias(true);	
+			ChartPaint paintArc = mPaintArc;  
 			paintArc.setStyle(Style.FILL);	
 	        
 	        //外环
@@ -118,14 +130,13 @@ public class RoseChart extends PieChart{
 	            float NewarcTop  = cirY - NewRaidus ;  
 	            float NewarcRight = cirX + NewRaidus ;  
 	            float NewarcBottom = cirY + NewRaidus ;  
-	            RectF NewarcRF = new RectF(NewarcLeft ,NewarcTop,NewarcRight,NewarcBottom);  
-	            this.mCanvas.drawArc(NewarcRF, mOffsetAgent, Percentage, true, paintArc);       
+	            this.mCanvas.drawArc(NewarcLeft, NewarcTop, NewarcRight, NewarcBottom, mOffsetAgent, Percentage, true, paintArc);       
 				
 	          //计算百分比标签  
 	            this.mCalc.CalcArcEndPointXY(cirX, cirY, radius - radius/2/2, mOffsetAgent + Percentage/2); 
 	            
 	            //标识  
-	           mCanvas.drawText(cData.getLabel(),mCalc.getPosX(), mCalc.getPosY() ,getLabelsPaint());             
+	           mCanvas.drawText(cData.getLabel(),mCalc.getPosX(), mCalc.getPosY() ,getLabelsChartPaint());             
 	         
 	          //下次的起始角度  
 	            mOffsetAgent += Percentage;  
@@ -21,18 +21,19 @@
  */
 package org.xclcharts.chart;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map.Entry;
 
+import org.xclcharts.chart.common.NumberFormatter;
+import org.xclcharts.chart.series.IXYSeries;
 import org.xclcharts.renderer.LnChart;
+import org.xclcharts.renderer.SeriesBounds;
+import org.xclcharts.renderer.SeriesGeometry;
 import org.xclcharts.renderer.XEnum;
+import org.xclcharts.renderer.line.LineSegmentBatch;
 import org.xclcharts.renderer.line.PlotDot;
 import org.xclcharts.renderer.line.PlotLines;
-
-import android.graphics.Paint.Align;
+import org.xclcharts.renderer.canvas.ChartPaint.Align;
+import org.xclcharts.renderer.canvas.ChartPaint;
 
 /**
  * @ClassName SplineChart
@@ -98,34 +99,57 @@ public class SplineChart extends LnChart{
 	}	
 	
 	/**
-	 * 绘制线
+	 * 计算线上各点的屏幕坐标,数据与绘图区都没变化时直接返回上次的结果
 	 * @param bd	数据集
-	 * @param type	处理类型号
+	 * @param viewportVersion 绘图区版本
+	 * @return 坐标缓存
 	 */
-	private void renderLine(SplineData bd,String type)
+	private SeriesGeometry projectLine(SplineData bd,long viewportVersion)
 	{
+		SeriesGeometry geometry = getSeriesGeometry(bd);
+		long dataVersion = bd.getVersion();
+		if(geometry.isValid(dataVersion, viewportVersion)) return geometry;
+		
 		float initX =  plotArea.getPlotLeft();
         float initY =  plotArea.getPlotBottom();
-		float lineStartX = initX;
-        float lineStartY = initY;
-        float lineEndX = 0.0f;
-        float lineEndY = 0.0f;        
     	
     	float axisScreenWidth = getAxisScreenWidth(); 
     	float axisScreenHeight = getAxisScreenHeight();
 		float axisDataHeight = (float) dataAxis.getAxisRange(); //getAxisDataRange();		
 		
-		//得到标签对应的值数据集		
-		LinkedHashMap<Double,Double> chartValues = bd.getLineDataSet();		
-															
-	    //画出数据集对应的线条				
-		int j = 0;	
-		Iterator iter = chartValues.entrySet().iterator();
-		while(iter.hasNext()){
-			    Entry  entry=(Entry)iter.next();
-			
-			    Double xValue =(Double) entry.getKey();
-			    Double yValue =(Double) entry.getValue();			
+		//得到标签对应的值数据集,按x排好序		
+		IXYSeries chartValues = bd.getLineSeries();		
+		int count = chartValues.size();
+		
+		//整条线都在绘图区外时不用再计算
+		SeriesBounds bounds = geometry.getBounds();
+		bounds.update(chartValues);
+		if(!bounds.intersects(mLablesValuesMin, mLablesValuesMax,
+						dataAxis.getAxisMin(), dataAxis.getAxisMax())) 
+		{
+			geometry.reset(0);
+			geometry.commit(dataVersion, viewportVersion);
+			return geometry;
+		}
+		
+		//只取x轴范围内的点,两边各多取一个点以画出跨过边界的线段,
+		//映射到文件的数据序列也只会读到这一段
+		int first = Math.max(0, chartValues.indexOfFirst(mLablesValuesMin) - 1);
+		int last = Math.min(count - 1, chartValues.indexOfLast(mLablesValuesMax) + 1);
+		
+		//点数远多于像素时先降采样,只计算选出的点
+		//x坐标是initX加上四舍五入取整的偏移,像素列只由偏移决定,
+		//所以按整像素的起点划分,并左移半个像素与四舍五入对齐
+		double xScale = axisScreenWidth / (mLablesValuesMax - mLablesValuesMin);
+		int sampled = sample(chartValues, first, last + 1, mLablesValuesMin - 0.5d / xScale, 0d, xScale);
+		int[] indexes = getSampleIndexes();
+		int points = sampled < 0 ? last - first + 1 : sampled;
+		
+		geometry.reset(points);
+		for(int k = 0; k < points; k++){
+			    int j = sampled < 0 ? first + k : indexes[k];
+			    double xValue = chartValues.getX(j);
+			    double yValue = chartValues.getY(j);			
 								
 			    //对应的Y坐标
             	float YvaluePostion = (float) Math.round( 
@@ -134,53 +158,60 @@ public class SplineChart extends LnChart{
             	//对应的X坐标	                	
             	float XvaluePostion = (float) Math.round( 
             			axisScreenWidth * ( (xValue - mLablesValuesMin ) / (mLablesValuesMax - mLablesValuesMin))) ;  
-            
-            	if(j == 0 )
-				{	                		
-            		lineStartX = initX + XvaluePostion;
-					lineStartY = initY - YvaluePostion;
-					
-					lineEndX = lineStartX ;
-					lineEndY = lineStartY;														
-				}else{
-					lineEndX =  initX + XvaluePostion;  
-					lineEndY = initY - YvaluePostion;
-				}
-            	            	
-            	PlotLines pLine = bd.getPlotLines();             
-            	if(type.equalsIgnoreCase("LINE"))
-            	{
-            		mCanvas.drawLine( lineStartX ,lineStartY ,lineEndX ,lineEndY,pLine.getPlotLinesPaint());
-            	}else if(type.equalsIgnoreCase("DOT2LABEL")){
-            		
-            		if(!pLine.getDotStyle().equals(XEnum.DotStyle.HIDE))
-                	{
-                		float rendEndX = lineEndX;                		
-                		PlotDot pDot = pLine.getPlotDot();	                
-                		rendEndX  = lineEndX  + pDot.getDotRadius();               		
-            			
-                		renderDot(pDot, 
-                				lineStartX ,lineStartY ,
-                				lineEndX ,lineEndY,
-                				pLine.getPlotDotPaint()); //标识图形            			                	
-            			lineEndX = rendEndX;
-                	}
-            		
-            		if(bd.getLineLabelVisible())
-                	{
-                		//fromatter
-            			mCanvas.drawText("("+Double.toString(xValue)+","+ Double.toString(yValue) +")",
-    							lineEndX, lineEndY,  pLine.getPlotLabelsPaint());
-                	}
-            	}else{
-            		return ;
-            	}                  					
-				lineStartX = lineEndX;
-				lineStartY = lineEndY;
-
-				j++;	              								
-		}							
+            	
+            	geometry.add(initX + XvaluePostion, initY - YvaluePostion, j);
+		}
+		geometry.commit(dataVersion, viewportVersion);
+		return geometry;
+	}
+	
+	/**
+	 * 画线
+	 * @param bd	数据集
+	 * @param geometry 坐标缓存
+	 */
+	private void renderLines(SplineData bd,SeriesGeometry geometry)
+	{
+		//线段先收集起来,一次画出
+		LineSegmentBatch batch = getLineSegmentBatch();
+		batch.begin(mCanvas, bd.getPlotLines().getPlotLinesChartPaint());
+		batch.addPolyline(geometry.getPoints(), 0, geometry.getCount());
+		batch.end();
+	}
+	
+	/**
+	 * 画线上的点和标签
+	 * @param bd	数据集
+	 * @param geometry 坐标缓存
+	 */
+	private void renderDotsAndLabels(SplineData bd,SeriesGeometry geometry)
+	{
+		PlotLines pLine = bd.getPlotLines();
+		boolean dotVisible = !pLine.getDotStyle().equals(XEnum.DotStyle.HIDE);
+		boolean labelVisible = bd.getLineLabelVisible();
+		if(!dotVisible && !labelVisible) return;
+		
+		PlotDot pDot = pLine.getPlotDot();
+		float labelOffset = dotVisible ? pDot.getDotRadius() : 0f;
 		
+		IXYSeries chartValues = bd.getLineSeries();		
+		int count = geometry.getCount();
+		for(int i = 0; i < count; i++)
+		{
+			float x = geometry.getX(i);
+			float y = geometry.getY(i);
+			if(dotVisible) renderDot(pDot, x, y, pLine.getPlotDotChartPaint()); //标识图形
+			if(labelVisible)
+			{
+				int j = geometry.getDataIndex(i);
+				//拼成(x,y)的形式
+				NumberFormatter label = getItemLabelBuffer();
+				int length = label.begin().append('(').append(chartValues.getX(j))
+									.append(',').append(chartValues.getY(j)).append(')').end();
+				mCanvas.drawText(label.getChars(), 0, length,
+						x + labelOffset, y,  pLine.getPlotLabelsChartPaint());
+			}
+		}
 	}
 	
 	/**
@@ -191,22 +222,45 @@ public class SplineChart extends LnChart{
 		//检查是否有设置标签轴的最大最小值		
 		if(mLablesValuesMax == mLablesValuesMin && 0 == mLablesValuesMax) return ;
 						
-		renderVerticalDataAxis();
-		renderVerticalLabelsAxis();		
+		//坐标系画在静态层
+		if(beginLayer(XEnum.ChartLayer.STATIC))
+		{
+			renderVerticalDataAxis();
+			renderVerticalLabelsAxis();		
+		}
 		
+		//线画在数据层
+		if(beginLayer(XEnum.ChartLayer.DATA))
+		{
+			//绘图区没变化时,只有数据变了的线才重新计算坐标
+			long viewportVersion = updateViewportVersion(mLablesValuesMin, mLablesValuesMax);
+			
+			//开始处 X 轴 即标签轴              
+			for(int i=0;i<mDataSet.size();i++)
+			{										
+				SplineData bd = mDataSet.get(i);
+				SeriesGeometry geometry = projectLine(bd, viewportVersion);
+				renderLines(bd,geometry);
+				renderDotsAndLabels(bd,geometry);
+			}	
+		}
 		
-		//开始处 X 轴 即标签轴              
-		List<LnData> lstKey = new ArrayList<LnData>();		
-		for(int i=0;i<mDataSet.size();i++)
-		{										
-			renderLine( mDataSet.get(i),"LINE");
-			renderLine( mDataSet.get(i),"DOT2LABEL");	
-			lstKey.add(mDataSet.get(i));
-		}	
-		renderKey(lstKey);
+		//说明画在覆盖层
+		if(beginLayer(XEnum.ChartLayer.OVERLAY))
+		{
+			List<LnData> lstKey = mKeyDataSet;
+			lstKey.clear();		
+			for(int i=0;i<mDataSet.size();i++) lstKey.add(mDataSet.get(i));
+			renderKey(lstKey);
+		}
 	}
 	
 	
+	@Override
+	protected long getDataStamp() {
+		return getDataStamp(mDataSet);
+	}
+	
 	public boolean render() throws Exception {
 		// TODO Auto-generated method stub
 	
@@ -23,6 +23,8 @@ package org.xclcharts.chart;
 
 import java.util.LinkedHashMap;
 
+import org.xclcharts.chart.series.IXYSeries;
+import org.xclcharts.chart.series.XYSeries;
 import org.xclcharts.renderer.XEnum;
 
 
@@ -35,8 +37,8 @@ import org.xclcharts.renderer.XEnum;
 public class SplineData extends LnData{
 
 	
-			//线上每个点的值
-			private LinkedHashMap<Double,Double> mLinePointMap ;		
+			//线上每个点的值,按x排序
+			private IXYSeries mLinePoint ;		
 			
 			/**
 			 * 构成一条完整的线条
@@ -75,20 +77,95 @@ public class SplineData extends LnData{
 			}
 			
 			/**
-			 * 设置绘制线的数据序列,由x与y坐标构建
+			 * 
+			 * @param lineKey	key值
+			 * @param xs		x值
+			 * @param ys		y值
+			 * @param color		线的颜色
+			 */
+			public SplineData(String lineKey,					
+							double[] xs,double[] ys,
+							int color) {
+			
+				setLineKey(lineKey);			
+				setLineDataSet(xs,ys);
+				setLineColor(color );			
+			}
+			
+			/**
+			 * 
+			 * @param lineKey	key值
+			 * @param dataSeries 按x升序排列的数据序列,直接使用不复制
+			 * @param color		线的颜色
+			 * @param dotStyle  坐标点绘制类型
+			 */
+			public SplineData(String lineKey,					
+							IXYSeries dataSeries,
+							int color,
+							XEnum.DotStyle  dotStyle) {
+			
+				setLineKey(lineKey);			
+				setLineSeries(dataSeries);
+				setLineColor(color );			
+				setDotStyle(dotStyle);		
+			}
+			
+			/**
+			 * 设置绘制线的数据序列,由x与y坐标构建,会复制并按x排序
 			 * @param dataSeries
 			 */
 			public void setLineDataSet( LinkedHashMap<Double,Double>  dataSeries) 
 			{
-				mLinePointMap = dataSeries;
+				mLinePoint = XYSeries.fromMap(dataSeries);
+				notifyChanged();
 			}
 			
 			/**
-			 * 返回绘制线的数据序列
+			 * 设置绘制线的数据序列,直接使用传入的数组,x无序时会在原数组上排序
+			 * @param xs x值
+			 * @param ys y值
+			 */
+			public void setLineDataSet(double[] xs,double[] ys) 
+			{
+				mLinePoint = new XYSeries(xs,ys);
+				notifyChanged();
+			}
+			
+			/**
+			 * 设置绘制线的数据序列
+			 * @param dataSeries 按x升序排列的数据序列
+			 */
+			public void setLineSeries(IXYSeries dataSeries) 
+			{
+				mLinePoint = dataSeries;
+				notifyChanged();
+			}
+			
+			/**
+			 * 返回绘制线的数据序列,每次调用都会生成新的LinkedHashMap,建议改用getLineSeries()
 			 * @return 线的数据序列
 			 */
 			public LinkedHashMap<Double,Double> getLineDataSet() {
-				return mLinePointMap;
+				LinkedHashMap<Double,Double> map = new LinkedHashMap<Double,Double>();
+				for(int i=0;i<mLinePoint.size();i++)
+				{
+					map.put(mLinePoint.getX(i), mLinePoint.getY(i));
+				}
+				return map;
+			}
+			
+			/**
+			 * 返回绘制线的数据序列
+			 * @return 按x升序排列的数据序列
+			 */
+			public IXYSeries getLineSeries() {
+				return mLinePoint;
+			}
+			
+			@Override
+			protected long getSeriesVersion()
+			{
+				return null == mLinePoint ? 0 : mLinePoint.getVersion();
 			}
 			
 }
@@ -24,10 +24,13 @@ package org.xclcharts.chart;
 
 import java.util.List;
 
+import org.xclcharts.chart.series.IDataSeries;
+import org.xclcharts.renderer.SeriesGeometry;
+import org.xclcharts.renderer.XEnum;
 import org.xclcharts.renderer.bar.Bar;
 import org.xclcharts.renderer.bar.FlatBar;
-
-import android.graphics.Paint.Align;
+import org.xclcharts.renderer.canvas.ChartPaint.Align;
+import org.xclcharts.renderer.canvas.ChartPaint;
 
 /**
  * @ClassName StackBarChart
@@ -62,141 +65,184 @@ public class StackBarChart  extends BarChart{
 		return flatBar;
 	}
 	
+	/**
+	 * 计算各段柱形的长度,数据与绘图区都没变化时直接返回上次的结果。
+	 * 堆叠时只有最底下一段从轴的最小值算起,所以两种长度都存下来:
+	 * x为减去轴最小值后的长度,y为数值本身对应的长度
+	 * @param bd 数据集
+	 * @param viewportVersion 绘图区版本
+	 * @return 坐标缓存
+	 */
+	private SeriesGeometry projectStack(BarData bd,long viewportVersion)
+	{
+		SeriesGeometry geometry = getSeriesGeometry(bd);
+		long dataVersion = bd.getVersion();
+		if(geometry.isValid(dataVersion, viewportVersion)) return geometry;
+		
+		IDataSeries barValues = bd.getDataSeries();
+		int count = barValues.size();
+		double axisMin = dataAxis.getAxisMin();
+		float axisDataRange = (float) dataAxis.getAxisRange();
+		float axisScreenLength = XEnum.Direction.HORIZONTAL == getChartDirection() ?
+										getAxisScreenWidth() : getAxisScreenHeight();
+		
+		geometry.reset(count);
+		for(int j = 0; j < count; j++)
+		{
+			double bv = barValues.get(j);
+			geometry.add((float) Math.round( axisScreenLength * ( (bv - axisMin ) / axisDataRange)),
+						 (float) Math.round( axisScreenLength * ( bv / axisDataRange)), j);
+		}
+		geometry.commit(dataVersion, viewportVersion);
+		return geometry;
+	}
+	
 	@Override
 	protected void renderHorizontalBar()
 	{
 	
-		renderHorizontalBarDataAxis();	
-		renderHorizontalBarLabelAxis(); 		
-		
-		 float axisScreenWidth  =  getAxisScreenWidth(); 
-		 float axisDataRange = (float) dataAxis.getAxisRange(); 	
-		 float valueWidth = axisDataRange; 
+		//坐标系画在静态层
+		if(beginLayer(XEnum.ChartLayer.STATIC))
+		{
+			renderHorizontalBarDataAxis();	
+			renderHorizontalBarLabelAxis(); 		
+		}
+		//柱形画在数据层
+		if(beginLayer(XEnum.ChartLayer.DATA))
+		{
+			 float axisScreenWidth  =  getAxisScreenWidth(); 
+			 float axisDataRange = (float) dataAxis.getAxisRange(); 	
+		 
+			 //绘图区没变化时,只有数据变了的序列才重新计算长度
+			 long viewportVersion = getBarViewportVersion();
 		 
-		//步长
-		 float YSteps = getHorizontalYSteps();		
-		 int   barHeight = (int) Math.round(YSteps * 0.5); 		 		
+			//步长
+			 float YSteps = getHorizontalYSteps();		
+			 int   barHeight = (int) Math.round(YSteps * 0.5); 		 		
 		
-		//标签轴	
-		 for(int r=0;r<labelsAxis.getDataSet().size();r++)
-		 {				 
-			 	 float currentX = plotArea.getPlotLeft();
-				 float currentY = plotArea.getPlotBottom() - (r+1) * YSteps;				 
-				 Double total = 0d;				 
+			//标签轴	
+			 for(int r=0;r<labelsAxis.getDataSet().size();r++)
+			 {				 
+				 	 float currentX = plotArea.getPlotLeft();
+					 float currentY = plotArea.getPlotBottom() - (r+1) * YSteps;				 
+					 double total = 0d;				 
 				 
-				//得到数据源
-				List<BarData> chartDataSource = this.getDataSource();
+					//得到数据源
+					List<BarData> chartDataSource = this.getDataSource();
 					
-				 for(int i=0;i<chartDataSource.size();i++) //轴上的每个标签各自所占的高度
-				 {
-					 BarData bd = chartDataSource.get(i);
-					 flatBar.getBarPaint().setColor(bd.getColor());						 
-					 if(bd.getDataSet().size() < r+1) continue; 						 
+					 for(int i=0;i<chartDataSource.size();i++) //轴上的每个标签各自所占的高度
+					 {
+						 BarData bd = chartDataSource.get(i);
+						 flatBar.getBarChartPaint().setColor(bd.getColor());						 
+						 SeriesGeometry geometry = projectStack(bd, viewportVersion);
+						 if(geometry.getCount() < r+1) continue; 						 
 					 
-					//参数值与最大值的比例  照搬到 y轴高度与矩形高度的比例上来	
-					Double bv = bd.getDataSet().get(r);						
-					total += bv;				
-					float valuePostion = 0.0f;
-					if(i == 0 )
-					{					
-						valuePostion = (float) Math.round( 
-	                			axisScreenWidth * ( (bv - dataAxis.getAxisMin() ) / valueWidth)) ;						
-					}else{						
-						valuePostion = (float) Math.round( axisScreenWidth * ( (bv ) / valueWidth)) ;
-					}
+						//参数值与最大值的比例  照搬到 y轴高度与矩形高度的比例上来	
+						double bv = bd.getDataSeries().get(r);						
+						total += bv;				
+						float valuePostion = i == 0 ? geometry.getX(r) : geometry.getY(r);
 					
-				   	//宽度                	
-				   flatBar.renderBar(currentX ,currentY - barHeight/2,
-						   			 currentX + valuePostion,currentY + barHeight/2,this.mCanvas); 	             	
+					   	//宽度                	
+					   flatBar.renderBar(currentX ,currentY - barHeight/2,
+							   			 currentX + valuePostion,currentY + barHeight/2,this.mCanvas); 	             	
 				    				    
-					//柱形的当前值
-					flatBar.renderBarItemLabel(getFormatterItemLabel(bv),
-												currentX + valuePostion/2, currentY , mCanvas);											
-					currentX += valuePostion ;						 
-				 }
+						//柱形的当前值
+						renderItemLabel(flatBar,bv,
+													currentX + valuePostion/2, currentY );											
+						currentX += valuePostion ;						 
+					 }
 				
-				 //合计		
-				 if(mTotalLableVisible)
-				 {
-					 float totalPostion = (float) Math.round(  axisScreenWidth/axisDataRange * (total- dataAxis.getAxisMin()) );					 
-					 flatBar.renderBarItemLabel(getFormatterItemLabel(total), 
-							 					plotArea.getPlotLeft()  - totalPostion, currentY, mCanvas);
-				 }
-		 }	
-	 		 		 
-	 	//Y轴线
-		dataAxis.renderAxis(plotArea.getPlotLeft(), plotArea.getPlotBottom(), 
-							  plotArea.getPlotLeft(), plotArea.getPlotTop());	
+					 //合计		
+					 if(mTotalLableVisible)
+					 {
+						 float totalPostion = (float) Math.round(  axisScreenWidth/axisDataRange * (total- dataAxis.getAxisMin()) );					 
+						 renderItemLabel(flatBar,total, 
+								 					plotArea.getPlotLeft()  - totalPostion, currentY);
+					 }
+			 }	
+		}
+		//压在柱形上的轴线和说明画在覆盖层
+		if(beginLayer(XEnum.ChartLayer.OVERLAY))
+		{
+		 	//Y轴线
+			dataAxis.renderAxis(plotArea.getPlotLeft(), plotArea.getPlotBottom(), 
+								  plotArea.getPlotLeft(), plotArea.getPlotTop());	
 		 
-		//X轴 线		
-		labelsAxis.renderAxis(plotArea.getPlotLeft(), plotArea.getPlotBottom(), 
-								  plotArea.getPlotRight(),  plotArea.getPlotBottom());	
-		//画Key说明
-		drawDataSetKey();				
+			//X轴 线		
+			labelsAxis.renderAxis(plotArea.getPlotLeft(), plotArea.getPlotBottom(), 
+									  plotArea.getPlotRight(),  plotArea.getPlotBottom());	
+			//画Key说明
+			drawDataSetKey();				
+		}
 	}
 	
 	@Override
 	protected void renderVerticalBar()
 	{
 	
-			//坐标布局
-			renderVerticalBarDataAxis();
-			renderVerticalBarLabelsAxis();
-		
-			//得到标签轴数据集
-			List<String> dataSet =  labelsAxis.getDataSet();			 
-			float XSteps = getVerticalXSteps(dataSet.size() + 1 );			 
-			float axisScreenHeight  =  getAxisScreenHeight(); 
-			float axisDataHeight =  (float) dataAxis.getAxisRange(); 
-			int   barWidht =  (int) Math.round(XSteps * 0.5); 		
+			//坐标系画在静态层
+			if(beginLayer(XEnum.ChartLayer.STATIC))
+			{
+				//坐标布局
+				renderVerticalBarDataAxis();
+				renderVerticalBarLabelsAxis();
+			}
+			//柱形画在数据层
+			if(beginLayer(XEnum.ChartLayer.DATA))
+			{
+				//得到标签轴数据集
+				List<String> dataSet =  labelsAxis.getDataSet();			 
+				float XSteps = getVerticalXSteps(dataSet.size() + 1 );			 
+				float axisScreenHeight  =  getAxisScreenHeight(); 
+				float axisDataHeight =  (float) dataAxis.getAxisRange(); 
+				int   barWidht =  (int) Math.round(XSteps * 0.5); 		
+			
+				//绘图区没变化时,只有数据变了的序列才重新计算长度
+				long viewportVersion = getBarViewportVersion();
 			
-			//得到数据源
-			List<BarData> chartDataSource = this.getDataSource();
+				//得到数据源
+				List<BarData> chartDataSource = this.getDataSource();
 			 
-			 for(int r=0;r<dataSet.size();r++) //轴上的每个标签
-			 {				 
-				 	 float currentX = plotArea.getPlotLeft() + (r+1) * XSteps;	 	 			
-					 float currentY = plotArea.getPlotBottom();
-					 Double total = 0d;
+				 for(int r=0;r<dataSet.size();r++) //轴上的每个标签
+				 {				 
+					 	 float currentX = plotArea.getPlotLeft() + (r+1) * XSteps;	 	 			
+						 float currentY = plotArea.getPlotBottom();
+						 double total = 0d;
 					 
-					 for(int i=0; i < chartDataSource.size();i++) //各自所占的高度
-					 {
-						 BarData bd = chartDataSource.get(i);
-						 flatBar.getBarPaint().setColor(bd.getColor());						 
-						 if(bd.getDataSet().size() < r+1) continue; 						 
+						 for(int i=0; i < chartDataSource.size();i++) //各自所占的高度
+						 {
+							 BarData bd = chartDataSource.get(i);
+							 flatBar.getBarChartPaint().setColor(bd.getColor());						 
+							 SeriesGeometry geometry = projectStack(bd, viewportVersion);
+							 if(geometry.getCount() < r+1) continue; 						 
 						 
-						//参数值与最大值的比例  照搬到 y轴高度与矩形高度的比例上来	
-						Double bv = bd.getDataSet().get(r);						
-						total += bv;
+							//参数值与最大值的比例  照搬到 y轴高度与矩形高度的比例上来	
+							double bv = bd.getDataSeries().get(r);						
+							total += bv;
 					
-						float valuePostion = 0.0f;
-						if(i == 0 )
-						{							
-							 valuePostion = (float) Math.round( 
-									axisScreenHeight * ( (bv - dataAxis.getAxisMin() ) / axisDataHeight)) ;  							
-						}else{
-							valuePostion = (float) Math.round( 
-									axisScreenHeight * ( (bv  ) / axisDataHeight)) ;
-							
-						}
-						flatBar.renderBar(currentX - barWidht/2, currentY - valuePostion, 
-										  currentX + barWidht /2, currentY, mCanvas);	 
-						//柱形的当前值
-						flatBar.renderBarItemLabel(getFormatterItemLabel(bv), 
-													currentX, currentY - valuePostion/2, mCanvas);											
-						currentY -= valuePostion ;						 
-					 }
-					 //合计					 
-					 float totalPostion = (float) Math.round( axisScreenHeight/axisDataHeight * (total- dataAxis.getAxisMin()) );					 
-					 flatBar.renderBarItemLabel(getFormatterItemLabel(total), 
-							 					currentX, plotArea.getPlotBottom() - totalPostion, mCanvas);							
-			 }			 
-			 
-			//轴 线		 		 
-			 dataAxis.renderAxis(plotArea.getPlotLeft(),  plotArea.getPlotBottom(),
-		 			   			 plotArea.getPlotRight(),  plotArea.getPlotBottom());
+							float valuePostion = i == 0 ? geometry.getX(r) : geometry.getY(r);
+							flatBar.renderBar(currentX - barWidht/2, currentY - valuePostion, 
+											  currentX + barWidht /2, currentY, mCanvas);	 
+							//柱形的当前值
+							renderItemLabel(flatBar,bv, 
+														currentX, currentY - valuePostion/2);											
+							currentY -= valuePostion ;						 
+						 }
+						 //合计					 
+						 float totalPostion = (float) Math.round( axisScreenHeight/axisDataHeight * (total- dataAxis.getAxisMin()) );					 
+						 renderItemLabel(flatBar,total, 
+								 					currentX, plotArea.getPlotBottom() - totalPostion);							
+				 }			 
+			}
+			//压在柱形上的轴线和说明画在覆盖层
+			if(beginLayer(XEnum.ChartLayer.OVERLAY))
+			{
+				//轴 线		 		 
+				 dataAxis.renderAxis(plotArea.getPlotLeft(),  plotArea.getPlotBottom(),
+			 			   			 plotArea.getPlotRight(),  plotArea.getPlotBottom());
 			 
-			 drawDataSetKey();			 		
+				 drawDataSetKey();			 		
+			}
 	}
 	
 	
@@ -0,0 +1,245 @@
+/**
+ * Copyright 2014  XCL-Charts
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 	
+ * @Project XCL-Charts 
+ * @Description Android图表基类库
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ * @license http://www.apache.org/licenses/  Apache v2 License
+ * @version v0.1
+ */
+package org.xclcharts.chart.common;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import android.graphics.Bitmap;
+import android.graphics.Bitmap.Config;
+
+/**
+ * @ClassName BitmapPool
+ * @Description  绘图缓冲区用的位图池。宽高按SIZE_STEP向上取整分档,
+ * 				  同一档,同一格式的位图在各图表间重复使用,不用每次重新分配。
+ * 				  空闲位图总字节数超出上限时先释放最久没用的。
+ * 				  内存紧张时由trimMemory()按级别释放空闲位图。多个线程可共用
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ *  * MODIFIED    YYYY-MM-DD   REASON
+ */
+
+public class BitmapPool {
+
+	//宽高按此取整,相近大小的图表可共用位图
+	public static final int SIZE_STEP = 32;
+
+	//与ComponentCallbacks2中的级别相同,那些常量在API 14才有
+	public static final int TRIM_MEMORY_RUNNING_LOW = 10;
+	public static final int TRIM_MEMORY_RUNNING_CRITICAL = 15;
+	public static final int TRIM_MEMORY_UI_HIDDEN = 20;
+	public static final int TRIM_MEMORY_BACKGROUND = 40;
+
+	//所有图表共用的位图池,最多留住可用堆的八分之一
+	private static final BitmapPool sDefault = new BitmapPool(Runtime.getRuntime().maxMemory() / 8);
+
+	//空闲位图,越靠后越是最近放回的
+	private final List<Bitmap> mFree = new ArrayList<Bitmap>();
+	//空闲位图的总字节数
+	private long mSize = 0L;
+	private long mMaxSize = 0L;
+
+	//命中与未命中次数
+	private int mHitCount = 0;
+	private int mMissCount = 0;
+
+	/**
+	 * 按指定上限构建
+	 * @param maxSize 空闲位图最多占用的字节数
+	 */
+	public BitmapPool(long maxSize)
+	{
+		if(maxSize <= 0) throw new IllegalArgumentException("maxSize <= 0");
+		mMaxSize = maxSize;
+	}
+
+	/**
+	 * 返回所有图表共用的位图池
+	 * @return 位图池
+	 */
+	public static BitmapPool getDefault()
+	{
+		return sDefault;
+	}
+
+	/**
+	 * 宽或高取整到所在的档
+	 * @param value 宽或高
+	 * @return 取整后的值
+	 */
+	public static int roundSize(int value)
+	{
+		return (value + SIZE_STEP - 1) / SIZE_STEP * SIZE_STEP;
+	}
+
+	/**
+	 * 取出一个至少有指定大小的可变位图,池中没有同档的位图时才分配。
+	 * 取出的位图宽高是取整后的值,内容没有清空,由调用者自行清空
+	 * @param width		宽度
+	 * @param height	高度
+	 * @param config	像素格式,不透明的图表可用RGB_565,内存只要一半
+	 * @return 位图
+	 */
+	public synchronized Bitmap acquire(int width,int height,Config config)
+	{
+		if(width <= 0 || height <= 0) throw new IllegalArgumentException("width or height <= 0");
+		if(null == config) config = Config.ARGB_8888;
+
+		int poolWidth = roundSize(width);
+		int poolHeight = roundSize(height);
+
+		//从最近放回的开始找
+		for(int i = mFree.size() - 1; i >= 0; i--)
+		{
+			Bitmap bitmap = mFree.get(i);
+			if(bitmap.getWidth() == poolWidth && bitmap.getHeight() == poolHeight
+					&& config == bitmap.getConfig())
+			{
+				mFree.remove(i);
+				mSize -= getBytes(bitmap);
+				mHitCount++;
+				return bitmap;
+			}
+		}
+
+		mMissCount++;
+		try {
+			return Bitmap.createBitmap(poolWidth, poolHeight, config);
+		} catch (OutOfMemoryError e) {
+			//先放掉所有空闲位图再试一次
+			clear();
+			return Bitmap.createBitmap(poolWidth, poolHeight, config);
+		}
+	}
+
+	/**
+	 * 把不再使用的位图放回池中,放回后调用者不能再使用它
+	 * @param bitmap 位图
+	 */
+	public synchronized void release(Bitmap bitmap)
+	{
+		if(null == bitmap || bitmap.isRecycled() || mFree.contains(bitmap)) return;
+
+		long bytes = getBytes(bitmap);
+		if(!bitmap.isMutable() || bytes > mMaxSize)
+		{
+			bitmap.recycle();
+			return;
+		}
+		mFree.add(bitmap);
+		mSize += bytes;
+		trimToSize(mMaxSize);
+	}
+
+	/**
+	 * 按系统内存紧张的程度释放空闲位图,在onTrimMemory()或onLowMemory()中调用
+	 * @param level 级别,同ComponentCallbacks2中的级别
+	 */
+	public synchronized void trimMemory(int level)
+	{
+		if(level >= TRIM_MEMORY_BACKGROUND || level == TRIM_MEMORY_RUNNING_CRITICAL)
+		{
+			clear();
+		}else if(level >= TRIM_MEMORY_UI_HIDDEN || level == TRIM_MEMORY_RUNNING_LOW){
+			trimToSize(mMaxSize / 2);
+		}
+	}
+
+	/**
+	 * 释放所有空闲位图
+	 */
+	public synchronized void clear()
+	{
+		trimToSize(0);
+	}
+
+	/**
+	 * 设置空闲位图最多占用的字节数
+	 * @param maxSize 字节数
+	 */
+	public synchronized void setMaxSize(long maxSize)
+	{
+		if(maxSize <= 0) throw new IllegalArgumentException("maxSize <= 0");
+		mMaxSize = maxSize;
+		trimToSize(mMaxSize);
+	}
+
+	/**
+	 * 返回空闲位图最多占用的字节数
+	 * @return 字节数
+	 */
+	public synchronized long getMaxSize()
+	{
+		return mMaxSize;
+	}
+
+	/**
+	 * 返回空闲位图当前占用的字节数
+	 * @return 字节数
+	 */
+	public synchronized long getSize()
+	{
+		return mSize;
+	}
+
+	/**
+	 * 返回从池中取到位图的次数
+	 * @return 次数
+	 */
+	public synchronized int getHitCount()
+	{
+		return mHitCount;
+	}
+
+	/**
+	 * 返回池中没有合适位图而新分配的次数
+	 * @return 次数
+	 */
+	public synchronized int getMissCount()
+	{
+		return mMissCount;
+	}
+
+	/**
+	 * 从最久没用的开始释放,直到总字节数不超过指定值
+	 * @param maxSize 字节数
+	 */
+	private void trimToSize(long maxSize)
+	{
+		while(mSize > maxSize && !mFree.isEmpty())
+		{
+			Bitmap bitmap = mFree.remove(0);
+			mSize -= getBytes(bitmap);
+			bitmap.recycle();
+		}
+	}
+
+	/**
+	 * 位图占用的字节数,getByteCount()在API 12才有
+	 * @param bitmap 位图
+	 * @return 字节数
+	 */
+	private static long getBytes(Bitmap bitmap)
+	{
+		return (long) bitmap.getRowBytes() * bitmap.getHeight();
+	}
+
+}
@@ -25,14 +25,11 @@ package org.xclcharts.chart.common;
 import java.util.Random;
 
 import org.xclcharts.renderer.XEnum;
-
-import android.graphics.Canvas;
-import android.graphics.Color;
-import android.graphics.DashPathEffect;
-import android.graphics.Paint;
-import android.graphics.Paint.FontMetrics;
-import android.graphics.Path;
-import android.graphics.PathEffect;
+import org.xclcharts.renderer.canvas.ChartPath;
+import org.xclcharts.renderer.canvas.IChartCanvas;
+import org.xclcharts.renderer.canvas.ChartColor;
+import org.xclcharts.renderer.canvas.ChartDash;
+import org.xclcharts.renderer.canvas.ChartPaint;
 
 /**
  * @ClassName DrawHelper
@@ -44,11 +41,32 @@ import android.graphics.PathEffect;
 
 public class DrawHelper {
 
+	//点线和虚实线的效果,不可变,所有图表共用
+	private static final ChartDash DOT_EFFECT = new ChartDash(new float[] { 2, 2, 2, 2}, 1);
+	private static final ChartDash DASH_EFFECT = new ChartDash(new float[] { 4, 8, 5, 10}, 1);
+
+	//所有图表共用的文字测量缓存
+	private static final TextMeasureCache sMeasureCache = new TextMeasureCache(1024);
+
+	//画三角形用的路径,重复使用
+	private final ChartPath mPathTrigangle = new ChartPath();
+	//颜色转换用
+	private final float[] mHSV = new float[3];
+
 	public DrawHelper()
 	{
 	
 	}
 	
+	/**
+	 * 返回共用的文字测量缓存,可在内存紧张时清空
+	 * @return 文字测量缓存
+	 */
+	public static TextMeasureCache getMeasureCache()
+	{
+		return sMeasureCache;
+	}
+	
 	
 	/**
 	 *  得到一个随机颜色
@@ -59,7 +77,7 @@ public class DrawHelper {
         int red = random.nextInt(256) ;
         int green = random.nextInt(256) ;
         int blue = random.nextInt(256);
-        return Color.rgb(red, green, blue);
+        return ChartColor.rgb(red, green, blue);
     }
 	
 	/**
@@ -70,10 +88,8 @@ public class DrawHelper {
 	 */
 	public int getLightColor(int color,int alpha)
 	{
-		Paint paint = new Paint();
-		paint.setColor(color);
-		paint.setAlpha(alpha);
-		return paint.getColor();
+		//与Paint.setAlpha()的结果相同,只替换透明度
+		return (color & 0x00FFFFFF) | ((alpha & 0xFF) << 24);
 	}
 	
 	/**
@@ -82,11 +98,11 @@ public class DrawHelper {
 	 * @return 深色
 	 */
 	public int getDarkerColor(int color){
-	    float[] hsv = new float[3];
-	    Color.colorToHSV(color, hsv);	   
+	    float[] hsv = mHSV;
+	    ChartColor.colorToHSV(color, hsv);	   
 	    hsv[1] = hsv[1] + 0.1f; 
 	    hsv[2] = hsv[2] - 0.1f; 
-	    int darkerColor = Color.HSVToColor(hsv);
+	    int darkerColor = ChartColor.HSVToColor(hsv);
 	    return  darkerColor ;
 	}	
 	
@@ -95,10 +111,9 @@ public class DrawHelper {
 	 * @param paint 画笔
 	 * @return 高度
 	 */
-	public int getPaintFontHeight(Paint paint)
+	public int getPaintFontHeight(ChartPaint paint)
 	{
-	     FontMetrics fm = paint.getFontMetrics();
-		 int charHeight = (int) Math.ceil(fm.descent - fm.ascent);
+		 int charHeight = (int) Math.ceil(sMeasureCache.getFontHeight(paint));
 		 return charHeight;
 	}
 	 
@@ -108,19 +123,30 @@ public class DrawHelper {
 	 * @param str 字符串
 	 * @return 宽度
 	 */
-	public int getTextWidth(Paint paint,String str)
+	public int getTextWidth(ChartPaint paint,String str)
 	{
-		 int width = (int) Math.abs(paint.measureText(str, 0, str.length()));		 
+		 int width = (int) Math.abs(measureText(paint, str));		 
 		 return width;
 	}
 	
+	/**
+	 * 得到字符串的宽度,不取整
+	 * @param paint 画笔
+	 * @param str 字符串
+	 * @return 宽度
+	 */
+	public float measureText(ChartPaint paint,String str)
+	{
+		 return sMeasureCache.measureText(paint, str);
+	}
+	
 	/**
 	 *  用于计算文字的竖直累加高度
 	 * @param paint 画笔
 	 * @param str   字符串
 	 * @return 高度
 	 */
-	public int calcTextHeight(Paint paint,String str)
+	public int calcTextHeight(ChartPaint paint,String str)
 	{		
 		return getPaintFontHeight(paint) * str.length();
 	}
@@ -135,8 +161,8 @@ public class DrawHelper {
 	 */
 	public void drawRotateText(  String text , 
 									float x ,float y,float angle,
-									Canvas canvas,
-									Paint paint 
+									IChartCanvas canvas,
+									ChartPaint paint 
 									){
 		if(angle != 0){
 			canvas.rotate(angle, x, y); 
@@ -145,6 +171,29 @@ public class DrawHelper {
 		if(angle != 0){
 			canvas.rotate(-angle, x, y); 
 		}
+	}
+	
+	/**
+	 *  绘制旋转了指定角度的文字,文字放在char[]中,用于不生成String的场合
+	 * @param text	文字
+	 * @param count	文字长度
+	 * @param x		X坐标
+	 * @param y		y坐标
+	 * @param paint	画笔
+	 * @param angle 角度
+	 */
+	public void drawRotateText(  char[] text ,int count,
+									float x ,float y,float angle,
+									IChartCanvas canvas,
+									ChartPaint paint 
+									){
+		if(angle != 0){
+			canvas.rotate(angle, x, y); 
+		}
+		canvas.drawText(text, 0, count, x, y, paint);
+		if(angle != 0){
+			canvas.rotate(-angle, x, y); 
+		}
 	}			
 	
 	/**
@@ -162,13 +211,14 @@ public class DrawHelper {
 								float baseLnCentY,
 								XEnum.TrigangleDirection direction,
 								XEnum.TrigangleStyle style,
-								Canvas canvas,
-								Paint paint)
+								IChartCanvas canvas,
+								ChartPaint paint)
 	{
 		 // 计算偏移量
 		   int offset = (int)(baseLine / 2 * Math.tan(60 * Math.PI / 180));
 		   
-		   Path path = new Path();
+		   ChartPath path = mPathTrigangle;
+		   path.reset();
 		   
 		   // 计算三角形3个顶点的坐标
 	        switch (direction)
@@ -211,10 +261,10 @@ public class DrawHelper {
 	        switch (style)
 	        {
 	            case OUTLINE : //空心
-	                paint.setStyle(Paint.Style.STROKE);  
+	                paint.setStyle(ChartPaint.Style.STROKE);  
 	                break;
 	            case FILL : //FILL 
-	               paint.setStyle(Paint.Style.FILL);  
+	               paint.setStyle(ChartPaint.Style.FILL);  
 	               break;
 	        }
 	        canvas.drawPath(path,paint);		 		 
@@ -231,11 +281,10 @@ public class DrawHelper {
 	 */
 	public void drawDotLine(float startX,float startY,
 			 float stopX,float stopY,							 
-			 Canvas canvas,
-			 Paint paint)
+			 IChartCanvas canvas,
+			 ChartPaint paint)
 	{
-		PathEffect effects = new DashPathEffect(new float[] { 2, 2, 2, 2}, 1);  
-		paint.setPathEffect(effects);  
+		paint.setDash(DOT_EFFECT);  
 		canvas.drawLine(startX, startY, stopX, stopY, paint); 
 	}
 	
@@ -250,20 +299,19 @@ public class DrawHelper {
 	 */
 	public void drawDashLine(float startX,float startY,
 							 float stopX,float stopY,							 
-							 Canvas canvas,
-							 Paint paint)
+							 IChartCanvas canvas,
+							 ChartPaint paint)
 	{
 		//虚实线
-		PathEffect effects = new DashPathEffect(new float[] { 4, 8, 5, 10}, 1);  
-		paint.setPathEffect(effects);  
+		paint.setDash(DASH_EFFECT);  
 		canvas.drawLine(startX, startY, stopX, stopY, paint);  		
 	}
 	
 	public void drawLine(XEnum.LineDashStyle style,
 				float startX,float startY,
 				float stopX,float stopY,			 
-				Canvas canvas,
-				Paint paint
+				IChartCanvas canvas,
+				ChartPaint paint
 			 	)
 	{
 		
@@ -0,0 +1,257 @@
+/**
+ * Copyright 2014  XCL-Charts
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 	
+ * @Project XCL-Charts 
+ * @Description Android图表基类库
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ * @license http://www.apache.org/licenses/  Apache v2 License
+ * @version v0.1
+ */
+package org.xclcharts.chart.common;
+
+/**
+ * @ClassName NumberFormatter
+ * @Description  数值转文字,结果写入复用的StringBuilder和char[],绘制时用
+ * 				  Canvas.drawText(char[],...),整个过程不生成新对象。
+ * 				  没有设置回调时默认最多保留6位小数,去掉末尾多余的0
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ *  * MODIFIED    YYYY-MM-DD   REASON
+ */
+
+public class NumberFormatter {
+
+	//默认最多保留的小数位数
+	public static final int DEFAULT_FRACTION_DIGITS = 6;
+
+	private static final long[] POW10 = {
+		1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L, 100000000L, 1000000000L
+	};
+	//超过它时乘上小数位数会溢出long
+	private static final double LONG_LIMIT = 9e18;
+
+	private final StringBuilder mBuilder = new StringBuilder(32);
+	private char[] mChars = new char[32];
+	private int mLength = 0;
+	//自定义的格式化回调
+	private IFormatterNumberCallBack mCallBack = null;
+	//最多保留的小数位数
+	private int mFractionDigits = DEFAULT_FRACTION_DIGITS;
+
+	public NumberFormatter()
+	{
+	}
+
+	/**
+	 * 设置格式化回调,为null时使用默认格式
+	 * @param callBack 回调函数
+	 */
+	public void setCallBack(IFormatterNumberCallBack callBack)
+	{
+		mCallBack = callBack;
+	}
+
+	/**
+	 * 返回格式化回调
+	 * @return 回调函数
+	 */
+	public IFormatterNumberCallBack getCallBack()
+	{
+		return mCallBack;
+	}
+
+	/**
+	 * 设置默认格式最多保留的小数位数
+	 * @param digits 小数位数,0到9
+	 */
+	public void setFractionDigits(int digits)
+	{
+		if(digits < 0 || digits >= POW10.length)
+			throw new IllegalArgumentException("digits out of range: "+digits);
+		mFractionDigits = digits;
+	}
+
+	/**
+	 * 格式化一个数值
+	 * @param value 数值
+	 * @return 文字长度,内容由getChars()取得
+	 */
+	public int format(double value)
+	{
+		begin();
+		append(value);
+		return end();
+	}
+
+	/**
+	 * 开始拼接一段文字
+	 * @return 自身
+	 */
+	public NumberFormatter begin()
+	{
+		mBuilder.setLength(0);
+		return this;
+	}
+
+	/**
+	 * 追加一个数值,有回调时按回调的格式
+	 * @param value 数值
+	 * @return 自身
+	 */
+	public NumberFormatter append(double value)
+	{
+		if(null != mCallBack)
+		{
+			mCallBack.numberFormatter(value, mBuilder);
+		}else{
+			append(mBuilder, value, mFractionDigits);
+		}
+		return this;
+	}
+
+	/**
+	 * 追加一段文字
+	 * @param text 文字
+	 * @return 自身
+	 */
+	public NumberFormatter append(CharSequence text)
+	{
+		mBuilder.append(text);
+		return this;
+	}
+
+	/**
+	 * 追加一个字符
+	 * @param c 字符
+	 * @return 自身
+	 */
+	public NumberFormatter append(char c)
+	{
+		mBuilder.append(c);
+		return this;
+	}
+
+	/**
+	 * 拼接结束,把内容复制到char[]中
+	 * @return 文字长度
+	 */
+	public int end()
+	{
+		mLength = mBuilder.length();
+		if(mChars.length < mLength) mChars = new char[mLength * 2];
+		mBuilder.getChars(0, mLength, mChars, 0);
+		return mLength;
+	}
+
+	/**
+	 * 返回格式化后的文字,只读,有效长度为最后一次end()的返回值
+	 * @return 文字
+	 */
+	public char[] getChars()
+	{
+		return mChars;
+	}
+
+	/**
+	 * 返回格式化后文字的长度
+	 * @return 长度
+	 */
+	public int getLength()
+	{
+		return mLength;
+	}
+
+	/**
+	 * 以String返回格式化后的文字,会生成新对象,用于需要缓存结果的地方
+	 * @return 文字
+	 */
+	public String toString()
+	{
+		return new String(mChars, 0, mLength);
+	}
+
+	/**
+	 * 按默认格式把数值追加到StringBuilder中,整数部分至少一位,
+	 * 小数部分最多保留DEFAULT_FRACTION_DIGITS位并去掉末尾的0,但至少保留一位,如12.0,0.25
+	 * @param out	 输出
+	 * @param value 数值
+	 */
+	public static void append(StringBuilder out,double value)
+	{
+		append(out, value, DEFAULT_FRACTION_DIGITS);
+	}
+
+	/**
+	 * 按指定的小数位数把数值追加到StringBuilder中
+	 * @param out	 输出
+	 * @param value 数值
+	 * @param fractionDigits 最多保留的小数位数,为0时不带小数点
+	 */
+	public static void append(StringBuilder out,double value,int fractionDigits)
+	{
+		double abs = Math.abs(value);
+		if(Double.isNaN(value) || Double.isInfinite(value) || abs >= LONG_LIMIT)
+		{
+			//很少出现,交给系统处理
+			out.append(value);
+			return;
+		}
+
+		int digits = fractionDigits;
+		while(digits > 0 && abs * POW10[digits] >= LONG_LIMIT) digits--;
+
+		long scale = POW10[digits];
+		long scaled = Math.round(abs * scale);
+		long intPart = scaled / scale;
+		long fraction = scaled % scale;
+
+		if(value < 0 && scaled != 0) out.append('-');
+		appendDigits(out, intPart, 1);
+		if(0 == fractionDigits) return;
+
+		out.append('.');
+		if(0 == digits)
+		{
+			out.append('0');
+			return;
+		}
+		//去掉末尾的0
+		while(digits > 1 && fraction % 10 == 0)
+		{
+			fraction /= 10;
+			digits--;
+		}
+		appendDigits(out, fraction, digits);
+	}
+
+	//按十进制追加非负整数,不足minDigits位时前面补0
+	private static void appendDigits(StringBuilder out,long value,int minDigits)
+	{
+		int count = 1;
+		long power = 1;
+		while(power <= value / 10)
+		{
+			power *= 10;
+			count++;
+		}
+		for(int i = count; i < minDigits; i++) out.append('0');
+		while(power > 0)
+		{
+			out.append((char) ('0' + value / power));
+			value %= power;
+			power /= 10;
+		}
+	}
+
+}
@@ -0,0 +1,197 @@
+/**
+ * Copyright 2014  XCL-Charts
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 	
+ * @Project XCL-Charts 
+ * @Description Android图表基类库
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ * @license http://www.apache.org/licenses/  Apache v2 License
+ * @version v0.1
+ */
+package org.xclcharts.chart.common;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.xclcharts.renderer.canvas.ChartPaint;
+import org.xclcharts.renderer.canvas.ITextMeasurer;
+
+/**
+ * @ClassName TextMeasureCache
+ * @Description  文字测量结果的缓存,按测量器,字体,字号,粗体和文字作为键,
+ * 				  超出容量时淘汰最久没用过的项。
+ * 				  查找时复用同一个键对象,命中时不分配内存。多个线程同时绘制时也可共用
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ *  * MODIFIED    YYYY-MM-DD   REASON
+ */
+
+public class TextMeasureCache {
+
+	//字体高度缓存的容量,不同字体字号的组合通常很少
+	private static final int METRICS_CAPACITY = 32;
+
+	//文字宽度
+	private final LruMap mWidths;
+	//字体高度
+	private final LruMap mHeights;
+	//查找用的键,只在加锁时使用
+	private final MeasureKey mProbe = new MeasureKey();
+
+	/**
+	 * 按指定容量构建
+	 * @param capacity 最多缓存的文字宽度个数
+	 */
+	public TextMeasureCache(int capacity)
+	{
+		if(capacity <= 0) throw new IllegalArgumentException("capacity <= 0");
+		mWidths = new LruMap(capacity);
+		mHeights = new LruMap(METRICS_CAPACITY);
+	}
+
+	/**
+	 * 返回文字的宽度
+	 * @param paint 画笔
+	 * @param text	文字
+	 * @return 宽度
+	 */
+	public synchronized float measureText(ChartPaint paint,String text)
+	{
+		ITextMeasurer measurer = ChartPaint.getTextMeasurer();
+		mProbe.set(measurer, paint, text);
+		Float width = mWidths.get(mProbe);
+		if(null == width)
+		{
+			width = measurer.measureText(paint, text);
+			mWidths.put(mProbe.copy(), width);
+		}
+		return width;
+	}
+
+	/**
+	 * 返回字体的高度,即descent - ascent
+	 * @param paint 画笔
+	 * @return 高度
+	 */
+	public synchronized float getFontHeight(ChartPaint paint)
+	{
+		ITextMeasurer measurer = ChartPaint.getTextMeasurer();
+		mProbe.set(measurer, paint, null);
+		Float height = mHeights.get(mProbe);
+		if(null == height)
+		{
+			height = measurer.getFontHeight(paint);
+			mHeights.put(mProbe.copy(), height);
+		}
+		return height;
+	}
+
+	/**
+	 * 返回缓存的文字宽度个数
+	 * @return 个数
+	 */
+	public synchronized int size()
+	{
+		return mWidths.size();
+	}
+
+	/**
+	 * 清空缓存,如内存紧张时
+	 */
+	public synchronized void clear()
+	{
+		mWidths.clear();
+		mHeights.clear();
+	}
+
+	//按访问顺序排列,超出容量时移除最久没用的项
+	private static class LruMap extends LinkedHashMap<MeasureKey,Float>
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final int mCapacity;
+
+		LruMap(int capacity)
+		{
+			super(16, 0.75f, true);
+			mCapacity = capacity;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<MeasureKey,Float> eldest)
+		{
+			return size() > mCapacity;
+		}
+	}
+
+	//缓存的键,文字为null时表示字体高度
+	private static class MeasureKey
+	{
+		private ITextMeasurer mMeasurer;
+		private Object mFontKey;
+		private float mTextSize;
+		private boolean mFakeBold;
+		private String mText;
+		private int mHash;
+
+		void set(ITextMeasurer measurer,ChartPaint paint,String text)
+		{
+			set(measurer, measurer.getFontKey(paint), paint.getTextSize(),
+					paint.isFakeBoldText(), text);
+		}
+
+		private void set(ITextMeasurer measurer,Object fontKey,float textSize,boolean fakeBold,String text)
+		{
+			mMeasurer = measurer;
+			mFontKey = fontKey;
+			mTextSize = textSize;
+			mFakeBold = fakeBold;
+			mText = text;
+
+			int hash = System.identityHashCode(measurer);
+			hash = 31 * hash + (null == fontKey ? 0 : fontKey.hashCode());
+			hash = 31 * hash + Float.floatToIntBits(textSize);
+			hash = 31 * hash + (fakeBold ? 1 : 0);
+			hash = 31 * hash + (null == text ? 0 : text.hashCode());
+			mHash = hash;
+		}
+
+		MeasureKey copy()
+		{
+			MeasureKey key = new MeasureKey();
+			key.set(mMeasurer, mFontKey, mTextSize, mFakeBold, mText);
+			return key;
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return mHash;
+		}
+
+		@Override
+		public boolean equals(Object o)
+		{
+			if(this == o) return true;
+			if(!(o instanceof MeasureKey)) return false;
+			MeasureKey other = (MeasureKey) o;
+			return mHash == other.mHash
+					&& mMeasurer == other.mMeasurer
+					&& (null == mFontKey ? null == other.mFontKey : mFontKey.equals(other.mFontKey))
+					&& Float.compare(mTextSize, other.mTextSize) == 0
+					&& mFakeBold == other.mFakeBold
+					&& (null == mText ? null == other.mText : mText.equals(other.mText));
+		}
+	}
+
+}
@@ -0,0 +1,97 @@
+/**
+ * Copyright 2014  XCL-Charts
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 	
+ * @Project XCL-Charts 
+ * @Description Android图表基类库
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ * @license http://www.apache.org/licenses/  Apache v2 License
+ * @version v0.1
+ */
+package org.xclcharts.chart.io;
+
+/**
+ * @ClassName ChartDataFormat
+ * @Description  图表数据二进制文件格式的常量定义,全部为小端存放。
+ * 	<pre>
+ * 	文件头(16字节):
+ * 		magic        4字节  "XCLC"
+ * 		version      u16    格式版本,当前为1
+ * 		flags        u16    保留,为0
+ * 		seriesCount  u32    序列个数
+ * 		headerSize   u32    文件头加序列描述的总长度,已按8字节对齐
+ * 	序列描述(每个序列一条,紧接文件头):
+ * 		kind         u8     序列类型,见KIND_*
+ * 		dotStyle     u8     XEnum.DotStyle的序号
+ * 		flags        u8     见FLAG_*
+ * 		reserved     u8
+ * 		color        i32    颜色,线图为线的颜色
+ * 		color2       i32    面积图为填充颜色,其它为0
+ * 		count        u32    数据个数
+ * 		min,max      f64    值的范围,饼图两者都为扇区的百分比
+ * 		xMin,xMax    f64    曲线图x的范围,其它为NaN
+ * 		xOffset      i64    曲线图x列在文件中的位置,其它为0
+ * 		yOffset      i64    值列在文件中的位置,饼图为0
+ * 		key          u16长度 + UTF-8
+ * 		label        u16长度 + UTF-8
+ * 	数据列:
+ * 		按8字节对齐的连续double,读取时直接映射使用,不做解析
+ * 	</pre>
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ *  * MODIFIED    YYYY-MM-DD   REASON
+ */
+
+public class ChartDataFormat {
+
+	//文件标识 "XCLC"
+	public static final int MAGIC = 0x434C4358;
+	//当前格式版本,读取时不接受更高的版本
+	public static final int VERSION = 1;
+	
+	//文件头长度
+	public static final int FILE_HEADER_SIZE = 16;
+	//序列描述中定长部分的长度,不含key,label
+	public static final int SERIES_HEADER_SIZE = 64;
+	//数据列对齐字节数
+	public static final int ALIGNMENT = 8;
+
+	//序列类型
+	public static final int KIND_BAR = 1;
+	public static final int KIND_LINE = 2;
+	public static final int KIND_AREA = 3;
+	public static final int KIND_SPLINE = 4;
+	public static final int KIND_PIE = 5;
+
+	//柱形图是否设置了颜色
+	public static final int FLAG_HAS_COLOR = 1;
+	//线图是否在点上显示标签
+	public static final int FLAG_LABEL_VISIBLE = 1 << 1;
+	//饼图扇区是否突出显示
+	public static final int FLAG_SELECTED = 1 << 2;
+
+	private ChartDataFormat()
+	{
+	}
+
+	/**
+	 * 按对齐字节数向上取整
+	 * @param position 位置
+	 * @return 对齐后的位置
+	 */
+	public static long align(long position)
+	{
+		return (position + ALIGNMENT - 1) & ~(long)(ALIGNMENT - 1);
+	}
+
+}
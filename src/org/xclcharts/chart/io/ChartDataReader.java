@@ -0,0 +1,435 @@
+/**
+ * Copyright 2014  XCL-Charts
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 	
+ * @Project XCL-Charts 
+ * @Description Android图表基类库
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ * @license http://www.apache.org/licenses/  Apache v2 License
+ * @version v0.1
+ */
+package org.xclcharts.chart.io;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.xclcharts.chart.AreaData;
+import org.xclcharts.chart.BarData;
+import org.xclcharts.chart.LineData;
+import org.xclcharts.chart.LnData;
+import org.xclcharts.chart.PieData;
+import org.xclcharts.chart.SplineData;
+import org.xclcharts.chart.series.MappedDoubleSeries;
+import org.xclcharts.chart.series.MappedXYSeries;
+import org.xclcharts.renderer.XEnum;
+
+/**
+ * @ClassName ChartDataReader
+ * @Description  读取ChartDataFormat定义的二进制文件。
+ * 				  只解析文件头中的序列描述,数据列直接映射为MappedDoubleSeries,
+ * 				  不做解析也不复制到Java堆中。返回的数据在close()之前有效
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ *  * MODIFIED    YYYY-MM-DD   REASON
+ */
+
+public class ChartDataReader implements Closeable {
+
+	private static final XEnum.DotStyle[] DOT_STYLES = XEnum.DotStyle.values();
+
+	private final RandomAccessFile mFile;
+	private final FileChannel mChannel;
+	
+	private final int mVersion;
+	private final int mSeriesCount;
+
+	//序列描述
+	private final int[] mKinds;
+	private final int[] mDotStyles;
+	private final int[] mFlags;
+	private final int[] mColors;
+	private final int[] mColors2;
+	private final int[] mCounts;
+	private final double[] mMins;
+	private final double[] mMaxs;
+	private final double[] mXMins;
+	private final double[] mXMaxs;
+	private final long[] mXOffsets;
+	private final long[] mYOffsets;
+	private final String[] mKeys;
+	private final String[] mLabels;
+
+	//每个序列描述至少占的字节数:定长部分加上key与label的长度
+	private static final int MIN_SERIES_HEADER_SIZE = ChartDataFormat.SERIES_HEADER_SIZE + 4;
+
+	/**
+	 * 打开文件并读取序列描述,序列个数,数据个数与数据列的位置不合理时视为文件损坏
+	 * @param file 文件
+	 * @throws IOException 不是图表数据文件,版本不支持或文件损坏
+	 */
+	public ChartDataReader(File file) throws IOException
+	{
+		mFile = new RandomAccessFile(file, "r");
+		mChannel = mFile.getChannel();
+		boolean opened = false;
+		try {
+			ByteBuffer head = ByteBuffer.allocate(ChartDataFormat.FILE_HEADER_SIZE)
+										.order(ByteOrder.LITTLE_ENDIAN);
+			readFully(head, 0);
+			if(head.getInt() != ChartDataFormat.MAGIC)
+				throw new IOException("not a chart data file: "+file);
+			mVersion = head.getShort() & 0xFFFF;
+			if(mVersion > ChartDataFormat.VERSION)
+				throw new IOException("unsupported chart data version: "+mVersion);
+			head.getShort();
+			mSeriesCount = head.getInt();
+			int headerSize = head.getInt();
+			long fileSize = mChannel.size();
+			if(mSeriesCount < 0 || headerSize < ChartDataFormat.FILE_HEADER_SIZE
+					|| headerSize > fileSize)
+				throw new IOException("corrupt chart data header: "+file);
+			//先按文件头的长度核对序列个数,再按它分配数组
+			if((long)mSeriesCount * MIN_SERIES_HEADER_SIZE > headerSize - ChartDataFormat.FILE_HEADER_SIZE)
+				throw new IOException("corrupt chart data header, series count: "+mSeriesCount);
+
+			mKinds = new int[mSeriesCount];
+			mDotStyles = new int[mSeriesCount];
+			mFlags = new int[mSeriesCount];
+			mColors = new int[mSeriesCount];
+			mColors2 = new int[mSeriesCount];
+			mCounts = new int[mSeriesCount];
+			mMins = new double[mSeriesCount];
+			mMaxs = new double[mSeriesCount];
+			mXMins = new double[mSeriesCount];
+			mXMaxs = new double[mSeriesCount];
+			mXOffsets = new long[mSeriesCount];
+			mYOffsets = new long[mSeriesCount];
+			mKeys = new String[mSeriesCount];
+			mLabels = new String[mSeriesCount];
+
+			ByteBuffer desc = mChannel.map(FileChannel.MapMode.READ_ONLY, 0, headerSize)
+										.order(ByteOrder.LITTLE_ENDIAN);
+			desc.position(ChartDataFormat.FILE_HEADER_SIZE);
+			for(int i=0;i<mSeriesCount;i++)
+			{
+				mKinds[i] = desc.get() & 0xFF;
+				mDotStyles[i] = desc.get() & 0xFF;
+				mFlags[i] = desc.get() & 0xFF;
+				desc.get();
+				mColors[i] = desc.getInt();
+				mColors2[i] = desc.getInt();
+				mCounts[i] = desc.getInt();
+				mMins[i] = desc.getDouble();
+				mMaxs[i] = desc.getDouble();
+				mXMins[i] = desc.getDouble();
+				mXMaxs[i] = desc.getDouble();
+				mXOffsets[i] = desc.getLong();
+				mYOffsets[i] = desc.getLong();
+				mKeys[i] = decode(desc);
+				mLabels[i] = decode(desc);
+				checkColumns(i, headerSize, fileSize);
+			}
+			opened = true;
+		} catch (RuntimeException e) {
+			throw new IOException("corrupt chart data file: "+file, e);
+		} finally {
+			//包括OutOfMemoryError等,失败时都要关闭文件
+			if(!opened) mFile.close();
+		}
+	}
+
+	/**
+	 * 核对数据个数与数据列的位置,数据列须在文件头之后且完整落在文件内。
+	 * u32的个数超过int范围时读出为负数,也视为损坏
+	 */
+	private void checkColumns(int index,long headerSize,long fileSize) throws IOException
+	{
+		int count = mCounts[index];
+		if(count < 0) throw new IOException("corrupt chart data, series "+index+" count: "+count);
+		switch(mKinds[index])
+		{
+		case ChartDataFormat.KIND_SPLINE:
+			checkColumn(index, mXOffsets[index], count, headerSize, fileSize);
+			checkColumn(index, mYOffsets[index], count, headerSize, fileSize);
+			break;
+		case ChartDataFormat.KIND_BAR:
+		case ChartDataFormat.KIND_LINE:
+		case ChartDataFormat.KIND_AREA:
+			checkColumn(index, mYOffsets[index], count, headerSize, fileSize);
+			break;
+		default:
+			//饼图没有数据列
+			break;
+		}
+	}
+
+	private void checkColumn(int index,long offset,int count,long headerSize,long fileSize) throws IOException
+	{
+		//count不超过int,乘8不会溢出long;offset先与文件大小比较,相加也不会溢出
+		if(offset < headerSize)
+			throw new IOException("corrupt chart data, series "+index+" column at "+offset
+									+" overlaps header of size "+headerSize);
+		if(offset > fileSize || (long)count * 8 > fileSize - offset)
+			throw new IOException("corrupt chart data, series "+index+" column at "+offset
+									+" with "+count+" values exceeds file size "+fileSize);
+	}
+
+	private void readFully(ByteBuffer buf,long position) throws IOException
+	{
+		while(buf.hasRemaining())
+		{
+			int n = mChannel.read(buf, position);
+			if(n < 0) throw new IOException("unexpected end of file");
+			position += n;
+		}
+		buf.flip();
+	}
+
+	private String decode(ByteBuffer buf) throws UnsupportedEncodingException
+	{
+		int length = buf.getShort() & 0xFFFF;
+		if(0 == length) return null;
+		byte[] bytes = new byte[length];
+		buf.get(bytes);
+		return new String(bytes, "UTF-8");
+	}
+
+	/**
+	 * 返回文件的格式版本
+	 * @return 版本
+	 */
+	public int getVersion()
+	{
+		return mVersion;
+	}
+
+	/**
+	 * 返回序列个数
+	 * @return 序列个数
+	 */
+	public int getSeriesCount()
+	{
+		return mSeriesCount;
+	}
+
+	/**
+	 * 返回序列类型
+	 * @param index 序列下标
+	 * @return ChartDataFormat.KIND_*
+	 */
+	public int getKind(int index)
+	{
+		return mKinds[index];
+	}
+
+	/**
+	 * 返回序列的Key值
+	 * @param index 序列下标
+	 * @return Key值
+	 */
+	public String getKey(int index)
+	{
+		return mKeys[index];
+	}
+
+	/**
+	 * 返回序列的数据个数
+	 * @param index 序列下标
+	 * @return 数据个数
+	 */
+	public int getCount(int index)
+	{
+		return mCounts[index];
+	}
+
+	/**
+	 * 返回序列值的最小值,不用遍历数据就可设置数据轴范围
+	 * @param index 序列下标
+	 * @return 最小值
+	 */
+	public double getMin(int index)
+	{
+		return mMins[index];
+	}
+
+	/**
+	 * 返回序列值的最大值
+	 * @param index 序列下标
+	 * @return 最大值
+	 */
+	public double getMax(int index)
+	{
+		return mMaxs[index];
+	}
+
+	/**
+	 * 返回曲线图x的最小值
+	 * @param index 序列下标
+	 * @return x最小值,非曲线图为NaN
+	 */
+	public double getXMin(int index)
+	{
+		return mXMins[index];
+	}
+
+	/**
+	 * 返回曲线图x的最大值
+	 * @param index 序列下标
+	 * @return x最大值,非曲线图为NaN
+	 */
+	public double getXMax(int index)
+	{
+		return mXMaxs[index];
+	}
+
+	/**
+	 * 返回柱形图的数据集
+	 * @return 数据集
+	 * @throws IOException
+	 */
+	public List<BarData> getBarData() throws IOException
+	{
+		List<BarData> list = new ArrayList<BarData>();
+		for(int i=0;i<mSeriesCount;i++)
+		{
+			if(ChartDataFormat.KIND_BAR != mKinds[i]) continue;
+			BarData data = new BarData();
+			data.setKey(mKeys[i]);
+			if((mFlags[i] & ChartDataFormat.FLAG_HAS_COLOR) != 0) data.setColor(mColors[i]);
+			data.setDataSeries(column(mYOffsets[i], mCounts[i]));
+			list.add(data);
+		}
+		return list;
+	}
+
+	/**
+	 * 返回折线图的数据集
+	 * @return 数据集
+	 * @throws IOException
+	 */
+	public LinkedList<LineData> getLineData() throws IOException
+	{
+		LinkedList<LineData> list = new LinkedList<LineData>();
+		for(int i=0;i<mSeriesCount;i++)
+		{
+			if(ChartDataFormat.KIND_LINE != mKinds[i]) continue;
+			LineData data = new LineData();
+			applyLine(i, data);
+			data.setLineSeries(column(mYOffsets[i], mCounts[i]));
+			list.add(data);
+		}
+		return list;
+	}
+
+	/**
+	 * 返回面积图的数据集
+	 * @return 数据集
+	 * @throws IOException
+	 */
+	public List<AreaData> getAreaData() throws IOException
+	{
+		List<AreaData> list = new ArrayList<AreaData>();
+		for(int i=0;i<mSeriesCount;i++)
+		{
+			if(ChartDataFormat.KIND_AREA != mKinds[i]) continue;
+			AreaData data = new AreaData();
+			applyLine(i, data);
+			data.setAreaFillColor(mColors2[i]);
+			data.setLineSeries(column(mYOffsets[i], mCounts[i]));
+			list.add(data);
+		}
+		return list;
+	}
+
+	/**
+	 * 返回曲线图的数据集
+	 * @return 数据集
+	 * @throws IOException
+	 */
+	public List<SplineData> getSplineData() throws IOException
+	{
+		List<SplineData> list = new ArrayList<SplineData>();
+		for(int i=0;i<mSeriesCount;i++)
+		{
+			if(ChartDataFormat.KIND_SPLINE != mKinds[i]) continue;
+			MappedXYSeries series = new MappedXYSeries(
+										column(mXOffsets[i], mCounts[i]),
+										column(mYOffsets[i], mCounts[i]));
+			SplineData data = new SplineData(mKeys[i], series, mColors[i], dotStyle(i));
+			applyLine(i, data);
+			list.add(data);
+		}
+		return list;
+	}
+
+	/**
+	 * 返回饼图的数据集
+	 * @return 数据集
+	 */
+	public List<PieData> getPieData()
+	{
+		List<PieData> list = new ArrayList<PieData>();
+		for(int i=0;i<mSeriesCount;i++)
+		{
+			if(ChartDataFormat.KIND_PIE != mKinds[i]) continue;
+			PieData data = new PieData();
+			if(null != mKeys[i]) data.setKey(mKeys[i]);
+			if(null != mLabels[i]) data.setLabel(mLabels[i]);
+			data.setPercentage(mMins[i]);
+			data.setSliceColor(mColors[i]);
+			data.setSelected((mFlags[i] & ChartDataFormat.FLAG_SELECTED) != 0);
+			list.add(data);
+		}
+		return list;
+	}
+
+	private void applyLine(int index,LnData data)
+	{
+		//LnData的key与label共用同一个字段,label为空时不要覆盖掉key
+		data.setLineKey(mKeys[index]);
+		if(null != mLabels[index]) data.setLineLabel(mLabels[index]);
+		data.setLineColor(mColors[index]);
+		data.setDotStyle(dotStyle(index));
+		data.setLineLabelVisible((mFlags[index] & ChartDataFormat.FLAG_LABEL_VISIBLE) != 0);
+	}
+
+	private XEnum.DotStyle dotStyle(int index)
+	{
+		int style = mDotStyles[index];
+		return style < DOT_STYLES.length ? DOT_STYLES[style] : XEnum.DotStyle.HIDE;
+	}
+
+	private MappedDoubleSeries column(long offset,int count) throws IOException
+	{
+		return new MappedDoubleSeries(mChannel, offset, count, ByteOrder.LITTLE_ENDIAN);
+	}
+
+	/**
+	 * 关闭文件,之后不能再读取返回的数据序列
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		mFile.close();
+	}
+
+}
@@ -0,0 +1,312 @@
+/**
+ * Copyright 2014  XCL-Charts
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 	
+ * @Project XCL-Charts 
+ * @Description Android图表基类库
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ * @license http://www.apache.org/licenses/  Apache v2 License
+ * @version v0.1
+ */
+package org.xclcharts.chart.io;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.xclcharts.chart.AreaData;
+import org.xclcharts.chart.BarData;
+import org.xclcharts.chart.LineData;
+import org.xclcharts.chart.LnData;
+import org.xclcharts.chart.PieData;
+import org.xclcharts.chart.SplineData;
+import org.xclcharts.chart.series.IDataSeries;
+import org.xclcharts.chart.series.IXYSeries;
+
+/**
+ * @ClassName ChartDataWriter
+ * @Description  把图表数据写成ChartDataFormat定义的二进制文件,
+ * 				  先用add*()加入各个序列,再调用write()一次写出
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ *  * MODIFIED    YYYY-MM-DD   REASON
+ */
+
+public class ChartDataWriter {
+
+	//写数据列时用的缓冲大小
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final List<Item> mItems = new ArrayList<Item>();
+
+	//一个待写出的序列
+	private static class Item
+	{
+		int kind;
+		int dotStyle;
+		int flags;
+		int color;
+		int color2;
+		byte[] key;
+		byte[] label;
+		double value;
+		IDataSeries ys;
+		IXYSeries xys;
+
+		int count;
+		double min = Double.NaN;
+		double max = Double.NaN;
+		double xMin = Double.NaN;
+		double xMax = Double.NaN;
+		long xOffset;
+		long yOffset;
+	}
+
+	public ChartDataWriter()
+	{
+	}
+
+	/**
+	 * 加入柱形图序列
+	 * @param data 柱形图数据
+	 */
+	public void addBar(BarData data)
+	{
+		Item item = new Item();
+		item.kind = ChartDataFormat.KIND_BAR;
+		item.key = encode(data.getKey());
+		item.label = encode(null);
+		if(null != data.getColor())
+		{
+			item.color = data.getColor();
+			item.flags |= ChartDataFormat.FLAG_HAS_COLOR;
+		}
+		item.ys = data.getDataSeries();
+		mItems.add(item);
+	}
+
+	/**
+	 * 加入折线图序列
+	 * @param data 折线图数据
+	 */
+	public void addLine(LineData data)
+	{
+		Item item = lineItem(ChartDataFormat.KIND_LINE, data);
+		item.ys = data.getLineSeries();
+		mItems.add(item);
+	}
+
+	/**
+	 * 加入面积图序列
+	 * @param data 面积图数据
+	 */
+	public void addArea(AreaData data)
+	{
+		Item item = lineItem(ChartDataFormat.KIND_AREA, data);
+		item.color2 = data.getAreaFillColor();
+		item.ys = data.getLineSeries();
+		mItems.add(item);
+	}
+
+	/**
+	 * 加入曲线图序列
+	 * @param data 曲线图数据
+	 */
+	public void addSpline(SplineData data)
+	{
+		Item item = lineItem(ChartDataFormat.KIND_SPLINE, data);
+		item.xys = data.getLineSeries();
+		mItems.add(item);
+	}
+
+	/**
+	 * 加入饼图的一个扇区
+	 * @param data 扇区数据
+	 */
+	public void addPie(PieData data)
+	{
+		Item item = new Item();
+		item.kind = ChartDataFormat.KIND_PIE;
+		item.key = encode(data.getKey());
+		item.label = encode(data.getLabel());
+		item.color = data.getSliceColor();
+		if(data.getSelected()) item.flags |= ChartDataFormat.FLAG_SELECTED;
+		item.value = data.getPercentage();
+		mItems.add(item);
+	}
+
+	private Item lineItem(int kind,LnData data)
+	{
+		Item item = new Item();
+		item.kind = kind;
+		item.key = encode(data.getLineKey());
+		item.label = encode(data.getLineLabel());
+		item.color = data.getLineColor();
+		if(null != data.getDotStyle()) item.dotStyle = data.getDotStyle().ordinal();
+		if(data.getLineLabelVisible()) item.flags |= ChartDataFormat.FLAG_LABEL_VISIBLE;
+		return item;
+	}
+
+	/**
+	 * 写到文件
+	 * @param file 文件
+	 * @throws IOException
+	 */
+	public void write(File file) throws IOException
+	{
+		OutputStream out = new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE);
+		try {
+			write(out);
+		} finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * 写到输出流,不会关闭输出流
+	 * @param out 输出流
+	 * @throws IOException
+	 */
+	public void write(OutputStream out) throws IOException
+	{
+		//先算出各个序列的范围和数据列的位置
+		long headerSize = ChartDataFormat.FILE_HEADER_SIZE;
+		for(Item item : mItems)
+		{
+			headerSize += ChartDataFormat.SERIES_HEADER_SIZE
+							+ 2 + item.key.length + 2 + item.label.length;
+		}
+		headerSize = ChartDataFormat.align(headerSize);
+		if(headerSize > Integer.MAX_VALUE) throw new IOException("header too large");
+
+		long position = headerSize;
+		for(Item item : mItems)
+		{
+			if(null != item.xys)
+			{
+				int n = item.xys.size();
+				item.count = n;
+				for(int i=0;i<n;i++)
+				{
+					double x = item.xys.getX(i);
+					double y = item.xys.getY(i);
+					if(0 == i || x < item.xMin) item.xMin = x;
+					if(0 == i || x > item.xMax) item.xMax = x;
+					if(0 == i || y < item.min) item.min = y;
+					if(0 == i || y > item.max) item.max = y;
+				}
+				item.xOffset = position;
+				position += (long)n * 8;
+				item.yOffset = position;
+				position += (long)n * 8;
+			}else if(null != item.ys){
+				int n = item.ys.size();
+				item.count = n;
+				for(int i=0;i<n;i++)
+				{
+					double y = item.ys.get(i);
+					if(0 == i || y < item.min) item.min = y;
+					if(0 == i || y > item.max) item.max = y;
+				}
+				item.yOffset = position;
+				position += (long)n * 8;
+			}else{
+				item.min = item.value;
+				item.max = item.value;
+			}
+		}
+
+		ByteBuffer header = ByteBuffer.allocate((int)headerSize).order(ByteOrder.LITTLE_ENDIAN);
+		header.putInt(ChartDataFormat.MAGIC);
+		header.putShort((short)ChartDataFormat.VERSION);
+		header.putShort((short)0);
+		header.putInt(mItems.size());
+		header.putInt((int)headerSize);
+		for(Item item : mItems)
+		{
+			header.put((byte)item.kind);
+			header.put((byte)item.dotStyle);
+			header.put((byte)item.flags);
+			header.put((byte)0);
+			header.putInt(item.color);
+			header.putInt(item.color2);
+			header.putInt(item.count);
+			header.putDouble(item.min);
+			header.putDouble(item.max);
+			header.putDouble(item.xMin);
+			header.putDouble(item.xMax);
+			header.putLong(item.xOffset);
+			header.putLong(item.yOffset);
+			header.putShort((short)item.key.length);
+			header.put(item.key);
+			header.putShort((short)item.label.length);
+			header.put(item.label);
+		}
+		//余下的为对齐用的0
+		out.write(header.array(), 0, header.capacity());
+
+		//数据列紧接着依次写出,每列长度都是8的倍数,不用再补齐
+		ByteBuffer buf = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		for(Item item : mItems)
+		{
+			if(null != item.xys)
+			{
+				for(int i=0;i<item.count;i++)
+				{
+					if(!buf.hasRemaining()) flush(out, buf);
+					buf.putDouble(item.xys.getX(i));
+				}
+				for(int i=0;i<item.count;i++)
+				{
+					if(!buf.hasRemaining()) flush(out, buf);
+					buf.putDouble(item.xys.getY(i));
+				}
+			}else if(null != item.ys){
+				for(int i=0;i<item.count;i++)
+				{
+					if(!buf.hasRemaining()) flush(out, buf);
+					buf.putDouble(item.ys.get(i));
+				}
+			}
+		}
+		flush(out, buf);
+		out.flush();
+	}
+
+	private void flush(OutputStream out,ByteBuffer buf) throws IOException
+	{
+		out.write(buf.array(), 0, buf.position());
+		buf.clear();
+	}
+
+	private byte[] encode(String value)
+	{
+		if(null == value) return new byte[0];
+		try {
+			byte[] bytes = value.getBytes("UTF-8");
+			if(bytes.length > 0xFFFF)
+				throw new IllegalArgumentException("string too long: "+bytes.length);
+			return bytes;
+		} catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
@@ -0,0 +1,298 @@
+/**
+ * Copyright 2014  XCL-Charts
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 	
+ * @Project XCL-Charts 
+ * @Description Android图表基类库
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ * @license http://www.apache.org/licenses/  Apache v2 License
+ * @version v0.1
+ */
+package org.xclcharts.chart.series;
+
+import java.util.List;
+
+/**
+ * @ClassName DoubleSeries
+ * @Description  用double[]存放的数据序列,长度可增长,避免装箱和链表遍历
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ *  * MODIFIED    YYYY-MM-DD   REASON
+ */
+
+public class DoubleSeries implements IDataSeries {
+
+	//默认容量
+	private static final int DEFAULT_CAPACITY = 16;
+
+	//数据
+	private double[] mValues;
+	//实际长度
+	private int mLength = 0;
+	//修改版本
+	private long mVersion = 0;
+	//除追加以外的修改次数,用来判断能否只对追加的部分做增量计算
+	private long mRewriteVersion = 0;
+
+	public DoubleSeries()
+	{
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * 按指定容量构建
+	 * @param capacity 初始容量
+	 */
+	public DoubleSeries(int capacity)
+	{
+		if(capacity < 0) throw new IllegalArgumentException("capacity < 0");
+		mValues = new double[capacity];
+	}
+
+	/**
+	 * 直接使用传入的数组,不做复制,之后不要再在外部修改它
+	 * @param values 数据
+	 */
+	public DoubleSeries(double[] values)
+	{
+		setValues(values,values.length);
+	}
+
+	/**
+	 * 直接使用传入的数组的前length个值,不做复制
+	 * @param values 数据
+	 * @param length 有效长度
+	 */
+	public DoubleSeries(double[] values,int length)
+	{
+		setValues(values,length);
+	}
+
+	/**
+	 * 由List构建,会复制一份数据
+	 * @param dataSeries 数据集合
+	 * @return 数据序列
+	 */
+	public static DoubleSeries fromList(List<Double> dataSeries)
+	{
+		if(null == dataSeries) return new DoubleSeries(0);
+
+		DoubleSeries series = new DoubleSeries(dataSeries.size());
+		//用迭代器,LinkedList也只遍历一次
+		for(Double value : dataSeries)
+		{
+			series.mValues[series.mLength++] = value;
+		}
+		return series;
+	}
+
+	/**
+	 * 接管传入的数组,不做复制
+	 * @param values 数据
+	 * @param length 有效长度
+	 */
+	public void setValues(double[] values,int length)
+	{
+		if(null == values) throw new IllegalArgumentException("values == null");
+		if(length < 0 || length > values.length)
+			throw new IllegalArgumentException("length out of range: "+length);
+		mValues = values;
+		mLength = length;
+		mVersion++;
+		mRewriteVersion++;
+	}
+
+	@Override
+	public int size()
+	{
+		return mLength;
+	}
+
+	@Override
+	public double get(int index)
+	{
+		if(index >= mLength) throw new IndexOutOfBoundsException("index: "+index+", size: "+mLength);
+		return mValues[index];
+	}
+
+	@Override
+	public long getVersion()
+	{
+		return mVersion;
+	}
+
+	/**
+	 * 返回除追加以外的修改次数,只有追加时它不变,
+	 * 据此可以只对新追加的数据做增量计算
+	 * @return 修改次数
+	 */
+	public long getRewriteVersion()
+	{
+		return mRewriteVersion;
+	}
+
+	/**
+	 * 修改指定下标的值
+	 * @param index 下标
+	 * @param value 值
+	 */
+	public void set(int index,double value)
+	{
+		if(index >= mLength) throw new IndexOutOfBoundsException("index: "+index+", size: "+mLength);
+		mValues[index] = value;
+		mVersion++;
+		mRewriteVersion++;
+	}
+
+	/**
+	 * 在尾部追加一个值
+	 * @param value 值
+	 */
+	public void append(double value)
+	{
+		if(mLength == mValues.length) grow(mLength + 1);
+		mValues[mLength++] = value;
+		mVersion++;
+	}
+
+	/**
+	 * 在尾部追加一组值
+	 * @param values 数据
+	 * @param offset 起始下标
+	 * @param count	   个数
+	 */
+	public void append(double[] values,int offset,int count)
+	{
+		ensureCapacity(mLength + count);
+		System.arraycopy(values, offset, mValues, mLength, count);
+		mLength += count;
+		mVersion++;
+	}
+
+	/**
+	 * 在指定下标处插入一个值,下标为size()时即为追加
+	 * @param index 下标
+	 * @param value 值
+	 */
+	public void insert(int index,double value)
+	{
+		if(index < 0 || index > mLength) throw new IndexOutOfBoundsException("index: "+index+", size: "+mLength);
+		if(index == mLength)
+		{
+			append(value);
+			return;
+		}
+		if(mLength == mValues.length) grow(mLength + 1);
+		System.arraycopy(mValues, index, mValues, index + 1, mLength - index);
+		mValues[index] = value;
+		mLength++;
+		mVersion++;
+		mRewriteVersion++;
+	}
+
+	/**
+	 * 删除指定下标的值
+	 * @param index 下标
+	 * @return 删除的值
+	 */
+	public double remove(int index)
+	{
+		if(index < 0 || index >= mLength) throw new IndexOutOfBoundsException("index: "+index+", size: "+mLength);
+		double old = mValues[index];
+		System.arraycopy(mValues, index + 1, mValues, index, mLength - index - 1);
+		mLength--;
+		mVersion++;
+		mRewriteVersion++;
+		return old;
+	}
+
+	/**
+	 * 清空数据,保留已分配的空间
+	 */
+	public void clear()
+	{
+		mLength = 0;
+		mVersion++;
+		mRewriteVersion++;
+	}
+
+	/**
+	 * 返回当前容量
+	 * @return 容量
+	 */
+	public int getCapacity()
+	{
+		return mValues.length;
+	}
+
+	/**
+	 * 确保至少有指定的容量
+	 * @param capacity 容量
+	 */
+	public void ensureCapacity(int capacity)
+	{
+		if(capacity > mValues.length) grow(capacity);
+	}
+
+	/**
+	 * 释放多余的空间
+	 */
+	public void trimToSize()
+	{
+		if(mLength < mValues.length) mValues = copyOf(mValues, mLength);
+	}
+
+	private void grow(int minCapacity)
+	{
+		int capacity = mValues.length + (mValues.length >> 1);
+		if(capacity < minCapacity) capacity = minCapacity;
+		if(capacity < DEFAULT_CAPACITY) capacity = DEFAULT_CAPACITY;
+		mValues = copyOf(mValues, capacity);
+	}
+
+	//Arrays.copyOf在API 9才有
+	private double[] copyOf(double[] values,int length)
+	{
+		double[] ret = new double[length];
+		System.arraycopy(values, 0, ret, 0, Math.min(values.length, length));
+		return ret;
+	}
+
+	/**
+	 * 返回内部数组,只读,有效长度为size()
+	 * @return 内部数组
+	 */
+	public double[] getArray()
+	{
+		return mValues;
+	}
+
+	/**
+	 * 复制出一份数组
+	 * @return 数组
+	 */
+	public double[] toArray()
+	{
+		return copyOf(mValues, mLength);
+	}
+
+	/**
+	 * 以List的方式访问,用于兼容旧接口,不复制数据
+	 * @return List视图
+	 */
+	public List<Double> asList()
+	{
+		return new SeriesListView(this);
+	}
+
+}
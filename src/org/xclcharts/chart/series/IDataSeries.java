@@ -0,0 +1,53 @@
+/**
+ * Copyright 2014  XCL-Charts
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 	
+ * @Project XCL-Charts 
+ * @Description Android图表基类库
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ * @license http://www.apache.org/licenses/  Apache v2 License
+ * @version v0.1
+ */
+package org.xclcharts.chart.series;
+
+/**
+ * @InterfaceName IDataSeries
+ * @Description  数据序列接口,柱形图,折线图,面积图都通过它按下标读取数据
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ *  * MODIFIED    YYYY-MM-DD   REASON
+ */
+
+public interface IDataSeries {
+
+	/**
+	 * 返回序列中数据的个数
+	 * @return 数据个数
+	 */
+	public int size();
+
+	/**
+	 * 按下标返回对应的值
+	 * @param index 下标
+	 * @return 值
+	 */
+	public double get(int index);
+
+	/**
+	 * 返回数据的修改版本,数据每变化一次就递增,不变的数据序列始终返回同一个值。
+	 * 图表用它判断缓存的坐标是否还能继续使用
+	 * @return 修改版本
+	 */
+	public long getVersion();
+
+}
@@ -0,0 +1,74 @@
+/**
+ * Copyright 2014  XCL-Charts
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 	
+ * @Project XCL-Charts 
+ * @Description Android图表基类库
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ * @license http://www.apache.org/licenses/  Apache v2 License
+ * @version v0.1
+ */
+package org.xclcharts.chart.series;
+
+/**
+ * @InterfaceName IXYSeries
+ * @Description  按x升序排列的(x,y)数据序列接口,曲线图通过它读取数据
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ *  * MODIFIED    YYYY-MM-DD   REASON
+ */
+
+public interface IXYSeries {
+
+	/**
+	 * 返回点的个数
+	 * @return 点的个数
+	 */
+	public int size();
+
+	/**
+	 * 返回指定下标点的x值
+	 * @param index 下标
+	 * @return x值
+	 */
+	public double getX(int index);
+
+	/**
+	 * 返回指定下标点的y值
+	 * @param index 下标
+	 * @return y值
+	 */
+	public double getY(int index);
+
+	/**
+	 * 二分查找第一个x大于等于指定值的点
+	 * @param x x值
+	 * @return 下标,都小于指定值时返回size()
+	 */
+	public int indexOfFirst(double x);
+
+	/**
+	 * 二分查找最后一个x小于等于指定值的点
+	 * @param x x值
+	 * @return 下标,都大于指定值时返回-1
+	 */
+	public int indexOfLast(double x);
+
+	/**
+	 * 返回数据的修改版本,数据每变化一次就递增,不变的数据序列始终返回同一个值。
+	 * 图表用它判断缓存的坐标是否还能继续使用
+	 * @return 修改版本
+	 */
+	public long getVersion();
+
+}
@@ -0,0 +1,140 @@
+/**
+ * Copyright 2014  XCL-Charts
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 	
+ * @Project XCL-Charts 
+ * @Description Android图表基类库
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ * @license http://www.apache.org/licenses/  Apache v2 License
+ * @version v0.1
+ */
+package org.xclcharts.chart.series;
+
+/**
+ * @ClassName LttbSampler
+ * @Description  Largest-Triangle-Three-Buckets降采样。
+ * 				  首尾两点保留,中间的点均分到threshold-2个桶中,
+ * 				  每个桶选出与上一个选中点及下一个桶平均点构成三角形面积最大的点,
+ * 				  点数大幅减少后线的形状基本不变
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ *  * MODIFIED    YYYY-MM-DD   REASON
+ */
+
+public class LttbSampler {
+
+	private LttbSampler()
+	{
+	}
+
+	/**
+	 * 对数据序列降采样,x取下标
+	 * @param series	数据序列
+	 * @param from		起始下标
+	 * @param to		结束下标(不含)
+	 * @param threshold 最多保留的点数
+	 * @param out		选出的点的下标,长度至少为min(threshold, to - from)
+	 * @return 选出的点数
+	 */
+	public static int sample(IDataSeries series,int from,int to,int threshold,int[] out)
+	{
+		return select(series, null, from, to, threshold, out);
+	}
+
+	/**
+	 * 对按x排序的数据序列降采样
+	 * @param series	数据序列
+	 * @param from		起始下标
+	 * @param to		结束下标(不含)
+	 * @param threshold 最多保留的点数
+	 * @param out		选出的点的下标,长度至少为min(threshold, to - from)
+	 * @return 选出的点数
+	 */
+	public static int sample(IXYSeries series,int from,int to,int threshold,int[] out)
+	{
+		return select(null, series, from, to, threshold, out);
+	}
+
+	private static int select(IDataSeries ys,IXYSeries xys,
+							int from,int to,int threshold,int[] out)
+	{
+		int count = to - from;
+		if(threshold >= count || threshold < 3)
+		{
+			for(int i=0;i<count;i++) out[i] = from + i;
+			return Math.max(count, 0);
+		}
+
+		//每个桶的宽度
+		double every = (double)(count - 2) / (threshold - 2);
+
+		int a = from;
+		int selected = 0;
+		out[selected++] = a;
+
+		for(int i=0;i<threshold - 2;i++)
+		{
+			//下一个桶的平均点
+			int avgStart = from + (int)((i + 1) * every) + 1;
+			int avgEnd = Math.min(from + (int)((i + 2) * every) + 1, to);
+			double avgX = 0d, avgY = 0d;
+			for(int j=avgStart;j<avgEnd;j++)
+			{
+				avgX += x(ys, xys, j);
+				avgY += y(ys, xys, j);
+			}
+			int avgLength = avgEnd - avgStart;
+			if(avgLength > 0)
+			{
+				avgX /= avgLength;
+				avgY /= avgLength;
+			}else{
+				avgX = x(ys, xys, to - 1);
+				avgY = y(ys, xys, to - 1);
+			}
+
+			//当前桶中与a点及平均点构成三角形面积最大的点
+			int rangeStart = from + (int)(i * every) + 1;
+			int rangeEnd = Math.min(from + (int)((i + 1) * every) + 1, to - 1);
+			double ax = x(ys, xys, a);
+			double ay = y(ys, xys, a);
+			double maxArea = -1d;
+			int next = rangeStart;
+			for(int j=rangeStart;j<rangeEnd;j++)
+			{
+				double area = Math.abs((ax - avgX) * (y(ys, xys, j) - ay)
+									- (ax - x(ys, xys, j)) * (avgY - ay));
+				if(area > maxArea)
+				{
+					maxArea = area;
+					next = j;
+				}
+			}
+			out[selected++] = next;
+			a = next;
+		}
+		out[selected++] = to - 1;
+		return selected;
+	}
+
+	private static double x(IDataSeries ys,IXYSeries xys,int index)
+	{
+		return null == xys ? index : xys.getX(index);
+	}
+
+	private static double y(IDataSeries ys,IXYSeries xys,int index)
+	{
+		return null == xys ? ys.get(index) : xys.getY(index);
+	}
+
+}
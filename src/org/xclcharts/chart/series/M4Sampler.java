@@ -0,0 +1,317 @@
+/**
+ * Copyright 2014  XCL-Charts
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 	
+ * @Project XCL-Charts 
+ * @Description Android图表基类库
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ * @license http://www.apache.org/licenses/  Apache v2 License
+ * @version v0.1
+ */
+package org.xclcharts.chart.series;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * @ClassName M4Sampler
+ * @Description  M4降采样,每个像素列只保留第一个,最后一个,最小和最大值四个点,
+ * 				  尖峰不会丢失。像素列按绘制时的屏幕x坐标向下取整划分,
+ * 				  调用时传入起点实际所在的屏幕x坐标(可以有小数)。
+ * 				  屏幕x坐标与LineChart,AreaChart一样按float计算,按顺序连线后
+ * 				  与画出所有点的结果在像素上一致(不计抗锯齿)。
+ * 				  点数超过PARALLEL_THRESHOLD时按像素列分成几段在多个线程中同时计算
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ *  * MODIFIED    YYYY-MM-DD   REASON
+ */
+
+public class M4Sampler {
+
+	//点数超过它时才分到多个线程中计算
+	public static final int PARALLEL_THRESHOLD = 1 << 20;
+
+	private static final int CPU_COUNT = Runtime.getRuntime().availableProcessors();
+	//所有图表共用的计算线程
+	private static ExecutorService sExecutor = null;
+
+	//每个像素列中第一个,最后一个,最小,最大值的下标
+	private int[] mFirst = new int[0];
+	private int[] mLast = new int[0];
+	private int[] mMin = new int[0];
+	private int[] mMax = new int[0];
+
+	public M4Sampler()
+	{
+	}
+
+	/**
+	 * 对数据序列降采样,x取下标,xOrigin画在整像素上
+	 * @param series  数据序列
+	 * @param from	     起始下标
+	 * @param to	     结束下标(不含)
+	 * @param xOrigin 第0列像素对应的x值
+	 * @param xScale  x每增加1对应的像素数
+	 * @param columns 像素列数
+	 * @param out	     选出的点的下标,按下标升序,长度至少为columns * 4
+	 * @return 选出的点数
+	 */
+	public int sample(IDataSeries series,int from,int to,
+						double xOrigin,double xScale,int columns,int[] out)
+	{
+		return select(series, null, from, to, xOrigin, 0d, xScale, columns, out);
+	}
+
+	/**
+	 * 对数据序列降采样,x取下标
+	 * @param series  数据序列
+	 * @param from	     起始下标
+	 * @param to	     结束下标(不含)
+	 * @param xOrigin 起点对应的x值
+	 * @param xPixel  xOrigin画在的屏幕x坐标,第0列为它所在的像素列
+	 * @param xScale  x每增加1对应的像素数
+	 * @param columns 像素列数
+	 * @param out	     选出的点的下标,按下标升序,长度至少为columns * 4
+	 * @return 选出的点数
+	 */
+	public int sample(IDataSeries series,int from,int to,
+						double xOrigin,double xPixel,double xScale,int columns,int[] out)
+	{
+		return select(series, null, from, to, xOrigin, xPixel, xScale, columns, out);
+	}
+
+	/**
+	 * 对按x排序的数据序列降采样
+	 * @param series  数据序列
+	 * @param from	     起始下标
+	 * @param to	     结束下标(不含)
+	 * @param xOrigin 第0列像素对应的x值
+	 * @param xScale  x每增加1对应的像素数
+	 * @param columns 像素列数
+	 * @param out	     选出的点的下标,按下标升序,长度至少为columns * 4
+	 * @return 选出的点数
+	 */
+	public int sample(IXYSeries series,int from,int to,
+						double xOrigin,double xScale,int columns,int[] out)
+	{
+		return select(null, series, from, to, xOrigin, 0d, xScale, columns, out);
+	}
+
+	/**
+	 * 对按x排序的数据序列降采样
+	 * @param series  数据序列
+	 * @param from	     起始下标
+	 * @param to	     结束下标(不含)
+	 * @param xOrigin 起点对应的x值
+	 * @param xPixel  xOrigin画在的屏幕x坐标,第0列为它所在的像素列
+	 * @param xScale  x每增加1对应的像素数
+	 * @param columns 像素列数
+	 * @param out	     选出的点的下标,按下标升序,长度至少为columns * 4
+	 * @return 选出的点数
+	 */
+	public int sample(IXYSeries series,int from,int to,
+						double xOrigin,double xPixel,double xScale,int columns,int[] out)
+	{
+		return select(null, series, from, to, xOrigin, xPixel, xScale, columns, out);
+	}
+
+	private int select(final IDataSeries ys,final IXYSeries xys,int from,int to,
+						final double xOrigin,final double xPixel,final double xScale,
+						final int columns,int[] out)
+	{
+		if(to <= from || columns <= 0) return 0;
+		ensureCapacity(columns);
+		for(int c=0;c<columns;c++) mFirst[c] = -1;
+
+		int count = to - from;
+		int tasks = Math.min(CPU_COUNT, columns);
+		if(count < PARALLEL_THRESHOLD || tasks < 2)
+		{
+			aggregate(ys, xys, from, to, xOrigin, xPixel, xScale, columns);
+		}else{
+			//x是有序的,按下标均分即可保证每段占用的像素列互不重叠,
+			//再把每段的边界移到像素列的边界上
+			int[] bounds = new int[tasks + 1];
+			bounds[0] = from;
+			bounds[tasks] = to;
+			for(int t=1;t<tasks;t++)
+			{
+				int i = from + (int)((long)count * t / tasks);
+				if(i <= bounds[t - 1]) i = bounds[t - 1];
+				//二分查找与i同一像素列的第一个点
+				int c = column(x(ys, xys, i), xOrigin, xPixel, xScale, columns);
+				int low = bounds[t - 1];
+				int high = i;
+				while(low < high)
+				{
+					int mid = (low + high) >>> 1;
+					if(column(x(ys, xys, mid), xOrigin, xPixel, xScale, columns) < c){
+						low = mid + 1;
+					}else{
+						high = mid;
+					}
+				}
+				bounds[t] = low;
+			}
+
+			ExecutorService executor = getExecutor();
+			//中断后还没开始的任务不再计算,但要等所有任务都结束才能再动数组
+			final AtomicBoolean cancelled = new AtomicBoolean(false);
+			final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+			int submitted = 0;
+			for(int t=0;t<tasks;t++) if(bounds[t] < bounds[t + 1]) submitted++;
+			final CountDownLatch done = new CountDownLatch(submitted);
+			for(int t=0;t<tasks;t++)
+			{
+				final int start = bounds[t];
+				final int end = bounds[t + 1];
+				if(start >= end) continue;
+				executor.execute(new Runnable(){
+					@Override
+					public void run() {
+						try {
+							if(!cancelled.get()) aggregate(ys, xys, start, end, xOrigin, xPixel, xScale, columns);
+						} catch (Throwable e) {
+							failure.compareAndSet(null, e);
+						} finally {
+							done.countDown();
+						}
+					}
+				});
+			}
+			
+			boolean interrupted = false;
+			while(true)
+			{
+				try {
+					done.await();
+					break;
+				} catch (InterruptedException e) {
+					interrupted = true;
+					cancelled.set(true);
+				}
+			}
+			if(null != failure.get()) throw new IllegalStateException(failure.get());
+			if(interrupted)
+			{
+				//有的段没有计算,所有任务都已结束,在当前线程上重新统计
+				Thread.currentThread().interrupt();
+				for(int c=0;c<columns;c++) mFirst[c] = -1;
+				aggregate(ys, xys, from, to, xOrigin, xPixel, xScale, columns);
+			}
+		}
+
+		//按下标顺序输出,去掉重复的点
+		int selected = 0;
+		for(int c=0;c<columns;c++)
+		{
+			if(mFirst[c] < 0) continue;
+			int a = mFirst[c];
+			int b = Math.min(mMin[c], mMax[c]);
+			int d = Math.max(mMin[c], mMax[c]);
+			int e = mLast[c];
+			out[selected++] = a;
+			if(b != a) out[selected++] = b;
+			if(d != b && d != a) out[selected++] = d;
+			if(e != d && e != b && e != a) out[selected++] = e;
+		}
+		return selected;
+	}
+
+	//统计[from,to)中各像素列的四个点,不同线程处理的像素列不重叠
+	private void aggregate(IDataSeries ys,IXYSeries xys,int from,int to,
+							double xOrigin,double xPixel,double xScale,int columns)
+	{
+		int[] first = mFirst, last = mLast, min = mMin, max = mMax;
+		int current = -1;
+		double minValue = 0d, maxValue = 0d;
+		for(int i=from;i<to;i++)
+		{
+			int c = column(x(ys, xys, i), xOrigin, xPixel, xScale, columns);
+			double v = y(ys, xys, i);
+			if(c != current)
+			{
+				if(first[c] < 0)
+				{
+					first[c] = i;
+					min[c] = i;
+					max[c] = i;
+					minValue = v;
+					maxValue = v;
+				}else{
+					minValue = y(ys, xys, min[c]);
+					maxValue = y(ys, xys, max[c]);
+				}
+				current = c;
+			}
+			if(v < minValue){
+				minValue = v;
+				min[c] = i;
+			}else if(v > maxValue){
+				maxValue = v;
+				max[c] = i;
+			}
+			last[c] = i;
+		}
+	}
+
+	//与绘制时一样先算出float的屏幕x坐标再取整,起点不在整像素上时列的边界也一致
+	private static int column(double x,double xOrigin,double xPixel,double xScale,int columns)
+	{
+		float screenX = (float)(xPixel + (x - xOrigin) * xScale);
+		int c = (int)(Math.floor(screenX) - Math.floor(xPixel));
+		if(c < 0) return 0;
+		if(c >= columns) return columns - 1;
+		return c;
+	}
+
+	private static double x(IDataSeries ys,IXYSeries xys,int index)
+	{
+		return null == xys ? index : xys.getX(index);
+	}
+
+	private static double y(IDataSeries ys,IXYSeries xys,int index)
+	{
+		return null == xys ? ys.get(index) : xys.getY(index);
+	}
+
+	private void ensureCapacity(int columns)
+	{
+		if(mFirst.length >= columns) return;
+		mFirst = new int[columns];
+		mLast = new int[columns];
+		mMin = new int[columns];
+		mMax = new int[columns];
+	}
+
+	private static synchronized ExecutorService getExecutor()
+	{
+		if(null == sExecutor)
+		{
+			sExecutor = Executors.newFixedThreadPool(CPU_COUNT, new ThreadFactory(){
+				@Override
+				public Thread newThread(Runnable r) {
+					Thread thread = new Thread(r, "xcl-m4");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+		return sExecutor;
+	}
+
+}
@@ -0,0 +1,251 @@
+/**
+ * Copyright 2014  XCL-Charts
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 	
+ * @Project XCL-Charts 
+ * @Description Android图表基类库
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ * @license http://www.apache.org/licenses/  Apache v2 License
+ * @version v0.1
+ */
+package org.xclcharts.chart.series;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * @ClassName MappedDoubleSeries
+ * @Description  通过内存映射读取文件中连续存放的double值的数据序列,数据不进Java堆。
+ * 				  文件按段映射,只有读到的段才会映射进来,由系统按页调入,
+ * 				  同时保留的段数有上限,超出的段会被释放,
+ * 				  上亿个点的传感器日志也可以只占很少的内存来绘制
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ *  * MODIFIED    YYYY-MM-DD   REASON
+ */
+
+public class MappedDoubleSeries implements IDataSeries, Closeable {
+
+	//每段的double个数为2的SEGMENT_SHIFT次方,即每段8MB
+	private static final int SEGMENT_SHIFT = 20;
+	private static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+	private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+	
+	//默认最多同时保留的段数
+	public static final int DEFAULT_MAX_SEGMENTS = 8;
+
+	private final FileChannel mChannel;
+	//是否由本对象打开的文件,是的话close时负责关闭
+	private final RandomAccessFile mFile;
+	
+	//数据在文件中的起始位置
+	private final long mOffset;
+	//数据个数
+	private final int mLength;
+	private final ByteOrder mOrder;
+
+	//已映射的段
+	private final AtomicReferenceArray<DoubleBuffer> mSegments;
+	//已映射段的序号,按映射的先后循环使用
+	private final int[] mLoaded;
+	private int mLoadedPos = 0;
+
+	/**
+	 * 映射整个文件,文件内容为小端存放的double值
+	 * @param file 文件
+	 * @throws IOException
+	 */
+	public MappedDoubleSeries(File file) throws IOException
+	{
+		this(new RandomAccessFile(file, "r"), 0, -1, ByteOrder.LITTLE_ENDIAN);
+	}
+
+	/**
+	 * 映射文件中的一段
+	 * @param file   文件
+	 * @param offset 数据在文件中的起始字节位置
+	 * @param count  double的个数
+	 * @param order  字节序
+	 * @throws IOException
+	 */
+	public MappedDoubleSeries(File file,long offset,int count,ByteOrder order) throws IOException
+	{
+		this(new RandomAccessFile(file, "r"), offset, count, order);
+	}
+
+	/**
+	 * 映射已打开的文件通道中的一段,close时不会关闭该通道
+	 * @param channel 文件通道
+	 * @param offset  数据在文件中的起始字节位置
+	 * @param count   double的个数
+	 * @param order   字节序
+	 * @throws IOException
+	 */
+	public MappedDoubleSeries(FileChannel channel,long offset,int count,ByteOrder order) throws IOException
+	{
+		this(null, channel, offset, count, order, DEFAULT_MAX_SEGMENTS);
+	}
+
+	private MappedDoubleSeries(RandomAccessFile file,long offset,int count,ByteOrder order) throws IOException
+	{
+		this(file, file.getChannel(), offset, count, order, DEFAULT_MAX_SEGMENTS);
+	}
+
+	private MappedDoubleSeries(RandomAccessFile file,FileChannel channel,
+								long offset,int count,ByteOrder order,int maxSegments) throws IOException
+	{
+		count = checkRange(file, channel, offset, count);
+
+		mFile = file;
+		mChannel = channel;
+		mOffset = offset;
+		mLength = count;
+		mOrder = order;
+
+		int segments = (count + SEGMENT_MASK) >>> SEGMENT_SHIFT;
+		mSegments = new AtomicReferenceArray<DoubleBuffer>(segments);
+		mLoaded = new int[Math.max(1, Math.min(maxSegments, segments))];
+		for(int i=0;i<mLoaded.length;i++) mLoaded[i] = -1;
+	}
+
+	/**
+	 * 检查起始位置与个数是否在文件范围内,不在时关闭由本对象打开的文件
+	 * @param file    由本对象打开的文件,可为null
+	 * @param channel 文件通道
+	 * @param offset  数据在文件中的起始字节位置
+	 * @param count   double的个数,小于0时取到文件末尾
+	 * @return double的个数
+	 * @throws IOException
+	 */
+	private static int checkRange(RandomAccessFile file,FileChannel channel,
+								long offset,int count) throws IOException
+	{
+		boolean valid = false;
+		try {
+			if(offset < 0) throw new IllegalArgumentException("offset < 0");
+			long size = channel.size();
+			if(offset > size) throw new IllegalArgumentException("offset out of range: "+offset);
+			
+			long available = (size - offset) / 8;
+			if(count < 0) count = (int) Math.min(available, Integer.MAX_VALUE);
+			if(count > available) throw new IllegalArgumentException("count out of range: "+count);
+			valid = true;
+			return count;
+		} finally {
+			if(!valid && null != file)
+			{
+				try {
+					file.close();
+				} catch (IOException e) {
+					//已在抛出参数错误,关闭失败不再报告
+				}
+			}
+		}
+	}
+
+	//内容只读,版本不会变化
+	@Override
+	public long getVersion()
+	{
+		return 0;
+	}
+
+	@Override
+	public int size()
+	{
+		return mLength;
+	}
+
+	@Override
+	public double get(int index)
+	{
+		if(index < 0 || index >= mLength)
+			throw new IndexOutOfBoundsException("index: "+index+", size: "+mLength);
+		return segment(index >>> SEGMENT_SHIFT).get(index & SEGMENT_MASK);
+	}
+
+	/**
+	 * 批量读取一段数据到dest中,比逐个get快
+	 * @param from   起始下标
+	 * @param dest   目标数组
+	 * @param offset 目标数组的起始下标
+	 * @param count  个数
+	 */
+	public void copyTo(int from,double[] dest,int offset,int count)
+	{
+		if(from < 0 || count < 0 || from + count > mLength)
+			throw new IndexOutOfBoundsException("from: "+from+", count: "+count+", size: "+mLength);
+		while(count > 0)
+		{
+			int pos = from & SEGMENT_MASK;
+			int n = Math.min(count, SEGMENT_SIZE - pos);
+			//用副本读,不影响其它线程
+			DoubleBuffer buf = segment(from >>> SEGMENT_SHIFT).duplicate();
+			buf.position(pos);
+			buf.get(dest, offset, n);
+			from += n;
+			offset += n;
+			count -= n;
+		}
+	}
+
+	private DoubleBuffer segment(int seg)
+	{
+		DoubleBuffer buf = mSegments.get(seg);
+		if(null == buf) buf = load(seg);
+		return buf;
+	}
+
+	private synchronized DoubleBuffer load(int seg)
+	{
+		DoubleBuffer buf = mSegments.get(seg);
+		if(null != buf) return buf;
+
+		int start = seg << SEGMENT_SHIFT;
+		int count = Math.min(SEGMENT_SIZE, mLength - start);
+		try {
+			buf = mChannel.map(FileChannel.MapMode.READ_ONLY,
+							mOffset + (long)start * 8, (long)count * 8)
+							.order(mOrder).asDoubleBuffer();
+		} catch (IOException e) {
+			throw new IllegalStateException("map segment "+seg+" failed", e);
+		}
+
+		//超出上限时释放最早映射的段,由GC回收映射
+		int evict = mLoaded[mLoadedPos];
+		if(evict >= 0) mSegments.set(evict, null);
+		mLoaded[mLoadedPos] = seg;
+		mLoadedPos = (mLoadedPos + 1) % mLoaded.length;
+
+		mSegments.set(seg, buf);
+		return buf;
+	}
+
+	/**
+	 * 释放映射,如果文件是由本对象打开的则关闭它
+	 */
+	@Override
+	public synchronized void close() throws IOException
+	{
+		for(int i=0;i<mSegments.length();i++) mSegments.set(i, null);
+		for(int i=0;i<mLoaded.length;i++) mLoaded[i] = -1;
+		if(null != mFile) mFile.close();
+	}
+
+}
@@ -0,0 +1,149 @@
+/**
+ * Copyright 2014  XCL-Charts
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 	
+ * @Project XCL-Charts 
+ * @Description Android图表基类库
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ * @license http://www.apache.org/licenses/  Apache v2 License
+ * @version v0.1
+ */
+package org.xclcharts.chart.series;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * @ClassName MappedXYSeries
+ * @Description  x,y分别存放在两个内存映射列中的数据序列,用于曲线图,
+ * 				  要求x列已按升序排列,按x范围查找时只会读到二分查找经过的页
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ *  * MODIFIED    YYYY-MM-DD   REASON
+ */
+
+public class MappedXYSeries implements IXYSeries, Closeable {
+
+	private final MappedDoubleSeries mXs;
+	private final MappedDoubleSeries mYs;
+
+	/**
+	 * 分别映射x,y两个文件,文件内容为小端存放的double值
+	 * @param xFile x值文件,需按升序排列
+	 * @param yFile y值文件
+	 * @throws IOException
+	 */
+	public MappedXYSeries(File xFile,File yFile) throws IOException
+	{
+		this(new MappedDoubleSeries(xFile), new MappedDoubleSeries(yFile));
+	}
+
+	/**
+	 * 
+	 * @param xs x列,需按升序排列
+	 * @param ys y列
+	 */
+	public MappedXYSeries(MappedDoubleSeries xs,MappedDoubleSeries ys)
+	{
+		if(xs.size() != ys.size())
+			throw new IllegalArgumentException("xs.size() != ys.size()");
+		mXs = xs;
+		mYs = ys;
+	}
+
+	//内容只读,版本不会变化
+	@Override
+	public long getVersion()
+	{
+		return 0;
+	}
+
+	@Override
+	public int size()
+	{
+		return mXs.size();
+	}
+
+	@Override
+	public double getX(int index)
+	{
+		return mXs.get(index);
+	}
+
+	@Override
+	public double getY(int index)
+	{
+		return mYs.get(index);
+	}
+
+	@Override
+	public int indexOfFirst(double x)
+	{
+		int low = 0;
+		int high = mXs.size();
+		while(low < high)
+		{
+			int mid = (low + high) >>> 1;
+			if(mXs.get(mid) < x){
+				low = mid + 1;
+			}else{
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	@Override
+	public int indexOfLast(double x)
+	{
+		int low = 0;
+		int high = mXs.size();
+		while(low < high)
+		{
+			int mid = (low + high) >>> 1;
+			if(mXs.get(mid) <= x){
+				low = mid + 1;
+			}else{
+				high = mid;
+			}
+		}
+		return low - 1;
+	}
+
+	/**
+	 * 返回x列
+	 * @return x列
+	 */
+	public MappedDoubleSeries getXSeries()
+	{
+		return mXs;
+	}
+
+	/**
+	 * 返回y列
+	 * @return y列
+	 */
+	public MappedDoubleSeries getYSeries()
+	{
+		return mYs;
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		mXs.close();
+		mYs.close();
+	}
+
+}
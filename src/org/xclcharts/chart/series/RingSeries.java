@@ -0,0 +1,183 @@
+/**
+ * Copyright 2014  XCL-Charts
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 	
+ * @Project XCL-Charts 
+ * @Description Android图表基类库
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ * @license http://www.apache.org/licenses/  Apache v2 License
+ * @version v0.1
+ */
+package org.xclcharts.chart.series;
+
+/**
+ * @ClassName RingSeries
+ * @Description  定长环形缓冲的数据序列,用于实时刷新的折线图,面积图。
+ * 				  满了之后再追加会覆盖最旧的值,不会重新分配空间,
+ * 				  按下标读取时0为窗口中最旧的值,size()-1为最新的值
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ *  * MODIFIED    YYYY-MM-DD   REASON
+ */
+
+public class RingSeries implements IDataSeries {
+
+	//数据
+	private final double[] mValues;
+	//最旧的值在数组中的位置
+	private int mHead = 0;
+	//当前窗口中的个数
+	private int mLength = 0;
+	//累计追加的个数
+	private long mAppendCount = 0;
+	//修改版本
+	private long mVersion = 0;
+
+	/**
+	 * 按窗口大小构建
+	 * @param capacity 窗口大小,即最多保留的数据个数
+	 */
+	public RingSeries(int capacity)
+	{
+		if(capacity <= 0) throw new IllegalArgumentException("capacity <= 0");
+		mValues = new double[capacity];
+	}
+
+	@Override
+	public int size()
+	{
+		return mLength;
+	}
+
+	@Override
+	public double get(int index)
+	{
+		if(index < 0 || index >= mLength)
+			throw new IndexOutOfBoundsException("index: "+index+", size: "+mLength);
+		int pos = mHead + index;
+		if(pos >= mValues.length) pos -= mValues.length;
+		return mValues[pos];
+	}
+
+	@Override
+	public long getVersion()
+	{
+		return mVersion;
+	}
+
+	/**
+	 * 追加一个值,窗口已满时覆盖最旧的值
+	 * @param value 值
+	 */
+	public void append(double value)
+	{
+		int capacity = mValues.length;
+		if(mLength < capacity)
+		{
+			int pos = mHead + mLength;
+			if(pos >= capacity) pos -= capacity;
+			mValues[pos] = value;
+			mLength++;
+		}else{
+			mValues[mHead] = value;
+			mHead++;
+			if(mHead == capacity) mHead = 0;
+		}
+		mAppendCount++;
+		mVersion++;
+	}
+
+	/**
+	 * 追加一组值,超出窗口的部分只保留最新的
+	 * @param values 数据
+	 * @param offset 起始下标
+	 * @param count	   个数
+	 */
+	public void append(double[] values,int offset,int count)
+	{
+		int capacity = mValues.length;
+		if(count > capacity)
+		{
+			mAppendCount += count - capacity;
+			offset += count - capacity;
+			count = capacity;
+		}
+		for(int i=0;i<count;i++)
+		{
+			append(values[offset + i]);
+		}
+	}
+
+	/**
+	 * 清空数据,保留已分配的空间
+	 */
+	public void clear()
+	{
+		mHead = 0;
+		mLength = 0;
+		mVersion++;
+	}
+
+	/**
+	 * 返回窗口大小
+	 * @return 窗口大小
+	 */
+	public int getCapacity()
+	{
+		return mValues.length;
+	}
+
+	/**
+	 * 窗口是否已满
+	 * @return 是否已满
+	 */
+	public boolean isFull()
+	{
+		return mLength == mValues.length;
+	}
+
+	/**
+	 * 返回累计追加过的个数,包括已被覆盖掉的,可用来算当前窗口起点的序号
+	 * @return 累计个数
+	 */
+	public long getAppendCount()
+	{
+		return mAppendCount;
+	}
+
+	/**
+	 * 返回最新的值
+	 * @return 最新的值
+	 */
+	public double getLast()
+	{
+		return get(mLength - 1);
+	}
+
+	/**
+	 * 按从旧到新的顺序把窗口中的值复制到dest中
+	 * @param dest	 目标数组,长度至少为size()
+	 * @param offset 目标数组的起始下标
+	 * @return 复制的个数
+	 */
+	public int copyTo(double[] dest,int offset)
+	{
+		int capacity = mValues.length;
+		int first = Math.min(mLength, capacity - mHead);
+		System.arraycopy(mValues, mHead, dest, offset, first);
+		if(first < mLength)
+			System.arraycopy(mValues, 0, dest, offset + first, mLength - first);
+		return mLength;
+	}
+
+}
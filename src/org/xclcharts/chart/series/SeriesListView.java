@@ -0,0 +1,93 @@
+/**
+ * Copyright 2014  XCL-Charts
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 	
+ * @Project XCL-Charts 
+ * @Description Android图表基类库
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ * @license http://www.apache.org/licenses/  Apache v2 License
+ * @version v0.1
+ */
+package org.xclcharts.chart.series;
+
+import java.util.AbstractList;
+
+/**
+ * @ClassName SeriesListView
+ * @Description  将数据序列包装成List<Double>,用于兼容旧的getDataSet()之类的接口,不复制数据。
+ * 				  通过它的修改直接作用在序列上,只有DoubleSeries支持修改,插入与删除
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ *  * MODIFIED    YYYY-MM-DD   REASON
+ */
+
+public class SeriesListView extends AbstractList<Double> {
+
+	private final IDataSeries mSeries;
+
+	public SeriesListView(IDataSeries series)
+	{
+		mSeries = series;
+	}
+
+	@Override
+	public Double get(int index)
+	{
+		return mSeries.get(index);
+	}
+
+	/**
+	 * 只有DoubleSeries支持修改
+	 */
+	@Override
+	public Double set(int index,Double value)
+	{
+		if(!(mSeries instanceof DoubleSeries))
+			throw new UnsupportedOperationException();
+		double old = mSeries.get(index);
+		((DoubleSeries)mSeries).set(index, value);
+		return old;
+	}
+
+	/**
+	 * 只有DoubleSeries支持插入
+	 */
+	@Override
+	public void add(int index,Double value)
+	{
+		if(!(mSeries instanceof DoubleSeries))
+			throw new UnsupportedOperationException();
+		((DoubleSeries)mSeries).insert(index, value);
+		modCount++;
+	}
+
+	/**
+	 * 只有DoubleSeries支持删除
+	 */
+	@Override
+	public Double remove(int index)
+	{
+		if(!(mSeries instanceof DoubleSeries))
+			throw new UnsupportedOperationException();
+		double old = ((DoubleSeries)mSeries).remove(index);
+		modCount++;
+		return old;
+	}
+
+	@Override
+	public int size()
+	{
+		return mSeries.size();
+	}
+
+}
@@ -0,0 +1,478 @@
+/**
+ * Copyright 2014  XCL-Charts
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 	
+ * @Project XCL-Charts 
+ * @Description Android图表基类库
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ * @license http://www.apache.org/licenses/  Apache v2 License
+ * @version v0.1
+ */
+package org.xclcharts.chart.series;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @ClassName SeriesPyramid
+ * @Description  数据序列的多级汇总。第0级每个桶含2的MIN_SHIFT次方个点,
+ * 				  往上每级桶宽翻倍,每个桶记下最小,最大,第一个,最后一个值及和与个数。
+ * 				  整个序列只需汇总一次,DoubleSeries只追加数据时只计算新增的部分,
+ * 				  RingSeries按累计追加的序号分桶,追加时只汇总新增的点,被覆盖掉的旧桶从前面丢弃。
+ * 				  绘制时选桶宽最接近一个像素的那一级,数据量再大也只需处理与像素数相当的桶
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ *  * MODIFIED    YYYY-MM-DD   REASON
+ */
+
+public class SeriesPyramid {
+
+	//第0级桶宽为2的MIN_SHIFT次方,再细时直接用原始数据
+	public static final int MIN_SHIFT = 4;
+
+	//环形序列的序号超过它时重新汇总,换一个基准,序号保持在int范围内
+	private static final int MAX_POSITION = Integer.MAX_VALUE / 2;
+
+	//一级汇总
+	private static class Level
+	{
+		final int shift;
+		//第一个桶的序号,桶b存放在b - offset处
+		int offset = 0;
+		int size = 0;
+		double[] min = new double[16];
+		double[] max = new double[16];
+		double[] first = new double[16];
+		double[] last = new double[16];
+		double[] sum = new double[16];
+		int[] minIndex = new int[16];
+		int[] maxIndex = new int[16];
+
+		Level(int shift)
+		{
+			this.shift = shift;
+		}
+
+		void ensureCapacity(int capacity)
+		{
+			if(capacity <= min.length) return;
+			int length = Math.max(capacity, min.length * 2);
+			min = copyOf(min, length);
+			max = copyOf(max, length);
+			first = copyOf(first, length);
+			last = copyOf(last, length);
+			sum = copyOf(sum, length);
+			minIndex = copyOf(minIndex, length);
+			maxIndex = copyOf(maxIndex, length);
+		}
+
+		//丢掉前count个桶
+		void drop(int count)
+		{
+			if(count <= 0) return;
+			count = Math.min(count, size);
+			int remain = size - count;
+			System.arraycopy(min, count, min, 0, remain);
+			System.arraycopy(max, count, max, 0, remain);
+			System.arraycopy(first, count, first, 0, remain);
+			System.arraycopy(last, count, last, 0, remain);
+			System.arraycopy(sum, count, sum, 0, remain);
+			System.arraycopy(minIndex, count, minIndex, 0, remain);
+			System.arraycopy(maxIndex, count, maxIndex, 0, remain);
+			size = remain;
+			offset += count;
+		}
+	}
+
+	private final List<Level> mLevels = new ArrayList<Level>();
+
+	//汇总中的点按序号存放,下标i的点序号为mOrigin + i。
+	//DoubleSeries等的序号就是下标;RingSeries的序号为累计追加的序号减去mBase
+	private int mOrigin = 0;
+	//已汇总到的序号(不含)
+	private int mEnd = 0;
+	//各级第一个桶所含的最小序号,新建的级按它确定offset
+	private int mStart = 0;
+	private long mBase = 0L;
+	//汇总时数据的版本
+	private long mVersion = -1;
+	private long mRewriteVersion = -1;
+
+	//不持有数据序列,以便作为WeakHashMap的值时数据序列可以被回收
+	public SeriesPyramid()
+	{
+	}
+
+	/**
+	 * 与数据序列同步。数据没变时直接返回,
+	 * DoubleSeries与RingSeries只有追加时只汇总新增的点,其它修改则全部重算。
+	 * 每次都应传入同一个数据序列
+	 * @param series 数据序列
+	 */
+	public void sync(IDataSeries series)
+	{
+		long version = series.getVersion();
+		if(version == mVersion) return;
+
+		int size = series.size();
+		if(series instanceof RingSeries)
+		{
+			syncRing((RingSeries)series, size);
+			mVersion = version;
+			return;
+		}
+
+		boolean appendOnly = false;
+		if(series instanceof DoubleSeries)
+		{
+			long rewrite = ((DoubleSeries)series).getRewriteVersion();
+			appendOnly = rewrite == mRewriteVersion && 0 == mOrigin && size >= mEnd;
+			mRewriteVersion = rewrite;
+		}
+		if(!appendOnly) reset(0);
+		build(series, mEnd, size);
+		mEnd = size;
+		mVersion = version;
+	}
+
+	/**
+	 * 与环形序列同步:窗口滑动时只汇总新追加的点,
+	 * 上次同步后追加的点超过窗口大小时才全部重算
+	 */
+	private void syncRing(RingSeries series,int size)
+	{
+		long end = series.getAppendCount();
+		long origin = end - size;
+		boolean appendOnly = origin >= mBase && end - mBase <= MAX_POSITION
+							&& origin - mBase <= mEnd && end - mBase >= mEnd;
+		if(!appendOnly)
+		{
+			mBase = origin;
+			reset(0);
+		}
+		mOrigin = (int)(origin - mBase);
+		build(series, mEnd, (int)(end - mBase));
+		mEnd = (int)(end - mBase);
+		compact();
+	}
+
+	//清空汇总,从序号origin开始
+	private void reset(int origin)
+	{
+		mOrigin = origin;
+		mStart = origin;
+		mEnd = origin;
+		for(Level level : mLevels)
+		{
+			level.size = 0;
+			level.offset = origin >> level.shift;
+		}
+	}
+
+	//窗口外的桶比窗口内的还多时从前面丢弃,平均每次追加只移动常数个桶
+	private void compact()
+	{
+		if(mLevels.isEmpty()) return;
+		Level base = mLevels.get(0);
+		int dead = (mOrigin >> base.shift) - base.offset;
+		if(dead <= 16 || dead < base.size - dead) return;
+		
+		mStart = mOrigin;
+		for(Level level : mLevels)
+		{
+			int target = mStart >> level.shift;
+			if(level.size > 0)
+			{
+				level.drop(target - level.offset);
+			}
+			level.offset = target;
+		}
+	}
+
+	//汇总序号在[from,to)中的点,from之前的点已汇总过
+	private void build(IDataSeries series,int from,int to)
+	{
+		if(to <= from) return;
+
+		//第0级由原始数据计算,所在的桶未满时接着累加
+		Level base = level(0);
+		int shift = base.shift;
+		base.ensureCapacity(((to - 1) >> shift) - base.offset + 1);
+		for(int i=from;i<to;i++)
+		{
+			double v = series.get(i - mOrigin);
+			int b = (i >> shift) - base.offset;
+			if(b == base.size)
+			{
+				base.size++;
+				base.min[b] = v;
+				base.max[b] = v;
+				base.first[b] = v;
+				base.sum[b] = 0d;
+				base.minIndex[b] = i;
+				base.maxIndex[b] = i;
+			}else if(v < base.min[b]){
+				base.min[b] = v;
+				base.minIndex[b] = i;
+			}else if(v > base.max[b]){
+				base.max[b] = v;
+				base.maxIndex[b] = i;
+			}
+			base.last[b] = v;
+			base.sum[b] += v;
+		}
+
+		//往上每级由下一级相邻的两个桶合并,只重算受影响的桶
+		int dirty = from >> shift;
+		int k = 1;
+		for(;;k++)
+		{
+			Level lower = mLevels.get(k - 1);
+			//只剩一个桶,或桶宽再翻倍序号会溢出
+			if(lower.size <= 1 || lower.shift >= 30) break;
+			Level upper = level(k);
+			dirty >>= 1;
+			int lastBucket = (lower.offset + lower.size - 1) >> 1;
+			int size = lastBucket - upper.offset + 1;
+			upper.ensureCapacity(size);
+			for(int b=Math.max(dirty, upper.offset);b<=lastBucket;b++) merge(lower, upper, b);
+			upper.size = size;
+		}
+		//丢弃旧桶后级数可能变少,更高的级不再有效
+		for(;k<mLevels.size();k++) mLevels.get(k).size = 0;
+	}
+
+	//合并下一级的桶2b与2b+1,丢弃旧桶后左边的桶可能已不在
+	private void merge(Level lower,Level upper,int b)
+	{
+		int left = b * 2 - lower.offset;
+		int right = left + 1;
+		int p = b - upper.offset;
+		if(left < 0) left = right;
+		upper.min[p] = lower.min[left];
+		upper.minIndex[p] = lower.minIndex[left];
+		upper.max[p] = lower.max[left];
+		upper.maxIndex[p] = lower.maxIndex[left];
+		upper.first[p] = lower.first[left];
+		upper.last[p] = lower.last[left];
+		upper.sum[p] = lower.sum[left];
+		if(right != left && right < lower.size)
+		{
+			if(lower.min[right] < upper.min[p])
+			{
+				upper.min[p] = lower.min[right];
+				upper.minIndex[p] = lower.minIndex[right];
+			}
+			if(lower.max[right] > upper.max[p])
+			{
+				upper.max[p] = lower.max[right];
+				upper.maxIndex[p] = lower.maxIndex[right];
+			}
+			upper.last[p] = lower.last[right];
+			upper.sum[p] += lower.sum[right];
+		}
+	}
+
+	private Level level(int k)
+	{
+		while(mLevels.size() <= k)
+		{
+			Level level = new Level(MIN_SHIFT + mLevels.size());
+			level.offset = mStart >> level.shift;
+			mLevels.add(level);
+		}
+		return mLevels.get(k);
+	}
+
+	/**
+	 * 返回级数
+	 * @return 级数
+	 */
+	public int getLevelCount()
+	{
+		int count = 0;
+		for(Level level : mLevels)
+		{
+			if(level.size == 0) break;
+			count++;
+		}
+		return count;
+	}
+
+	/**
+	 * 选出桶宽最接近给定点数的那一级
+	 * @param pointsPerPixel 每个像素对应的点数
+	 * @return 级别,比第0级还细时返回-1
+	 */
+	public int getLevel(double pointsPerPixel)
+	{
+		if(pointsPerPixel <= 0) return -1;
+		int shift = (int)Math.round(Math.log(pointsPerPixel) / Math.log(2));
+		if(shift < MIN_SHIFT) return -1;
+		return Math.min(shift - MIN_SHIFT, getLevelCount() - 1);
+	}
+
+	/**
+	 * 返回某一级的桶宽
+	 * @param level 级别
+	 * @return 每个桶的点数
+	 */
+	public int getBucketWidth(int level)
+	{
+		return 1 << mLevels.get(level).shift;
+	}
+
+	/**
+	 * 返回某一级的桶数
+	 * @param level 级别
+	 * @return 桶数
+	 */
+	public int getBucketCount(int level)
+	{
+		return mLevels.get(level).size;
+	}
+
+	/**
+	 * 返回桶中的最小值
+	 * @param level  级别
+	 * @param bucket 桶序号
+	 * @return 最小值
+	 */
+	public double getMin(int level,int bucket)
+	{
+		return mLevels.get(level).min[bucket];
+	}
+
+	/**
+	 * 返回桶中的最大值
+	 * @param level  级别
+	 * @param bucket 桶序号
+	 * @return 最大值
+	 */
+	public double getMax(int level,int bucket)
+	{
+		return mLevels.get(level).max[bucket];
+	}
+
+	/**
+	 * 返回桶中的第一个值
+	 * @param level  级别
+	 * @param bucket 桶序号
+	 * @return 第一个值
+	 */
+	public double getFirst(int level,int bucket)
+	{
+		return mLevels.get(level).first[bucket];
+	}
+
+	/**
+	 * 返回桶中的最后一个值
+	 * @param level  级别
+	 * @param bucket 桶序号
+	 * @return 最后一个值
+	 */
+	public double getLast(int level,int bucket)
+	{
+		return mLevels.get(level).last[bucket];
+	}
+
+	/**
+	 * 返回桶中的值的和
+	 * @param level  级别
+	 * @param bucket 桶序号
+	 * @return 值的和
+	 */
+	public double getSum(int level,int bucket)
+	{
+		return mLevels.get(level).sum[bucket];
+	}
+
+	/**
+	 * 返回桶中的点数,第一个与最后一个桶可能不满
+	 * @param level  级别
+	 * @param bucket 桶序号
+	 * @return 点数
+	 */
+	public int getCount(int level,int bucket)
+	{
+		Level l = mLevels.get(level);
+		int start = Math.max((l.offset + bucket) << l.shift, mStart);
+		int end = Math.min((l.offset + bucket + 1) << l.shift, mEnd);
+		return Math.max(0, end - start);
+	}
+
+	/**
+	 * 按某一级的桶选出要画的点:每个桶的第一个,最小,最大,最后一个点。
+	 * 只部分在范围内的桶,最小,最大值在范围外时不选
+	 * @param level 级别
+	 * @param from  起始下标
+	 * @param to    结束下标(不含)
+	 * @param out   选出的点的下标,按升序,长度至少为getSampleCapacity()
+	 * @return 选出的点数
+	 */
+	public int sample(int level,int from,int to,int[] out)
+	{
+		Level l = mLevels.get(level);
+		int shift = l.shift;
+		from = Math.max(from + mOrigin, mOrigin);
+		to = Math.min(to + mOrigin, mEnd);
+		if(to <= from) return 0;
+		
+		int selected = 0;
+		int lastBucket = (to - 1) >> shift;
+		for(int b=from >> shift;b<=lastBucket;b++)
+		{
+			int p = b - l.offset;
+			int a = Math.max(b << shift, from);
+			int e = Math.min(((b + 1) << shift) - 1, to - 1);
+			int lo = Math.min(l.minIndex[p], l.maxIndex[p]);
+			int hi = Math.max(l.minIndex[p], l.maxIndex[p]);
+			out[selected++] = a - mOrigin;
+			if(lo > a && lo < e) out[selected++] = lo - mOrigin;
+			if(hi > a && hi < e && hi != lo) out[selected++] = hi - mOrigin;
+			if(e != a) out[selected++] = e - mOrigin;
+		}
+		return selected;
+	}
+
+	/**
+	 * 按sample()选出某一级的桶时最多的点数
+	 * @param level 级别
+	 * @param from  起始下标
+	 * @param to    结束下标(不含)
+	 * @return 点数
+	 */
+	public int getSampleCapacity(int level,int from,int to)
+	{
+		int shift = mLevels.get(level).shift;
+		from += mOrigin;
+		to += mOrigin;
+		return (((Math.max(to, from + 1) - 1) >> shift) - (from >> shift) + 1) * 4;
+	}
+
+	//Arrays.copyOf在API 9才有
+	private static double[] copyOf(double[] values,int length)
+	{
+		double[] ret = new double[length];
+		System.arraycopy(values, 0, ret, 0, Math.min(values.length, length));
+		return ret;
+	}
+
+	private static int[] copyOf(int[] values,int length)
+	{
+		int[] ret = new int[length];
+		System.arraycopy(values, 0, ret, 0, Math.min(values.length, length));
+		return ret;
+	}
+
+}
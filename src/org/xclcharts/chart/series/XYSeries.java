@@ -0,0 +1,308 @@
+/**
+ * Copyright 2014  XCL-Charts
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 	
+ * @Project XCL-Charts 
+ * @Description Android图表基类库
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ * @license http://www.apache.org/licenses/  Apache v2 License
+ * @version v0.1
+ */
+package org.xclcharts.chart.series;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * @ClassName XYSeries
+ * @Description  用两个按x排好序的double[]存放(x,y)点,支持批量载入,有序插入及按x范围二分查找
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ *  * MODIFIED    YYYY-MM-DD   REASON
+ */
+
+public class XYSeries implements IXYSeries {
+
+	//默认容量
+	private static final int DEFAULT_CAPACITY = 16;
+
+	private double[] mXs;
+	private double[] mYs;
+	//实际点数
+	private int mLength = 0;
+	//修改版本
+	private long mVersion = 0;
+
+	public XYSeries()
+	{
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * 按指定容量构建
+	 * @param capacity 初始容量
+	 */
+	public XYSeries(int capacity)
+	{
+		if(capacity < 0) throw new IllegalArgumentException("capacity < 0");
+		mXs = new double[capacity];
+		mYs = new double[capacity];
+	}
+
+	/**
+	 * 批量载入,直接使用传入的数组,x无序时会在原数组上排序
+	 * @param xs x值
+	 * @param ys y值
+	 */
+	public XYSeries(double[] xs,double[] ys)
+	{
+		setData(xs,ys,xs.length);
+	}
+
+	/**
+	 * 由LinkedHashMap构建,会复制一份数据并按x排序
+	 * @param dataSeries 数据集合,key为x,value为y
+	 * @return 数据序列
+	 */
+	public static XYSeries fromMap(Map<Double,Double> dataSeries)
+	{
+		if(null == dataSeries) return new XYSeries(0);
+
+		int count = dataSeries.size();
+		double[] xs = new double[count];
+		double[] ys = new double[count];
+		int i = 0;
+		Iterator<Entry<Double,Double>> iter = dataSeries.entrySet().iterator();
+		while(iter.hasNext())
+		{
+			Entry<Double,Double> entry = iter.next();
+			xs[i] = entry.getKey();
+			ys[i] = entry.getValue();
+			i++;
+		}
+		return new XYSeries(xs,ys);
+	}
+
+	/**
+	 * 批量载入,接管传入的数组,x无序时会在原数组上排序
+	 * @param xs x值
+	 * @param ys y值
+	 * @param length 有效长度
+	 */
+	public void setData(double[] xs,double[] ys,int length)
+	{
+		if(null == xs || null == ys) throw new IllegalArgumentException("xs/ys == null");
+		if(length < 0 || length > xs.length || length > ys.length)
+			throw new IllegalArgumentException("length out of range: "+length);
+		mXs = xs;
+		mYs = ys;
+		mLength = length;
+		if(!isSorted()) sort();
+		mVersion++;
+	}
+
+	/**
+	 * 按x有序插入一个点,x不小于现有最大值时即追加到尾部
+	 * @param x x值
+	 * @param y y值
+	 */
+	public void add(double x,double y)
+	{
+		if(mLength == mXs.length) grow(mLength + 1);
+
+		int pos = mLength;
+		if(mLength > 0 && x < mXs[mLength - 1])
+		{
+			//插在相同x值的后面
+			pos = indexOfLast(x) + 1;
+			System.arraycopy(mXs, pos, mXs, pos + 1, mLength - pos);
+			System.arraycopy(mYs, pos, mYs, pos + 1, mLength - pos);
+		}
+		mXs[pos] = x;
+		mYs[pos] = y;
+		mLength++;
+		mVersion++;
+	}
+
+	/**
+	 * 清空数据,保留已分配的空间
+	 */
+	public void clear()
+	{
+		mLength = 0;
+		mVersion++;
+	}
+
+	@Override
+	public long getVersion()
+	{
+		return mVersion;
+	}
+
+	@Override
+	public int size()
+	{
+		return mLength;
+	}
+
+	@Override
+	public double getX(int index)
+	{
+		if(index >= mLength) throw new IndexOutOfBoundsException("index: "+index+", size: "+mLength);
+		return mXs[index];
+	}
+
+	@Override
+	public double getY(int index)
+	{
+		if(index >= mLength) throw new IndexOutOfBoundsException("index: "+index+", size: "+mLength);
+		return mYs[index];
+	}
+
+	@Override
+	public int indexOfFirst(double x)
+	{
+		int low = 0;
+		int high = mLength;
+		while(low < high)
+		{
+			int mid = (low + high) >>> 1;
+			if(mXs[mid] < x){
+				low = mid + 1;
+			}else{
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	@Override
+	public int indexOfLast(double x)
+	{
+		int low = 0;
+		int high = mLength;
+		while(low < high)
+		{
+			int mid = (low + high) >>> 1;
+			if(mXs[mid] <= x){
+				low = mid + 1;
+			}else{
+				high = mid;
+			}
+		}
+		return low - 1;
+	}
+
+	/**
+	 * 返回内部的x数组,只读,有效长度为size()
+	 * @return x数组
+	 */
+	public double[] getXArray()
+	{
+		return mXs;
+	}
+
+	/**
+	 * 返回内部的y数组,只读,有效长度为size()
+	 * @return y数组
+	 */
+	public double[] getYArray()
+	{
+		return mYs;
+	}
+
+	/**
+	 * 转换成LinkedHashMap,用于兼容旧接口,会复制一份数据
+	 * @return 数据集合
+	 */
+	public LinkedHashMap<Double,Double> toMap()
+	{
+		LinkedHashMap<Double,Double> map = new LinkedHashMap<Double,Double>();
+		for(int i=0;i<mLength;i++)
+		{
+			map.put(mXs[i], mYs[i]);
+		}
+		return map;
+	}
+
+	private boolean isSorted()
+	{
+		for(int i=1;i<mLength;i++)
+		{
+			if(mXs[i] < mXs[i - 1]) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * 归并排序,保持相同x值点的原有顺序
+	 */
+	private void sort()
+	{
+		double[] tmpXs = new double[mLength];
+		double[] tmpYs = new double[mLength];
+		for(int width = 1; width < mLength; width *= 2)
+		{
+			for(int low = 0; low < mLength - width; low += 2 * width)
+			{
+				int mid = low + width;
+				int high = Math.min(low + 2 * width, mLength);
+				merge(low, mid, high, tmpXs, tmpYs);
+			}
+		}
+	}
+
+	private void merge(int low,int mid,int high,double[] tmpXs,double[] tmpYs)
+	{
+		int i = low, j = mid, k = low;
+		while(i < mid && j < high)
+		{
+			if(mXs[j] < mXs[i]){
+				tmpXs[k] = mXs[j];
+				tmpYs[k++] = mYs[j++];
+			}else{
+				tmpXs[k] = mXs[i];
+				tmpYs[k++] = mYs[i++];
+			}
+		}
+		while(i < mid)
+		{
+			tmpXs[k] = mXs[i];
+			tmpYs[k++] = mYs[i++];
+		}
+		while(j < high)
+		{
+			tmpXs[k] = mXs[j];
+			tmpYs[k++] = mYs[j++];
+		}
+		System.arraycopy(tmpXs, low, mXs, low, high - low);
+		System.arraycopy(tmpYs, low, mYs, low, high - low);
+	}
+
+	private void grow(int minCapacity)
+	{
+		int capacity = mXs.length + (mXs.length >> 1);
+		if(capacity < minCapacity) capacity = minCapacity;
+		if(capacity < DEFAULT_CAPACITY) capacity = DEFAULT_CAPACITY;
+
+		double[] xs = new double[capacity];
+		double[] ys = new double[capacity];
+		System.arraycopy(mXs, 0, xs, 0, mLength);
+		System.arraycopy(mYs, 0, ys, 0, mLength);
+		mXs = xs;
+		mYs = ys;
+	}
+
+}
@@ -22,15 +22,23 @@
 package org.xclcharts.renderer;
 
 
+import java.util.List;
+import java.util.WeakHashMap;
+
 import org.xclcharts.chart.common.DrawHelper;
 import org.xclcharts.renderer.axis.DataAxis;
 import org.xclcharts.renderer.axis.DataAxisRender;
 import org.xclcharts.renderer.axis.LabelsAxis;
 import org.xclcharts.renderer.axis.LabelsAxisRender;
+import org.xclcharts.renderer.canvas.AndroidChartCanvas;
+import org.xclcharts.renderer.canvas.IChartCanvas;
 import org.xclcharts.renderer.plot.Legend;
 import org.xclcharts.renderer.plot.LegendRender;
+import org.xclcharts.renderer.canvas.ChartColor;
+import org.xclcharts.renderer.canvas.ChartPaint;
+import org.xclcharts.renderer.canvas.AndroidPaint;
 
-import android.graphics.Color;
+import android.graphics.Canvas;
 import android.graphics.Paint;
 
 /**
@@ -52,11 +60,30 @@ public class AxisChart extends XChart {
 	//数据集的说明描述与图这间的空白间距
 	private float mDataSetKeyDescMargin  = 10f;	
 	//数据集的说明描述画笔
-	private Paint mDataSetKeyDescPaint = null;
+	private ChartPaint mDataSetKeyDescPaint = null;
 		
 	//是否显示Key
 	private boolean mPoltDataKeyVisible = false;
 	
+	//各数据序列缓存的屏幕坐标,数据对象不再使用时自动释放
+	private final WeakHashMap<Object,SeriesGeometry> mSeriesGeometry = 
+										new WeakHashMap<Object,SeriesGeometry>();
+	//绘图区版本,绘图区范围或轴的范围变化时递增
+	private long mViewportVersion = 0;
+	//上次计算绘图区版本时用到的值
+	private final double[] mViewportStamp = new double[9];
+	
+	//分层绘制的位图缓存,为null时不分层,直接画在画布上
+	private LayerCache mLayerCache = null;
+	//是否正在分层绘制
+	private boolean mLayerPass = false;
+	//上次绘制静态层时的布局
+	private final double[] mLayoutStamp = new double[11];
+	//上次绘制覆盖层时各数据序列的标记
+	private long mKeyStamp = 0;
+	//上次分层绘制时标签轴的标签标记
+	private long mLabelsStamp = 0;
+	
 	public AxisChart() {
 		// TODO Auto-generated constructor stub		
 		super();
@@ -79,8 +106,8 @@ public class AxisChart extends XChart {
 		//图例
 		legend = new LegendRender();
 		
-		mDataSetKeyDescPaint = new Paint();
-		mDataSetKeyDescPaint.setColor(Color.BLACK);		
+		mDataSetKeyDescPaint = new ChartPaint();
+		mDataSetKeyDescPaint.setColor(ChartColor.BLACK);		
 	}
 	
 	/**
@@ -103,11 +130,22 @@ public class AxisChart extends XChart {
 	 
 	 /**
 	  * 开放Key绘制画笔
+	  * 返回对应的Android画笔,在上面的修改同时改到图表的画笔上,只能在Android上使用,
+	  * 其他平台用getPlotDataSetKeyChartPaint()
 	  * @return 画笔
 	  */
 	 public Paint getPlotDataSetKeyPaint()
-	 {		 
-		 return mDataSetKeyDescPaint;
+	 {
+	 	return AndroidPaint.of(getPlotDataSetKeyChartPaint());
+	 }
+	 
+	 /**
+	  * 开放Key绘制画笔
+	  * @return 画笔
+	  */
+	 public ChartPaint getPlotDataSetKeyChartPaint()
+	 {
+	 	return mDataSetKeyDescPaint;
 	 }
 	 
 	 /**
@@ -183,14 +221,14 @@ public class AxisChart extends XChart {
 			perRight -= scrPer;		
 		}			
 		
-		DrawHelper dw = new DrawHelper();
+		DrawHelper dw = mDrawHelper;
 
 		if(perLeft > 0)
 		{
 			float rederLeft = Math.round( height / 100 * perLeft);		
 			if(this.getLegend().getLeftLegend().length() > 0)
 			{	
-				float legendLength = dw.getPaintFontHeight(getLegend().getLeftLegendPaint());
+				float legendLength = dw.getPaintFontHeight(getLegend().getLeftLegendChartPaint());
 				if(legendLength > rederLeft) rederLeft = legendLength;
 			}
 			plotArea.setPlotLeft( getChartLeft() + rederLeft);
@@ -201,7 +239,7 @@ public class AxisChart extends XChart {
 			float rederRight =  Math.round( width / 100 * perRight);
 			if(this.getLegend().getRightLegend().length() > 0)
 			{	
-				float legendLength = dw.getPaintFontHeight(getLegend().getRightLegendPaint());	
+				float legendLength = dw.getPaintFontHeight(getLegend().getRightLegendChartPaint());	
 				if(legendLength > rederRight ) rederRight = legendLength;
 			}
 			plotArea.setPlotRight(this.getChartRight() - rederRight);	
@@ -212,7 +250,7 @@ public class AxisChart extends XChart {
 			float rederBottom = Math.round( height / 100 * perBottom );
 			if(this.getLegend().getLowerLegend().length() > 0)
 			{			
-				float legendHeight = dw.getPaintFontHeight(getLegend().getLowerLegendPaint());	
+				float legendHeight = dw.getPaintFontHeight(getLegend().getLowerLegendChartPaint());	
 				if(legendHeight > rederBottom ) rederBottom = legendHeight;
 			}
 			plotArea.setPlotBottom(this.getChartBottom() - rederBottom);	
@@ -230,32 +268,264 @@ public class AxisChart extends XChart {
 		return( Math.abs(plotArea.getPlotBottom() - plotArea.getPlotTop()));
 	}
 	
+	/**
+	 * 返回数据对象对应的坐标缓存,没有时新建一个
+	 * @param data 数据对象,如BarData,LnData
+	 * @return 坐标缓存
+	 */
+	protected SeriesGeometry getSeriesGeometry(Object data)
+	{
+		SeriesGeometry geometry = mSeriesGeometry.get(data);
+		if(null == geometry)
+		{
+			geometry = new SeriesGeometry();
+			mSeriesGeometry.put(data, geometry);
+		}
+		return geometry;
+	}
+	
+	/**
+	 * 清空所有序列的坐标缓存
+	 */
+	protected void clearSeriesGeometry()
+	{
+		mSeriesGeometry.clear();
+	}
+	
+	/**
+	 * 检查绘图区范围和数据轴范围是否有变化,有变化时绘图区版本递增。
+	 * 在计算完绘图区范围后调用,各序列缓存的坐标在绘图区版本变化后失效
+	 * @param xMin 标签轴的起始值,如标签个数或曲线图x的范围
+	 * @param xMax 标签轴的结束值
+	 * @return 绘图区版本
+	 */
+	protected long updateViewportVersion(double xMin,double xMax)
+	{
+		boolean changed = false;
+		changed |= stamp(0, plotArea.getPlotLeft());
+		changed |= stamp(1, plotArea.getPlotTop());
+		changed |= stamp(2, plotArea.getPlotRight());
+		changed |= stamp(3, plotArea.getPlotBottom());
+		changed |= stamp(4, dataAxis.getAxisMin());
+		changed |= stamp(5, dataAxis.getAxisMax());
+		changed |= stamp(6, dataAxis.getAxisSteps());
+		changed |= stamp(7, xMin);
+		changed |= stamp(8, xMax);
+		if(changed) mViewportVersion++;
+		return mViewportVersion;
+	}
+	
+	private boolean stamp(int index,double value)
+	{
+		return stamp(mViewportStamp,index,value);
+	}
+	
+	private static boolean stamp(double[] stamps,int index,double value)
+	{
+		if(Double.compare(stamps[index], value) == 0) return false;
+		stamps[index] = value;
+		return true;
+	}
+	
+	/**
+	 * 设置是否分层绘制。打开后用render(Canvas)在Android的Canvas上绘制时,背景,网格,坐标轴等静态部分,
+	 * 数据序列,以及画在数据上的轴线与说明分别画在各自的位图上,
+	 * 只重画数据层,其余各层在布局变化或invalidateLayer()后才重画,覆盖层上的说明在数据序列变化时也重画,再叠加到画布上。
+	 * 三个位图与画布同样大小,会多占用相应的内存。
+	 * 分层只在render(Canvas)或render(IChartCanvas)中生效,先setCanvas()再调用render()时仍整图直接绘制
+	 * @param enabled 是否分层
+	 */
+	public void setLayerCacheEnabled(boolean enabled)
+	{
+		if(enabled)
+		{
+			if(null == mLayerCache) mLayerCache = new LayerCache();
+		}else if(null != mLayerCache){
+			mLayerCache.recycle();
+			mLayerCache = null;
+		}
+	}
+	
+	/**
+	 * 是否分层绘制
+	 * @return 是否分层
+	 */
+	public boolean getLayerCacheEnabled()
+	{
+		return null != mLayerCache;
+	}
+	
+	/**
+	 * 使指定图层失效,下次绘制时重画。如修改了标题,画笔等静态层的属性后调用,
+	 * 录下的绘制命令也一起失效
+	 * @param layer 图层
+	 */
+	public void invalidateLayer(XEnum.ChartLayer layer)
+	{
+		if(null != mLayerCache) mLayerCache.invalidate(layer);
+		invalidateDisplayList();
+	}
+	
+	/**
+	 * 使所有图层与录下的绘制命令失效
+	 */
+	public void invalidateLayers()
+	{
+		if(null != mLayerCache) mLayerCache.invalidateAll();
+		invalidateDisplayList();
+	}
+	
+	/**
+	 * 开始绘制指定图层的内容。分层绘制时把画布切换到该图层,
+	 * 图层不需要重画时返回false,调用方跳过这部分绘制;不分层时总是返回true
+	 * @param layer 图层
+	 * @return 是否需要绘制
+	 */
+	protected boolean beginLayer(XEnum.ChartLayer layer)
+	{
+		if(!mLayerPass) return true;
+		IChartCanvas canvas = mLayerCache.beginLayer(layer);
+		if(null == canvas) return false;
+		bindCanvas(canvas);
+		return true;
+	}
+	
+	/**
+	 * 把画布设给图表及各组成部分
+	 * @param canvas 画布
+	 */
+	private void bindCanvas(IChartCanvas canvas)
+	{
+		mCanvas = canvas;
+		plotArea.setCanvas(canvas);
+		plotGrid.setCanvas(canvas);
+		legend.setCanvas(canvas);
+		dataAxis.setCanvas(canvas);
+		labelsAxis.setCanvas(canvas);
+	}
+	
+	/**
+	 * 图表或绘图区的范围,轴的范围有变化时使所有图层失效
+	 */
+	private void checkLayerLayout()
+	{
+		if(!mLayerPass) return;
+		double[] stamps = mLayoutStamp;
+		boolean changed = false;
+		changed |= stamp(stamps, 0, getChartLeft());
+		changed |= stamp(stamps, 1, getChartTop());
+		changed |= stamp(stamps, 2, getChartRight());
+		changed |= stamp(stamps, 3, getChartBottom());
+		changed |= stamp(stamps, 4, plotArea.getPlotLeft());
+		changed |= stamp(stamps, 5, plotArea.getPlotTop());
+		changed |= stamp(stamps, 6, plotArea.getPlotRight());
+		changed |= stamp(stamps, 7, plotArea.getPlotBottom());
+		changed |= stamp(stamps, 8, dataAxis.getAxisMin());
+		changed |= stamp(stamps, 9, dataAxis.getAxisMax());
+		changed |= stamp(stamps, 10, dataAxis.getAxisSteps());
+		//标签轴的标签画在静态层上,换了标签或修改了内容后也要重画
+		long labelsStamp = getLabelsStamp();
+		if(labelsStamp != mLabelsStamp)
+		{
+			mLabelsStamp = labelsStamp;
+			changed = true;
+		}
+		if(changed) mLayerCache.invalidateAll();
+		
+		//覆盖层上的说明来自各数据序列,序列增删或修改后重画
+		long keyStamp = getDataStamp();
+		if(keyStamp != mKeyStamp)
+		{
+			mKeyStamp = keyStamp;
+			mLayerCache.invalidate(XEnum.ChartLayer.OVERLAY);
+		}
+	}
+	
+	/**
+	 * 返回标签轴标签的标记,由标签列表本身与其内容的哈希组成,
+	 * 换了列表,增删标签或修改了标签文字后都会变化
+	 * @return 标记
+	 */
+	protected long getLabelsStamp()
+	{
+		List<String> labels = labelsAxis.getDataSet();
+		return stampSeries(0, labels, null == labels ? 0 : labels.hashCode());
+	}
+	
+	/**
+	 * 在指定画布上绘制图表,分层绘制时只重画失效的图层,再把各层叠加到画布上。
+	 * 图层是位图,只有画在Android的Canvas上且没有录制绘制命令时才分层
+	 * @param canvas 画布
+	 * @return 是否绘制成功
+	 * @throws Exception
+	 */
+	@Override
+	public boolean render(IChartCanvas canvas) throws Exception
+	{
+		Canvas target = AndroidChartCanvas.unwrap(canvas);
+		if(null == mLayerCache || null == target || getDisplayListEnabled()) return super.render(canvas);
+		
+		int width = canvas.getWidth();
+		int height = canvas.getHeight();
+		if(width <= 0 || height <= 0)
+		{
+			width = (int) Math.ceil(getChartRight());
+			height = (int) Math.ceil(getChartBottom());
+		}
+		mLayerCache.prepare(width, height);
+		//数据层每次都重画
+		mLayerCache.invalidate(XEnum.ChartLayer.DATA);
+		
+		boolean ret = false;
+		boolean completed = false;
+		mLayerPass = true;
+		try {
+			ret = super.render(canvas);
+			completed = true;
+		} finally {
+			mLayerPass = false;
+			mLayerCache.endPass();
+			//中途出错时各层内容不完整,下次全部重画
+			if(!completed) mLayerCache.invalidateAll();
+			bindCanvas(canvas);
+		}
+		mLayerCache.draw(target);
+		return ret;
+	}
+	
 
 	public boolean render() throws Exception {
 		// TODO Auto-generated method stub
 	
 		try {
-		
-			super.render();
+			if (null == mCanvas) return false;
+			
 			//计算主图表区范围
 			 calcPlotRange();
-			//画Plot Area背景			
-			 plotArea.render();			 
-			//画奇偶行填充,横竖网格线			
-			 plotGrid.render();			 
+			//布局变化时各层都要重画
+			 checkLayerLayout();
 			//画图例Legend
 			 legend.setCanvas(mCanvas);
 			//设置数据轴画布
 			dataAxis.setCanvas(mCanvas);
 			//设置标签轴画布
 			labelsAxis.setCanvas(mCanvas);	
-			
-			//绘制标题
-			renderTitle();
-			//绘制图例
-			legend.setRange(this);
-			legend.render();	
-			
+			 
+			//背景,绘图区,网格,标题和图例都属于静态层
+			if(beginLayer(XEnum.ChartLayer.STATIC))
+			{
+				super.render();
+				//画Plot Area背景			
+				 plotArea.render();			 
+				//画奇偶行填充,横竖网格线			
+				 plotGrid.render();			 
+				
+				//绘制标题
+				renderTitle();
+				//绘制图例
+				legend.setRange(this);
+				legend.render();	
+			}
 			
 		}catch( Exception e){
 			 throw e;
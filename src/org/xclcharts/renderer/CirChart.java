@@ -23,10 +23,12 @@
 package org.xclcharts.renderer;
 
 import org.xclcharts.chart.common.MathHelper;
+import org.xclcharts.renderer.canvas.ChartPaint.Align;
+import org.xclcharts.renderer.canvas.ChartColor;
+import org.xclcharts.renderer.canvas.ChartPaint;
+import org.xclcharts.renderer.canvas.AndroidPaint;
 
-import android.graphics.Color;
 import android.graphics.Paint;
-import android.graphics.Paint.Align;
 
 /**
  * @ClassName CirChart
@@ -44,7 +46,7 @@ public class CirChart extends XChart{
 	private XEnum.DisplayPostion mLablesDP;
 	
 	//开放标签画笔让用户设置
-	private Paint mPaintLabels = null;
+	private ChartPaint mPaintLabels = null;
 	
 	//初始偏移角度
 	protected int mOffsetAgent = 0;//180;
@@ -52,6 +54,9 @@ public class CirChart extends XChart{
 	//用于计算的辅助类
 	protected MathHelper mCalc = new MathHelper();
 	
+	//画扇区的画笔,每次绘制时重复使用
+	protected final ChartPaint mPaintArc = new ChartPaint();
+	
 		
 	public CirChart()
 	{
@@ -63,10 +68,12 @@ public class CirChart extends XChart{
 		//标签显示位置
 		mLablesDP = XEnum.DisplayPostion.CENTER;
 		
-		mPaintLabels = new Paint();
-		mPaintLabels.setColor(Color.BLACK);
+		mPaintLabels = new ChartPaint();
+		mPaintLabels.setColor(ChartColor.BLACK);
 		mPaintLabels.setTextSize(18);
 		mPaintLabels.setAntiAlias(true);
+		
+		mPaintArc.setAntiAlias(true);
 	}
 	
 	@Override
@@ -130,9 +137,20 @@ public class CirChart extends XChart{
 	
 	/**
 	 * 开放标签画笔
+	 * 返回对应的Android画笔,在上面的修改同时改到图表的画笔上,只能在Android上使用,
+	 * 其他平台用getLabelsChartPaint()
 	 * @return 画笔
 	 */
 	public Paint getLabelsPaint()
+	{
+		return AndroidPaint.of(getLabelsChartPaint());
+	}
+	
+	/**
+	 * 开放标签画笔
+	 * @return 画笔
+	 */
+	public ChartPaint getLabelsChartPaint()
 	{
 		return mPaintLabels;
 	}
@@ -29,11 +29,14 @@ package org.xclcharts.renderer;
  * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
  */
 
+import org.xclcharts.renderer.canvas.IChartCanvas;
+
 import android.graphics.Canvas;
 
 public interface IRender {
 	
 	public void setCanvas(Canvas canvas);
+	public void setCanvas(IChartCanvas canvas);
 	public boolean render() throws Exception;
 
 }
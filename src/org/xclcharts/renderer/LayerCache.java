@@ -0,0 +1,175 @@
+/**
+ * Copyright 2014  XCL-Charts
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 	
+ * @Project XCL-Charts 
+ * @Description Android图表基类库
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ * @license http://www.apache.org/licenses/  Apache v2 License
+ * @version v0.1
+ */
+package org.xclcharts.renderer;
+
+import org.xclcharts.chart.common.BitmapPool;
+import org.xclcharts.renderer.canvas.AndroidChartCanvas;
+import org.xclcharts.renderer.canvas.IChartCanvas;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+
+/**
+ * @ClassName LayerCache
+ * @Description  分层绘制用的位图缓存。每个图层画在各自的位图上,
+ * 				  只有失效的图层才重画,最后按STATIC,DATA,OVERLAY的顺序叠加到画布上。
+ * 				  位图只在画布大小变化时才从位图池重新取出,释放时放回池中
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ *  * MODIFIED    YYYY-MM-DD   REASON
+ */
+
+public class LayerCache {
+
+	private static final int LAYER_COUNT = XEnum.ChartLayer.values().length;
+
+	//各图层的位图与画布
+	private final Bitmap[] mBitmaps = new Bitmap[LAYER_COUNT];
+	private final AndroidChartCanvas[] mCanvases = new AndroidChartCanvas[LAYER_COUNT];
+	//需要重画的图层
+	private final boolean[] mDirty = new boolean[LAYER_COUNT];
+	//本次绘制中正在重画的图层
+	private final boolean[] mDrawing = new boolean[LAYER_COUNT];
+
+	private int mWidth = 0;
+	private int mHeight = 0;
+
+	public LayerCache()
+	{
+		invalidateAll();
+	}
+
+	/**
+	 * 确保各图层的位图与画布大小一致,大小变化时重新分配并使所有图层失效
+	 * @param width		宽度
+	 * @param height	高度
+	 */
+	public void prepare(int width,int height)
+	{
+		if(width <= 0 || height <= 0) throw new IllegalArgumentException("width or height <= 0");
+		if(null != mBitmaps[0] && width == mWidth && height == mHeight) return;
+
+		recycle();
+		BitmapPool pool = BitmapPool.getDefault();
+		for(int i = 0; i < LAYER_COUNT; i++)
+		{
+			//池中的位图可能比画布大,只用到左上角的部分
+			mBitmaps[i] = pool.acquire(width, height, Bitmap.Config.ARGB_8888);
+			mCanvases[i] = new AndroidChartCanvas(new Canvas(mBitmaps[i]));
+		}
+		mWidth = width;
+		mHeight = height;
+		invalidateAll();
+	}
+
+	/**
+	 * 使指定图层失效,下次绘制时重画
+	 * @param layer 图层
+	 */
+	public void invalidate(XEnum.ChartLayer layer)
+	{
+		mDirty[layer.ordinal()] = true;
+	}
+
+	/**
+	 * 使所有图层失效
+	 */
+	public void invalidateAll()
+	{
+		for(int i = 0; i < LAYER_COUNT; i++) mDirty[i] = true;
+	}
+
+	/**
+	 * 图层是否需要重画
+	 * @param layer 图层
+	 * @return 是否失效
+	 */
+	public boolean isDirty(XEnum.ChartLayer layer)
+	{
+		return mDirty[layer.ordinal()];
+	}
+
+	/**
+	 * 开始在图层上绘制。图层失效时先清空位图,同一次绘制中再次调用直接返回画布
+	 * @param layer 图层
+	 * @return 图层的画布,图层不需重画时返回null
+	 */
+	public IChartCanvas beginLayer(XEnum.ChartLayer layer)
+	{
+		int i = layer.ordinal();
+		if(!mDrawing[i])
+		{
+			if(!mDirty[i] || null == mBitmaps[i]) return null;
+			mBitmaps[i].eraseColor(Color.TRANSPARENT);
+			mDirty[i] = false;
+			mDrawing[i] = true;
+		}
+		return mCanvases[i];
+	}
+
+	/**
+	 * 结束一次绘制。失效但本次没有画的图层清空,避免留下旧的内容
+	 */
+	public void endPass()
+	{
+		for(int i = 0; i < LAYER_COUNT; i++)
+		{
+			if(!mDrawing[i] && mDirty[i] && null != mBitmaps[i])
+			{
+				mBitmaps[i].eraseColor(Color.TRANSPARENT);
+				mDirty[i] = false;
+			}
+			mDrawing[i] = false;
+		}
+	}
+
+	/**
+	 * 把各图层依次叠加到画布上
+	 * @param canvas 画布
+	 */
+	public void draw(Canvas canvas)
+	{
+		for(int i = 0; i < LAYER_COUNT; i++)
+		{
+			if(null != mBitmaps[i]) canvas.drawBitmap(mBitmaps[i], 0, 0, null);
+		}
+	}
+
+	/**
+	 * 把位图放回位图池,下次绘制时重新取出
+	 */
+	public void recycle()
+	{
+		BitmapPool pool = BitmapPool.getDefault();
+		for(int i = 0; i < LAYER_COUNT; i++)
+		{
+			pool.release(mBitmaps[i]);
+			mBitmaps[i] = null;
+			mCanvases[i] = null;
+			mDrawing[i] = false;
+		}
+		mWidth = 0;
+		mHeight = 0;
+		invalidateAll();
+	}
+
+}
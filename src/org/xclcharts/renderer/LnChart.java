@@ -22,19 +22,31 @@
 
 package org.xclcharts.renderer;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.WeakHashMap;
 
 import org.xclcharts.chart.LnData;
 import org.xclcharts.chart.common.DrawHelper;
 import org.xclcharts.chart.common.IFormatterDoubleCallBack;
+import org.xclcharts.chart.common.IFormatterNumberCallBack;
+import org.xclcharts.chart.common.NumberFormatter;
+import org.xclcharts.chart.series.IDataSeries;
+import org.xclcharts.chart.series.IXYSeries;
+import org.xclcharts.chart.series.LttbSampler;
+import org.xclcharts.chart.series.M4Sampler;
+import org.xclcharts.chart.series.SeriesPyramid;
+import org.xclcharts.renderer.canvas.ChartPath;
+import org.xclcharts.renderer.line.LineSegmentBatch;
 import org.xclcharts.renderer.line.PlotDot;
 import org.xclcharts.renderer.line.PlotLines;
+import org.xclcharts.renderer.canvas.ChartPaint.Align;
+import org.xclcharts.renderer.canvas.ChartPaint.Style;
+import org.xclcharts.renderer.canvas.ChartColor;
+import org.xclcharts.renderer.canvas.ChartPaint;
+import org.xclcharts.renderer.canvas.AndroidPaint;
 
-import android.graphics.Color;
 import android.graphics.Paint;
-import android.graphics.Paint.Align;
-import android.graphics.Paint.Style;
-import android.graphics.Path;
 
 /**
  * @ClassName XChart
@@ -49,14 +61,38 @@ public class LnChart extends AxisChart {
 
 	// 格式化柱形上的标签
 	private IFormatterDoubleCallBack mItemLabelFormatter;
+	// 线上的标签转成文字,复用同一块缓冲
+	private final NumberFormatter mItemLabel = new NumberFormatter();
+	// 画圆环点中间的白色填充
+	private ChartPaint mPaintRingFill = null;
+	// 画三角形,棱形点用的路径,重复使用
+	private final ChartPath mPathDot = new ChartPath();
+	// 画Key时收集各序列用,重复使用
+	protected final List<LnData> mKeyDataSet = new ArrayList<LnData>();
 	// 绘制Key的画笔
-	private Paint mPaintKey = null;
+	private ChartPaint mPaintKey = null;
 
 	// 是否显示顶轴
 	private boolean mTopAxisVisible = true;
 	// 是否显示底轴
 	private boolean mRightAxisVisible = true;
 	
+	// 绘图区左边对应的数据下标,用于平移
+	private double mDataOffset = 0d;
+	
+	// 降采样方式
+	private XEnum.Decimation mDecimation = XEnum.Decimation.NONE;
+	// 降采样后每个像素保留的点数
+	private float mDecimationFactor = 2f;
+	// 降采样选出的点的下标
+	private int[] mSampleIndexes = new int[0];
+	// 批量画线段用的缓冲
+	private final LineSegmentBatch mLineBatch = new LineSegmentBatch();
+	// M4降采样,保留各像素列的统计结果以便复用
+	private M4Sampler mM4Sampler = null;
+	// 各数据序列的多级汇总,数据序列不再使用时自动释放
+	private final WeakHashMap<IDataSeries, SeriesPyramid> mSeriesPyramid = 
+								new WeakHashMap<IDataSeries, SeriesPyramid>();
 	
 
 	public LnChart() {
@@ -65,20 +101,34 @@ public class LnChart extends AxisChart {
 	}
 
 	private void initChart() {
-		mPaintKey = new Paint();
+		mPaintKey = new ChartPaint();
 		mPaintKey.setTextSize(18);
 		mPaintKey.setStyle(Style.FILL);
 		mPaintKey.setAntiAlias(true);
 		
+		mPaintRingFill = new ChartPaint();
+		mPaintRingFill.setColor(ChartColor.WHITE);
+		mPaintRingFill.setStyle(Style.FILL);
+		
 		setPlotKeyVisible(true);
 	}
 
 	/**
 	 * 开放Key绘制画笔
-	 * 
+	 * 返回对应的Android画笔,在上面的修改同时改到图表的画笔上,只能在Android上使用,
+	 * 其他平台用getKeyChartPaint()
 	 * @return 画笔
 	 */
 	public Paint getKeyPaint() {
+		return AndroidPaint.of(getKeyChartPaint());
+	}
+	
+	/**
+	 * 开放Key绘制画笔
+	 * 
+	 * @return 画笔
+	 */
+	public ChartPaint getKeyChartPaint() {
 		return mPaintKey;
 	}
 
@@ -102,10 +152,259 @@ public class LnChart extends AxisChart {
 	 * @return X轴步长
 	 */
 	protected float getVerticalXSteps(int num) {
-		float XSteps = (float) Math.ceil(getAxisScreenWidth() / num);
+		// 只有一个标签时没有间隔,取整个轴宽,免得除0得到无穷大
+		if (num <= 0)
+			return getAxisScreenWidth();
+		// 不取整,与线上各点的x坐标一致,点数多于像素时步长小于1
+		float XSteps = getAxisScreenWidth() / num;
 		return XSteps;
 	}
 
+	/**
+	 * 返回批量画线段用的缓冲,各序列依次使用
+	 * 
+	 * @return 线段缓冲
+	 */
+	protected LineSegmentBatch getLineSegmentBatch() {
+		return mLineBatch;
+	}
+
+	/**
+	 * 设置绘图区左边对应的数据下标,默认为0。
+	 * 改变它即可在很长的数据序列上平移,只有落在绘图区内的点才会计算和绘制,
+	 * 标签轴的标签需与之对应
+	 * 
+	 * @param offset
+	 *            数据下标,可以为小数
+	 */
+	public void setDataOffset(double offset) {
+		mDataOffset = offset;
+	}
+
+	/**
+	 * 返回绘图区左边对应的数据下标
+	 * 
+	 * @return 数据下标
+	 */
+	public double getDataOffset() {
+		return mDataOffset;
+	}
+
+	/**
+	 * 返回绘图区内第一个数据下标,左边多取一个点以画出跨过边界的线段。
+	 * 下标是等距排列的,直接由偏移量算出
+	 * 
+	 * @return 数据下标
+	 */
+	protected int getVisibleFirstIndex() {
+		return Math.max(0, (int) Math.ceil(mDataOffset) - 1);
+	}
+
+	/**
+	 * 返回绘图区内最后一个数据下标,右边多取一个点以画出跨过边界的线段
+	 * 
+	 * @param count
+	 *            数据个数
+	 * @param xSteps
+	 *            相邻两个数据下标间的像素数
+	 * @return 数据下标
+	 */
+	protected int getVisibleLastIndex(int count, float xSteps) {
+		if (!(xSteps > 0) || Float.isInfinite(xSteps))
+			return count - 1;
+		double last = Math.floor(mDataOffset + getAxisScreenWidth() / xSteps) + 1;
+		return (int) Math.min(count - 1, last);
+	}
+
+	/**
+	 * 设置降采样方式,点数超过绘图区宽度的若干倍时只画选出的点,默认不降采样
+	 * 
+	 * @param decimation
+	 *            降采样方式
+	 */
+	public void setDecimation(XEnum.Decimation decimation) {
+		mDecimation = decimation;
+		clearSeriesGeometry();
+	}
+
+	/**
+	 * 返回降采样方式
+	 * 
+	 * @return 降采样方式
+	 */
+	public XEnum.Decimation getDecimation() {
+		return mDecimation;
+	}
+
+	/**
+	 * 设置降采样后每个像素保留的点数,默认为2
+	 * 
+	 * @param factor
+	 *            每个像素的点数
+	 */
+	public void setDecimationFactor(float factor) {
+		mDecimationFactor = factor;
+		clearSeriesGeometry();
+	}
+
+	/**
+	 * 返回降采样后每个像素保留的点数
+	 * 
+	 * @return 每个像素的点数
+	 */
+	public float getDecimationFactor() {
+		return mDecimationFactor;
+	}
+
+	/**
+	 * 降采样后最多保留的点数
+	 * 
+	 * @return 点数,不降采样时返回0
+	 */
+	private int getSampleThreshold() {
+		switch (mDecimation) {
+		case LTTB:
+			return Math.max(3, (int) (plotArea.getPlotWidth() * mDecimationFactor));
+		case M4:
+		case PYRAMID:
+			return getSampleColumns() * 4;
+		case NONE:
+		default:
+			return 0;
+		}
+	}
+
+	/**
+	 * M4降采样时的像素列数
+	 * 
+	 * @return 像素列数
+	 */
+	private int getSampleColumns() {
+		return (int) Math.ceil(getAxisScreenWidth()) + 1;
+	}
+
+	/**
+	 * 按设置的方式对数据序列降采样,选出的点的下标按升序存放在getSampleIndexes()中
+	 * 
+	 * @param series
+	 *            数据序列
+	 * @param from
+	 *            起始下标
+	 * @param to
+	 *            结束下标(不含)
+	 * @param xOrigin
+	 *            绘图区左边对应的下标
+	 * @param xPixel
+	 *            xOrigin画在的屏幕x坐标,M4按它划分像素列
+	 * @param xScale
+	 *            下标每增加1对应的像素数
+	 * @return 选出的点数,无需降采样时返回-1
+	 */
+	protected int sample(IDataSeries series, int from, int to,
+			double xOrigin, double xPixel, double xScale) {
+		int threshold = getSampleThreshold();
+		if (0 == threshold || to - from <= threshold)
+			return -1;
+		if (XEnum.Decimation.PYRAMID == mDecimation) {
+			SeriesPyramid pyramid = getSeriesPyramid(series);
+			int level = pyramid.getLevel(1d / xScale);
+			if (level >= 0) {
+				int[] out = getSampleIndexes(pyramid.getSampleCapacity(level,
+						from, to));
+				return pyramid.sample(level, from, to, out);
+			}
+		}
+		if (XEnum.Decimation.LTTB != mDecimation)
+			return getM4Sampler().sample(series, from, to, xOrigin, xPixel,
+					xScale, getSampleColumns(), getSampleIndexes(threshold));
+		return LttbSampler.sample(series, from, to, threshold,
+				getSampleIndexes(threshold));
+	}
+
+	/**
+	 * 按设置的方式对按x排序的数据序列降采样,选出的点的下标按升序存放在getSampleIndexes()中
+	 * 
+	 * @param series
+	 *            数据序列
+	 * @param from
+	 *            起始下标
+	 * @param to
+	 *            结束下标(不含)
+	 * @param xOrigin
+	 *            绘图区左边对应的x值
+	 * @param xPixel
+	 *            xOrigin画在的屏幕x坐标,M4按它划分像素列
+	 * @param xScale
+	 *            x每增加1对应的像素数
+	 * @return 选出的点数,无需降采样时返回-1
+	 */
+	protected int sample(IXYSeries series, int from, int to,
+			double xOrigin, double xPixel, double xScale) {
+		int threshold = getSampleThreshold();
+		if (0 == threshold || to - from <= threshold)
+			return -1;
+		// x不是等距的,无法按下标分级汇总,PYRAMID时也用M4
+		if (XEnum.Decimation.LTTB != mDecimation)
+			return getM4Sampler().sample(series, from, to, xOrigin, xPixel,
+					xScale, getSampleColumns(), getSampleIndexes(threshold));
+		return LttbSampler.sample(series, from, to, threshold,
+				getSampleIndexes(threshold));
+	}
+
+	/**
+	 * 返回线的集合的标记,线增删或修改时随之变化
+	 * 
+	 * @param dataSet
+	 *            线的集合
+	 * @return 标记
+	 */
+	protected static long getDataStamp(List<? extends LnData> dataSet) {
+		if (null == dataSet)
+			return 0;
+		long stamp = dataSet.size();
+		for (LnData ld : dataSet)
+			stamp = stampSeries(stamp, ld, ld.getVersion());
+		return stamp;
+	}
+
+	/**
+	 * 返回数据序列的多级汇总,没有时新建,并与数据同步
+	 * 
+	 * @param series
+	 *            数据序列
+	 * @return 多级汇总
+	 */
+	private SeriesPyramid getSeriesPyramid(IDataSeries series) {
+		SeriesPyramid pyramid = mSeriesPyramid.get(series);
+		if (null == pyramid) {
+			pyramid = new SeriesPyramid();
+			mSeriesPyramid.put(series, pyramid);
+		}
+		pyramid.sync(series);
+		return pyramid;
+	}
+
+	private M4Sampler getM4Sampler() {
+		if (null == mM4Sampler)
+			mM4Sampler = new M4Sampler();
+		return mM4Sampler;
+	}
+
+	private int[] getSampleIndexes(int capacity) {
+		if (mSampleIndexes.length < capacity)
+			mSampleIndexes = new int[capacity];
+		return mSampleIndexes;
+	}
+
+	/**
+	 * 返回最近一次降采样选出的点的下标
+	 * 
+	 * @return 下标数组
+	 */
+	protected int[] getSampleIndexes() {
+		return mSampleIndexes;
+	}
+
 	/**
 	 * 是否显示顶轴
 	 * 
@@ -139,9 +438,8 @@ public class LnChart extends AxisChart {
 		float plotRight = plotArea.getPlotRight();
 		float plotBottom = plotArea.getPlotBottom();
 		float currentY = plotBottom;
-		float currentTickLabel = 0.0f;
 
-		float maskHeight = dataAxis.getAxisTickMarksPaint().getStrokeWidth() / 2;
+		float maskHeight = dataAxis.getAxisTickMarksChartPaint().getStrokeWidth() / 2;
 
 		// 数据轴(Y 轴)
 		for (int i = 0; i <= tickCount; i++) {
@@ -150,9 +448,6 @@ public class LnChart extends AxisChart {
 			// 依起始数据坐标与数据刻度间距算出上移高度
 			// currentY = (float) Math.rint(plotBottom - i * YSteps);
 			currentY = (float) (plotBottom - i * YSteps);
-			// 标签
-			currentTickLabel = (float) (dataAxis.getAxisMin() + (i * dataAxis
-					.getAxisSteps()));
 
 			if (i > 0) {
 				// 从左到右的横向网格线
@@ -169,7 +464,7 @@ public class LnChart extends AxisChart {
 							plotRight, currentY);
 			}
 			dataAxis.renderAxisHorizontalTick(plotLeft, currentY,
-					Float.toString(currentTickLabel));
+					i);
 
 		}
 
@@ -192,30 +487,27 @@ public class LnChart extends AxisChart {
 		float YSteps = getVerticalYSteps(tickCount);
 		float currentY = plotArea.getPlotBottom();
 
-		float maskHeight = dataAxis.getAxisTickMarksPaint().getStrokeWidth() / 2;
+		float maskHeight = dataAxis.getAxisTickMarksChartPaint().getStrokeWidth() / 2;
 
 		// 数据轴(Y 轴)
 		for (int i = 0; i <= tickCount; i++) {
 			if (i == 0)
 				continue;
 			currentY = Math.round(plotArea.getPlotBottom() - i * YSteps);
-			// 标签
-			float currentTickLabel = (float) (dataAxis.getAxisMin() + (i * dataAxis
-					.getAxisSteps()));
 
 			if (i == tickCount) {
 				dataAxis.renderAxisHorizontalTick(plotArea.getPlotRight(),
-						plotArea.getPlotTop(), Float.toString(currentTickLabel));
+						plotArea.getPlotTop(), i);
 			} else {
 				this.dataAxis
 						.renderAxisHorizontalTick(plotArea.getPlotRight(),
 								currentY + maskHeight,
-								Float.toString(currentTickLabel));
+								i);
 			}
 			// 右边轴默认不显示网格,所以在此忽略不作处理
 		}
 		// 轴 线
-		float paintWidth = dataAxis.getAxisPaint().getStrokeWidth() / 2;
+		float paintWidth = dataAxis.getAxisChartPaint().getStrokeWidth() / 2;
 		dataAxis.renderAxis(plotArea.getPlotRight() + paintWidth,
 				plotArea.getPlotBottom(), plotArea.getPlotRight() + paintWidth,
 				plotArea.getPlotTop());
@@ -232,8 +524,14 @@ public class LnChart extends AxisChart {
 		List<String> dataSet = labelsAxis.getDataSet();
 		// 与柱形图不同，无须多弄一个
 		float XSteps = getVerticalXSteps(dataSet.size() - 1);
+		// 标签多于像素时,空标签不画刻度,同一像素列只画第一个标签
+		boolean dense = XSteps < 1;
+		float lastX = Float.NaN;
 
-		for (int i = 0; i < dataSet.size(); i++) {
+		// 用迭代器遍历,LinkedList的标签很多时也只遍历一次
+		int count = dataSet.size();
+		int i = 0;
+		for (String label : dataSet) {
 
 			// 依初超始X坐标与标签间距算出当前刻度的X坐标
 			currentX = Math.round(plotArea.getPlotLeft() + (i) * XSteps); // (i
@@ -241,22 +539,28 @@ public class LnChart extends AxisChart {
 																			// 1)
 																			// *
 																			// XSteps);
+			i++;
+			if (dense && i < count) {
+				if (null == label || 0 == label.length() || currentX == lastX)
+					continue;
+				lastX = currentX;
+			}
 
 			// 绘制竖向网格线
 			if (plotGrid.getVerticalLinesVisible()) {
-				if (i > 0 && i + 1 < dataSet.size())
+				if (i > 1 && i < count)
 					plotGrid.renderGridLinesVertical(currentX,
 							plotArea.getPlotBottom(), currentX,
 							plotArea.getPlotTop());
 			}
 
-			if (dataSet.size() == i + 1) {
+			if (count == i) {
 				labelsAxis.renderAxisVerticalTick(plotArea.getPlotRight(),
-						plotArea.getPlotBottom(), dataSet.get(i));
+						plotArea.getPlotBottom(), label);
 			} else {
 				// 画上标签/刻度线
 				labelsAxis.renderAxisVerticalTick(currentX,
-						plotArea.getPlotBottom(), dataSet.get(i));
+						plotArea.getPlotBottom(), label);
 			}
 
 		}
@@ -289,6 +593,8 @@ public class LnChart extends AxisChart {
 	 * @return 显示格式
 	 */
 	protected String getFormatterItemLabel(double value) {
+		if (null == mItemLabelFormatter)
+			return Double.toString(value);
 		String itemLabel = "";
 		try {
 			itemLabel = mItemLabelFormatter.doubleFormatter(value);
@@ -300,6 +606,44 @@ public class LnChart extends AxisChart {
 		return itemLabel;
 	}
 
+	/**
+	 * 设置线上标签的数值格式,格式化结果直接写入复用的缓冲,不生成String。
+	 * 同时设置了setItemLabelFormatter()时以后者为准
+	 * 
+	 * @param callBack
+	 *            回调函数,为null时使用默认格式
+	 */
+	public void setItemLabelNumberFormatter(IFormatterNumberCallBack callBack) {
+		mItemLabel.setCallBack(callBack);
+	}
+
+	/**
+	 * 返回线上标签用的格式化缓冲,用于拼接由多个值组成的标签
+	 * 
+	 * @return 格式化缓冲
+	 */
+	protected NumberFormatter getItemLabelBuffer() {
+		return mItemLabel;
+	}
+
+	/**
+	 * 在(x,y)处绘制线上的标签
+	 * 
+	 * @param value
+	 * @param x
+	 * @param y
+	 * @param paint
+	 */
+	protected void renderItemLabel(double value, float x, float y, ChartPaint paint) {
+		if (null != mItemLabelFormatter) {
+			mItemLabel.begin().append(getFormatterItemLabel(value)).end();
+		} else {
+			mItemLabel.format(value);
+		}
+		mCanvas.drawText(mItemLabel.getChars(), 0, mItemLabel.getLength(), x,
+				y, paint);
+	}
+
 	/**
 	 * 绘制线上的坐标点
 	 * 
@@ -311,7 +655,7 @@ public class LnChart extends AxisChart {
 	 * @param paint
 	 */
 	protected void renderDot(PlotDot pDot, float left, float top, float right,
-			float bottom, Paint paint) {
+			float bottom, ChartPaint paint) {
 
 		float radius = pDot.getDotRadius();
 		float halfRadius = radius / 2;
@@ -326,31 +670,28 @@ public class LnChart extends AxisChart {
 			this.mCanvas.drawCircle(left + Math.abs(right - left), bottom,
 					radius, paint);
 
-			Paint paintfill = new Paint();
-			paintfill.setColor(Color.WHITE);
-			paintfill.setStyle(Style.FILL);
 			this.mCanvas.drawCircle(left + Math.abs(right - left), bottom,
-					ringRadius, paintfill);
+					ringRadius, mPaintRingFill);
 
 			break;
 		case TRIGANALE: // 等腰三角形
 			float triganaleHeight = radius + radius / 2;
-			Path path = new Path();
-			path.moveTo(right - radius, bottom + halfRadius);
-			path.lineTo(right, bottom - triganaleHeight);
-			path.lineTo(right + radius, bottom + halfRadius);
-			path.close();
-			mCanvas.drawPath(path, paint);
+			mPathDot.reset();
+			mPathDot.moveTo(right - radius, bottom + halfRadius);
+			mPathDot.lineTo(right, bottom - triganaleHeight);
+			mPathDot.lineTo(right + radius, bottom + halfRadius);
+			mPathDot.close();
+			mCanvas.drawPath(mPathDot, paint);
 			break;
 		// Prismatic
 		case PRISMATIC: // 棱形 Prismatic
-			Path pathPir = new Path();
-			pathPir.moveTo(right - radius, bottom);
-			pathPir.lineTo(right, bottom - radius);
-			pathPir.lineTo(right + radius, bottom);
-			pathPir.lineTo(left + (right - left), bottom + radius);
-			pathPir.close();
-			mCanvas.drawPath(pathPir, paint);
+			mPathDot.reset();
+			mPathDot.moveTo(right - radius, bottom);
+			mPathDot.lineTo(right, bottom - radius);
+			mPathDot.lineTo(right + radius, bottom);
+			mPathDot.lineTo(left + (right - left), bottom + radius);
+			mPathDot.close();
+			mCanvas.drawPath(mPathDot, paint);
 			break;
 		case RECT:
 			paint.setStyle(Style.FILL);
@@ -362,6 +703,18 @@ public class LnChart extends AxisChart {
 		}
 	}
 
+	/**
+	 * 在(x,y)处绘制线上的坐标点
+	 * 
+	 * @param pDot
+	 * @param x
+	 * @param y
+	 * @param paint
+	 */
+	protected void renderDot(PlotDot pDot, float x, float y, ChartPaint paint) {
+		renderDot(pDot, x, y, x, y, paint);
+	}
+
 	/**
 	 * 绘制Key
 	 * 
@@ -371,7 +724,7 @@ public class LnChart extends AxisChart {
 		if (getPlotKeyVisible() == false)
 			return;
 
-		DrawHelper dw = new DrawHelper();
+		DrawHelper dw = mDrawHelper;
 		float textHeight = dw.getPaintFontHeight(this.mPaintKey);
 		float rectWidth = 2 * textHeight;
 		float currentX = 0.0f;
@@ -382,7 +735,9 @@ public class LnChart extends AxisChart {
 		currentY = plotArea.getPlotTop() - 5;
 
 		int totalTextWidth = 0;
-		for (LnData cData : dataSet) {
+		// 不用迭代器,避免每次绘制都生成对象
+		for (int i = 0; i < dataSet.size(); i++) {
+			LnData cData = dataSet.get(i);
 			mPaintKey.setColor(cData.getLineColor());
 
 			// 竖屏
@@ -409,7 +764,7 @@ public class LnChart extends AxisChart {
 			if (!pLine.getDotStyle().equals(XEnum.DotStyle.HIDE)) {
 				PlotDot pDot = pLine.getPlotDot();
 				renderDot(pDot, dotLeft, currentY, dotRight, currentY
-						- textHeight / 2, pLine.getPlotDotPaint()); // 标识图形
+						- textHeight / 2, pLine.getPlotDotChartPaint()); // 标识图形
 			}
 
 			currentX += rectWidth + keyTextWidth + 10;
@@ -0,0 +1,320 @@
+/**
+ * Copyright 2014  XCL-Charts
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 	
+ * @Project XCL-Charts 
+ * @Description Android图表基类库
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ * @license http://www.apache.org/licenses/  Apache v2 License
+ * @version v0.1
+ */
+package org.xclcharts.renderer;
+
+import org.xclcharts.chart.series.DoubleSeries;
+import org.xclcharts.chart.series.IDataSeries;
+import org.xclcharts.chart.series.IXYSeries;
+import org.xclcharts.chart.series.MappedDoubleSeries;
+import org.xclcharts.chart.series.MappedXYSeries;
+import org.xclcharts.chart.series.RingSeries;
+
+/**
+ * @ClassName SeriesBounds
+ * @Description  数据序列的范围(外接矩形),用来跳过完全落在绘图区外的序列。
+ * 				  数据版本不变时直接复用,DoubleSeries只追加数据时只计算新增的部分,
+ * 				  RingSeries用单调队列维护窗口内的最小最大值,每次追加均摊O(1)。
+ * 				  映射到文件的序列不扫描y值,以免把整个文件调入内存,y范围视为无限
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ *  * MODIFIED    YYYY-MM-DD   REASON
+ */
+
+public class SeriesBounds {
+
+	//上次计算的序列,换了序列时重新计算
+	private Object mSeries = null;
+	private long mVersion = -1;
+	private long mRewriteVersion = -1;
+	//RingSeries已计入的累计追加个数
+	private long mAppendCount = 0;
+	//RingSeries窗口内的最小值与最大值候选
+	private WindowExtremes mRingMin = null;
+	private WindowExtremes mRingMax = null;
+	//已计算的点数
+	private int mCount = 0;
+
+	private double mMinX = 0d;
+	private double mMaxX = 0d;
+	private double mMinY = 0d;
+	private double mMaxY = 0d;
+
+	public SeriesBounds()
+	{
+	}
+
+	/**
+	 * 按数据序列更新范围,x取下标
+	 * @param series 数据序列
+	 */
+	public void update(IDataSeries series)
+	{
+		long version = series.getVersion();
+		if(series == mSeries && version == mVersion) return;
+		if(series != mSeries) reset(series);
+
+		if(series instanceof RingSeries)
+		{
+			updateRing((RingSeries)series);
+			mVersion = version;
+			return;
+		}
+
+		int size = series.size();
+		int from = 0;
+		if(series instanceof DoubleSeries)
+		{
+			long rewrite = ((DoubleSeries)series).getRewriteVersion();
+			if(rewrite == mRewriteVersion && size >= mCount) from = mCount;
+			mRewriteVersion = rewrite;
+		}
+		if(series instanceof MappedDoubleSeries)
+		{
+			mMinY = Double.NEGATIVE_INFINITY;
+			mMaxY = Double.POSITIVE_INFINITY;
+		}else{
+			if(0 == from)
+			{
+				mMinY = Double.POSITIVE_INFINITY;
+				mMaxY = Double.NEGATIVE_INFINITY;
+			}
+			for(int i=from;i<size;i++)
+			{
+				double v = series.get(i);
+				if(v < mMinY) mMinY = v;
+				if(v > mMaxY) mMaxY = v;
+			}
+		}
+		mMinX = 0;
+		mMaxX = size - 1;
+		mCount = size;
+		mVersion = version;
+	}
+
+	/**
+	 * 按x有序的数据序列更新范围
+	 * @param series 数据序列
+	 */
+	public void update(IXYSeries series)
+	{
+		long version = series.getVersion();
+		if(series == mSeries && version == mVersion) return;
+		if(series != mSeries) reset(series);
+
+		int size = series.size();
+		if(series instanceof MappedXYSeries)
+		{
+			mMinY = Double.NEGATIVE_INFINITY;
+			mMaxY = Double.POSITIVE_INFINITY;
+		}else{
+			mMinY = Double.POSITIVE_INFINITY;
+			mMaxY = Double.NEGATIVE_INFINITY;
+			for(int i=0;i<size;i++)
+			{
+				double v = series.getY(i);
+				if(v < mMinY) mMinY = v;
+				if(v > mMaxY) mMaxY = v;
+			}
+		}
+		mMinX = size > 0 ? series.getX(0) : 0d;
+		mMaxX = size > 0 ? series.getX(size - 1) : -1d;
+		mCount = size;
+		mVersion = version;
+	}
+
+	private void reset(Object series)
+	{
+		mSeries = series;
+		mVersion = -1;
+		mRewriteVersion = -1;
+		mCount = 0;
+		mAppendCount = 0;
+		if(null != mRingMin)
+		{
+			mRingMin.clear();
+			mRingMax.clear();
+		}
+	}
+
+	/**
+	 * 只把上次之后追加的值放入队列,再去掉已移出窗口的值。
+	 * 按累计追加的序号计算,clear()之后旧的序号都在窗口之前,会被一起去掉
+	 */
+	private void updateRing(RingSeries series)
+	{
+		if(null == mRingMin)
+		{
+			mRingMin = new WindowExtremes(true);
+			mRingMax = new WindowExtremes(false);
+		}
+		int size = series.size();
+		long appendCount = series.getAppendCount();
+		long start = appendCount - size;
+		for(long seq = Math.max(mAppendCount, start); seq < appendCount; seq++)
+		{
+			double v = series.get((int)(seq - start));
+			//与全量扫描一样不计NaN
+			if(Double.isNaN(v)) continue;
+			mRingMin.push(seq, v);
+			mRingMax.push(seq, v);
+		}
+		mRingMin.expire(start);
+		mRingMax.expire(start);
+		mAppendCount = appendCount;
+
+		mMinY = mRingMin.isEmpty() ? Double.POSITIVE_INFINITY : mRingMin.first();
+		mMaxY = mRingMax.isEmpty() ? Double.NEGATIVE_INFINITY : mRingMax.first();
+		mMinX = 0;
+		mMaxX = size - 1;
+		mCount = size;
+	}
+
+	/**
+	 * 范围是否与给定的矩形相交
+	 * @param minX x最小值
+	 * @param maxX x最大值
+	 * @param minY y最小值
+	 * @param maxY y最大值
+	 * @return 是否相交
+	 */
+	public boolean intersects(double minX,double maxX,double minY,double maxY)
+	{
+		if(0 == mCount) return false;
+		return mMaxX >= minX && mMinX <= maxX && mMaxY >= minY && mMinY <= maxY;
+	}
+
+	/**
+	 * 返回x的最小值
+	 * @return x的最小值
+	 */
+	public double getMinX()
+	{
+		return mMinX;
+	}
+
+	/**
+	 * 返回x的最大值
+	 * @return x的最大值
+	 */
+	public double getMaxX()
+	{
+		return mMaxX;
+	}
+
+	/**
+	 * 返回y的最小值
+	 * @return y的最小值
+	 */
+	public double getMinY()
+	{
+		return mMinY;
+	}
+
+	/**
+	 * 返回y的最大值
+	 * @return y的最大值
+	 */
+	public double getMaxY()
+	{
+		return mMaxY;
+	}
+
+	/**
+	 * 滑动窗口的最小值(或最大值)单调队列,按序号递增存放,值单调递增(或递减),
+	 * 队首即窗口内的最小(或最大)值。数组按需加倍,随机数据时只有很少几个元素
+	 */
+	private static class WindowExtremes {
+		private final boolean mMin;
+		private long[] mSeqs = new long[16];
+		private double[] mValues = new double[16];
+		private int mHead = 0;
+		private int mSize = 0;
+
+		WindowExtremes(boolean min)
+		{
+			mMin = min;
+		}
+
+		void clear()
+		{
+			mHead = 0;
+			mSize = 0;
+		}
+
+		boolean isEmpty()
+		{
+			return 0 == mSize;
+		}
+
+		double first()
+		{
+			return mValues[mHead];
+		}
+
+		void push(long seq,double value)
+		{
+			//去掉队尾不可能再成为最值的元素
+			while(mSize > 0)
+			{
+				double last = mValues[index(mSize - 1)];
+				if(mMin ? last < value : last > value) break;
+				mSize--;
+			}
+			if(mSize == mSeqs.length) grow();
+			int i = index(mSize);
+			mSeqs[i] = seq;
+			mValues[i] = value;
+			mSize++;
+		}
+
+		//去掉序号小于start,即已移出窗口的元素
+		void expire(long start)
+		{
+			while(mSize > 0 && mSeqs[mHead] < start)
+			{
+				mHead = index(1);
+				mSize--;
+			}
+		}
+
+		private int index(int offset)
+		{
+			int i = mHead + offset;
+			return i >= mSeqs.length ? i - mSeqs.length : i;
+		}
+
+		private void grow()
+		{
+			int length = mSeqs.length;
+			long[] seqs = new long[length * 2];
+			double[] values = new double[length * 2];
+			int first = length - mHead;
+			System.arraycopy(mSeqs, mHead, seqs, 0, first);
+			System.arraycopy(mSeqs, 0, seqs, first, mHead);
+			System.arraycopy(mValues, mHead, values, 0, first);
+			System.arraycopy(mValues, 0, values, first, mHead);
+			mSeqs = seqs;
+			mValues = values;
+			mHead = 0;
+		}
+	}
+
+}
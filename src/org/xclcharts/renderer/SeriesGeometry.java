@@ -0,0 +1,170 @@
+/**
+ * Copyright 2014  XCL-Charts
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 	
+ * @Project XCL-Charts 
+ * @Description Android图表基类库
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ * @license http://www.apache.org/licenses/  Apache v2 License
+ * @version v0.1
+ */
+package org.xclcharts.renderer;
+
+/**
+ * @ClassName SeriesGeometry
+ * @Description  缓存一个数据序列换算后的屏幕坐标。
+ * 				  记下计算时数据的版本和绘图区的版本,两者都没变时直接复用,
+ * 				  数组只在点数增多时才重新分配
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ *  * MODIFIED    YYYY-MM-DD   REASON
+ */
+
+public class SeriesGeometry {
+
+	//计算时数据的版本
+	private long mDataVersion = -1;
+	//计算时绘图区的版本
+	private long mViewportVersion = -1;
+
+	//x,y交替存放的坐标
+	private float[] mPoints = new float[0];
+	//每个点对应的数据下标
+	private int[] mIndexes = new int[0];
+	//点的个数
+	private int mCount = 0;
+	//数据序列的范围
+	private final SeriesBounds mBounds = new SeriesBounds();
+
+	public SeriesGeometry()
+	{
+	}
+
+	/**
+	 * 缓存的坐标是否还能使用
+	 * @param dataVersion	   数据的版本
+	 * @param viewportVersion 绘图区的版本
+	 * @return 是否有效
+	 */
+	public boolean isValid(long dataVersion,long viewportVersion)
+	{
+		return mDataVersion == dataVersion && mViewportVersion == viewportVersion;
+	}
+
+	/**
+	 * 开始重新计算,清空旧的点并确保有足够的空间
+	 * @param capacity 最多的点数
+	 */
+	public void reset(int capacity)
+	{
+		if(mIndexes.length < capacity)
+		{
+			mPoints = new float[capacity * 2];
+			mIndexes = new int[capacity];
+		}
+		mCount = 0;
+		mDataVersion = -1;
+		mViewportVersion = -1;
+	}
+
+	/**
+	 * 加入一个点
+	 * @param x		屏幕x坐标
+	 * @param y		屏幕y坐标
+	 * @param index 对应的数据下标
+	 */
+	public void add(float x,float y,int index)
+	{
+		mPoints[mCount * 2] = x;
+		mPoints[mCount * 2 + 1] = y;
+		mIndexes[mCount] = index;
+		mCount++;
+	}
+
+	/**
+	 * 计算完成,记下此时的版本
+	 * @param dataVersion	   数据的版本
+	 * @param viewportVersion 绘图区的版本
+	 */
+	public void commit(long dataVersion,long viewportVersion)
+	{
+		mDataVersion = dataVersion;
+		mViewportVersion = viewportVersion;
+	}
+
+	/**
+	 * 标记为无效,下次绘制时重新计算
+	 */
+	public void invalidate()
+	{
+		mDataVersion = -1;
+	}
+
+	/**
+	 * 返回数据序列的范围,使用前需按数据序列调用update()
+	 * @return 范围
+	 */
+	public SeriesBounds getBounds()
+	{
+		return mBounds;
+	}
+
+	/**
+	 * 返回点的个数
+	 * @return 点数
+	 */
+	public int getCount()
+	{
+		return mCount;
+	}
+
+	/**
+	 * 返回第index个点的x坐标
+	 * @param index 点的序号
+	 * @return x坐标
+	 */
+	public float getX(int index)
+	{
+		return mPoints[index * 2];
+	}
+
+	/**
+	 * 返回第index个点的y坐标
+	 * @param index 点的序号
+	 * @return y坐标
+	 */
+	public float getY(int index)
+	{
+		return mPoints[index * 2 + 1];
+	}
+
+	/**
+	 * 返回第index个点对应的数据下标
+	 * @param index 点的序号
+	 * @return 数据下标
+	 */
+	public int getDataIndex(int index)
+	{
+		return mIndexes[index];
+	}
+
+	/**
+	 * 返回x,y交替存放的坐标数组,只读,有效长度为getCount() * 2
+	 * @return 坐标数组
+	 */
+	public float[] getPoints()
+	{
+		return mPoints;
+	}
+
+}
@@ -30,22 +30,31 @@ package org.xclcharts.renderer;
  */
 
 import org.xclcharts.chart.common.DrawHelper;
+import org.xclcharts.renderer.canvas.AndroidChartCanvas;
+import org.xclcharts.renderer.canvas.DisplayList;
+import org.xclcharts.renderer.canvas.IChartCanvas;
+import org.xclcharts.renderer.canvas.RecordingChartCanvas;
 import org.xclcharts.renderer.plot.PlotArea;
 import org.xclcharts.renderer.plot.PlotAreaRender;
 import org.xclcharts.renderer.plot.PlotGrid;
 import org.xclcharts.renderer.plot.PlotGridRender;
 import org.xclcharts.renderer.plot.PlotTitle;
 import org.xclcharts.renderer.plot.PlotTitleRender;
+import org.xclcharts.renderer.canvas.ChartPaint.Style;
+import org.xclcharts.renderer.canvas.ChartColor;
+import org.xclcharts.renderer.canvas.ChartPaint;
+import org.xclcharts.renderer.canvas.AndroidPaint;
 
 import android.graphics.Canvas;
-import android.graphics.Color;
 import android.graphics.Paint;
-import android.graphics.Paint.Style;
+import android.os.Debug;
 
 public class XChart implements IRender {
 
 	// 画布
-	protected Canvas mCanvas = null;
+	protected IChartCanvas mCanvas = null;
+	// 用Canvas绘制时的包装,重复使用
+	private AndroidChartCanvas mAndroidCanvas = null;
 	// 开放主图表区
 	protected PlotAreaRender plotArea = null;
 	// 开放主图表区网格
@@ -67,9 +76,25 @@ public class XChart implements IRender {
 	private float mPaddingPercentLeft = 0f;
 	private float mPaddingPercentRight = 0f;
 	// 图表背景色
-	private Paint mChartBackgroundPaint = null;
+	private ChartPaint mChartBackgroundPaint = null;
 	// 是否画背景色
 	private boolean mBackgroupColorVisible = false;
+	// 绘制时共用的小函数,不用每次绘制都新建
+	protected final DrawHelper mDrawHelper = new DrawHelper();
+	// 是否统计每次绘制分配的对象数,只用于调试
+	private boolean mAllocCounting = false;
+	// 上次绘制分配的对象个数和字节数
+	private int mLastAllocCount = -1;
+	private int mLastAllocSize = -1;
+	// 录下的绘制命令,不为null时回放而不是重新绘制
+	private DisplayList mDisplayList = null;
+	private RecordingChartCanvas mRecorder = null;
+	// 录下的内容是否还能使用
+	private boolean mDisplayListValid = false;
+	// 录制时的图范围与画布大小,变化时重新录制
+	private final float[] mDisplayListStamp = new float[6];
+	// 录制时数据的标记,数据变化时重新录制
+	private long mDisplayListDataStamp = 0;
 
 	public XChart() {
 		initChart();
@@ -88,9 +113,9 @@ public class XChart implements IRender {
 
 	private void initPaint() {
 		// 背景画笔
-		mChartBackgroundPaint = new Paint();
+		mChartBackgroundPaint = new ChartPaint();
 		mChartBackgroundPaint.setStyle(Style.FILL);
-		mChartBackgroundPaint.setColor(Color.WHITE);
+		mChartBackgroundPaint.setColor(ChartColor.WHITE);
 	}
 
 	// 图的内边距属性
@@ -212,10 +237,20 @@ public class XChart implements IRender {
 
 	/**
 	 * 开放背景画笔
-	 * 
+	 * 返回对应的Android画笔,在上面的修改同时改到图表的画笔上,只能在Android上使用,
+	 * 其他平台用getChartBackgroundChartPaint()
 	 * @return 画笔
 	 */
 	public Paint getChartBackgroundPaint() {
+		return AndroidPaint.of(getChartBackgroundChartPaint());
+	}
+	
+	/**
+	 * 开放背景画笔
+	 * 
+	 * @return 画笔
+	 */
+	public ChartPaint getChartBackgroundChartPaint() {
 		return mChartBackgroundPaint;
 	}
 
@@ -351,8 +386,8 @@ public class XChart implements IRender {
 	 */
 	public void setBackgroupColor(boolean visible, int color) {
 		mBackgroupColorVisible = visible;
-		getChartBackgroundPaint().setColor(color);
-		getPlotArea().getBackgroundPaint().setColor(color);
+		getChartBackgroundChartPaint().setColor(color);
+		getPlotArea().getBackgroundChartPaint().setColor(color);
 	}
 
 	/**
@@ -368,7 +403,7 @@ public class XChart implements IRender {
 	 * 计算图的显示范围
 	 */
 	protected void calcPlotRange() {
-		DrawHelper dw = new DrawHelper();
+		DrawHelper dw = mDrawHelper;
 
 		// 图的内边距属性，默认按竖屏算
 		float perLeft = mPaddingPercentLeft;
@@ -397,11 +432,11 @@ public class XChart implements IRender {
 		float subtitleHeight = 0.0f;
 		// float titlePercentage = 0.0f;
 		if (plotTitle.getChartTitle().length() > 0) {
-			titleHeight = dw.getPaintFontHeight(plotTitle.getChartTitlePaint());
+			titleHeight = dw.getPaintFontHeight(plotTitle.getChartTitleChartPaint());
 		}
 		if (plotTitle.getChartSubTitle().length() > 0) {
 			subtitleHeight = dw.getPaintFontHeight(plotTitle
-					.getChartTitlePaint());
+					.getChartTitleChartPaint());
 		}
 		rederTop = Math.round(this.mChartHeight / 100 * perTop);
 
@@ -427,20 +462,238 @@ public class XChart implements IRender {
 	}
 
 	/**
-	 * 返回当前画布
+	 * 返回当前画布背后的Canvas,不是画在Canvas上时返回null
 	 * 
 	 * @return 画布
 	 */
 	public Canvas getCanvas() {
+		return AndroidChartCanvas.unwrap(this.mCanvas);
+	}
+
+	/**
+	 * 返回当前的图表画布
+	 * 
+	 * @return 画布
+	 */
+	public IChartCanvas getChartCanvas() {
 		return this.mCanvas;
 	}
 
+	/**
+	 * 设置画在Android的Canvas上
+	 * 
+	 * @param canvas
+	 *            画布
+	 */
 	@Override
 	public void setCanvas(Canvas canvas) {
+		if (null == canvas) {
+			mCanvas = null;
+			return;
+		}
+		if (null == mAndroidCanvas)
+			mAndroidCanvas = new AndroidChartCanvas();
+		mAndroidCanvas.setCanvas(canvas);
+		mCanvas = mAndroidCanvas;
+	}
+
+	@Override
+	public void setCanvas(IChartCanvas canvas) {
 		// TODO Auto-generated method stub
 		mCanvas = canvas;
 	}
 
+	/**
+	 * 设置是否统计每次绘制分配的对象,只用于调试。
+	 * 打开后用render(Canvas)绘制,再由getLastAllocCount()取得结果,
+	 * 稳定绘制时应为0。统计依赖android.os.Debug,会拖慢绘制,发布时不要打开
+	 * 
+	 * @param counting 是否统计
+	 */
+	public void setAllocCounting(boolean counting) {
+		mAllocCounting = counting;
+	}
+
+	/**
+	 * 返回上次render(Canvas)中当前线程分配的对象个数,没有统计时为-1
+	 * 
+	 * @return 对象个数
+	 */
+	public int getLastAllocCount() {
+		return mLastAllocCount;
+	}
+
+	/**
+	 * 返回上次render(Canvas)中当前线程分配的字节数,没有统计时为-1
+	 * 
+	 * @return 字节数
+	 */
+	public int getLastAllocSize() {
+		return mLastAllocSize;
+	}
+
+	/**
+	 * 在指定画布上绘制图表,打开了setAllocCounting()时同时统计分配的对象
+	 * 
+	 * @param canvas
+	 *            画布
+	 * @return 是否绘制成功
+	 * @throws Exception
+	 */
+	public boolean render(Canvas canvas) throws Exception {
+		setCanvas(canvas);
+		return render(mCanvas);
+	}
+
+	/**
+	 * 在指定的图表画布上绘制图表,可以是Android以外的画布实现
+	 * 
+	 * @param canvas
+	 *            画布
+	 * @return 是否绘制成功
+	 * @throws Exception
+	 */
+	public boolean render(IChartCanvas canvas) throws Exception {
+		setCanvas(canvas);
+		if (!mAllocCounting) {
+			mLastAllocCount = -1;
+			mLastAllocSize = -1;
+			return renderPass();
+		}
+
+		Debug.resetThreadAllocCount();
+		Debug.resetThreadAllocSize();
+		Debug.startAllocCounting();
+		try {
+			return renderPass();
+		} finally {
+			Debug.stopAllocCounting();
+			mLastAllocCount = Debug.getThreadAllocCount();
+			mLastAllocSize = Debug.getThreadAllocSize();
+		}
+	}
+
+	/**
+	 * 设置是否录下绘制命令。打开后第一次绘制时把命令录到DisplayList中再回放,
+	 * 之后只回放,不再计算布局,坐标与标签,直到图范围,画布大小或数据序列的版本变化,
+	 * 或调用了invalidateDisplayList()。修改画笔,轴等属性后要调用invalidateDisplayList()。
+	 * 录制时不使用分层绘制与表盘缓存
+	 * 
+	 * @param enabled 是否录制
+	 */
+	public void setDisplayListEnabled(boolean enabled) {
+		if (enabled) {
+			if (null == mDisplayList) {
+				mDisplayList = new DisplayList();
+				mRecorder = new RecordingChartCanvas();
+				mDisplayListValid = false;
+			}
+		} else {
+			mDisplayList = null;
+			mRecorder = null;
+			mDisplayListValid = false;
+		}
+	}
+
+	/**
+	 * 是否录下绘制命令
+	 * 
+	 * @return 是否录制
+	 */
+	public boolean getDisplayListEnabled() {
+		return null != mDisplayList;
+	}
+
+	/**
+	 * 使录下的绘制命令失效,下次绘制时重新录制
+	 */
+	public void invalidateDisplayList() {
+		mDisplayListValid = false;
+	}
+
+	/**
+	 * 返回录下的绘制命令,可在别的画布或线程上回放,也可缩放后回放。
+	 * 没有打开录制或还没录过时返回null
+	 * 
+	 * @return 绘制命令
+	 */
+	public DisplayList getDisplayList() {
+		return mDisplayListValid ? mDisplayList : null;
+	}
+
+	/**
+	 * 返回图表数据的标记,数据序列增删,替换或版本变化时应随之变化,
+	 * 录下的绘制命令与分层绘制的图层据此判断是否要重画。默认返回0
+	 * 
+	 * @return 标记
+	 */
+	protected long getDataStamp() {
+		return 0;
+	}
+
+	/**
+	 * 把一个数据序列与它的版本合入标记中
+	 * 
+	 * @param stamp
+	 *            标记
+	 * @param series
+	 *            数据序列
+	 * @param version
+	 *            版本
+	 * @return 新的标记
+	 */
+	protected static long stampSeries(long stamp, Object series, long version) {
+		stamp = stamp * 31 + System.identityHashCode(series);
+		return stamp * 31 + version;
+	}
+
+	/**
+	 * 绘制一次,录制时先录下再回放到当前画布上
+	 * 
+	 * @return 是否绘制成功
+	 * @throws Exception
+	 */
+	private boolean renderPass() throws Exception {
+		IChartCanvas canvas = mCanvas;
+		if (null == mDisplayList || null == canvas)
+			return render();
+
+		int width = canvas.getWidth();
+		int height = canvas.getHeight();
+		float[] stamp = mDisplayListStamp;
+		long dataStamp = getDataStamp();
+		if (dataStamp != mDisplayListDataStamp) {
+			mDisplayListDataStamp = dataStamp;
+			mDisplayListValid = false;
+		}
+		if (stamp[0] != mChartLeft || stamp[1] != mChartTop
+				|| stamp[2] != mChartRight || stamp[3] != mChartBottom
+				|| stamp[4] != width || stamp[5] != height) {
+			stamp[0] = mChartLeft;
+			stamp[1] = mChartTop;
+			stamp[2] = mChartRight;
+			stamp[3] = mChartBottom;
+			stamp[4] = width;
+			stamp[5] = height;
+			mDisplayListValid = false;
+		}
+
+		if (!mDisplayListValid) {
+			mRecorder.beginRecording(mDisplayList, width, height);
+			setCanvas(mRecorder);
+			try {
+				if (!render())
+					return false;
+			} finally {
+				mRecorder.endRecording();
+				setCanvas(canvas);
+			}
+			mDisplayListValid = true;
+		}
+		mDisplayList.replay(canvas);
+		return true;
+	}
+
 	@Override
 	public boolean render() throws Exception {
 		// TODO Auto-generated method stubcalcPlotRange
@@ -186,4 +186,29 @@ public class XEnum {
 			LEFT, RIGHT
 		}
 		
+		
+		/**
+		 * 线图数据量远大于绘图区宽度时的降采样方式
+		 * @author XCL
+		 * @param NONE	不降采样,每个点都画
+		 * @param LTTB	Largest-Triangle-Three-Buckets,保留线的形状
+		 * @param M4	每个像素列保留首,尾,最小,最大四个点,与画出所有点的结果一致
+		 * @param PYRAMID	预先按2的幂次分级汇总,取桶宽最接近一个像素的那一级,适合反复缩放的大数据量
+		 */
+		public enum Decimation {  
+			NONE, LTTB, M4, PYRAMID
+		}
+		
+		
+		/**
+		 * 分层绘制时的图层,按顺序叠加
+		 * @author XCL
+		 * @param STATIC	背景,绘图区,网格,坐标轴,标题与图例,很少变化
+		 * @param DATA		各数据序列及其标签
+		 * @param OVERLAY	画在数据之上的轴线和数据集说明
+		 */
+		public enum ChartLayer {  
+			STATIC, DATA, OVERLAY
+		}
+		
 }
@@ -23,10 +23,12 @@
 package org.xclcharts.renderer.axis;
 
 import org.xclcharts.renderer.XEnum;
+import org.xclcharts.renderer.canvas.ChartPaint.Align;
+import org.xclcharts.renderer.canvas.ChartColor;
+import org.xclcharts.renderer.canvas.ChartPaint;
+import org.xclcharts.renderer.canvas.AndroidPaint;
 
-import android.graphics.Color;
 import android.graphics.Paint;
-import android.graphics.Paint.Align;
 
 
 /**
@@ -37,14 +39,14 @@ import android.graphics.Paint.Align;
 public class Axis {
 	
 	//轴线画笔
-	private Paint mPaintAxis = null;
+	private ChartPaint mPaintAxis = null;
 	
 	//是否显示轴线
 	private boolean mAxisLineVisible = true;	
 	
 	 //数据轴刻度线与边上的标注画笔
-	private Paint mPaintAxisTickMarks = null;
-	private Paint mPaintAxisTickLabels = null;	 
+	private ChartPaint mPaintAxisTickMarks = null;
+	private ChartPaint mPaintAxisTickLabels = null;	 
 	 
 	//数据轴刻度线与边上的标注是否显示
 	private boolean mAxisTickMarksVisible = true;
@@ -81,17 +83,17 @@ public class Axis {
 	
 	private void initPaint()
 	{
-		mPaintAxis = new Paint();
-		mPaintAxisTickMarks = new Paint();
-		mPaintAxisTickLabels = new Paint();		
+		mPaintAxis = new ChartPaint();
+		mPaintAxisTickMarks = new ChartPaint();
+		mPaintAxisTickLabels = new ChartPaint();		
 		
-		mPaintAxis.setColor(Color.BLACK);		
+		mPaintAxis.setColor(ChartColor.BLACK);		
 		mPaintAxis.setStrokeWidth(mAxisLineWidth);
 		
-		mPaintAxisTickMarks.setColor(Color.BLACK);	
+		mPaintAxisTickMarks.setColor(ChartColor.BLACK);	
 		mPaintAxisTickMarks.setStrokeWidth(3);
 		
-		mPaintAxisTickLabels.setColor(Color.BLACK);	
+		mPaintAxisTickLabels.setColor(ChartColor.BLACK);	
 		mPaintAxisTickLabels.setTextAlign(Align.RIGHT);
 		mPaintAxisTickLabels.setTextSize(18);
 		mPaintAxisTickLabels.setAntiAlias(true);
@@ -137,25 +139,55 @@ public class Axis {
 	
 	/**
 	 * 开放轴线画笔
+	 * 返回对应的Android画笔,在上面的修改同时改到图表的画笔上,只能在Android上使用,
+	 * 其他平台用getAxisChartPaint()
 	 * @return 画笔
 	 */
 	public Paint getAxisPaint() {
+		return AndroidPaint.of(getAxisChartPaint());
+	}
+	
+	/**
+	 * 开放轴线画笔
+	 * @return 画笔
+	 */
+	public ChartPaint getAxisChartPaint() {
 		return mPaintAxis;
 	}
 	
 	/**
 	 * 开放轴刻度线画笔
+	 * 返回对应的Android画笔,在上面的修改同时改到图表的画笔上,只能在Android上使用,
+	 * 其他平台用getAxisTickMarksChartPaint()
 	 * @return 画笔
 	 */
 	public Paint getAxisTickMarksPaint() {
+		return AndroidPaint.of(getAxisTickMarksChartPaint());
+	}
+	
+	/**
+	 * 开放轴刻度线画笔
+	 * @return 画笔
+	 */
+	public ChartPaint getAxisTickMarksChartPaint() {
 		return mPaintAxisTickMarks;
 	}
 
 	/**
 	 * 开放轴标签画笔
+	 * 返回对应的Android画笔,在上面的修改同时改到图表的画笔上,只能在Android上使用,
+	 * 其他平台用getAxisTickLabelsChartPaint()
 	 * @return	画笔
 	 */
 	public Paint getAxisTickLabelsPaint() {
+		return AndroidPaint.of(getAxisTickLabelsChartPaint());
+	}
+	
+	/**
+	 * 开放轴标签画笔
+	 * @return	画笔
+	 */
+	public ChartPaint getAxisTickLabelsChartPaint() {
 		return mPaintAxisTickLabels;
 	}
 
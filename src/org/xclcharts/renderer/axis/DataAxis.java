@@ -22,6 +22,12 @@
 
 package org.xclcharts.renderer.axis;
 
+import java.util.Arrays;
+
+import org.xclcharts.chart.common.IFormatterNumberCallBack;
+import org.xclcharts.chart.common.IFormatterTextCallBack;
+import org.xclcharts.chart.common.NumberFormatter;
+
 /**
  * @ClassName DataAxis
  * @Description 数据轴(Data Axis)基类，主要用于设置步长及最大，最小值
@@ -35,6 +41,16 @@ public class DataAxis extends XYAxis {
 	 private double mDataAxisMin = 0d;
 	 private double mDataAxisMax = 0d;
 	 private double mDataAxisSteps = 0d;	
+	 
+	 //刻度值转文字
+	 private final NumberFormatter mTickFormatter = new NumberFormatter();
+	 //缓存的刻度标签,轴的范围,步长或格式变化后才重新生成
+	 private String[] mTickLabels = new String[0];
+	 private double mTickMin = Double.NaN;
+	 private double mTickMax = Double.NaN;
+	 private double mTickSteps = Double.NaN;
+	 private IFormatterNumberCallBack mTickNumberFormatter = null;
+	 private IFormatterTextCallBack mTickTextFormatter = null;
 
 	public DataAxis()
 	{
@@ -89,4 +105,51 @@ public class DataAxis extends XYAxis {
 	public double getAxisSteps() {
 		return mDataAxisSteps;
 	}	
+	
+	/**
+	 * 设置刻度值的显示格式,直接对数值格式化,不用再从文本中解析数值。
+	 * 设置了setLabelFormatter()时,其结果还会再经过它转换
+	 * @param callBack 回调函数,为null时使用默认格式
+	 */
+	public void setTickLabelFormatter(IFormatterNumberCallBack callBack) {
+		mTickFormatter.setCallBack(callBack);
+	}
+	
+	/**
+	 * 返回第index个刻度的标签,即 最小值 + index * 步长 格式化后的文本。
+	 * 结果会缓存起来,轴的范围,步长和显示格式都没变时不再生成新的文本
+	 * @param index 刻度序号,0为最小值处
+	 * @return 标签
+	 */
+	public String getTickLabel(int index) {
+		if(Double.compare(mTickMin, mDataAxisMin) != 0
+				|| Double.compare(mTickMax, mDataAxisMax) != 0
+				|| Double.compare(mTickSteps, mDataAxisSteps) != 0
+				|| mTickNumberFormatter != mTickFormatter.getCallBack()
+				|| mTickTextFormatter != getLabelFormatter())
+		{
+			mTickMin = mDataAxisMin;
+			mTickMax = mDataAxisMax;
+			mTickSteps = mDataAxisSteps;
+			mTickNumberFormatter = mTickFormatter.getCallBack();
+			mTickTextFormatter = getLabelFormatter();
+			Arrays.fill(mTickLabels, null);
+		}
+		
+		if(index >= mTickLabels.length)
+		{
+			String[] labels = new String[Math.max(index + 1, mTickLabels.length * 2)];
+			System.arraycopy(mTickLabels, 0, labels, 0, mTickLabels.length);
+			mTickLabels = labels;
+		}
+		
+		String label = mTickLabels[index];
+		if(null == label)
+		{
+			mTickFormatter.format(mDataAxisMin + index * mDataAxisSteps);
+			label = getFormatterLabel(mTickFormatter.toString());
+			mTickLabels[index] = label;
+		}
+		return label;
+	}
 }
@@ -31,9 +31,13 @@ package org.xclcharts.renderer.axis;
  */
 
 import org.xclcharts.renderer.IRender;
+import org.xclcharts.renderer.canvas.AndroidChartCanvas;
+import org.xclcharts.renderer.canvas.IChartCanvas;
+import org.xclcharts.renderer.canvas.ChartPaint;
 
 import android.graphics.Canvas;
 
+
 public class DataAxisRender extends DataAxis implements IRender{
 
 
@@ -71,6 +75,18 @@ public class DataAxisRender extends DataAxis implements IRender{
 		if(getVisible())
 			renderHorizontalTick(centerX,centerY,text);
 	}
+	
+	/**
+	 * 绘制横向刻度标记,标签取缓存的第tickIndex个刻度标签
+	 * @param centerX
+	 * @param centerY
+	 * @param tickIndex 刻度序号
+	 */
+	public 	void renderAxisHorizontalTick(float centerX,float centerY,int tickIndex)
+	{		
+		if(getVisible())
+			renderHorizontalTick(centerX,centerY,getTickLabel(tickIndex),false);
+	}
 
 	/**
 	 * 绘制竖向刻度标记
@@ -84,6 +100,18 @@ public class DataAxisRender extends DataAxis implements IRender{
 			renderVerticalTick(centerX,centerY,text);
 	}
 	
+	/**
+	 * 绘制竖向刻度标记,标签取缓存的第tickIndex个刻度标签
+	 * @param centerX
+	 * @param centerY
+	 * @param tickIndex 刻度序号
+	 */
+	public void renderAxisVerticalTick(float centerX,float centerY,int tickIndex)
+	{
+		if(getVisible())
+			renderVerticalTick(centerX,centerY,getTickLabel(tickIndex),false);
+	}
+	
 	
 	/**
 	 * 绘制轴
@@ -95,11 +123,16 @@ public class DataAxisRender extends DataAxis implements IRender{
 	public void renderAxis(float startX,float startY,float stopX,float stopY)
 	{
 		if(getVisible() && getAxisLineVisible())
-			mCanvas.drawLine(startX, startY, stopX, stopY, this.getAxisPaint());
+			mCanvas.drawLine(startX, startY, stopX, stopY, this.getAxisChartPaint());
 	}	
 	
 	@Override
 	public void setCanvas(Canvas canvas) {
+		mCanvas = null == canvas ? null : new AndroidChartCanvas(canvas);
+	}
+
+	@Override
+	public void setCanvas(IChartCanvas canvas) {
 		// TODO Auto-generated method stub
 		mCanvas = canvas;
 	}
@@ -27,9 +27,12 @@ import java.util.List;
 
 import org.xclcharts.renderer.IRender;
 import org.xclcharts.renderer.XEnum;
+import org.xclcharts.renderer.canvas.AndroidChartCanvas;
+import org.xclcharts.renderer.canvas.IChartCanvas;
+import org.xclcharts.renderer.canvas.ChartPaint.Align;
+import org.xclcharts.renderer.canvas.ChartPaint;
 
 import android.graphics.Canvas;
-import android.graphics.Paint.Align;
 
 /**
  * @ClassName LabelsAxisRender
@@ -44,7 +47,7 @@ public class LabelsAxisRender extends LabelsAxis implements IRender{
 	public LabelsAxisRender()
 	{
 		super();
-		getAxisTickLabelsPaint().setTextAlign(Align.CENTER);		
+		getAxisTickLabelsChartPaint().setTextAlign(Align.CENTER);		
 		setAxisVerticalTickPostion(XEnum.Postion.LOWER);	
 	}
 	
@@ -92,12 +95,17 @@ public class LabelsAxisRender extends LabelsAxis implements IRender{
 	public void renderAxis(float startX,float startY,float stopX,float stopY)
 	{
 		if(getVisible() && getAxisLineVisible())
-			mCanvas.drawLine(startX, startY, stopX, stopY, this.getAxisPaint());
+			mCanvas.drawLine(startX, startY, stopX, stopY, this.getAxisChartPaint());
 	}
 	
 
 	@Override
 	public void setCanvas(Canvas canvas) {
+		mCanvas = null == canvas ? null : new AndroidChartCanvas(canvas);
+	}
+
+	@Override
+	public void setCanvas(IChartCanvas canvas) {
 		// TODO Auto-generated method stub
 		mCanvas = canvas;
 	}
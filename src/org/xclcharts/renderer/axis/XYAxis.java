@@ -25,8 +25,9 @@ import java.util.List;
 
 import org.xclcharts.chart.common.DrawHelper;
 import org.xclcharts.chart.common.IFormatterTextCallBack;
+import org.xclcharts.renderer.canvas.IChartCanvas;
+import org.xclcharts.renderer.canvas.ChartPaint;
 
-import android.graphics.Canvas;
 
 /**
  * @ClassName XYAxis
@@ -37,7 +38,7 @@ import android.graphics.Canvas;
 
 public class XYAxis extends Axis {
 
-	protected Canvas mCanvas = null;
+	protected IChartCanvas mCanvas = null;
 	protected DrawHelper mDrawHelper = null;
 	// 数据集
 	protected List<String> mDataSet = null;
@@ -58,6 +59,29 @@ public class XYAxis extends Axis {
 		this.mLabelFormatter = callBack;
 	}
 
+	/**
+	 * 返回标签的显示格式
+	 * @return 回调函数
+	 */
+	public IFormatterTextCallBack getLabelFormatter() {
+		return mLabelFormatter;
+	}
+
+	/**
+	 * 按设置的显示格式转换标签,没有设置或回调出错时返回原文本
+	 * @param text 标签文本
+	 * @return 转换后的文本
+	 */
+	protected String getFormatterLabel(String text) {
+		if (null == mLabelFormatter)
+			return text;
+		try {
+			return mLabelFormatter.textFormatter(text);
+		} catch (Exception ex) {
+			return text;
+		}
+	}
+
 	/**
 	 * 竖轴坐标标签，依左，中，右，决定标签横向显示在相对中心点的位置
 	 * @param centerX 轴上中点X坐标
@@ -66,6 +90,18 @@ public class XYAxis extends Axis {
 	 */
 	protected void renderHorizontalTick(float centerX, float centerY,
 			String text) {
+		renderHorizontalTick(centerX, centerY, text, true);
+	}
+
+	/**
+	 * 竖轴坐标标签
+	 * @param centerX 轴上中点X坐标
+	 * @param centerY 轴上中点X坐标
+	 * @param text    标签文本
+	 * @param format  是否还要按设置的显示格式转换,已转换过的文本传false
+	 */
+	protected void renderHorizontalTick(float centerX, float centerY,
+			String text, boolean format) {
 		if (false == getVisible())
 			return;
 
@@ -107,8 +143,8 @@ public class XYAxis extends Axis {
 		//横轴竖线
 		if (getAxisTickMarksVisible()) {
 			mCanvas.drawLine(marksStartX, centerY, markeStopX
-					+ this.getAxisPaint().getStrokeWidth() / 2, centerY,
-					getAxisTickMarksPaint());
+					+ this.getAxisChartPaint().getStrokeWidth() / 2, centerY,
+					getAxisTickMarksChartPaint());
 
 		}
 
@@ -116,19 +152,14 @@ public class XYAxis extends Axis {
 		if (getAxisTickLabelsVisible()) {
 
 			// 定制化显示格式
-			String itemLabel = "";
-			try {
-				itemLabel = mLabelFormatter.textFormatter(text);
-			} catch (Exception ex) {
-				itemLabel = text;
-			}
+			String itemLabel = format ? getFormatterLabel(text) : text;
 			
-			float textHeight = this.mDrawHelper.getPaintFontHeight(getAxisTickLabelsPaint());
+			float textHeight = this.mDrawHelper.getPaintFontHeight(getAxisTickLabelsChartPaint());
 			textHeight /=4;
 			
 			mDrawHelper.drawRotateText(itemLabel, lablesStartX, lablesStartY + textHeight,
 					getAxisTickLabelsRotateAgent(), mCanvas,
-					getAxisTickLabelsPaint());
+					getAxisTickLabelsChartPaint());
 		}
 	}
 
@@ -139,6 +170,18 @@ public class XYAxis extends Axis {
 	 * @param text		标签文本
 	 */
 	protected void renderVerticalTick(float centerX, float centerY, String text) {
+		renderVerticalTick(centerX, centerY, text, true);
+	}
+
+	/**
+	 * 横轴坐标标签
+	 * @param centerX	轴上中点X坐标
+	 * @param centerY	轴上中点Y坐标
+	 * @param text		标签文本
+	 * @param format  是否还要按设置的显示格式转换,已转换过的文本传false
+	 */
+	protected void renderVerticalTick(float centerX, float centerY, String text,
+			boolean format) {
 		if (false == getVisible())
 			return;
 
@@ -155,7 +198,7 @@ public class XYAxis extends Axis {
 				lablesStartY = marksStartY
 						- getTickLabelsMargin()
 						- mDrawHelper
-								.getPaintFontHeight(getAxisTickLabelsPaint());
+								.getPaintFontHeight(getAxisTickLabelsChartPaint());
 			}
 			break;
 		}
@@ -175,7 +218,7 @@ public class XYAxis extends Axis {
 				lablesStartY = marksStopY
 						+ getTickLabelsMargin()
 						+ mDrawHelper
-								.getPaintFontHeight(getAxisTickLabelsPaint())
+								.getPaintFontHeight(getAxisTickLabelsChartPaint())
 						/ 3;
 			}
 			break;
@@ -186,24 +229,19 @@ public class XYAxis extends Axis {
 		
 		if (getAxisTickMarksVisible()) {
 			mCanvas.drawLine(centerX, marksStartY
-					- this.getAxisPaint().getStrokeWidth() / 2, centerX,
-					marksStopY, getAxisTickMarksPaint());
+					- this.getAxisChartPaint().getStrokeWidth() / 2, centerX,
+					marksStopY, getAxisTickMarksChartPaint());
 		}
 		
 		
 		if (getAxisTickLabelsVisible()) {
 
 			// 定制化显示格式
-			String itemLabel = "";
-			try {
-				itemLabel = mLabelFormatter.textFormatter(text);
-			} catch (Exception ex) {
-				itemLabel = text;
-			}
+			String itemLabel = format ? getFormatterLabel(text) : text;
 
 			mDrawHelper.drawRotateText(itemLabel, centerX, lablesStartY,
 					getAxisTickLabelsRotateAgent(), mCanvas,
-					getAxisTickLabelsPaint());
+					getAxisTickLabelsChartPaint());
 		}
 		
 		
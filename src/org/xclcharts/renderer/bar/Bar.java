@@ -27,12 +27,14 @@ import java.util.List;
 
 import org.xclcharts.chart.common.DrawHelper;
 import org.xclcharts.renderer.XEnum;
+import org.xclcharts.renderer.canvas.IChartCanvas;
+import org.xclcharts.renderer.canvas.ChartPaint.Align;
+import org.xclcharts.renderer.canvas.ChartPaint.Style;
+import org.xclcharts.renderer.canvas.ChartColor;
+import org.xclcharts.renderer.canvas.ChartPaint;
+import org.xclcharts.renderer.canvas.AndroidPaint;
 
-import android.graphics.Canvas;
-import android.graphics.Color;
 import android.graphics.Paint;
-import android.graphics.Paint.Align;
-import android.graphics.Paint.Style;
 
 /**
  * @ClassName Bar
@@ -47,10 +49,10 @@ public class Bar {
 	private XEnum.Direction mBarDirection = XEnum.Direction.VERTICAL;
 	
 	//柱形画笔
-	protected Paint mPaintBar = null;
+	protected ChartPaint mPaintBar = null;
 	
 	//文字画笔
-	private Paint mPaintItemLabels = new Paint();		
+	private ChartPaint mPaintItemLabels = new ChartPaint();		
 	
 	//柱形顶上文字偏移量
 	private int mItemLabelsOffset = 10;
@@ -58,6 +60,11 @@ public class Bar {
 	private float mItemLabelsRotateAgent = 0.0f;	
 	//是否显示柱形顶上文字标签
 	private boolean mShowItemLabels = false;		
+	//绘制标签用,避免每个标签都新建一次
+	private final DrawHelper mItemLabelsHelper = new DrawHelper();
+	//最近一次计算出的单个柱形的宽度(竖向)或高度(横向)及间距
+	private int mMeasuredBarSize = 0;
+	private int mMeasuredBarInnerMargin = 0;
 	
 	public Bar()
 	{				
@@ -66,13 +73,13 @@ public class Bar {
 	
 	private void initPaint()
 	{
-		mPaintBar  = new Paint();
-		mPaintBar.setColor((int)Color.rgb(252, 210, 9));
+		mPaintBar  = new ChartPaint();
+		mPaintBar.setColor((int)ChartColor.rgb(252, 210, 9));
 		mPaintBar.setStyle(Style.FILL);
 		
 		//柱形顶上的文字标签		
 		mPaintItemLabels.setTextSize(12);
-		mPaintItemLabels.setColor(Color.BLACK);
+		mPaintItemLabels.setColor(ChartColor.BLACK);
 		mPaintItemLabels.setTextAlign(Align.CENTER);
 	}
 		
@@ -94,17 +101,37 @@ public class Bar {
 
 	/**
 	 * 开放柱形画笔
+	 * 返回对应的Android画笔,在上面的修改同时改到图表的画笔上,只能在Android上使用,
+	 * 其他平台用getBarChartPaint()
 	 * @return 画笔
 	 */
 	public Paint getBarPaint() {
+		return AndroidPaint.of(getBarChartPaint());
+	}
+	
+	/**
+	 * 开放柱形画笔
+	 * @return 画笔
+	 */
+	public ChartPaint getBarChartPaint() {
 		return mPaintBar;
 	}
 	
 	/**
 	 * 开放柱形顶部标签画笔
+	 * 返回对应的Android画笔,在上面的修改同时改到图表的画笔上,只能在Android上使用,
+	 * 其他平台用getItemLabelsChartPaint()
 	 * @return 画笔
 	 */
 	public Paint getItemLabelsPaint() {
+		return AndroidPaint.of(getItemLabelsChartPaint());
+	}
+	
+	/**
+	 * 开放柱形顶部标签画笔
+	 * @return 画笔
+	 */
+	public ChartPaint getItemLabelsChartPaint() {
 		return mPaintItemLabels;
 	}
 
@@ -165,17 +192,28 @@ public class Bar {
 	 */	
 	protected List<Integer> calcBarHeightAndMargin(float YSteps,int barNumber)
 	{
-			int labelBarTotalHeight = (int) Math.round(YSteps * 0.9);
-			int barTotalInnerMargin = (int) Math.round(labelBarTotalHeight * 0.2);				
-			int barInnerMargin = barTotalInnerMargin / barNumber;
-			int barHeight = (labelBarTotalHeight - barTotalInnerMargin) / barNumber;
+			measureBarHeight(YSteps, barNumber);
 			
 			List<Integer> ret = new LinkedList<Integer>();
-			ret.add(barHeight);
-			ret.add(barInnerMargin);
+			ret.add(mMeasuredBarSize);
+			ret.add(mMeasuredBarInnerMargin);
 			return ret;
 	}
 	
+	/**
+	 * 计算同标签多柱形时的Y分隔,结果由getMeasuredBarSize()和
+	 * getMeasuredBarInnerMargin()取得,不生成新对象
+	 * @param YSteps    Y轴步长
+	 * @param barNumber  柱形个数
+	 */	
+	public void measureBarHeight(float YSteps,int barNumber)
+	{
+			int labelBarTotalHeight = (int) Math.round(YSteps * 0.9);
+			int barTotalInnerMargin = (int) Math.round(labelBarTotalHeight * 0.2);				
+			mMeasuredBarInnerMargin = barTotalInnerMargin / barNumber;
+			mMeasuredBarSize = (labelBarTotalHeight - barTotalInnerMargin) / barNumber;
+	}
+	
 
 	/**
 	 * 计算同标签多柱形时的X分隔
@@ -184,18 +222,47 @@ public class Bar {
 	 * @return 返回单个柱形的宽度及间距
 	 */
 	protected List<Integer> calcBarWidthAndMargin(float XSteps,int barNumber)
+	{
+			measureBarWidth(XSteps, barNumber);
+			
+			List<Integer> ret = new LinkedList<Integer>();
+			ret.add(mMeasuredBarSize);
+			ret.add(mMeasuredBarInnerMargin);
+			return ret;
+	}
+	
+	/**
+	 * 计算同标签多柱形时的X分隔,结果由getMeasuredBarSize()和
+	 * getMeasuredBarInnerMargin()取得,不生成新对象
+	 * @param XSteps	X轴步长
+	 * @param barNumber 柱形个数
+	 */
+	public void measureBarWidth(float XSteps,int barNumber)
 	{
 			int labelBarTotalWidth = (int) Math.round(XSteps * 0.9); 	
 			int barTotalInnerMargin = (int) Math.round(labelBarTotalWidth * 0.2); 	
 			int barTotalWidth = labelBarTotalWidth - barTotalInnerMargin;	   	
 			
-			int barInnerMargin = barTotalInnerMargin / barNumber;
-			int barWidth = barTotalWidth / barNumber;				
-			
-			List<Integer> ret = new LinkedList<Integer>();
-			ret.add(barWidth);
-			ret.add(barInnerMargin);
-			return ret;
+			mMeasuredBarInnerMargin = barTotalInnerMargin / barNumber;
+			mMeasuredBarSize = barTotalWidth / barNumber;				
+	}
+	
+	/**
+	 * 返回最近一次measureBarWidth()或measureBarHeight()算出的单个柱形的宽度或高度
+	 * @return 宽度或高度
+	 */
+	public int getMeasuredBarSize()
+	{
+		return mMeasuredBarSize;
+	}
+	
+	/**
+	 * 返回最近一次measureBarWidth()或measureBarHeight()算出的柱形间距
+	 * @return 间距
+	 */
+	public int getMeasuredBarInnerMargin()
+	{
+		return mMeasuredBarInnerMargin;
 	}
 	
 	/**
@@ -205,19 +272,39 @@ public class Bar {
 	 * @param y		y坐标
 	 * @param canvas 画布
 	 */
-	protected void drawBarItemLabel(String text,float x,float y,Canvas canvas)
+	protected void drawBarItemLabel(String text,float x,float y,IChartCanvas canvas)
 	{
 		//在柱形的顶端显示上柱形的当前值
 			
 		if(getItemLabelsVisible())
 		{		
-			DrawHelper dw = new DrawHelper();	
-			dw.drawRotateText(text,
+			mItemLabelsHelper.drawRotateText(text,
+								x ,
+								y,
+	            			  getItemLabelsRotateAgent(),
+	            			  canvas, 
+	            			  getItemLabelsChartPaint());	
+		}
+	}
+	
+	/**
+	 * 绘制柱形顶部标签,文字放在char[]中,不用生成String
+	 * @param text	内容	
+	 * @param count	内容长度
+	 * @param x		x坐标
+	 * @param y		y坐标
+	 * @param canvas 画布
+	 */
+	public void renderBarItemLabel(char[] text,int count,float x,float y,IChartCanvas canvas)
+	{
+		if(getItemLabelsVisible())
+		{		
+			mItemLabelsHelper.drawRotateText(text,count,
 								x ,
 								y,
 	            			  getItemLabelsRotateAgent(),
 	            			  canvas, 
-	            			  getItemLabelsPaint());	
+	            			  getItemLabelsChartPaint());	
 		}
 	}
 
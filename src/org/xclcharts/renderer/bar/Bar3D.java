@@ -25,14 +25,12 @@ package org.xclcharts.renderer.bar;
 import java.util.List;
 
 import org.xclcharts.chart.common.DrawHelper;
-
-import android.graphics.Canvas;
-import android.graphics.Color;
-import android.graphics.LinearGradient;
-import android.graphics.Paint;
-import android.graphics.Paint.Style;
-import android.graphics.Path;
-import android.graphics.Shader;
+import org.xclcharts.renderer.canvas.ChartGradient;
+import org.xclcharts.renderer.canvas.ChartPath;
+import org.xclcharts.renderer.canvas.IChartCanvas;
+import org.xclcharts.renderer.canvas.ChartPaint.Style;
+import org.xclcharts.renderer.canvas.ChartColor;
+import org.xclcharts.renderer.canvas.ChartPaint;
 
 /**
  * @ClassName Bar3D
@@ -51,22 +49,58 @@ public class Bar3D extends Bar{
 	private int mAlpha = 200; 
 	
 	//3D浅色画笔
-	private Paint mPaint3D = null;	
-	private Paint mPaintBase = null;
-	private Paint mPaintBase3D = null;
+	private ChartPaint mPaint3D = null;	
+	private ChartPaint mPaintBase = null;
+	private ChartPaint mPaintBase3D = null;
 	//3D效果厚度
 	private int mAxisBaseThickness = 20;
 	
-	private int mAxisBaseColor = (int)Color.rgb(73, 172, 72);
+	private int mAxisBaseColor = (int)ChartColor.rgb(73, 172, 72);
 	
 	DrawHelper mDrawHelper = new DrawHelper();
 	
+	//画各个面用的路径,重复使用
+	private final ChartPath mPath3D = new ChartPath();
+	//白色轮廓线
+	private ChartPaint mPaintOutline = null;
+	//底座侧面
+	private ChartPaint mPaintBaseSide = null;
+	//正面的渐变及其对应的颜色和宽度,都不变时重复使用
+	private ChartGradient mGradient = null;
+	private int mGradientColor = 0;
+	private int mGradientLightColor = 0;
+	private float mGradientWidth = 0.0f;
+	
+	//3D偏移量,底座厚度或角度变化时才重新计算
+	private double mOffsetX = 0.0d;
+	private double mOffsetY = 0.0d;
+	private boolean mOffsetValid = false;
+	
+	//同颜色的面合并到一条路径,颜色变化或批次结束时一次画出
+	private final ChartPath mPathFaces = new ChartPath();
+	private final ChartPath mPathLightFaces = new ChartPath();
+	private final ChartPath mPathOutline = new ChartPath();
+	private IChartCanvas mBatchCanvas = null;
+	private int mBatchColor = 0;
+	private int mBatchLightColor = 0;
+	//路径中是否有还没画出的面
+	private boolean mBatchPending = false;
+	//是否在beginBatch()与endBatch()之间
+	private boolean mBatching = false;
+	
 	public Bar3D()
 	{
 		super();
-		mPaint3D = new Paint();		
-		mPaintBase = new Paint();
-		mPaintBase3D = new Paint();		
+		mPaint3D = new ChartPaint();		
+		mPaintBase = new ChartPaint();
+		mPaintBase3D = new ChartPaint();		
+		
+		mPaintOutline = new ChartPaint();
+		mPaintOutline.setStyle(Style.STROKE);
+		mPaintOutline.setColor(ChartColor.WHITE); 
+		
+		mPaintBaseSide = new ChartPaint();
+		mPaintBaseSide.setStyle(Style.FILL);
 	}
 
 	
@@ -101,7 +135,8 @@ public class Bar3D extends Bar{
 	 */
 	public double getOffsetX()
 	{
-		return getOffsetX(mAxisBaseThickness,mAngle);
+		calcOffset();
+		return mOffsetX;
 	}
 	
 
@@ -111,7 +146,19 @@ public class Bar3D extends Bar{
 	 */
 	public double getOffsetY()
 	{
-		return getOffsetY(mAxisBaseThickness,mAngle);
+		calcOffset();
+		return mOffsetY;
+	}
+	
+	/**
+	 * 底座厚度或角度变化后重新计算偏移量
+	 */
+	private void calcOffset()
+	{
+		if(mOffsetValid) return;
+		mOffsetX = getOffsetX(mAxisBaseThickness,mAngle);
+		mOffsetY = getOffsetY(mAxisBaseThickness,mAngle);
+		mOffsetValid = true;
 	}
 
 	/**
@@ -137,6 +184,104 @@ public class Bar3D extends Bar{
 	}
 	
 
+	/**
+	 * 返回竖向柱形正面从左到右的渐变,颜色与宽度不变时只移动位置,不新建对象
+	 * @param color		柱形颜色
+	 * @param lightColor	浅色
+	 * @param left		左边X坐标
+	 * @param right		右边X坐标
+	 * @return 渐变
+	 */
+	private ChartGradient getFrontGradient(int color,int lightColor,float left,float right)
+	{
+		float width = right - left;
+		if(null == mGradient || color != mGradientColor 
+				|| lightColor != mGradientLightColor || width != mGradientWidth)
+		{
+			mGradient = new ChartGradient(0, 0, 0 == width ? 1 : width, 0,  
+				 	new int[]{color,lightColor},  
+				 	null,ChartGradient.TileMode.REPEAT);
+			mGradientColor = color;
+			mGradientLightColor = lightColor;
+			mGradientWidth = width;
+		}
+		mGradient.setLocalTransform(1, 1, left, 0);
+		return mGradient;
+	}
+	
+	/**
+	 * 开始合并绘制。之后画的柱形只记下各个面,同颜色的面在颜色变化或
+	 * endBatch()时一次画出,柱形多时可大大减少绘制次数。
+	 * 批次内的柱形之间不应互相遮挡
+	 * @param canvas	画布
+	 */
+	public void beginBatch(IChartCanvas canvas)
+	{
+		flushBatch();
+		mBatching = true;
+		mBatchCanvas = canvas;
+	}
+	
+	/**
+	 * 结束合并绘制,画出还没画的面
+	 */
+	public void endBatch()
+	{
+		flushBatch();
+		mBatching = false;
+		mBatchCanvas = null;
+	}
+	
+	/**
+	 * 准备把一个柱形的面加入路径,画布或颜色与已记下的面不同时先画出已有的
+	 * @param canvas	画布
+	 * @param color		柱形颜色
+	 * @param lightColor	浅色
+	 */
+	private void prepareBatch(IChartCanvas canvas,int color,int lightColor)
+	{
+		if(mBatchPending && (canvas != mBatchCanvas 
+				|| color != mBatchColor || lightColor != mBatchLightColor))
+		{
+			flushBatch();
+		}
+		mBatchCanvas = canvas;
+		mBatchColor = color;
+		mBatchLightColor = lightColor;
+		mBatchPending = true;
+	}
+	
+	/**
+	 * 不在批次中时画完一个柱形就画出
+	 */
+	private void completeBar()
+	{
+		if(!mBatching) flushBatch();
+	}
+	
+	/**
+	 * 画出记下的面和轮廓线
+	 */
+	private void flushBatch()
+	{
+		if(!mBatchPending) return;
+		mBatchPending = false;
+		
+		mPaintBar.setColor(mBatchColor);
+		mBatchCanvas.drawPath(mPathFaces,mPaintBar);
+		
+		mPaint3D.setGradient(null);
+		mPaint3D.setStyle(Style.FILL);
+		mPaint3D.setColor(mBatchLightColor);
+		mBatchCanvas.drawPath(mPathLightFaces,mPaint3D);
+		
+		mBatchCanvas.drawPath(mPathOutline,mPaintOutline);
+		
+		mPathFaces.reset();
+		mPathLightFaces.reset();
+		mPathOutline.reset();
+	}
+
 	/**
 	 * 竖向柱形的3D效果
 	 * @param barLeft	左边X坐标
@@ -149,13 +294,11 @@ public class Bar3D extends Bar{
 	public void renderVertical3DBar(float barLeft,float barTop,
 			  float barRight,float barBottom,
 			  int color,
-			  Canvas canvas)
+			  IChartCanvas canvas)
 	{
 		//浅色	
 		int lightColor = mDrawHelper.getLightColor(color,mAlpha);
-		
-		mPaintBar.setColor(color);		
-		mPaint3D.setColor(lightColor);
+		prepareBatch(canvas,color,lightColor);
 		
 		//水平偏移量
 		double offsetX = getOffsetX();
@@ -169,52 +312,37 @@ public class Bar3D extends Bar{
 		float barBottom2 = Math.round(barBottom + offsetY) ;
 		
 		//顶
-		Path pRectangle2D = new Path();
-		pRectangle2D.moveTo(barLeft, barTop); 
-		pRectangle2D.lineTo(barLeft2, barTop2);    			
-		pRectangle2D.lineTo(barRight2, barTop2); 
-		pRectangle2D.lineTo(barRight, barTop); 			
-		pRectangle2D.close();
-		canvas.drawPath(pRectangle2D,mPaintBar);
+		ChartPath pFaces = mPathFaces;
+		pFaces.moveTo(barLeft, barTop); 
+		pFaces.lineTo(barLeft2, barTop2);    			
+		pFaces.lineTo(barRight2, barTop2); 
+		pFaces.lineTo(barRight, barTop); 			
+		pFaces.close();
 		
 		//右侧边
-		pRectangle2D.reset();
-		pRectangle2D.moveTo(barRight, barTop); 
-		pRectangle2D.lineTo(barRight2, barTop2); 
-		pRectangle2D.lineTo(barRight2, barBottom2); 
-		pRectangle2D.lineTo(barRight, barBottom); 
-		pRectangle2D.close();
-		canvas.drawPath(pRectangle2D,mPaintBar); 		
-		
-		pRectangle2D.reset();
-	    pRectangle2D.moveTo(barRight2, barTop2); 
-	    pRectangle2D.lineTo(barRight2, barBottom2); 
-	    pRectangle2D.lineTo(barLeft2, barBottom2); 
-	    pRectangle2D.lineTo(barLeft2, barTop2 );
-	    pRectangle2D.close();
-		
-		//正面 浅色	
-		 LinearGradient linearGradient = new LinearGradient(
-					 	barLeft2,barBottom2, barRight2 ,barBottom2,  
-					 	new int[]{color,lightColor},  
-					 	null,Shader.TileMode.REPEAT);  		   
-		 mPaint3D.setShader(linearGradient);
+		pFaces.moveTo(barRight, barTop); 
+		pFaces.lineTo(barRight2, barTop2); 
+		pFaces.lineTo(barRight2, barBottom2); 
+		pFaces.lineTo(barRight, barBottom); 
+		pFaces.close();
+		
+		//正面 浅色,渐变按柱形位置放置,每个柱形画一次
+		 mPaint3D.setColor(lightColor);
+		 mPaint3D.setGradient(getFrontGradient(color, lightColor, barLeft2, barRight2));
 		 mPaint3D.setStyle(Style.FILL);		 
-		 canvas.drawPath(pRectangle2D,mPaint3D); 
+		 canvas.drawRect(barLeft2, barTop2, barRight2, barBottom2, mPaint3D); 
 	
 		//柱形顶上用白画一个RECT,强化3D效果		 
-		Paint paintTopStroke = new Paint();			
-		paintTopStroke.setStyle(Style.STROKE);
-		paintTopStroke.setColor(Color.WHITE); 
-			
-		pRectangle2D.reset();
-		pRectangle2D.moveTo(barLeft2, barTop2);    			
-		pRectangle2D.lineTo(barRight2, barTop2); 
-		pRectangle2D.lineTo(barRight, barTop); 			 	   
-		canvas.drawPath(pRectangle2D,paintTopStroke); 
+		ChartPath pOutline = mPathOutline;
+		pOutline.moveTo(barLeft2, barTop2);    			
+		pOutline.lineTo(barRight2, barTop2); 
+		pOutline.lineTo(barRight, barTop); 			 	   
 		
 		//柱形正面画一根白色竖线,强化3D效果
-		canvas.drawLine(barRight2, barTop2, barRight2, barBottom2, paintTopStroke);
+		pOutline.moveTo(barRight2, barTop2);
+		pOutline.lineTo(barRight2, barBottom2);
+		
+		completeBar();
 	}
 	
 	
@@ -228,7 +356,7 @@ public class Bar3D extends Bar{
 	 */
 	 public void render3DXAxis(float baseLeft,float baseTop,
 			  float baseRight,float baseBottom,		
-			  Canvas canvas) //	  int color,
+			  IChartCanvas canvas) //	  int color,
 	{
 		//浅色	
 		int baseLightColor = this.mDrawHelper.getLightColor(getAxis3DBaseColor(), mAlpha);		
@@ -247,7 +375,8 @@ public class Bar3D extends Bar{
 		float baseBottom2 = Math.round(baseBottom + offsetY) ;
 		
 		//顶 用浅色
-		Path pBase2D = new Path();	
+		ChartPath pBase2D = mPath3D;	
+		pBase2D.reset();
 		pBase2D.moveTo(baseLeft, baseBottom); 
 		pBase2D.lineTo(baseLeft2, baseBottom2);      
 		pBase2D.lineTo(baseRight2, baseBottom2); 
@@ -274,9 +403,8 @@ public class Bar3D extends Bar{
 		canvas.drawPath(pBase2D,mPaintBase); 				
 		
 		//水平偏移量		
-		Paint paint = new Paint();
+		ChartPaint paint = mPaintBaseSide;
 		paint.setColor(getAxis3DBaseColor());
-		paint.setStyle(Style.FILL);			
 	
 		pBase2D.reset();
 		pBase2D.moveTo(baseRight2, baseBottom2); 				
@@ -302,13 +430,11 @@ public class Bar3D extends Bar{
 	 public void renderHorizontal3DBar(float barLeft,float barTop,
 			  float barRight,float barBottom,
 			  int color,
-			  Canvas canvas)
+			  IChartCanvas canvas)
 	{
 		//浅色
 		int lightColor =  mDrawHelper.getLightColor(color,mAlpha);
-		
-		mPaintBar.setColor(color);		
-		mPaint3D.setColor(lightColor);
+		prepareBatch(canvas,color,lightColor);
 		
 		//水平偏移量
 		double offsetX = getOffsetX();
@@ -322,33 +448,33 @@ public class Bar3D extends Bar{
 		float barBottom2 = Math.round(barBottom + offsetY) ;	
 		
 		//右侧边 浅色
-		Path pRectangle2D = new Path();
-		pRectangle2D.moveTo(barRight, barTop); 
-		pRectangle2D.lineTo(barRight, barBottom); 
-		pRectangle2D.lineTo(barRight2, barBottom2); 
-		pRectangle2D.lineTo(barRight2, barTop2); 					
-		pRectangle2D.close();		
-		canvas.drawPath(pRectangle2D,mPaint3D); 	
+		ChartPath pLightFaces = mPathLightFaces;
+		pLightFaces.moveTo(barRight, barTop); 
+		pLightFaces.lineTo(barRight, barBottom); 
+		pLightFaces.lineTo(barRight2, barBottom2); 
+		pLightFaces.lineTo(barRight2, barTop2); 					
+		pLightFaces.close();		
 		
 		//正面	
-		canvas.drawRect(barLeft2, barTop2, barRight2, barBottom2, mPaint3D);
+		pLightFaces.addRect(barLeft2, barTop2, barRight2, barBottom2);
 		
 		//顶
-		pRectangle2D.reset();		
-		pRectangle2D.moveTo(barLeft, barTop); 
-		pRectangle2D.lineTo(barLeft2, barTop2); 
-		pRectangle2D.lineTo(barRight2, barTop2 );
-		pRectangle2D.lineTo(barRight, barTop );
-		pRectangle2D.close();
-		canvas.drawPath(pRectangle2D,mPaintBar); 		
+		ChartPath pFaces = mPathFaces;
+		pFaces.moveTo(barLeft, barTop); 
+		pFaces.lineTo(barLeft2, barTop2); 
+		pFaces.lineTo(barRight2, barTop2 );
+		pFaces.lineTo(barRight, barTop );
+		pFaces.close();
 	
 		//轮廓线
-		Paint paintLine = new Paint();
-		paintLine.setColor(Color.WHITE);
-		paintLine.setStyle(Style.STROKE);		
-		canvas.drawLine( barLeft2,  barTop2, barRight2, barTop2, paintLine);
-		canvas.drawLine( barRight2, barTop2, barRight2, barBottom2,paintLine);		
-		canvas.drawLine( barRight, barTop, barRight2,barTop2,paintLine);   	
+		ChartPath pOutline = mPathOutline;
+		pOutline.moveTo(barLeft2, barTop2);
+		pOutline.lineTo(barRight2, barTop2);
+		pOutline.lineTo(barRight2, barBottom2);
+		pOutline.moveTo(barRight, barTop);
+		pOutline.lineTo(barRight2, barTop2);
+		
+		completeBar();
 	}
 	 
 
@@ -361,7 +487,7 @@ public class Bar3D extends Bar{
 	 * @param canvas	画布
 	 */
 	 public void render3DYAxis(float baseLeft,float baseTop,float baseRight,float baseBottom,						
-			  					Canvas canvas) 
+			  					IChartCanvas canvas) 
 	{
 		//浅色
 		int baseLightColor = this.mDrawHelper.getLightColor(getAxis3DBaseColor(), mAlpha);						
@@ -380,7 +506,8 @@ public class Bar3D extends Bar{
 		float baseBottom2 = Math.round(baseBottom + offsetY) ;			
 		
 		//左侧面
-		Path pBase2D = new Path();	
+		ChartPath pBase2D = mPath3D;	
+		pBase2D.reset();
 		pBase2D.moveTo(baseLeft, baseTop); 
 		pBase2D.lineTo(baseLeft2, baseTop2); 
 		pBase2D.lineTo(baseLeft2, baseBottom2); 
@@ -415,7 +542,7 @@ public class Bar3D extends Bar{
 		 * @param thickness 厚度
 		 */
 		public void setThickness(int thickness) {
-			this.mThickness = mThickness;
+			this.mThickness = thickness;
 		}
 
 		/**
@@ -431,7 +558,8 @@ public class Bar3D extends Bar{
 		 * @param angle 角度
 		 */
 		public void setAngle(int angle) {
-			this.mAngle = mAngle;
+			this.mAngle = angle;
+			mOffsetValid = false;
 		}
 		
 		/**
@@ -447,7 +575,7 @@ public class Bar3D extends Bar{
 		 * @param alpha 透明度
 		 */
 		public void setAlpha(int alpha) {
-			this.mAlpha = mAlpha;
+			this.mAlpha = alpha;
 		}
 		
 		/**
@@ -464,6 +592,7 @@ public class Bar3D extends Bar{
 		 */
 		public void setAxis3DBaseThickness(int baseThickness) {
 			this.mAxisBaseThickness = baseThickness;
+			mOffsetValid = false;
 		}
 		
 		/**
@@ -473,7 +602,7 @@ public class Bar3D extends Bar{
 		 * @param y		y坐标
 		 * @param canvas	画布
 		 */
-		public void renderBarItemLabel(String text,float x,float y,Canvas canvas)
+		public void renderBarItemLabel(String text,float x,float y,IChartCanvas canvas)
 		{
 			drawBarItemLabel(text,x,y,canvas);
 		}
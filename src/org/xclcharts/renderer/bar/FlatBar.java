@@ -25,10 +25,10 @@ package org.xclcharts.renderer.bar;
 import java.util.List;
 
 import org.xclcharts.chart.common.DrawHelper;
+import org.xclcharts.renderer.canvas.ChartGradient;
+import org.xclcharts.renderer.canvas.IChartCanvas;
+import org.xclcharts.renderer.canvas.ChartPaint;
 
-import android.graphics.Canvas;
-import android.graphics.LinearGradient;
-import android.graphics.Shader;
 
 /**
  * @ClassName FlatBar
@@ -42,6 +42,12 @@ public class FlatBar extends Bar{
 	//柱形填充色透明度
 	private int mFillAlpha = 255;
 	
+	private final DrawHelper mDrawHelper = new DrawHelper();
+	//横向,竖向的渐变及其对应的颜色,颜色不变时重复使用
+	private ChartGradient mGradientX = null;
+	private ChartGradient mGradientY = null;
+	private int mGradientColor = 0;
+	
 	public FlatBar()
 	{
 		super();
@@ -93,27 +99,37 @@ public class FlatBar extends Bar{
 	 */
 	private void setBarTo2D(float left,float top,float right ,float bottom)
 	{
-		int barColor = getBarPaint().getColor();				
-		DrawHelper dw = new DrawHelper();
-		int lightColor = dw.getLightColor(barColor,150);
+		int barColor = getBarChartPaint().getColor();				
+		
+		//渐变只在颜色变化时新建,按0到1建好,再用变换移到柱形所在的位置
+		if(null == mGradientX || barColor != mGradientColor)
+		{
+			int lightColor = mDrawHelper.getLightColor(barColor,150);
+			ChartGradient.TileMode tm = ChartGradient.TileMode.MIRROR;
+			mGradientX = new ChartGradient(0, 0, 1, 0,  
+			           new int[]{lightColor,barColor},  
+			           null,tm);
+			mGradientY = new ChartGradient(0, 0, 0, 1,  
+			           new int[]{lightColor,barColor},  
+			           null,tm);
+			mGradientColor = barColor;
+		}
 		
 		float width = Math.abs(right - left);
 		float height = Math.abs(bottom - top);
 		
-		LinearGradient linearGradient = null;
-		Shader.TileMode tm = Shader.TileMode.MIRROR;
-		if(width > height) //横向柱形
+		ChartGradient linearGradient = null;
+		if(width > height) //横向柱形,从底到顶
 		{
-			 linearGradient = new LinearGradient(right,bottom, right ,top,  
-			           new int[]{lightColor,barColor},  
-			           null,tm);  		   				 
-				 
-		}else{
-			  linearGradient = new LinearGradient(left,bottom, right ,bottom,  
-			           new int[]{lightColor,barColor},  
-			           null,tm);  		   			
+			float length = top - bottom;
+			linearGradient = mGradientY;
+			linearGradient.setLocalTransform(1, 0 == length ? 1 : length, 0, bottom);
+		}else{ //从左到右
+			float length = right - left;
+			linearGradient = mGradientX;
+			linearGradient.setLocalTransform(0 == length ? 1 : length, 1, left, 0);
 		}
-		getBarPaint().setShader(linearGradient);
+		getBarChartPaint().setGradient(linearGradient);
 	}
 	
 	/**
@@ -124,10 +140,10 @@ public class FlatBar extends Bar{
 	 * @param bottom	底部Y坐标
 	 * @param canvas	画布
 	 */
-	public void renderBar(float left,float top,float right ,float bottom,Canvas canvas)
+	public void renderBar(float left,float top,float right ,float bottom,IChartCanvas canvas)
 	{
 		setBarTo2D(left,top, right ,bottom);		 
-		canvas.drawRect( left ,bottom,right,top  ,getBarPaint());
+		canvas.drawRect( left ,bottom,right,top  ,getBarChartPaint());
 	}
 	
 	/**
@@ -137,7 +153,7 @@ public class FlatBar extends Bar{
 	 * @param y	y坐标
 	 * @param canvas	画布
 	 */
-	public void renderBarItemLabel(String text,float x,float y,Canvas canvas)
+	public void renderBarItemLabel(String text,float x,float y,IChartCanvas canvas)
 	{		    	 
 		drawBarItemLabel(text,x,y,canvas);
 	}
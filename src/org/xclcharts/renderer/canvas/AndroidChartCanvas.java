@@ -0,0 +1,190 @@
+/**
+ * Copyright 2014  XCL-Charts
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 	
+ * @Project XCL-Charts 
+ * @Description Android图表基类库
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ * @license http://www.apache.org/licenses/  Apache v2 License
+ * @version v0.1
+ */
+package org.xclcharts.renderer.canvas;
+
+import android.graphics.Canvas;
+import android.graphics.Path;
+import android.graphics.RectF;
+
+/**
+ * @ClassName AndroidChartCanvas
+ * @Description  在android.graphics.Canvas上绘制的画布实现。
+ * 				  可用setCanvas()换成别的Canvas,转换路径与弧形范围用的对象都重复使用。
+ * 				  画笔转换为各自对应的AndroidPaint,只在属性变化后才同步
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ *  * MODIFIED    YYYY-MM-DD   REASON
+ */
+
+public class AndroidChartCanvas implements IChartCanvas {
+
+	private Canvas mCanvas = null;
+	//转换ChartPath用
+	private final Path mPath = new Path();
+	//画弧用
+	private final RectF mRect = new RectF();
+
+	public AndroidChartCanvas()
+	{
+
+	}
+
+	public AndroidChartCanvas(Canvas canvas)
+	{
+		mCanvas = canvas;
+	}
+
+	/**
+	 * 设置实际绘制的Canvas
+	 * @param canvas 画布
+	 */
+	public void setCanvas(Canvas canvas)
+	{
+		mCanvas = canvas;
+	}
+
+	/**
+	 * 返回实际绘制的Canvas
+	 * @return 画布
+	 */
+	public Canvas getCanvas()
+	{
+		return mCanvas;
+	}
+
+	/**
+	 * 返回图表画布背后的Canvas,不是画在Canvas上时返回null。
+	 * 位图缓存等只能在Android上使用的功能据此判断能否启用
+	 * @param canvas 图表画布
+	 * @return Canvas
+	 */
+	public static Canvas unwrap(IChartCanvas canvas)
+	{
+		if(canvas instanceof AndroidChartCanvas) return ((AndroidChartCanvas) canvas).getCanvas();
+		return null;
+	}
+
+	@Override
+	public int getWidth() {
+		return mCanvas.getWidth();
+	}
+
+	@Override
+	public int getHeight() {
+		return mCanvas.getHeight();
+	}
+
+	@Override
+	public int save() {
+		return mCanvas.save();
+	}
+
+	@Override
+	public void restore() {
+		mCanvas.restore();
+	}
+
+	@Override
+	public void translate(float dx, float dy) {
+		mCanvas.translate(dx, dy);
+	}
+
+	@Override
+	public void scale(float sx, float sy) {
+		mCanvas.scale(sx, sy);
+	}
+
+	@Override
+	public void rotate(float degrees, float px, float py) {
+		mCanvas.rotate(degrees, px, py);
+	}
+
+	@Override
+	public boolean clipRect(float left, float top, float right, float bottom) {
+		return mCanvas.clipRect(left, top, right, bottom);
+	}
+
+	@Override
+	public void drawLine(float startX, float startY, float stopX, float stopY, ChartPaint paint) {
+		mCanvas.drawLine(startX, startY, stopX, stopY, AndroidPaint.of(paint));
+	}
+
+	@Override
+	public void drawLines(float[] pts, int offset, int count, ChartPaint paint) {
+		mCanvas.drawLines(pts, offset, count, AndroidPaint.of(paint));
+	}
+
+	@Override
+	public void drawRect(float left, float top, float right, float bottom, ChartPaint paint) {
+		mCanvas.drawRect(left, top, right, bottom, AndroidPaint.of(paint));
+	}
+
+	@Override
+	public void drawCircle(float cx, float cy, float radius, ChartPaint paint) {
+		mCanvas.drawCircle(cx, cy, radius, AndroidPaint.of(paint));
+	}
+
+	@Override
+	public void drawArc(float left, float top, float right, float bottom,
+			float startAngle, float sweepAngle, boolean useCenter, ChartPaint paint) {
+		mRect.set(left, top, right, bottom);
+		mCanvas.drawArc(mRect, startAngle, sweepAngle, useCenter, AndroidPaint.of(paint));
+	}
+
+	@Override
+	public void drawPath(ChartPath path, ChartPaint paint) {
+		byte[] ops = path.getOps();
+		float[] points = path.getPoints();
+		int count = path.getOpCount();
+		int j = 0;
+
+		mPath.rewind();
+		for(int i = 0; i < count; i++)
+		{
+			switch(ops[i])
+			{
+			case ChartPath.MOVE_TO:
+				mPath.moveTo(points[j], points[j + 1]);
+				j += 2;
+				break;
+			case ChartPath.LINE_TO:
+				mPath.lineTo(points[j], points[j + 1]);
+				j += 2;
+				break;
+			default:
+				mPath.close();
+				break;
+			}
+		}
+		mCanvas.drawPath(mPath, AndroidPaint.of(paint));
+	}
+
+	@Override
+	public void drawText(String text, float x, float y, ChartPaint paint) {
+		mCanvas.drawText(text, x, y, AndroidPaint.of(paint));
+	}
+
+	@Override
+	public void drawText(char[] text, int index, int count, float x, float y, ChartPaint paint) {
+		mCanvas.drawText(text, index, count, x, y, AndroidPaint.of(paint));
+	}
+
+}
@@ -0,0 +1,459 @@
+/**
+ * Copyright 2014  XCL-Charts
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 	
+ * @Project XCL-Charts 
+ * @Description Android图表基类库
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ * @license http://www.apache.org/licenses/  Apache v2 License
+ * @version v0.1
+ */
+package org.xclcharts.renderer.canvas;
+
+import android.graphics.DashPathEffect;
+import android.graphics.LinearGradient;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Shader;
+
+/**
+ * @ClassName AndroidPaint
+ * @Description  ChartPaint在Android上对应的Paint,只在Android上使用。
+ * 				  由of()取得,每个ChartPaint一个,绘制前按版本把ChartPaint的属性同步过来,
+ * 				  只设置与上次不同的属性。图表各getXXXPaint()返回的就是它,
+ * 				  在它上面修改颜色,样式,线宽,字号,对齐,粗体与抗锯齿时同时改到ChartPaint上,
+ * 				  Typeface等ChartPaint没有的属性只留在这个Paint上,绘制与测量文字时照样生效
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ *  * MODIFIED    YYYY-MM-DD   REASON
+ */
+
+public class AndroidPaint extends Paint {
+
+	//对应的画笔,父类构造函数中调用被覆盖的方法时还是null
+	private final ChartPaint mChartPaint;
+	private int mSyncedVersion;
+
+	//上次设置到父类上的值
+	private int mColor = ChartColor.BLACK;
+	private ChartPaint.Style mStyle = ChartPaint.Style.FILL;
+	private float mStrokeWidth = 0f;
+	private boolean mAntiAlias = false;
+	private float mTextSize = 12f;
+	private ChartPaint.Align mTextAlign = ChartPaint.Align.LEFT;
+	private boolean mFakeBoldText = false;
+	private ChartDash mDash = null;
+	private ChartGradient mGradient = null;
+
+	private AndroidPaint(ChartPaint paint)
+	{
+		super();
+		mChartPaint = paint;
+		mSyncedVersion = paint.getVersion() - 1;
+	}
+
+	/**
+	 * 返回画笔对应的Paint,属性已同步
+	 * @param paint 画笔
+	 * @return Paint
+	 */
+	public static Paint of(ChartPaint paint)
+	{
+		return get(paint);
+	}
+
+	/**
+	 * 把一个画笔对应的Paint上ChartPaint没有的属性拷贝到另一个画笔上,由ChartPaint.set()调用
+	 */
+	static void copyPlatformPaint(ChartPaint from,ChartPaint to)
+	{
+		Object platform = from.getPlatformPaint();
+		if(!(platform instanceof AndroidPaint)) return;
+		get(to).copyPlatform((AndroidPaint) platform);
+	}
+
+	private static AndroidPaint get(ChartPaint paint)
+	{
+		Object platform = paint.getPlatformPaint();
+		AndroidPaint android;
+		if(platform instanceof AndroidPaint)
+		{
+			android = (AndroidPaint) platform;
+		}else{
+			android = new AndroidPaint(paint);
+			paint.setPlatformPaint(android);
+		}
+		android.sync();
+		return android;
+	}
+
+	/**
+	 * 返回对应的画笔
+	 * @return 画笔
+	 */
+	public ChartPaint getChartPaint()
+	{
+		return mChartPaint;
+	}
+
+	/**
+	 * 按版本把ChartPaint的属性同步到父类上
+	 */
+	private void sync()
+	{
+		ChartPaint paint = mChartPaint;
+		ChartGradient gradient = paint.getGradient();
+		if(paint.getVersion() == mSyncedVersion && null == gradient) return;
+		mSyncedVersion = paint.getVersion();
+
+		if(paint.getColor() != mColor)
+		{
+			mColor = paint.getColor();
+			super.setColor(mColor);
+		}
+		if(paint.getStyle() != mStyle)
+		{
+			mStyle = paint.getStyle();
+			super.setStyle(toStyle(mStyle));
+		}
+		if(paint.getStrokeWidth() != mStrokeWidth)
+		{
+			mStrokeWidth = paint.getStrokeWidth();
+			super.setStrokeWidth(mStrokeWidth);
+		}
+		if(paint.isAntiAlias() != mAntiAlias)
+		{
+			mAntiAlias = paint.isAntiAlias();
+			super.setAntiAlias(mAntiAlias);
+		}
+		if(paint.getTextSize() != mTextSize)
+		{
+			mTextSize = paint.getTextSize();
+			super.setTextSize(mTextSize);
+		}
+		if(paint.getTextAlign() != mTextAlign)
+		{
+			mTextAlign = paint.getTextAlign();
+			super.setTextAlign(toAlign(mTextAlign));
+		}
+		if(paint.isFakeBoldText() != mFakeBoldText)
+		{
+			mFakeBoldText = paint.isFakeBoldText();
+			super.setFakeBoldText(mFakeBoldText);
+		}
+		if(paint.getDash() != mDash)
+		{
+			mDash = paint.getDash();
+			super.setPathEffect(null == mDash ? null : toEffect(mDash));
+		}
+		if(gradient != mGradient)
+		{
+			mGradient = gradient;
+			super.setShader(null == gradient ? null : toShader(gradient));
+		}else if(null != gradient){
+			toShader(gradient);
+		}
+	}
+
+	private void copyPlatform(AndroidPaint from)
+	{
+		super.set(from);
+		mColor = from.mColor;
+		mStyle = from.mStyle;
+		mStrokeWidth = from.mStrokeWidth;
+		mAntiAlias = from.mAntiAlias;
+		mTextSize = from.mTextSize;
+		mTextAlign = from.mTextAlign;
+		mFakeBoldText = from.mFakeBoldText;
+		mDash = from.mDash;
+		mGradient = from.mGradient;
+		mSyncedVersion = mChartPaint.getVersion() - 1;
+		sync();
+	}
+
+	private static Style toStyle(ChartPaint.Style style)
+	{
+		switch(style)
+		{
+		case STROKE:
+			return Style.STROKE;
+		case FILL_AND_STROKE:
+			return Style.FILL_AND_STROKE;
+		default:
+			return Style.FILL;
+		}
+	}
+
+	private static ChartPaint.Style fromStyle(Style style)
+	{
+		if(Style.STROKE == style) return ChartPaint.Style.STROKE;
+		if(Style.FILL_AND_STROKE == style) return ChartPaint.Style.FILL_AND_STROKE;
+		return ChartPaint.Style.FILL;
+	}
+
+	private static Align toAlign(ChartPaint.Align align)
+	{
+		switch(align)
+		{
+		case CENTER:
+			return Align.CENTER;
+		case RIGHT:
+			return Align.RIGHT;
+		default:
+			return Align.LEFT;
+		}
+	}
+
+	private static ChartPaint.Align fromAlign(Align align)
+	{
+		if(Align.CENTER == align) return ChartPaint.Align.CENTER;
+		if(Align.RIGHT == align) return ChartPaint.Align.RIGHT;
+		return ChartPaint.Align.LEFT;
+	}
+
+	private static DashPathEffect toEffect(ChartDash dash)
+	{
+		Object effect = dash.getPlatformEffect();
+		if(effect instanceof DashPathEffect) return (DashPathEffect) effect;
+		DashPathEffect result = new DashPathEffect(dash.getIntervals(), dash.getPhase());
+		dash.setPlatformEffect(result);
+		return result;
+	}
+
+	/**
+	 * 返回渐变对应的LinearGradient,局部变换有变化时更新其矩阵
+	 */
+	private static Shader toShader(ChartGradient gradient)
+	{
+		Object platform = gradient.getPlatformShader();
+		GradientShader holder;
+		if(platform instanceof GradientShader)
+		{
+			holder = (GradientShader) platform;
+		}else{
+			holder = new GradientShader(gradient);
+			gradient.setPlatformShader(holder);
+		}
+		holder.update(gradient);
+		return holder.mShader;
+	}
+
+	//同一渐变转换后的LinearGradient与已设置的局部变换版本
+	private static class GradientShader
+	{
+		final LinearGradient mShader;
+		final Matrix mMatrix = new Matrix();
+		int mVersion;
+
+		GradientShader(ChartGradient gradient)
+		{
+			Shader.TileMode mode;
+			switch(gradient.getTileMode())
+			{
+			case REPEAT:
+				mode = Shader.TileMode.REPEAT;
+				break;
+			case MIRROR:
+				mode = Shader.TileMode.MIRROR;
+				break;
+			default:
+				mode = Shader.TileMode.CLAMP;
+				break;
+			}
+			mShader = new LinearGradient(gradient.getX0(), gradient.getY0(),
+						gradient.getX1(), gradient.getY1(),
+						gradient.getColors(), gradient.getPositions(), mode);
+			mVersion = gradient.getVersion() - 1;
+		}
+
+		void update(ChartGradient gradient)
+		{
+			if(gradient.getVersion() == mVersion) return;
+			mVersion = gradient.getVersion();
+			mMatrix.setScale(gradient.getScaleX(), gradient.getScaleY());
+			mMatrix.postTranslate(gradient.getTranslateX(), gradient.getTranslateY());
+			mShader.setLocalMatrix(mMatrix);
+		}
+	}
+
+	//以下修改同时改到ChartPaint上
+
+	@Override
+	public void set(Paint src)
+	{
+		super.set(src);
+		if(null == mChartPaint) return;
+		if(src instanceof AndroidPaint)
+		{
+			AndroidPaint from = (AndroidPaint) src;
+			mChartPaint.set(from.mChartPaint);
+			mDash = from.mDash;
+			mGradient = from.mGradient;
+		}else{
+			mChartPaint.setDash(null);
+			mChartPaint.setGradient(null);
+			mDash = null;
+			mGradient = null;
+		}
+		mColor = super.getColor();
+		mStyle = fromStyle(super.getStyle());
+		mStrokeWidth = super.getStrokeWidth();
+		mAntiAlias = super.isAntiAlias();
+		mTextSize = super.getTextSize();
+		mTextAlign = fromAlign(super.getTextAlign());
+		mFakeBoldText = super.isFakeBoldText();
+		pushAll();
+	}
+
+	@Override
+	public void reset()
+	{
+		super.reset();
+		if(null == mChartPaint) return;
+		mChartPaint.reset();
+		mColor = super.getColor();
+		mStyle = fromStyle(super.getStyle());
+		mStrokeWidth = super.getStrokeWidth();
+		mAntiAlias = super.isAntiAlias();
+		mTextSize = super.getTextSize();
+		mTextAlign = fromAlign(super.getTextAlign());
+		mFakeBoldText = super.isFakeBoldText();
+		mDash = null;
+		mGradient = null;
+		pushAll();
+	}
+
+	@Override
+	public void setFlags(int flags)
+	{
+		if(null != mChartPaint) sync();
+		super.setFlags(flags);
+		if(null == mChartPaint) return;
+		mAntiAlias = 0 != (flags & ANTI_ALIAS_FLAG);
+		mFakeBoldText = 0 != (flags & FAKE_BOLD_TEXT_FLAG);
+		mChartPaint.setAntiAlias(mAntiAlias);
+		mChartPaint.setFakeBoldText(mFakeBoldText);
+		mSyncedVersion = mChartPaint.getVersion();
+	}
+
+	@Override
+	public void setColor(int color)
+	{
+		if(null != mChartPaint) sync();
+		super.setColor(color);
+		if(null == mChartPaint) return;
+		mColor = color;
+		mChartPaint.setColor(color);
+		mSyncedVersion = mChartPaint.getVersion();
+	}
+
+	@Override
+	public void setAlpha(int alpha)
+	{
+		if(null != mChartPaint) sync();
+		super.setAlpha(alpha);
+		if(null == mChartPaint) return;
+		mChartPaint.setAlpha(alpha);
+		mColor = mChartPaint.getColor();
+		mSyncedVersion = mChartPaint.getVersion();
+	}
+
+	@Override
+	public void setARGB(int alpha,int red,int green,int blue)
+	{
+		setColor(ChartColor.argb(alpha, red, green, blue));
+	}
+
+	@Override
+	public void setStyle(Style style)
+	{
+		if(null != mChartPaint) sync();
+		super.setStyle(style);
+		if(null == mChartPaint) return;
+		mStyle = fromStyle(style);
+		mChartPaint.setStyle(mStyle);
+		mSyncedVersion = mChartPaint.getVersion();
+	}
+
+	@Override
+	public void setStrokeWidth(float width)
+	{
+		if(null != mChartPaint) sync();
+		super.setStrokeWidth(width);
+		if(null == mChartPaint) return;
+		mStrokeWidth = width;
+		mChartPaint.setStrokeWidth(width);
+		mSyncedVersion = mChartPaint.getVersion();
+	}
+
+	@Override
+	public void setAntiAlias(boolean antiAlias)
+	{
+		if(null != mChartPaint) sync();
+		super.setAntiAlias(antiAlias);
+		if(null == mChartPaint) return;
+		mAntiAlias = antiAlias;
+		mChartPaint.setAntiAlias(antiAlias);
+		mSyncedVersion = mChartPaint.getVersion();
+	}
+
+	@Override
+	public void setTextSize(float textSize)
+	{
+		if(null != mChartPaint) sync();
+		super.setTextSize(textSize);
+		if(null == mChartPaint) return;
+		mTextSize = textSize;
+		mChartPaint.setTextSize(textSize);
+		mSyncedVersion = mChartPaint.getVersion();
+	}
+
+	@Override
+	public void setTextAlign(Align align)
+	{
+		if(null != mChartPaint) sync();
+		super.setTextAlign(align);
+		if(null == mChartPaint) return;
+		mTextAlign = fromAlign(align);
+		mChartPaint.setTextAlign(mTextAlign);
+		mSyncedVersion = mChartPaint.getVersion();
+	}
+
+	@Override
+	public void setFakeBoldText(boolean fakeBoldText)
+	{
+		if(null != mChartPaint) sync();
+		super.setFakeBoldText(fakeBoldText);
+		if(null == mChartPaint) return;
+		mFakeBoldText = fakeBoldText;
+		mChartPaint.setFakeBoldText(fakeBoldText);
+		mSyncedVersion = mChartPaint.getVersion();
+	}
+
+	/**
+	 * 把记下的值全部设置到ChartPaint上,之后两边一致
+	 */
+	private void pushAll()
+	{
+		ChartPaint paint = mChartPaint;
+		paint.setColor(mColor);
+		paint.setStyle(mStyle);
+		paint.setStrokeWidth(mStrokeWidth);
+		paint.setAntiAlias(mAntiAlias);
+		paint.setTextSize(mTextSize);
+		paint.setTextAlign(mTextAlign);
+		paint.setFakeBoldText(mFakeBoldText);
+		mSyncedVersion = paint.getVersion();
+	}
+
+}
@@ -0,0 +1,51 @@
+/**
+ * Copyright 2014  XCL-Charts
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 	
+ * @Project XCL-Charts 
+ * @Description Android图表基类库
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ * @license http://www.apache.org/licenses/  Apache v2 License
+ * @version v0.1
+ */
+package org.xclcharts.renderer.canvas;
+
+import android.graphics.Paint;
+
+/**
+ * @ClassName AndroidTextMeasurer
+ * @Description  在Android上用画笔对应的Paint测量文字,是Android上默认的文字测量实现
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ *  * MODIFIED    YYYY-MM-DD   REASON
+ */
+
+public class AndroidTextMeasurer implements ITextMeasurer {
+
+	@Override
+	public float measureText(ChartPaint paint, String text) {
+		return AndroidPaint.of(paint).measureText(text, 0, text.length());
+	}
+
+	@Override
+	public float getFontHeight(ChartPaint paint) {
+		Paint android = AndroidPaint.of(paint);
+		return android.descent() - android.ascent();
+	}
+
+	@Override
+	public Object getFontKey(ChartPaint paint) {
+		return null == paint.getPlatformPaint() ? null : AndroidPaint.of(paint).getTypeface();
+	}
+
+}
@@ -0,0 +1,181 @@
+/**
+ * Copyright 2014  XCL-Charts
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 	
+ * @Project XCL-Charts 
+ * @Description Android图表基类库
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ * @license http://www.apache.org/licenses/  Apache v2 License
+ * @version v0.1
+ */
+package org.xclcharts.renderer.canvas;
+
+/**
+ * @ClassName ChartColor
+ * @Description  与绘图平台无关的颜色常量与换算,颜色都是ARGB格式的int,
+ * 				  常量的值与换算结果都与android.graphics.Color相同
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ *  * MODIFIED    YYYY-MM-DD   REASON
+ */
+
+public final class ChartColor {
+
+	public static final int BLACK       = 0xFF000000;
+	public static final int DKGRAY      = 0xFF444444;
+	public static final int GRAY        = 0xFF888888;
+	public static final int LTGRAY      = 0xFFCCCCCC;
+	public static final int WHITE       = 0xFFFFFFFF;
+	public static final int RED         = 0xFFFF0000;
+	public static final int GREEN       = 0xFF00FF00;
+	public static final int BLUE        = 0xFF0000FF;
+	public static final int YELLOW      = 0xFFFFFF00;
+	public static final int CYAN        = 0xFF00FFFF;
+	public static final int MAGENTA     = 0xFFFF00FF;
+	public static final int TRANSPARENT = 0;
+
+	private ChartColor()
+	{
+
+	}
+
+	public static int alpha(int color)
+	{
+		return color >>> 24;
+	}
+
+	public static int red(int color)
+	{
+		return (color >> 16) & 0xFF;
+	}
+
+	public static int green(int color)
+	{
+		return (color >> 8) & 0xFF;
+	}
+
+	public static int blue(int color)
+	{
+		return color & 0xFF;
+	}
+
+	/**
+	 * 由红绿蓝分量得到不透明的颜色
+	 * @param red	红,0-255
+	 * @param green	绿,0-255
+	 * @param blue	蓝,0-255
+	 * @return 颜色
+	 */
+	public static int rgb(int red,int green,int blue)
+	{
+		return 0xFF000000 | (red << 16) | (green << 8) | blue;
+	}
+
+	/**
+	 * 由透明度与红绿蓝分量得到颜色
+	 * @param alpha	透明度,0-255
+	 * @param red	红,0-255
+	 * @param green	绿,0-255
+	 * @param blue	蓝,0-255
+	 * @return 颜色
+	 */
+	public static int argb(int alpha,int red,int green,int blue)
+	{
+		return (alpha << 24) | (red << 16) | (green << 8) | blue;
+	}
+
+	/**
+	 * 颜色转换为HSV
+	 * @param color	颜色
+	 * @param hsv	结果,依次为色相[0,360),饱和度[0,1],明度[0,1]
+	 */
+	public static void colorToHSV(int color,float[] hsv)
+	{
+		int r = red(color);
+		int g = green(color);
+		int b = blue(color);
+		int max = Math.max(r, Math.max(g, b));
+		int min = Math.min(r, Math.min(g, b));
+		int delta = max - min;
+
+		hsv[2] = max / 255f;
+		if(0 == delta)
+		{
+			hsv[0] = 0f;
+			hsv[1] = 0f;
+			return;
+		}
+		hsv[1] = (float) delta / max;
+
+		float h;
+		if(r == max)
+		{
+			h = (float)(g - b) / delta;
+		}else if(g == max){
+			h = 2f + (float)(b - r) / delta;
+		}else{
+			h = 4f + (float)(r - g) / delta;
+		}
+		h *= 60f;
+		if(h < 0f) h += 360f;
+		hsv[0] = h;
+	}
+
+	/**
+	 * HSV转换为不透明的颜色,饱和度与明度超出[0,1]时取边界值
+	 * @param hsv	色相,饱和度,明度
+	 * @return 颜色
+	 */
+	public static int HSVToColor(float[] hsv)
+	{
+		return HSVToColor(0xFF, hsv);
+	}
+
+	/**
+	 * HSV转换为颜色
+	 * @param alpha	透明度
+	 * @param hsv	色相,饱和度,明度
+	 * @return 颜色
+	 */
+	public static int HSVToColor(int alpha,float[] hsv)
+	{
+		float s = Math.max(0f, Math.min(1f, hsv[1]));
+		float v = Math.max(0f, Math.min(1f, hsv[2]));
+		int value = Math.round(v * 255f);
+		if(s <= 1f / 4096) return argb(alpha, value, value, value);
+
+		float hx = (hsv[0] < 0f || hsv[0] >= 360f) ? 0f : hsv[0] / 60f;
+		int w = (int) Math.floor(hx);
+		float f = hx - w;
+		int p = Math.round((1f - s) * v * 255f);
+		int q = Math.round((1f - s * f) * v * 255f);
+		int t = Math.round((1f - s * (1f - f)) * v * 255f);
+
+		switch(w)
+		{
+		case 0:
+			return argb(alpha, value, t, p);
+		case 1:
+			return argb(alpha, q, value, p);
+		case 2:
+			return argb(alpha, p, value, t);
+		case 3:
+			return argb(alpha, p, q, value);
+		case 4:
+			return argb(alpha, t, p, value);
+		default:
+			return argb(alpha, value, p, q);
+		}
+	}
+
+}
@@ -0,0 +1,95 @@
+/**
+ * Copyright 2014  XCL-Charts
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 	
+ * @Project XCL-Charts 
+ * @Description Android图表基类库
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ * @license http://www.apache.org/licenses/  Apache v2 License
+ * @version v0.1
+ */
+package org.xclcharts.renderer.canvas;
+
+/**
+ * @ClassName ChartDash
+ * @Description  与绘图平台无关的虚线样式,间隔依次为实线与空白的长度,至少两个且为偶数个。
+ * 				  不可修改,可被多个画笔与多个线程共用,各画布实现按需转换为各自平台的虚线效果
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ *  * MODIFIED    YYYY-MM-DD   REASON
+ */
+
+public final class ChartDash {
+
+	private final float[] mIntervals;
+	private final float mPhase;
+
+	//画布实现转换后的平台对象,如Android的DashPathEffect
+	private volatile Object mPlatformEffect = null;
+
+	/**
+	 * @param intervals	实线与空白的长度
+	 * @param phase		起始偏移
+	 */
+	public ChartDash(float[] intervals,float phase)
+	{
+		if(null == intervals || intervals.length < 2 || 0 != intervals.length % 2)
+			throw new IllegalArgumentException("intervals must have an even number of entries >= 2");
+		mIntervals = intervals.clone();
+		mPhase = phase;
+	}
+
+	/**
+	 * 返回间隔个数
+	 * @return 个数
+	 */
+	public int getIntervalCount()
+	{
+		return mIntervals.length;
+	}
+
+	/**
+	 * 返回指定的间隔
+	 * @param index 下标
+	 * @return 长度
+	 */
+	public float getInterval(int index)
+	{
+		return mIntervals[index];
+	}
+
+	/**
+	 * 返回间隔的拷贝
+	 * @return 间隔
+	 */
+	public float[] getIntervals()
+	{
+		return mIntervals.clone();
+	}
+
+	public float getPhase()
+	{
+		return mPhase;
+	}
+
+	Object getPlatformEffect()
+	{
+		return mPlatformEffect;
+	}
+
+	void setPlatformEffect(Object effect)
+	{
+		mPlatformEffect = effect;
+	}
+
+}
@@ -0,0 +1,183 @@
+/**
+ * Copyright 2014  XCL-Charts
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 	
+ * @Project XCL-Charts 
+ * @Description Android图表基类库
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ * @license http://www.apache.org/licenses/  Apache v2 License
+ * @version v0.1
+ */
+package org.xclcharts.renderer.canvas;
+
+/**
+ * @ClassName ChartGradient
+ * @Description  与绘图平台无关的线性渐变,起止点,颜色与位置创建后不变,
+ * 				  另有一个只含缩放与平移的局部变换,可在每次绘制前修改,坐标先缩放再平移。
+ * 				  局部变换每次修改后版本递增,画布实现据此更新转换后的平台对象
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ *  * MODIFIED    YYYY-MM-DD   REASON
+ */
+
+public final class ChartGradient {
+
+	/**
+	 * 渐变范围以外的填充方式
+	 */
+	public enum TileMode {
+		CLAMP, REPEAT, MIRROR
+	}
+
+	private final float mX0;
+	private final float mY0;
+	private final float mX1;
+	private final float mY1;
+	private final int[] mColors;
+	private final float[] mPositions;
+	private final TileMode mTileMode;
+
+	//局部变换
+	private float mScaleX = 1f;
+	private float mScaleY = 1f;
+	private float mTranslateX = 0f;
+	private float mTranslateY = 0f;
+	private int mVersion = 0;
+
+	//画布实现转换后的平台对象,如Android的LinearGradient
+	private Object mPlatformShader = null;
+
+	/**
+	 * @param x0		起点x
+	 * @param y0		起点y
+	 * @param x1		终点x
+	 * @param y1		终点y
+	 * @param colors	颜色,至少两个
+	 * @param positions	各颜色的相对位置,为null时均匀分布
+	 * @param tileMode	范围以外的填充方式
+	 */
+	public ChartGradient(float x0,float y0,float x1,float y1,
+						int[] colors,float[] positions,TileMode tileMode)
+	{
+		if(null == colors || colors.length < 2)
+			throw new IllegalArgumentException("needs at least 2 colors");
+		if(null != positions && positions.length != colors.length)
+			throw new IllegalArgumentException("colors and positions must have the same length");
+		mX0 = x0;
+		mY0 = y0;
+		mX1 = x1;
+		mY1 = y1;
+		mColors = colors.clone();
+		mPositions = null == positions ? null : positions.clone();
+		mTileMode = null == tileMode ? TileMode.CLAMP : tileMode;
+	}
+
+	public float getX0()
+	{
+		return mX0;
+	}
+
+	public float getY0()
+	{
+		return mY0;
+	}
+
+	public float getX1()
+	{
+		return mX1;
+	}
+
+	public float getY1()
+	{
+		return mY1;
+	}
+
+	/**
+	 * 返回颜色的拷贝
+	 * @return 颜色
+	 */
+	public int[] getColors()
+	{
+		return mColors.clone();
+	}
+
+	/**
+	 * 返回位置的拷贝,均匀分布时为null
+	 * @return 位置
+	 */
+	public float[] getPositions()
+	{
+		return null == mPositions ? null : mPositions.clone();
+	}
+
+	public TileMode getTileMode()
+	{
+		return mTileMode;
+	}
+
+	/**
+	 * 设置局部变换,坐标先缩放再平移
+	 * @param scaleX		x方向缩放
+	 * @param scaleY		y方向缩放
+	 * @param translateX	x方向平移
+	 * @param translateY	y方向平移
+	 */
+	public void setLocalTransform(float scaleX,float scaleY,float translateX,float translateY)
+	{
+		mScaleX = scaleX;
+		mScaleY = scaleY;
+		mTranslateX = translateX;
+		mTranslateY = translateY;
+		mVersion++;
+	}
+
+	public float getScaleX()
+	{
+		return mScaleX;
+	}
+
+	public float getScaleY()
+	{
+		return mScaleY;
+	}
+
+	public float getTranslateX()
+	{
+		return mTranslateX;
+	}
+
+	public float getTranslateY()
+	{
+		return mTranslateY;
+	}
+
+	/**
+	 * 返回局部变换的版本,每次修改后递增
+	 * @return 版本
+	 */
+	public int getVersion()
+	{
+		return mVersion;
+	}
+
+	Object getPlatformShader()
+	{
+		return mPlatformShader;
+	}
+
+	void setPlatformShader(Object shader)
+	{
+		mPlatformShader = shader;
+	}
+
+}
@@ -0,0 +1,377 @@
+/**
+ * Copyright 2014  XCL-Charts
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 	
+ * @Project XCL-Charts 
+ * @Description Android图表基类库
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ * @license http://www.apache.org/licenses/  Apache v2 License
+ * @version v0.1
+ */
+package org.xclcharts.renderer.canvas;
+
+/**
+ * @ClassName ChartPaint
+ * @Description  与绘图平台无关的画笔,只含图表用到的颜色,样式,线宽,抗锯齿,字号,对齐,
+ * 				  粗体,虚线与渐变,默认值与android.graphics.Paint相同。
+ * 				  每次修改后版本递增,各画布实现据此判断要不要更新转换后的平台画笔。
+ * 				  文字测量交给ITextMeasurer,在Android上默认用Android的Paint测量,
+ * 				  其他JVM上有jvm/src的Java2DTextMeasurer时用它,否则按字号估算
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ *  * MODIFIED    YYYY-MM-DD   REASON
+ */
+
+public class ChartPaint {
+
+	/**
+	 * 填充风格
+	 */
+	public enum Style {
+		FILL, STROKE, FILL_AND_STROKE
+	}
+
+	/**
+	 * 文字对齐方式,与drawText()的x对齐
+	 */
+	public enum Align {
+		LEFT, CENTER, RIGHT
+	}
+
+	//不在Android上时尝试加载的测量实现,位于jvm/src
+	private static final String JAVA2D_MEASURER = "org.xclcharts.renderer.canvas.Java2DTextMeasurer";
+
+	private static volatile ITextMeasurer sTextMeasurer = null;
+
+	private int mColor = ChartColor.BLACK;
+	private Style mStyle = Style.FILL;
+	private float mStrokeWidth = 0f;
+	private boolean mAntiAlias = false;
+	private float mTextSize = 12f;
+	private Align mTextAlign = Align.LEFT;
+	private boolean mFakeBoldText = false;
+	private ChartDash mDash = null;
+	private ChartGradient mGradient = null;
+	private int mVersion = 0;
+
+	//画布实现转换后的平台画笔,如Android的Paint
+	private Object mPlatformPaint = null;
+
+	public ChartPaint()
+	{
+
+	}
+
+	/**
+	 * 拷贝另一个画笔的属性
+	 * @param paint 画笔
+	 */
+	public ChartPaint(ChartPaint paint)
+	{
+		set(paint);
+	}
+
+	/**
+	 * 拷贝另一个画笔的属性,平台画笔上另外设置的属性(如Typeface)也一起拷贝
+	 * @param paint 画笔
+	 */
+	public void set(ChartPaint paint)
+	{
+		if(this == paint) return;
+		mColor = paint.mColor;
+		mStyle = paint.mStyle;
+		mStrokeWidth = paint.mStrokeWidth;
+		mAntiAlias = paint.mAntiAlias;
+		mTextSize = paint.mTextSize;
+		mTextAlign = paint.mTextAlign;
+		mFakeBoldText = paint.mFakeBoldText;
+		mDash = paint.mDash;
+		mGradient = paint.mGradient;
+		mVersion++;
+		if(null != paint.mPlatformPaint) AndroidPaint.copyPlatformPaint(paint, this);
+	}
+
+	/**
+	 * 恢复默认值
+	 */
+	public void reset()
+	{
+		mColor = ChartColor.BLACK;
+		mStyle = Style.FILL;
+		mStrokeWidth = 0f;
+		mAntiAlias = false;
+		mTextSize = 12f;
+		mTextAlign = Align.LEFT;
+		mFakeBoldText = false;
+		mDash = null;
+		mGradient = null;
+		mVersion++;
+	}
+
+	public int getColor()
+	{
+		return mColor;
+	}
+
+	public void setColor(int color)
+	{
+		mColor = color;
+		mVersion++;
+	}
+
+	public int getAlpha()
+	{
+		return mColor >>> 24;
+	}
+
+	/**
+	 * 只替换颜色的透明度
+	 * @param alpha 透明度,0-255
+	 */
+	public void setAlpha(int alpha)
+	{
+		setColor((mColor & 0x00FFFFFF) | ((alpha & 0xFF) << 24));
+	}
+
+	public void setARGB(int alpha,int red,int green,int blue)
+	{
+		setColor(ChartColor.argb(alpha, red, green, blue));
+	}
+
+	public Style getStyle()
+	{
+		return mStyle;
+	}
+
+	public void setStyle(Style style)
+	{
+		mStyle = null == style ? Style.FILL : style;
+		mVersion++;
+	}
+
+	/**
+	 * 返回线宽,0表示1像素宽的细线
+	 * @return 线宽
+	 */
+	public float getStrokeWidth()
+	{
+		return mStrokeWidth;
+	}
+
+	public void setStrokeWidth(float width)
+	{
+		mStrokeWidth = width;
+		mVersion++;
+	}
+
+	public boolean isAntiAlias()
+	{
+		return mAntiAlias;
+	}
+
+	public void setAntiAlias(boolean antiAlias)
+	{
+		mAntiAlias = antiAlias;
+		mVersion++;
+	}
+
+	public float getTextSize()
+	{
+		return mTextSize;
+	}
+
+	public void setTextSize(float textSize)
+	{
+		mTextSize = textSize;
+		mVersion++;
+	}
+
+	public Align getTextAlign()
+	{
+		return mTextAlign;
+	}
+
+	public void setTextAlign(Align align)
+	{
+		mTextAlign = null == align ? Align.LEFT : align;
+		mVersion++;
+	}
+
+	public boolean isFakeBoldText()
+	{
+		return mFakeBoldText;
+	}
+
+	public void setFakeBoldText(boolean fakeBoldText)
+	{
+		mFakeBoldText = fakeBoldText;
+		mVersion++;
+	}
+
+	/**
+	 * 返回虚线样式,实线时为null
+	 * @return 虚线样式
+	 */
+	public ChartDash getDash()
+	{
+		return mDash;
+	}
+
+	public void setDash(ChartDash dash)
+	{
+		mDash = dash;
+		mVersion++;
+	}
+
+	/**
+	 * 返回渐变,没有时按颜色实色填充
+	 * @return 渐变
+	 */
+	public ChartGradient getGradient()
+	{
+		return mGradient;
+	}
+
+	public void setGradient(ChartGradient gradient)
+	{
+		mGradient = gradient;
+		mVersion++;
+	}
+
+	/**
+	 * 返回版本,每次修改属性后递增
+	 * @return 版本
+	 */
+	public int getVersion()
+	{
+		return mVersion;
+	}
+
+	/**
+	 * 返回文字的宽度
+	 * @param text 文字
+	 * @return 宽度
+	 */
+	public float measureText(String text)
+	{
+		return getTextMeasurer().measureText(this, text);
+	}
+
+	/**
+	 * 返回字体的高度,即descent - ascent
+	 * @return 高度
+	 */
+	public float getFontHeight()
+	{
+		return getTextMeasurer().getFontHeight(this);
+	}
+
+	/**
+	 * 比较绘制结果相同的属性,录制绘制命令与输出SVG时用来合并画笔
+	 * @param paint 画笔
+	 * @return 是否相同
+	 */
+	public boolean sameStyle(ChartPaint paint)
+	{
+		if(this == paint) return true;
+		return mColor == paint.mColor
+				&& mStyle == paint.mStyle
+				&& Float.compare(mStrokeWidth, paint.mStrokeWidth) == 0
+				&& mAntiAlias == paint.mAntiAlias
+				&& Float.compare(mTextSize, paint.mTextSize) == 0
+				&& mTextAlign == paint.mTextAlign
+				&& mFakeBoldText == paint.mFakeBoldText
+				&& mDash == paint.mDash
+				&& mGradient == paint.mGradient
+				&& (null == mPlatformPaint && null == paint.mPlatformPaint
+					|| getTextMeasurer().getFontKey(this) == getTextMeasurer().getFontKey(paint));
+	}
+
+	Object getPlatformPaint()
+	{
+		return mPlatformPaint;
+	}
+
+	void setPlatformPaint(Object paint)
+	{
+		mPlatformPaint = paint;
+	}
+
+	/**
+	 * 设置所有画笔共用的文字测量实现,如在没有Android的JVM上用别的字体测量
+	 * @param measurer 测量实现,为null时恢复默认
+	 */
+	public static void setTextMeasurer(ITextMeasurer measurer)
+	{
+		sTextMeasurer = measurer;
+	}
+
+	/**
+	 * 返回文字测量实现,没有设置时按运行环境选择默认的实现
+	 * @return 测量实现
+	 */
+	public static ITextMeasurer getTextMeasurer()
+	{
+		ITextMeasurer measurer = sTextMeasurer;
+		if(null == measurer)
+		{
+			measurer = createDefaultMeasurer();
+			sTextMeasurer = measurer;
+		}
+		return measurer;
+	}
+
+	private static ITextMeasurer createDefaultMeasurer()
+	{
+		//ART与Dalvik的java.vm.name都是Dalvik
+		String vm = System.getProperty("java.vm.name");
+		if(null != vm && vm.startsWith("Dalvik")) return new AndroidTextMeasurer();
+		try {
+			return (ITextMeasurer) Class.forName(JAVA2D_MEASURER).getConstructor().newInstance();
+		} catch (Exception e) {
+			return new EstimateTextMeasurer();
+		} catch (LinkageError e) {
+			return new EstimateTextMeasurer();
+		}
+	}
+
+	/**
+	 * 没有字体可用时按字号估算,每个字符宽为字号的0.6倍,CJK等全角字符为1倍
+	 */
+	private static class EstimateTextMeasurer implements ITextMeasurer
+	{
+		@Override
+		public float measureText(ChartPaint paint,String text)
+		{
+			float width = 0f;
+			for(int i = 0; i < text.length(); i++)
+			{
+				width += text.charAt(i) >= 0x2E80 ? 1f : 0.6f;
+			}
+			return width * paint.getTextSize();
+		}
+
+		@Override
+		public float getFontHeight(ChartPaint paint)
+		{
+			return paint.getTextSize() * 1.17f;
+		}
+
+		@Override
+		public Object getFontKey(ChartPaint paint)
+		{
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,155 @@
+/**
+ * Copyright 2014  XCL-Charts
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 	
+ * @Project XCL-Charts 
+ * @Description Android图表基类库
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ * @license http://www.apache.org/licenses/  Apache v2 License
+ * @version v0.1
+ */
+package org.xclcharts.renderer.canvas;
+
+/**
+ * @ClassName ChartPath
+ * @Description  与绘图平台无关的路径,只由直线段组成。
+ * 				  命令与坐标存放在可增长的数组中,reset()后重复使用不再分配内存,
+ * 				  由各画布实现转换为各自平台的路径
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ *  * MODIFIED    YYYY-MM-DD   REASON
+ */
+
+public class ChartPath {
+
+	//路径命令
+	public static final byte MOVE_TO = 0;
+	public static final byte LINE_TO = 1;
+	public static final byte CLOSE = 2;
+
+	//命令序列
+	private byte[] mOps = new byte[16];
+	private int mOpCount = 0;
+	//MOVE_TO与LINE_TO的坐标,按命令顺序每个命令两个数
+	private float[] mPoints = new float[32];
+	private int mPointCount = 0;
+
+	public ChartPath()
+	{
+
+	}
+
+	/**
+	 * 清空路径,保留已分配的数组
+	 */
+	public void reset()
+	{
+		mOpCount = 0;
+		mPointCount = 0;
+	}
+
+	/**
+	 * 路径是否为空
+	 * @return 是否为空
+	 */
+	public boolean isEmpty()
+	{
+		return 0 == mOpCount;
+	}
+
+	public void moveTo(float x,float y)
+	{
+		addOp(MOVE_TO);
+		addPoint(x, y);
+	}
+
+	public void lineTo(float x,float y)
+	{
+		//与android.graphics.Path一样,没有起点时从(0,0)开始
+		if(0 == mOpCount) moveTo(0, 0);
+		addOp(LINE_TO);
+		addPoint(x, y);
+	}
+
+	/**
+	 * 闭合当前的子路径
+	 */
+	public void close()
+	{
+		if(0 == mOpCount || CLOSE == mOps[mOpCount - 1]) return;
+		addOp(CLOSE);
+	}
+
+	/**
+	 * 加入一个顺时针的矩形子路径
+	 */
+	public void addRect(float left,float top,float right,float bottom)
+	{
+		moveTo(left, top);
+		lineTo(right, top);
+		lineTo(right, bottom);
+		lineTo(left, bottom);
+		close();
+	}
+
+	/**
+	 * 返回命令个数
+	 * @return 个数
+	 */
+	public int getOpCount()
+	{
+		return mOpCount;
+	}
+
+	/**
+	 * 返回命令数组,只有前getOpCount()个有效
+	 * @return 命令数组
+	 */
+	public byte[] getOps()
+	{
+		return mOps;
+	}
+
+	/**
+	 * 返回坐标数组,MOVE_TO与LINE_TO依次各占两个数
+	 * @return 坐标数组
+	 */
+	public float[] getPoints()
+	{
+		return mPoints;
+	}
+
+	private void addOp(byte op)
+	{
+		if(mOpCount == mOps.length)
+		{
+			byte[] ops = new byte[mOps.length * 2];
+			System.arraycopy(mOps, 0, ops, 0, mOpCount);
+			mOps = ops;
+		}
+		mOps[mOpCount++] = op;
+	}
+
+	private void addPoint(float x,float y)
+	{
+		if(mPointCount + 2 > mPoints.length)
+		{
+			float[] points = new float[mPoints.length * 2];
+			System.arraycopy(mPoints, 0, points, 0, mPointCount);
+			mPoints = points;
+		}
+		mPoints[mPointCount++] = x;
+		mPoints[mPointCount++] = y;
+	}
+
+}
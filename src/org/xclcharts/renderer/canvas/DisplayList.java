@@ -0,0 +1,506 @@
+/**
+ * Copyright 2014  XCL-Charts
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 	
+ * @Project XCL-Charts 
+ * @Description Android图表基类库
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ * @license http://www.apache.org/licenses/  Apache v2 License
+ * @version v0.1
+ */
+package org.xclcharts.renderer.canvas;
+
+import java.util.IdentityHashMap;
+
+/**
+ * @ClassName DisplayList
+ * @Description  录下的一帧图表绘制命令,由RecordingChartCanvas写入,之后可以多次回放,
+ * 				  也可按比例缩放后回放,或交给别的线程回放。
+ * 				  命令存放在操作码,float,int与char几个数组里,文字拷贝到char数组中,
+ * 				  画笔按属性去重后各保存一份拷贝,录制后再修改原画笔不影响回放。
+ * 				  回放时不分配内存。画笔带渐变时回放会设回录制时的局部变换,
+ * 				  渐变对象与原画笔共用,不要与使用同一画笔的绘制同时进行
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ *  * MODIFIED    YYYY-MM-DD   REASON
+ */
+
+public class DisplayList {
+
+	//操作码
+	private static final byte OP_SAVE = 0;
+	private static final byte OP_RESTORE = 1;
+	private static final byte OP_TRANSLATE = 2;
+	private static final byte OP_SCALE = 3;
+	private static final byte OP_ROTATE = 4;
+	private static final byte OP_CLIP_RECT = 5;
+	private static final byte OP_LINE = 6;
+	private static final byte OP_LINES = 7;
+	private static final byte OP_RECT = 8;
+	private static final byte OP_CIRCLE = 9;
+	private static final byte OP_ARC = 10;
+	private static final byte OP_PATH = 11;
+	private static final byte OP_TEXT = 12;
+	private static final byte OP_GRADIENT_TRANSFORM = 13;
+
+	//渐变局部变换的值个数
+	private static final int TRANSFORM_SIZE = 4;
+
+	private byte[] mOps = new byte[256];
+	private int mOpCount = 0;
+	private float[] mFloats = new float[1024];
+	private int mFloatCount = 0;
+	private int[] mInts = new int[512];
+	private int mIntCount = 0;
+	private char[] mChars = new char[512];
+	private int mCharCount = 0;
+	//路径的命令
+	private byte[] mPathOps = new byte[128];
+	private int mPathOpCount = 0;
+
+	//去重后的画笔拷贝
+	private ChartPaint[] mPaints = new ChartPaint[16];
+	private int mPaintCount = 0;
+	//录制时各原画笔上次对应的拷贝
+	private final IdentityHashMap<ChartPaint,Integer> mPaintIndexes = new IdentityHashMap<ChartPaint,Integer>();
+
+	//录制时的画布大小
+	private int mWidth = 0;
+	private int mHeight = 0;
+
+	//录制与回放用的临时对象
+	private final ChartPath mPath = new ChartPath();
+
+	public DisplayList()
+	{
+
+	}
+
+	/**
+	 * 清空,准备重新录制,保留已分配的数组
+	 * @param width		画布宽度
+	 * @param height	画布高度
+	 */
+	public synchronized void reset(int width,int height)
+	{
+		mOpCount = 0;
+		mFloatCount = 0;
+		mIntCount = 0;
+		mCharCount = 0;
+		mPathOpCount = 0;
+		for(int i = 0; i < mPaintCount; i++) mPaints[i] = null;
+		mPaintCount = 0;
+		mPaintIndexes.clear();
+		mWidth = width;
+		mHeight = height;
+	}
+
+	/**
+	 * 返回录制时的画布宽度
+	 * @return 宽度
+	 */
+	public int getWidth()
+	{
+		return mWidth;
+	}
+
+	/**
+	 * 返回录制时的画布高度
+	 * @return 高度
+	 */
+	public int getHeight()
+	{
+		return mHeight;
+	}
+
+	/**
+	 * 返回命令个数
+	 * @return 个数
+	 */
+	public int getOpCount()
+	{
+		return mOpCount;
+	}
+
+	/**
+	 * 返回去重后的画笔个数
+	 * @return 个数
+	 */
+	public int getPaintCount()
+	{
+		return mPaintCount;
+	}
+
+	/**
+	 * 回放到指定画布上
+	 * @param canvas 画布
+	 */
+	public void replay(IChartCanvas canvas)
+	{
+		replay(canvas, 1f);
+	}
+
+	/**
+	 * 按比例缩放后回放到指定画布上,线宽与字号一起缩放
+	 * @param canvas	画布
+	 * @param scale		比例
+	 */
+	public synchronized void replay(IChartCanvas canvas,float scale)
+	{
+		canvas.save();
+		if(1f != scale) canvas.scale(scale, scale);
+
+		byte[] ops = mOps;
+		float[] f = mFloats;
+		int[] n = mInts;
+		ChartPaint[] paints = mPaints;
+		int fi = 0;
+		int ni = 0;
+		int pi = 0;
+		for(int i = 0; i < mOpCount; i++)
+		{
+			switch(ops[i])
+			{
+			case OP_SAVE:
+				canvas.save();
+				break;
+			case OP_RESTORE:
+				canvas.restore();
+				break;
+			case OP_TRANSLATE:
+				canvas.translate(f[fi], f[fi + 1]);
+				fi += 2;
+				break;
+			case OP_SCALE:
+				canvas.scale(f[fi], f[fi + 1]);
+				fi += 2;
+				break;
+			case OP_ROTATE:
+				canvas.rotate(f[fi], f[fi + 1], f[fi + 2]);
+				fi += 3;
+				break;
+			case OP_CLIP_RECT:
+				canvas.clipRect(f[fi], f[fi + 1], f[fi + 2], f[fi + 3]);
+				fi += 4;
+				break;
+			case OP_LINE:
+				canvas.drawLine(f[fi], f[fi + 1], f[fi + 2], f[fi + 3], paints[n[ni]]);
+				fi += 4;
+				ni += 1;
+				break;
+			case OP_LINES:
+				canvas.drawLines(f, fi, n[ni + 1], paints[n[ni]]);
+				fi += n[ni + 1];
+				ni += 2;
+				break;
+			case OP_RECT:
+				canvas.drawRect(f[fi], f[fi + 1], f[fi + 2], f[fi + 3], paints[n[ni]]);
+				fi += 4;
+				ni += 1;
+				break;
+			case OP_CIRCLE:
+				canvas.drawCircle(f[fi], f[fi + 1], f[fi + 2], paints[n[ni]]);
+				fi += 3;
+				ni += 1;
+				break;
+			case OP_ARC:
+				canvas.drawArc(f[fi], f[fi + 1], f[fi + 2], f[fi + 3], f[fi + 4], f[fi + 5],
+								1 == n[ni + 1], paints[n[ni]]);
+				fi += 6;
+				ni += 2;
+				break;
+			case OP_PATH:
+				ChartPath path = mPath;
+				path.reset();
+				int end = pi + n[ni + 1];
+				for(; pi < end; pi++)
+				{
+					switch(mPathOps[pi])
+					{
+					case ChartPath.MOVE_TO:
+						path.moveTo(f[fi], f[fi + 1]);
+						fi += 2;
+						break;
+					case ChartPath.LINE_TO:
+						path.lineTo(f[fi], f[fi + 1]);
+						fi += 2;
+						break;
+					default:
+						path.close();
+						break;
+					}
+				}
+				canvas.drawPath(path, paints[n[ni]]);
+				ni += 2;
+				break;
+			case OP_TEXT:
+				canvas.drawText(mChars, n[ni + 1], n[ni + 2], f[fi], f[fi + 1], paints[n[ni]]);
+				fi += 2;
+				ni += 3;
+				break;
+			case OP_GRADIENT_TRANSFORM:
+				paints[n[ni]].getGradient().setLocalTransform(f[fi], f[fi + 1], f[fi + 2], f[fi + 3]);
+				fi += TRANSFORM_SIZE;
+				ni += 1;
+				break;
+			}
+		}
+		canvas.restore();
+	}
+
+	//以下由RecordingChartCanvas在录制时调用
+
+	synchronized void addSave()
+	{
+		addOp(OP_SAVE);
+	}
+
+	synchronized void addRestore()
+	{
+		addOp(OP_RESTORE);
+	}
+
+	synchronized void addTranslate(float dx,float dy)
+	{
+		addOp(OP_TRANSLATE);
+		addFloat(dx);
+		addFloat(dy);
+	}
+
+	synchronized void addScale(float sx,float sy)
+	{
+		addOp(OP_SCALE);
+		addFloat(sx);
+		addFloat(sy);
+	}
+
+	synchronized void addRotate(float degrees,float px,float py)
+	{
+		addOp(OP_ROTATE);
+		addFloat(degrees);
+		addFloat(px);
+		addFloat(py);
+	}
+
+	synchronized void addClipRect(float left,float top,float right,float bottom)
+	{
+		addOp(OP_CLIP_RECT);
+		addRect(left, top, right, bottom);
+	}
+
+	synchronized void addLine(float startX,float startY,float stopX,float stopY,ChartPaint paint)
+	{
+		int index = internPaint(paint);
+		addOp(OP_LINE);
+		addRect(startX, startY, stopX, stopY);
+		addInt(index);
+	}
+
+	synchronized void addLines(float[] pts,int offset,int count,ChartPaint paint)
+	{
+		//与Canvas.drawLines()一样只用完整的线段
+		count &= ~3;
+		if(count <= 0) return;
+		int index = internPaint(paint);
+		addOp(OP_LINES);
+		ensureFloats(count);
+		System.arraycopy(pts, offset, mFloats, mFloatCount, count);
+		mFloatCount += count;
+		addInt(index);
+		addInt(count);
+	}
+
+	synchronized void addRect(float left,float top,float right,float bottom,ChartPaint paint)
+	{
+		int index = internPaint(paint);
+		addOp(OP_RECT);
+		addRect(left, top, right, bottom);
+		addInt(index);
+	}
+
+	synchronized void addCircle(float cx,float cy,float radius,ChartPaint paint)
+	{
+		int index = internPaint(paint);
+		addOp(OP_CIRCLE);
+		addFloat(cx);
+		addFloat(cy);
+		addFloat(radius);
+		addInt(index);
+	}
+
+	synchronized void addArc(float left,float top,float right,float bottom,
+			float startAngle,float sweepAngle,boolean useCenter,ChartPaint paint)
+	{
+		int index = internPaint(paint);
+		addOp(OP_ARC);
+		addRect(left, top, right, bottom);
+		addFloat(startAngle);
+		addFloat(sweepAngle);
+		addInt(index);
+		addInt(useCenter ? 1 : 0);
+	}
+
+	synchronized void addPath(ChartPath path,ChartPaint paint)
+	{
+		if(path.isEmpty()) return;
+		int index = internPaint(paint);
+		addOp(OP_PATH);
+
+		int opCount = path.getOpCount();
+		byte[] ops = path.getOps();
+		float[] points = path.getPoints();
+		int pointCount = 0;
+		for(int i = 0; i < opCount; i++)
+		{
+			if(ChartPath.CLOSE != ops[i]) pointCount += 2;
+		}
+		if(mPathOpCount + opCount > mPathOps.length)
+		{
+			byte[] pathOps = new byte[Math.max(mPathOps.length * 2, mPathOpCount + opCount)];
+			System.arraycopy(mPathOps, 0, pathOps, 0, mPathOpCount);
+			mPathOps = pathOps;
+		}
+		System.arraycopy(ops, 0, mPathOps, mPathOpCount, opCount);
+		mPathOpCount += opCount;
+		ensureFloats(pointCount);
+		System.arraycopy(points, 0, mFloats, mFloatCount, pointCount);
+		mFloatCount += pointCount;
+		addInt(index);
+		addInt(opCount);
+	}
+
+	synchronized void addText(char[] text,int start,int count,float x,float y,ChartPaint paint)
+	{
+		int index = internPaint(paint);
+		addOp(OP_TEXT);
+		addFloat(x);
+		addFloat(y);
+		addInt(index);
+		addInt(mCharCount);
+		addInt(count);
+		ensureChars(count);
+		System.arraycopy(text, start, mChars, mCharCount, count);
+		mCharCount += count;
+	}
+
+	synchronized void addText(String text,float x,float y,ChartPaint paint)
+	{
+		int index = internPaint(paint);
+		int count = text.length();
+		addOp(OP_TEXT);
+		addFloat(x);
+		addFloat(y);
+		addInt(index);
+		addInt(mCharCount);
+		addInt(count);
+		ensureChars(count);
+		text.getChars(0, count, mChars, mCharCount);
+		mCharCount += count;
+	}
+
+	/**
+	 * 返回与画笔当前属性相同的拷贝的下标,没有时加入一份拷贝。
+	 * 画笔带渐变时另外记下渐变当前的局部变换
+	 * @param paint 画笔
+	 * @return 下标
+	 */
+	private int internPaint(ChartPaint paint)
+	{
+		int index = -1;
+		Integer last = mPaintIndexes.get(paint);
+		if(null != last && paint.sameStyle(mPaints[last])) index = last;
+		for(int i = mPaintCount - 1; i >= 0 && index < 0; i--)
+		{
+			if(paint.sameStyle(mPaints[i])) index = i;
+		}
+		if(index < 0)
+		{
+			if(mPaintCount == mPaints.length)
+			{
+				ChartPaint[] paints = new ChartPaint[mPaints.length * 2];
+				System.arraycopy(mPaints, 0, paints, 0, mPaintCount);
+				mPaints = paints;
+			}
+			index = mPaintCount;
+			mPaints[mPaintCount++] = new ChartPaint(paint);
+		}
+		if(null == last || last != index) mPaintIndexes.put(paint, index);
+
+		ChartGradient gradient = paint.getGradient();
+		if(null != gradient)
+		{
+			addOp(OP_GRADIENT_TRANSFORM);
+			ensureFloats(TRANSFORM_SIZE);
+			mFloats[mFloatCount++] = gradient.getScaleX();
+			mFloats[mFloatCount++] = gradient.getScaleY();
+			mFloats[mFloatCount++] = gradient.getTranslateX();
+			mFloats[mFloatCount++] = gradient.getTranslateY();
+			addInt(index);
+		}
+		return index;
+	}
+
+	private void addOp(byte op)
+	{
+		if(mOpCount == mOps.length)
+		{
+			byte[] ops = new byte[mOps.length * 2];
+			System.arraycopy(mOps, 0, ops, 0, mOpCount);
+			mOps = ops;
+		}
+		mOps[mOpCount++] = op;
+	}
+
+	private void addFloat(float value)
+	{
+		ensureFloats(1);
+		mFloats[mFloatCount++] = value;
+	}
+
+	private void addRect(float left,float top,float right,float bottom)
+	{
+		ensureFloats(4);
+		mFloats[mFloatCount++] = left;
+		mFloats[mFloatCount++] = top;
+		mFloats[mFloatCount++] = right;
+		mFloats[mFloatCount++] = bottom;
+	}
+
+	private void addInt(int value)
+	{
+		if(mIntCount == mInts.length)
+		{
+			int[] ints = new int[mInts.length * 2];
+			System.arraycopy(mInts, 0, ints, 0, mIntCount);
+			mInts = ints;
+		}
+		mInts[mIntCount++] = value;
+	}
+
+	private void ensureFloats(int count)
+	{
+		if(mFloatCount + count <= mFloats.length) return;
+		float[] floats = new float[Math.max(mFloats.length * 2, mFloatCount + count)];
+		System.arraycopy(mFloats, 0, floats, 0, mFloatCount);
+		mFloats = floats;
+	}
+
+	private void ensureChars(int count)
+	{
+		if(mCharCount + count <= mChars.length) return;
+		char[] chars = new char[Math.max(mChars.length * 2, mCharCount + count)];
+		System.arraycopy(mChars, 0, chars, 0, mCharCount);
+		mChars = chars;
+	}
+
+}
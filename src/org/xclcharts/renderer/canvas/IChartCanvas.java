@@ -0,0 +1,117 @@
+/**
+ * Copyright 2014  XCL-Charts
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 	
+ * @Project XCL-Charts 
+ * @Description Android图表基类库
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ * @license http://www.apache.org/licenses/  Apache v2 License
+ * @version v0.1
+ */
+package org.xclcharts.renderer.canvas;
+
+/**
+ * @InterfaceName IChartCanvas
+ * @Description  图表绘制用的画布接口,所有图表都通过它来画,不直接依赖android.graphics.Canvas。
+ * 				  角度,坐标与文字基线的含义都与android.graphics.Canvas相同。
+ * 				  画笔用与平台无关的ChartPaint描述,各实现转换为各自平台的画笔
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ *  * MODIFIED    YYYY-MM-DD   REASON
+ */
+
+public interface IChartCanvas {
+
+	/**
+	 * 返回画布宽度
+	 * @return 宽度
+	 */
+	public int getWidth();
+
+	/**
+	 * 返回画布高度
+	 * @return 高度
+	 */
+	public int getHeight();
+
+	/**
+	 * 保存当前的变换与裁剪范围
+	 * @return 保存前的层数
+	 */
+	public int save();
+
+	/**
+	 * 恢复到上次save()时的变换与裁剪范围
+	 */
+	public void restore();
+
+	/**
+	 * 平移
+	 * @param dx	x方向距离
+	 * @param dy	y方向距离
+	 */
+	public void translate(float dx,float dy);
+
+	/**
+	 * 缩放
+	 * @param sx	x方向比例
+	 * @param sy	y方向比例
+	 */
+	public void scale(float sx,float sy);
+
+	/**
+	 * 绕指定点顺时针旋转
+	 * @param degrees	角度
+	 * @param px		中心点x
+	 * @param py		中心点y
+	 */
+	public void rotate(float degrees,float px,float py);
+
+	/**
+	 * 与当前裁剪范围取交集
+	 * @return 交集是否不为空
+	 */
+	public boolean clipRect(float left,float top,float right,float bottom);
+
+	public void drawLine(float startX,float startY,float stopX,float stopY,ChartPaint paint);
+
+	/**
+	 * 画多条线段,每四个数为一条线段的起点与终点
+	 * @param pts		坐标
+	 * @param offset	起始下标
+	 * @param count		坐标个数
+	 * @param paint		画笔
+	 */
+	public void drawLines(float[] pts,int offset,int count,ChartPaint paint);
+
+	public void drawRect(float left,float top,float right,float bottom,ChartPaint paint);
+
+	public void drawCircle(float cx,float cy,float radius,ChartPaint paint);
+
+	/**
+	 * 画弧或扇形,从3点钟方向起顺时针计算角度
+	 * @param useCenter	是否连到圆心画成扇形
+	 */
+	public void drawArc(float left,float top,float right,float bottom,
+						float startAngle,float sweepAngle,boolean useCenter,ChartPaint paint);
+
+	public void drawPath(ChartPath path,ChartPaint paint);
+
+	/**
+	 * 画文字,y为基线位置,按画笔的对齐方式处理x
+	 */
+	public void drawText(String text,float x,float y,ChartPaint paint);
+
+	public void drawText(char[] text,int index,int count,float x,float y,ChartPaint paint);
+
+}
@@ -0,0 +1,57 @@
+/**
+ * Copyright 2014  XCL-Charts
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 	
+ * @Project XCL-Charts 
+ * @Description Android图表基类库
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ * @license http://www.apache.org/licenses/  Apache v2 License
+ * @version v0.1
+ */
+package org.xclcharts.renderer.canvas;
+
+/**
+ * @InterfaceName ITextMeasurer
+ * @Description  按画笔测量文字的接口,布局计算标签宽度与字体高度时使用,
+ * 				  由ChartPaint.setTextMeasurer()设置,应与实际绘制文字的画布用同样的字体
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ *  * MODIFIED    YYYY-MM-DD   REASON
+ */
+
+public interface ITextMeasurer {
+
+	/**
+	 * 返回文字的宽度
+	 * @param paint	画笔
+	 * @param text	文字
+	 * @return 宽度
+	 */
+	public float measureText(ChartPaint paint,String text);
+
+	/**
+	 * 返回字体的高度,即descent - ascent
+	 * @param paint	画笔
+	 * @return 高度
+	 */
+	public float getFontHeight(ChartPaint paint);
+
+	/**
+	 * 返回字号与是否粗体以外影响测量结果的字体标识,文字测量缓存用它区分画笔,
+	 * 如Android画笔上设置的Typeface,没有时返回null
+	 * @param paint	画笔
+	 * @return 标识
+	 */
+	public Object getFontKey(ChartPaint paint);
+
+}
@@ -0,0 +1,157 @@
+/**
+ * Copyright 2014  XCL-Charts
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 	
+ * @Project XCL-Charts 
+ * @Description Android图表基类库
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ * @license http://www.apache.org/licenses/  Apache v2 License
+ * @version v0.1
+ */
+package org.xclcharts.renderer.canvas;
+
+/**
+ * @ClassName RecordingChartCanvas
+ * @Description  不直接绘制,把收到的绘制命令录到DisplayList中的画布。
+ * 				  把它设给图表并调用render(),就得到这一帧的DisplayList
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ *  * MODIFIED    YYYY-MM-DD   REASON
+ */
+
+public class RecordingChartCanvas implements IChartCanvas {
+
+	private DisplayList mList = null;
+	private int mWidth = 0;
+	private int mHeight = 0;
+	//save()的层数
+	private int mSaveCount = 0;
+
+	public RecordingChartCanvas()
+	{
+
+	}
+
+	/**
+	 * 开始录制,清空DisplayList中原有的内容
+	 * @param list		录到这里
+	 * @param width		画布宽度
+	 * @param height	画布高度
+	 */
+	public void beginRecording(DisplayList list,int width,int height)
+	{
+		list.reset(width, height);
+		mList = list;
+		mWidth = width;
+		mHeight = height;
+		mSaveCount = 0;
+	}
+
+	/**
+	 * 结束录制,补上没有配对的restore()
+	 * @return 录好的DisplayList
+	 */
+	public DisplayList endRecording()
+	{
+		DisplayList list = mList;
+		while(mSaveCount > 0) restore();
+		mList = null;
+		return list;
+	}
+
+	@Override
+	public int getWidth() {
+		return mWidth;
+	}
+
+	@Override
+	public int getHeight() {
+		return mHeight;
+	}
+
+	@Override
+	public int save() {
+		mList.addSave();
+		return mSaveCount++;
+	}
+
+	@Override
+	public void restore() {
+		if(0 == mSaveCount) return;
+		mSaveCount--;
+		mList.addRestore();
+	}
+
+	@Override
+	public void translate(float dx, float dy) {
+		mList.addTranslate(dx, dy);
+	}
+
+	@Override
+	public void scale(float sx, float sy) {
+		mList.addScale(sx, sy);
+	}
+
+	@Override
+	public void rotate(float degrees, float px, float py) {
+		mList.addRotate(degrees, px, py);
+	}
+
+	@Override
+	public boolean clipRect(float left, float top, float right, float bottom) {
+		mList.addClipRect(left, top, right, bottom);
+		return left < right && top < bottom;
+	}
+
+	@Override
+	public void drawLine(float startX, float startY, float stopX, float stopY, ChartPaint paint) {
+		mList.addLine(startX, startY, stopX, stopY, paint);
+	}
+
+	@Override
+	public void drawLines(float[] pts, int offset, int count, ChartPaint paint) {
+		mList.addLines(pts, offset, count, paint);
+	}
+
+	@Override
+	public void drawRect(float left, float top, float right, float bottom, ChartPaint paint) {
+		mList.addRect(left, top, right, bottom, paint);
+	}
+
+	@Override
+	public void drawCircle(float cx, float cy, float radius, ChartPaint paint) {
+		mList.addCircle(cx, cy, radius, paint);
+	}
+
+	@Override
+	public void drawArc(float left, float top, float right, float bottom,
+			float startAngle, float sweepAngle, boolean useCenter, ChartPaint paint) {
+		mList.addArc(left, top, right, bottom, startAngle, sweepAngle, useCenter, paint);
+	}
+
+	@Override
+	public void drawPath(ChartPath path, ChartPaint paint) {
+		mList.addPath(path, paint);
+	}
+
+	@Override
+	public void drawText(String text, float x, float y, ChartPaint paint) {
+		mList.addText(text, x, y, paint);
+	}
+
+	@Override
+	public void drawText(char[] text, int index, int count, float x, float y, ChartPaint paint) {
+		mList.addText(text, index, count, x, y, paint);
+	}
+
+}
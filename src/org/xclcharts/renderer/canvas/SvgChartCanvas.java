@@ -0,0 +1,675 @@
+/**
+ * Copyright 2014  XCL-Charts
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 	
+ * @Project XCL-Charts 
+ * @Description Android图表基类库
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ * @license http://www.apache.org/licenses/  Apache v2 License
+ * @version v0.1
+ */
+package org.xclcharts.renderer.canvas;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.xclcharts.renderer.canvas.ChartPaint.Align;
+import org.xclcharts.renderer.canvas.ChartPaint.Style;
+
+/**
+ * @ClassName SvgChartCanvas
+ * @Description  把图表输出为SVG的画布。元素在绘制时直接写到Writer,不构建文档树,
+ * 				  占用的内存只与不同画笔的个数有关,与数据量无关。
+ * 				  坐标按两位小数直接写入字符缓冲区,不生成字符串;
+ * 				  相同的画笔属性合并为一个CSS类,样式表写在文件末尾。
+ * 				  用法: new SvgChartCanvas(out,宽,高),chart.render(canvas),再调用finish()。
+ * 				  写入出错后不再输出,由finish()抛出
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ *  * MODIFIED    YYYY-MM-DD   REASON
+ */
+
+public class SvgChartCanvas implements IChartCanvas {
+
+	//样式的用途
+	private static final int KIND_LINE = 0;
+	private static final int KIND_SHAPE = 1;
+	private static final int KIND_TEXT = 2;
+
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+	private final Writer mWriter;
+	private final int mWidth;
+	private final int mHeight;
+
+	//输出缓冲区
+	private final char[] mBuffer = new char[8192];
+	private int mPosition = 0;
+	//第一次写入错误,之后不再输出
+	private IOException mError = null;
+	private boolean mFinished = false;
+
+	//合并后的样式,下标即类名中的序号
+	private final List<ChartPaint> mStylePaints = new ArrayList<ChartPaint>();
+	private final List<Integer> mStyleKinds = new ArrayList<Integer>();
+	private final StringBuilder mStyleSheet = new StringBuilder();
+	//各用途上次用的画笔与样式,连续用同一画笔时不用再比较
+	private final ChartPaint[] mLastPaints = new ChartPaint[3];
+	private final int[] mLastStyles = new int[3];
+
+	//各层save()之后打开的<g>个数,mGroups[0]为最外层
+	private int[] mGroups = new int[8];
+	private int mSaveCount = 0;
+	private int mClipCount = 0;
+
+	//drawLines()中上一段的终点,相连的线段只写L
+	private float mLastX = 0f;
+	private float mLastY = 0f;
+
+	/**
+	 * 输出UTF-8编码的SVG到流,流由调用者关闭
+	 * @param out		输出流
+	 * @param width		宽度
+	 * @param height	高度
+	 */
+	public SvgChartCanvas(OutputStream out,int width,int height)
+	{
+		this(createWriter(out), width, height);
+	}
+
+	/**
+	 * 输出SVG到Writer,Writer由调用者关闭
+	 * @param writer	Writer
+	 * @param width		宽度
+	 * @param height	高度
+	 */
+	public SvgChartCanvas(Writer writer,int width,int height)
+	{
+		mWriter = writer;
+		mWidth = width;
+		mHeight = height;
+
+		write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+		write("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"");
+		writeInt(width);
+		write("\" height=\"");
+		writeInt(height);
+		write("\" viewBox=\"0 0 ");
+		writeInt(width);
+		write(' ');
+		writeInt(height);
+		write("\">\n");
+	}
+
+	private static Writer createWriter(OutputStream out)
+	{
+		try {
+			return new OutputStreamWriter(out, "UTF-8");
+		} catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * 结束输出:关闭打开的分组,写出样式表与结束标签并清空缓冲区
+	 * @throws IOException 写入时出错
+	 */
+	public void finish() throws IOException
+	{
+		if(!mFinished)
+		{
+			mFinished = true;
+			while(mSaveCount > 0) restore();
+			closeGroups(0);
+			if(mStyleSheet.length() > 0)
+			{
+				write("<style type=\"text/css\"><![CDATA[\n");
+				write(mStyleSheet);
+				write("]]></style>\n");
+			}
+			write("</svg>\n");
+			flushBuffer();
+		}
+		if(null != mError) throw mError;
+		mWriter.flush();
+	}
+
+	/**
+	 * 返回合并后的样式个数
+	 * @return 个数
+	 */
+	public int getStyleCount()
+	{
+		return mStylePaints.size();
+	}
+
+	@Override
+	public int getWidth() {
+		return mWidth;
+	}
+
+	@Override
+	public int getHeight() {
+		return mHeight;
+	}
+
+	@Override
+	public int save() {
+		if(mSaveCount + 1 == mGroups.length)
+		{
+			int[] groups = new int[mGroups.length * 2];
+			System.arraycopy(mGroups, 0, groups, 0, mGroups.length);
+			mGroups = groups;
+		}
+		mGroups[++mSaveCount] = 0;
+		return mSaveCount - 1;
+	}
+
+	@Override
+	public void restore() {
+		if(0 == mSaveCount) return;
+		closeGroups(mSaveCount);
+		mSaveCount--;
+	}
+
+	@Override
+	public void translate(float dx, float dy) {
+		write("<g transform=\"translate(");
+		writeNumber(dx);
+		write(',');
+		writeNumber(dy);
+		write(")\">\n");
+		mGroups[mSaveCount]++;
+	}
+
+	@Override
+	public void scale(float sx, float sy) {
+		write("<g transform=\"scale(");
+		writeNumber(sx);
+		write(',');
+		writeNumber(sy);
+		write(")\">\n");
+		mGroups[mSaveCount]++;
+	}
+
+	@Override
+	public void rotate(float degrees, float px, float py) {
+		//SVG的正角度在y轴向下时也是顺时针
+		write("<g transform=\"rotate(");
+		writeNumber(degrees);
+		write(',');
+		writeNumber(px);
+		write(',');
+		writeNumber(py);
+		write(")\">\n");
+		mGroups[mSaveCount]++;
+	}
+
+	@Override
+	public boolean clipRect(float left, float top, float right, float bottom) {
+		int id = mClipCount++;
+		write("<clipPath id=\"c");
+		writeInt(id);
+		write("\"><rect x=\"");
+		writeNumber(left);
+		write("\" y=\"");
+		writeNumber(top);
+		write("\" width=\"");
+		writeNumber(right - left);
+		write("\" height=\"");
+		writeNumber(bottom - top);
+		write("\"/></clipPath>\n<g clip-path=\"url(#c");
+		writeInt(id);
+		write(")\">\n");
+		mGroups[mSaveCount]++;
+		return left < right && top < bottom;
+	}
+
+	@Override
+	public void drawLine(float startX, float startY, float stopX, float stopY, ChartPaint paint) {
+		write("<line class=\"s");
+		writeInt(getStyle(paint, KIND_LINE));
+		write("\" x1=\"");
+		writeNumber(startX);
+		write("\" y1=\"");
+		writeNumber(startY);
+		write("\" x2=\"");
+		writeNumber(stopX);
+		write("\" y2=\"");
+		writeNumber(stopY);
+		write("\"/>\n");
+	}
+
+	@Override
+	public void drawLines(float[] pts, int offset, int count, ChartPaint paint) {
+		int end = offset + (count & ~3);
+		if(end <= offset) return;
+
+		write("<path class=\"s");
+		writeInt(getStyle(paint, KIND_LINE));
+		write("\" d=\"");
+		for(int i = offset; i < end; i += 4)
+		{
+			//与上一段相连时省去M
+			if(i == offset || pts[i] != mLastX || pts[i + 1] != mLastY)
+			{
+				write('M');
+				writeNumber(pts[i]);
+				write(' ');
+				writeNumber(pts[i + 1]);
+			}
+			write('L');
+			writeNumber(pts[i + 2]);
+			write(' ');
+			writeNumber(pts[i + 3]);
+			mLastX = pts[i + 2];
+			mLastY = pts[i + 3];
+		}
+		write("\"/>\n");
+	}
+
+	@Override
+	public void drawRect(float left, float top, float right, float bottom, ChartPaint paint) {
+		write("<rect class=\"s");
+		writeInt(getStyle(paint, KIND_SHAPE));
+		write("\" x=\"");
+		writeNumber(Math.min(left, right));
+		write("\" y=\"");
+		writeNumber(Math.min(top, bottom));
+		write("\" width=\"");
+		writeNumber(Math.abs(right - left));
+		write("\" height=\"");
+		writeNumber(Math.abs(bottom - top));
+		write("\"/>\n");
+	}
+
+	@Override
+	public void drawCircle(float cx, float cy, float radius, ChartPaint paint) {
+		write("<circle class=\"s");
+		writeInt(getStyle(paint, KIND_SHAPE));
+		write("\" cx=\"");
+		writeNumber(cx);
+		write("\" cy=\"");
+		writeNumber(cy);
+		write("\" r=\"");
+		writeNumber(radius);
+		write("\"/>\n");
+	}
+
+	@Override
+	public void drawArc(float left, float top, float right, float bottom,
+			float startAngle, float sweepAngle, boolean useCenter, ChartPaint paint) {
+		float rx = (right - left) / 2;
+		float ry = (bottom - top) / 2;
+		float cx = left + rx;
+		float cy = top + ry;
+
+		int style = getStyle(paint, KIND_SHAPE);
+		if(Math.abs(sweepAngle) >= 360)
+		{
+			write("<ellipse class=\"s");
+			writeInt(style);
+			write("\" cx=\"");
+			writeNumber(cx);
+			write("\" cy=\"");
+			writeNumber(cy);
+			write("\" rx=\"");
+			writeNumber(rx);
+			write("\" ry=\"");
+			writeNumber(ry);
+			write("\"/>\n");
+			return;
+		}
+
+		double start = Math.toRadians(startAngle);
+		double stop = Math.toRadians(startAngle + sweepAngle);
+		write("<path class=\"s");
+		writeInt(style);
+		write("\" d=\"");
+		if(useCenter)
+		{
+			write('M');
+			writeNumber(cx);
+			write(' ');
+			writeNumber(cy);
+			write('L');
+		}else{
+			write('M');
+		}
+		writeNumber((float) (cx + rx * Math.cos(start)));
+		write(' ');
+		writeNumber((float) (cy + ry * Math.sin(start)));
+		write('A');
+		writeNumber(rx);
+		write(' ');
+		writeNumber(ry);
+		write(" 0 ");
+		write(Math.abs(sweepAngle) > 180 ? '1' : '0');
+		write(' ');
+		write(sweepAngle > 0 ? '1' : '0');
+		write(' ');
+		writeNumber((float) (cx + rx * Math.cos(stop)));
+		write(' ');
+		writeNumber((float) (cy + ry * Math.sin(stop)));
+		if(useCenter) write('Z');
+		write("\"/>\n");
+	}
+
+	@Override
+	public void drawPath(ChartPath path, ChartPaint paint) {
+		if(path.isEmpty()) return;
+
+		byte[] ops = path.getOps();
+		float[] points = path.getPoints();
+		int count = path.getOpCount();
+		int j = 0;
+
+		write("<path class=\"s");
+		writeInt(getStyle(paint, KIND_SHAPE));
+		write("\" d=\"");
+		for(int i = 0; i < count; i++)
+		{
+			switch(ops[i])
+			{
+			case ChartPath.MOVE_TO:
+			case ChartPath.LINE_TO:
+				write(ChartPath.MOVE_TO == ops[i] ? 'M' : 'L');
+				writeNumber(points[j]);
+				write(' ');
+				writeNumber(points[j + 1]);
+				j += 2;
+				break;
+			default:
+				write('Z');
+				break;
+			}
+		}
+		write("\"/>\n");
+	}
+
+	@Override
+	public void drawText(String text, float x, float y, ChartPaint paint) {
+		beginText(x, y, paint);
+		for(int i = 0; i < text.length(); i++) writeEscaped(text.charAt(i));
+		write("</text>\n");
+	}
+
+	@Override
+	public void drawText(char[] text, int index, int count, float x, float y, ChartPaint paint) {
+		beginText(x, y, paint);
+		for(int i = index; i < index + count; i++) writeEscaped(text[i]);
+		write("</text>\n");
+	}
+
+	private void beginText(float x,float y,ChartPaint paint)
+	{
+		write("<text class=\"s");
+		writeInt(getStyle(paint, KIND_TEXT));
+		write("\" x=\"");
+		writeNumber(x);
+		write("\" y=\"");
+		writeNumber(y);
+		write("\">");
+	}
+
+	/**
+	 * 关闭指定层打开的<g>
+	 * @param level 层
+	 */
+	private void closeGroups(int level)
+	{
+		for(int i = mGroups[level]; i > 0; i--) write("</g>\n");
+		mGroups[level] = 0;
+	}
+
+	/**
+	 * 返回与画笔属性相同的样式序号,没有时新建一个CSS类
+	 * @param paint	画笔
+	 * @param kind	用途
+	 * @return 序号
+	 */
+	private int getStyle(ChartPaint paint,int kind)
+	{
+		ChartPaint last = mLastPaints[kind];
+		if(last == paint && paint.sameStyle(mStylePaints.get(mLastStyles[kind])))
+		{
+			return mLastStyles[kind];
+		}
+
+		int style = -1;
+		for(int i = mStylePaints.size() - 1; i >= 0; i--)
+		{
+			if(kind == mStyleKinds.get(i) && paint.sameStyle(mStylePaints.get(i)))
+			{
+				style = i;
+				break;
+			}
+		}
+		if(style < 0)
+		{
+			style = mStylePaints.size();
+			mStylePaints.add(new ChartPaint(paint));
+			mStyleKinds.add(kind);
+			appendStyle(style, paint, kind);
+		}
+		mLastPaints[kind] = paint;
+		mLastStyles[kind] = style;
+		return style;
+	}
+
+	/**
+	 * 把画笔属性写成CSS类加到样式表中
+	 */
+	private void appendStyle(int style,ChartPaint paint,int kind)
+	{
+		StringBuilder css = mStyleSheet;
+		css.append(".s").append(style).append('{');
+
+		boolean fill;
+		boolean stroke;
+		if(KIND_LINE == kind)
+		{
+			fill = false;
+			stroke = true;
+		}else if(KIND_TEXT == kind){
+			fill = true;
+			stroke = false;
+		}else{
+			Style paintStyle = paint.getStyle();
+			fill = Style.STROKE != paintStyle;
+			stroke = Style.FILL != paintStyle;
+		}
+
+		int color = paint.getColor();
+		int alpha = color >>> 24;
+		if(fill)
+		{
+			css.append("fill:");
+			appendColor(css, color);
+			if(alpha < 255) css.append(";fill-opacity:").append(alpha / 255f);
+		}else{
+			css.append("fill:none");
+		}
+		if(stroke)
+		{
+			css.append(";stroke:");
+			appendColor(css, color);
+			if(alpha < 255) css.append(";stroke-opacity:").append(alpha / 255f);
+			//线宽为0时与Android一样画1像素宽的细线
+			css.append(";stroke-width:").append(Math.max(1f, paint.getStrokeWidth()));
+			if(null != paint.getDash()) appendDash(css, paint.getDash());
+		}
+		if(KIND_TEXT == kind)
+		{
+			css.append(";font-size:").append(paint.getTextSize()).append("px");
+			Align align = paint.getTextAlign();
+			if(Align.CENTER == align)
+			{
+				css.append(";text-anchor:middle");
+			}else if(Align.RIGHT == align){
+				css.append(";text-anchor:end");
+			}
+			if(paint.isFakeBoldText()) css.append(";font-weight:bold");
+		}else if(!paint.isAntiAlias()){
+			css.append(";shape-rendering:crispEdges");
+		}
+		css.append("}\n");
+	}
+
+	/**
+	 * 按画笔的虚线间隔写出stroke-dasharray,有偏移时再写stroke-dashoffset
+	 */
+	private static void appendDash(StringBuilder css,ChartDash dash)
+	{
+		css.append(";stroke-dasharray:");
+		for(int i = 0; i < dash.getIntervalCount(); i++)
+		{
+			if(i > 0) css.append(',');
+			css.append(dash.getInterval(i));
+		}
+		if(0f != dash.getPhase()) css.append(";stroke-dashoffset:").append(dash.getPhase());
+	}
+
+	private static void appendColor(StringBuilder css,int color)
+	{
+		css.append('#');
+		for(int shift = 20; shift >= 0; shift -= 4) css.append(HEX[(color >> shift) & 0xF]);
+	}
+
+	/**
+	 * 按两位小数写出数字,去掉末尾的0
+	 * @param value 数字
+	 */
+	private void writeNumber(float value)
+	{
+		if(Float.isNaN(value) || Float.isInfinite(value))
+		{
+			write('0');
+			return;
+		}
+		long scaled = Math.round(value * 100d);
+		if(scaled < 0)
+		{
+			write('-');
+			scaled = -scaled;
+		}
+		writeLong(scaled / 100);
+		int fraction = (int) (scaled % 100);
+		if(0 != fraction)
+		{
+			write('.');
+			write((char) ('0' + fraction / 10));
+			if(0 != fraction % 10) write((char) ('0' + fraction % 10));
+		}
+	}
+
+	private void writeInt(int value)
+	{
+		if(value < 0)
+		{
+			write('-');
+			writeLong(-(long) value);
+		}else{
+			writeLong(value);
+		}
+	}
+
+	/**
+	 * 写出非负整数
+	 */
+	private void writeLong(long value)
+	{
+		ensure(20);
+		if(value < 10)
+		{
+			mBuffer[mPosition++] = (char) ('0' + value);
+			return;
+		}
+		int digits = 0;
+		for(long v = value; v > 0; v /= 10) digits++;
+		int pos = mPosition + digits;
+		for(long v = value; v > 0; v /= 10) mBuffer[--pos] = (char) ('0' + v % 10);
+		mPosition += digits;
+	}
+
+	/**
+	 * 写出文字或属性值中的一个字符,XML中不允许出现的控制字符与U+FFFE,U+FFFF直接去掉
+	 * @param c 字符
+	 */
+	private void writeEscaped(char c)
+	{
+		if((c < 0x20 && c != '\t' && c != '\n' && c != '\r') || c == '\uFFFE' || c == '\uFFFF') return;
+		switch(c)
+		{
+		case '&':
+			write("&amp;");
+			break;
+		case '<':
+			write("&lt;");
+			break;
+		case '>':
+			write("&gt;");
+			break;
+		case '"':
+			write("&quot;");
+			break;
+		default:
+			write(c);
+			break;
+		}
+	}
+
+	private void write(char c)
+	{
+		ensure(1);
+		mBuffer[mPosition++] = c;
+	}
+
+	private void write(CharSequence text)
+	{
+		int length = text.length();
+		for(int i = 0; i < length; i++)
+		{
+			ensure(1);
+			mBuffer[mPosition++] = text.charAt(i);
+		}
+	}
+
+	/**
+	 * 缓冲区剩余空间不够时先写出
+	 */
+	private void ensure(int count)
+	{
+		if(mPosition + count > mBuffer.length) flushBuffer();
+	}
+
+	private void flushBuffer()
+	{
+		if(0 == mPosition) return;
+		if(null == mError)
+		{
+			try {
+				mWriter.write(mBuffer, 0, mPosition);
+			} catch (IOException e) {
+				mError = e;
+			}
+		}
+		mPosition = 0;
+	}
+
+}
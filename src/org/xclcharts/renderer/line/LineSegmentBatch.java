@@ -0,0 +1,125 @@
+/**
+ * Copyright 2014  XCL-Charts
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 	
+ * @Project XCL-Charts 
+ * @Description Android图表基类库
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ * @license http://www.apache.org/licenses/  Apache v2 License
+ * @version v0.1
+ */
+package org.xclcharts.renderer.line;
+
+import org.xclcharts.renderer.canvas.IChartCanvas;
+import org.xclcharts.renderer.canvas.ChartPaint;
+
+
+/**
+ * @ClassName LineSegmentBatch
+ * @Description  把线段收集到可重复使用的float[]中,用一次Canvas.drawLines()画出,
+ * 				  避免每个点都调用一次drawLine()。缓冲满了就先画出已收集的部分
+ * @author XiongChuanLiang<br/>(xcl_168@aliyun.com)
+ *  * MODIFIED    YYYY-MM-DD   REASON
+ */
+
+public class LineSegmentBatch {
+
+	//每次drawLines()最多的线段数
+	public static final int DEFAULT_CAPACITY = 2048;
+
+	//每条线段的起止点x0,y0,x1,y1
+	private final float[] mPoints;
+	private int mLength = 0;
+
+	private IChartCanvas mCanvas = null;
+	private ChartPaint mPaint = null;
+
+	public LineSegmentBatch()
+	{
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * 
+	 * @param capacity 每次drawLines()最多的线段数
+	 */
+	public LineSegmentBatch(int capacity)
+	{
+		mPoints = new float[Math.max(1, capacity) * 4];
+	}
+
+	/**
+	 * 开始收集一组用同一画笔绘制的线段
+	 * @param canvas 画布
+	 * @param paint  画笔
+	 */
+	public void begin(IChartCanvas canvas,ChartPaint paint)
+	{
+		mCanvas = canvas;
+		mPaint = paint;
+		mLength = 0;
+	}
+
+	/**
+	 * 加入一条线段
+	 * @param startX 起点x
+	 * @param startY 起点y
+	 * @param stopX  终点x
+	 * @param stopY  终点y
+	 */
+	public void add(float startX,float startY,float stopX,float stopY)
+	{
+		if(mLength == mPoints.length) flush();
+		mPoints[mLength++] = startX;
+		mPoints[mLength++] = startY;
+		mPoints[mLength++] = stopX;
+		mPoints[mLength++] = stopY;
+	}
+
+	/**
+	 * 把相邻的点依次连成线段加入,points中x,y交替存放
+	 * @param points 坐标
+	 * @param from   起始点序号
+	 * @param to	   结束点序号(不含)
+	 */
+	public void addPolyline(float[] points,int from,int to)
+	{
+		for(int i=from + 1;i<to;i++)
+		{
+			int p = i * 2;
+			add(points[p - 2], points[p - 1], points[p], points[p + 1]);
+		}
+	}
+
+	/**
+	 * 画出已收集的线段
+	 */
+	public void flush()
+	{
+		if(mLength > 0 && null != mCanvas)
+			mCanvas.drawLines(mPoints, 0, mLength, mPaint);
+		mLength = 0;
+	}
+
+	/**
+	 * 画出余下的线段并结束本组
+	 */
+	public void end()
+	{
+		flush();
+		mCanvas = null;
+		mPaint = null;
+	}
+
+}
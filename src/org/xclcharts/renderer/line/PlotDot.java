@@ -23,8 +23,10 @@
 package org.xclcharts.renderer.line;
 
 import org.xclcharts.renderer.XEnum;
+import org.xclcharts.renderer.canvas.ChartColor;
+import org.xclcharts.renderer.canvas.ChartPaint;
+import org.xclcharts.renderer.canvas.AndroidPaint;
 
-import android.graphics.Color;
 import android.graphics.Paint;
 
 /**
@@ -36,7 +38,7 @@ import android.graphics.Paint;
 
 public class PlotDot {
 
-	private Paint mPaintDot = null;
+	private ChartPaint mPaintDot = null;
 	
 	//Triangle 三角  	
 	//线上的点为圆或角
@@ -51,16 +53,27 @@ public class PlotDot {
 	
 	private void init()
 	{
-		mPaintDot = new Paint();
-		mPaintDot.setColor(Color.BLUE);
+		mPaintDot = new ChartPaint();
+		mPaintDot.setColor(ChartColor.BLUE);
 		mPaintDot.setAntiAlias(true);
 	}
 	
 	/**
 	 * 开放绘制点的画笔
+	 * 返回对应的Android画笔,在上面的修改同时改到图表的画笔上,只能在Android上使用,
+	 * 其他平台用getDotChartPaint()
 	 * @return 画笔
 	 */
 	public Paint getDotPaint()
+	{
+		return AndroidPaint.of(getDotChartPaint());
+	}
+	
+	/**
+	 * 开放绘制点的画笔
+	 * @return 画笔
+	 */
+	public ChartPaint getDotChartPaint()
 	{
 		return mPaintDot;
 	}
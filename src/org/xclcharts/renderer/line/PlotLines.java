@@ -22,10 +22,12 @@
 package org.xclcharts.renderer.line;
 
 import org.xclcharts.renderer.XEnum;
+import org.xclcharts.renderer.canvas.ChartPaint.Align;
+import org.xclcharts.renderer.canvas.ChartColor;
+import org.xclcharts.renderer.canvas.ChartPaint;
+import org.xclcharts.renderer.canvas.AndroidPaint;
 
-import android.graphics.Color;
 import android.graphics.Paint;
-import android.graphics.Paint.Align;
 
 /**
  * @ClassName PlotLines
@@ -36,8 +38,8 @@ import android.graphics.Paint.Align;
 
 public class PlotLines {
 	
-	private Paint mPaintLines = null;
-	private Paint mPaintLabels = null;
+	private ChartPaint mPaintLines = null;
+	private ChartPaint mPaintLabels = null;
 	
 	private PlotDot mPlotDot = null;
 	
@@ -48,14 +50,14 @@ public class PlotLines {
 	
 	private void init()
 	{
-		mPaintLines = new Paint();
-		mPaintLines.setColor(Color.BLUE);
+		mPaintLines = new ChartPaint();
+		mPaintLines.setColor(ChartColor.BLUE);
 		mPaintLines.setAntiAlias(true);
 		mPaintLines.setStrokeWidth(5);
 		
 		
-		mPaintLabels= new Paint();
-		mPaintLabels.setColor(Color.BLUE);
+		mPaintLabels= new ChartPaint();
+		mPaintLabels.setColor(ChartColor.BLUE);
 		mPaintLabels.setTextSize(18);
 		mPaintLabels.setTextAlign(Align.CENTER);
 		mPaintLabels.setAntiAlias(true);
@@ -66,29 +68,62 @@ public class PlotLines {
 	
 	/**
 	 * 开放线画笔
+	 * 返回对应的Android画笔,在上面的修改同时改到图表的画笔上,只能在Android上使用,
+	 * 其他平台用getPlotLinesChartPaint()
 	 * @return 画笔
 	 */
 	public Paint getPlotLinesPaint()
+	{
+		return AndroidPaint.of(getPlotLinesChartPaint());
+	}
+	
+	/**
+	 * 开放线画笔
+	 * @return 画笔
+	 */
+	public ChartPaint getPlotLinesChartPaint()
 	{
 		return mPaintLines;
 	}
 	
 	/**
 	 * 开放标签画笔
+	 * 返回对应的Android画笔,在上面的修改同时改到图表的画笔上,只能在Android上使用,
+	 * 其他平台用getPlotLabelsChartPaint()
 	 * @return 画笔
 	 */
 	public Paint getPlotLabelsPaint()
+	{
+		return AndroidPaint.of(getPlotLabelsChartPaint());
+	}
+	
+	/**
+	 * 开放标签画笔
+	 * @return 画笔
+	 */
+	public ChartPaint getPlotLabelsChartPaint()
 	{
 		return mPaintLabels;
 	}
 	
 	/**
 	 * 开放点画笔
+	 * 返回对应的Android画笔,在上面的修改同时改到图表的画笔上,只能在Android上使用,
+	 * 其他平台用getPlotDotChartPaint()
 	 * @return 画笔
 	 */
 	public Paint getPlotDotPaint()
 	{
-		return mPlotDot.getDotPaint();
+		return AndroidPaint.of(getPlotDotChartPaint());
+	}
+	
+	/**
+	 * 开放点画笔
+	 * @return 画笔
+	 */
+	public ChartPaint getPlotDotChartPaint()
+	{
+		return mPlotDot.getDotChartPaint();
 	}
 	
 	/**
@@ -29,15 +29,18 @@ package org.xclcharts.renderer.plot;
  * * MODIFIED    YYYY-MM-DD   REASON
  */
 
+import org.xclcharts.renderer.canvas.ChartPaint.Align;
+import org.xclcharts.renderer.canvas.ChartPaint;
+import org.xclcharts.renderer.canvas.AndroidPaint;
+
 import android.graphics.Paint;
-import android.graphics.Paint.Align;
 
 public class Legend {
 	
 	//图例文字画笔
-	 protected Paint mPaintLeftLegend = null;
-	 protected Paint mPaintLowerLegend = null;
-	 protected Paint mPaintRightLegend = null;
+	 protected ChartPaint mPaintLeftLegend = null;
+	 protected ChartPaint mPaintLowerLegend = null;
+	 protected ChartPaint mPaintRightLegend = null;
 	//图例文字说明
 	 private String mLeftLegend = "";
 	 private String mLowerLegend = "";
@@ -53,9 +56,9 @@ public class Legend {
 	 */
 	private void initPaint()
 	{
-		 mPaintLeftLegend = new Paint();
-		 mPaintLowerLegend = new Paint();
-		 mPaintRightLegend = new Paint();
+		 mPaintLeftLegend = new ChartPaint();
+		 mPaintLowerLegend = new ChartPaint();
+		 mPaintRightLegend = new ChartPaint();
 		 
 		 mPaintLeftLegend.setTextAlign(Align.CENTER);
 		 mPaintLowerLegend.setTextAlign(Align.CENTER);
@@ -69,25 +72,55 @@ public class Legend {
 	
 	/**
 	 * 开放左边图例画笔
+	 * 返回对应的Android画笔,在上面的修改同时改到图表的画笔上,只能在Android上使用,
+	 * 其他平台用getLeftLegendChartPaint()
 	 * @return 画笔
 	 */
 	public Paint getLeftLegendPaint() {
+		return AndroidPaint.of(getLeftLegendChartPaint());
+	}
+	
+	/**
+	 * 开放左边图例画笔
+	 * @return 画笔
+	 */
+	public ChartPaint getLeftLegendChartPaint() {
 		return mPaintLeftLegend;
 	}
 
 	/**
 	 * 开放底部图例画笔
+	 * 返回对应的Android画笔,在上面的修改同时改到图表的画笔上,只能在Android上使用,
+	 * 其他平台用getLowerLegendChartPaint()
 	 * @return 画笔
 	 */
 	public Paint getLowerLegendPaint() {
+		return AndroidPaint.of(getLowerLegendChartPaint());
+	}
+	
+	/**
+	 * 开放底部图例画笔
+	 * @return 画笔
+	 */
+	public ChartPaint getLowerLegendChartPaint() {
 		return mPaintLowerLegend;
 	}
 
 	/**
 	 * 开放右边图例画笔
+	 * 返回对应的Android画笔,在上面的修改同时改到图表的画笔上,只能在Android上使用,
+	 * 其他平台用getRightLegendChartPaint()
 	 * @return 画笔
 	 */
 	public Paint getRightLegendPaint() {
+		return AndroidPaint.of(getRightLegendChartPaint());
+	}
+	
+	/**
+	 * 开放右边图例画笔
+	 * @return 画笔
+	 */
+	public ChartPaint getRightLegendChartPaint() {
 		return mPaintRightLegend;
 	}
 
@@ -25,9 +25,13 @@ package org.xclcharts.renderer.plot;
 import org.xclcharts.chart.common.DrawHelper;
 import org.xclcharts.renderer.IRender;
 import org.xclcharts.renderer.XChart;
+import org.xclcharts.renderer.canvas.AndroidChartCanvas;
+import org.xclcharts.renderer.canvas.IChartCanvas;
+import org.xclcharts.renderer.canvas.ChartColor;
+import org.xclcharts.renderer.canvas.ChartPaint;
 
 import android.graphics.Canvas;
-import android.graphics.Color;
+
 
 /**
  * @ClassName Legend
@@ -38,7 +42,7 @@ import android.graphics.Color;
 
 public class LegendRender extends Legend implements IRender{
 	
-	private Canvas mCanvas = null;
+	private IChartCanvas mCanvas = null;
 	private DrawHelper mDrawHelper =  null;
 	
 	private XChart mChart = null;
@@ -48,14 +52,14 @@ public class LegendRender extends Legend implements IRender{
 		super();
 		mDrawHelper = new DrawHelper();	
 		
-		getLeftLegendPaint().setTextSize(26);
-		getLeftLegendPaint().setColor((int)Color.rgb(255, 153, 204));
+		getLeftLegendChartPaint().setTextSize(26);
+		getLeftLegendChartPaint().setColor((int)ChartColor.rgb(255, 153, 204));
 		
-		getLowerLegendPaint().setTextSize(26);
-		getLowerLegendPaint().setColor((int)Color.rgb(58, 65, 83));
+		getLowerLegendChartPaint().setTextSize(26);
+		getLowerLegendChartPaint().setColor((int)ChartColor.rgb(58, 65, 83));
 		
-		getRightLegendPaint().setTextSize(26);
-		getRightLegendPaint().setColor((int)Color.rgb(51, 204, 204));		
+		getRightLegendChartPaint().setTextSize(26);
+		getRightLegendChartPaint().setColor((int)ChartColor.rgb(51, 204, 204));		
 	}
 	
 	/**
@@ -69,6 +73,11 @@ public class LegendRender extends Legend implements IRender{
 
 	@Override
 	public void setCanvas(Canvas canvas) {
+		mCanvas = null == canvas ? null : new AndroidChartCanvas(canvas);
+	}
+
+	@Override
+	public void setCanvas(IChartCanvas canvas) {
 		// TODO Auto-generated method stub
 		mCanvas = canvas;
 	}
@@ -110,7 +119,7 @@ public class LegendRender extends Legend implements IRender{
 	  * @param bottom	下方Y坐标
 	  */
 	public void drawLeftLegend(String legend,double left,double top,
-											 double right,double bottom) //,Canvas canvas)
+											 double right,double bottom) //,IChartCanvas canvas)
 	{							
 		if(null == this.mCanvas) return ;
 		
@@ -156,13 +165,13 @@ public class LegendRender extends Legend implements IRender{
  		 if( 0 == legend.length() )return;
  	
  		 //计算图列宽度		 
- 		 double legendTextHeight = mDrawHelper.getPaintFontHeight(getLowerLegendPaint());          
+ 		 double legendTextHeight = mDrawHelper.getPaintFontHeight(getLowerLegendChartPaint());          
  		 //画布与图表1/3的地方显示
  		 float legendTextStartX =  (float) Math.round(left +  (right - left) / 2) ; 		 
           //图例Y坐标
  		// float legendTextStartY = Math.round( bottom - legendTextHeight);
  		// mDrawHelper.drawRotateText(legend,
-        //		 legendTextStartX,legendTextStartY,0,mCanvas, getLowerLegendPaint());	
+        //		 legendTextStartX,legendTextStartY,0,mCanvas, getLowerLegendChartPaint());	
  		 
  		//显示在 Chart与Plot bottom间的中间位置
  		//float legendY =(float) Math.abs((bottom - mChart.getPlotArea().getPlotBottom()) / 2 - (legendTextHeight/2));
@@ -174,7 +183,7 @@ public class LegendRender extends Legend implements IRender{
  		
  		
  		mDrawHelper.drawRotateText(legend,
-       		 legendTextStartX,legendY,0,mCanvas, getLowerLegendPaint());	
+       		 legendTextStartX,legendY,0,mCanvas, getLowerLegendChartPaint());	
 	}
 	
 	/**
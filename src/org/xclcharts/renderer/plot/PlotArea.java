@@ -23,9 +23,12 @@
 package org.xclcharts.renderer.plot;
 
 
-import android.graphics.Color;
+import org.xclcharts.renderer.canvas.ChartPaint.Style;
+import org.xclcharts.renderer.canvas.ChartColor;
+import org.xclcharts.renderer.canvas.ChartPaint;
+import org.xclcharts.renderer.canvas.AndroidPaint;
+
 import android.graphics.Paint;
-import android.graphics.Paint.Style;
 
 /**
  * @ClassName PlotArea
@@ -46,7 +49,7 @@ public class PlotArea {
 	protected float mPlotHeight = 0.0f;
 	
 	//主图表区背景色,即画X轴与Y轴围成的区域
-	protected Paint mPlotBackgroundPaint = null;	
+	protected ChartPaint mPlotBackgroundPaint = null;	
 	
 	//是否画背景色
 	protected boolean mBackgroupColorVisible = false;
@@ -59,19 +62,30 @@ public class PlotArea {
 	
 	private void init()
 	{
-		mPlotBackgroundPaint = new Paint();
+		mPlotBackgroundPaint = new ChartPaint();
 		mPlotBackgroundPaint.setStyle(Style.FILL);	
-		mPlotBackgroundPaint.setColor(Color.WHITE);
+		mPlotBackgroundPaint.setColor(ChartColor.WHITE);
 	}
 	
 	
 	/**
 	 * 开放主图表区背景画笔，即画X轴与Y轴围成的区域的背景画笔。
+	 * 返回对应的Android画笔,在上面的修改同时改到图表的画笔上,只能在Android上使用,
+	 * 其他平台用getBackgroundChartPaint()
 	 * @return 画笔
 	 */
 	 public Paint getBackgroundPaint()
 	 {
-		 return mPlotBackgroundPaint;
+	 	return AndroidPaint.of(getBackgroundChartPaint());
+	 }
+	 
+	/**
+	 * 开放主图表区背景画笔，即画X轴与Y轴围成的区域的背景画笔。
+	 * @return 画笔
+	 */
+	 public ChartPaint getBackgroundChartPaint()
+	 {
+	 	return mPlotBackgroundPaint;
 	 }
 	 
 	 /**
@@ -91,7 +105,7 @@ public class PlotArea {
 	public void setBackgroupColor(boolean visible,int color)
 	{
 		mBackgroupColorVisible = visible;
-		getBackgroundPaint().setColor(color);
+		getBackgroundChartPaint().setColor(color);
 	}	
 	
 
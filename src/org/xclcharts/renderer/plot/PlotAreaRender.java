@@ -23,9 +23,12 @@ package org.xclcharts.renderer.plot;
 
 
 import org.xclcharts.renderer.IRender;
+import org.xclcharts.renderer.canvas.AndroidChartCanvas;
+import org.xclcharts.renderer.canvas.IChartCanvas;
 
 import android.graphics.Canvas;
 
+
 /**
  * @ClassName PlotAreaRender
  * @Description 主图表区绘制类，绘制背景等
@@ -35,7 +38,7 @@ import android.graphics.Canvas;
 
 public class PlotAreaRender extends PlotArea implements IRender{
 	
-	private Canvas mCanvas = null;
+	private IChartCanvas mCanvas = null;
 	
 	private float mCenterX = 0.0f;
 	private float mCenterY = 0.0f;
@@ -118,6 +121,11 @@ public class PlotAreaRender extends PlotArea implements IRender{
 
 	@Override
 	public void setCanvas(Canvas canvas) {
+		mCanvas = null == canvas ? null : new AndroidChartCanvas(canvas);
+	}
+
+	@Override
+	public void setCanvas(IChartCanvas canvas) {
 		// TODO Auto-generated method stub
 		mCanvas = canvas;
 	}
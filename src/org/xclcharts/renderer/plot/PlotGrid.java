@@ -22,10 +22,12 @@
 package org.xclcharts.renderer.plot;
 
 import org.xclcharts.renderer.XEnum;
+import org.xclcharts.renderer.canvas.ChartPaint.Style;
+import org.xclcharts.renderer.canvas.ChartColor;
+import org.xclcharts.renderer.canvas.ChartPaint;
+import org.xclcharts.renderer.canvas.AndroidPaint;
 
-import android.graphics.Color;
 import android.graphics.Paint;
-import android.graphics.Paint.Style;
 
 /**
  * @ClassName PlotGrid
@@ -35,9 +37,9 @@ import android.graphics.Paint.Style;
  */
 public class PlotGrid {
 	 //横向网格线
-	 private Paint mPaintGridLinesHorizontal = null;
+	 private ChartPaint mPaintGridLinesHorizontal = null;
 	 //竖向网格线
-	 private Paint mPaintGridLinesVertical = null;
+	 private ChartPaint mPaintGridLinesVertical = null;
 	 
 	 //是否显示横向网格线
 	 private boolean mGridLinesHorizontalVisible = false;
@@ -45,17 +47,17 @@ public class PlotGrid {
 	 private boolean mGridLinesVerticalVisible = false;		
 		
 	 //图内部网格线的间隔色
-	 private int mGridLinesOddColor = (int)Color.GREEN;	
-	 private int mGridLinesEvenColor = (int)Color.BLUE;
+	 private int mGridLinesOddColor = (int)ChartColor.GREEN;	
+	 private int mGridLinesEvenColor = (int)ChartColor.BLUE;
 	 //是否显示奇数行填充色
 	 private boolean mOddRowFillVisible = false;
 	//是否显示偶数行填充色
 	 private boolean mEvenRowFillVisible = false;
 	 
 	 //横向网格线
-	 private Paint mPaintOddFill = null;
+	 private ChartPaint mPaintOddFill = null;
 	 //竖向网格线
-	 private Paint mPaintEvenFill = null;
+	 private ChartPaint mPaintEvenFill = null;
 	 
 	 // Solid、Dot、Dash。
 	 private XEnum.LineDashStyle mHorizontalLineDashStyle = XEnum.LineDashStyle.SOLID;
@@ -68,23 +70,23 @@ public class PlotGrid {
 	
 	private void initPaint()
 	{
-		mPaintGridLinesHorizontal = new Paint();
-		mPaintGridLinesVertical = new Paint();
+		mPaintGridLinesHorizontal = new ChartPaint();
+		mPaintGridLinesVertical = new ChartPaint();
 		
-		mPaintGridLinesHorizontal.setColor((int)Color.rgb(239, 239, 239));
-		mPaintGridLinesVertical.setColor((int)Color.rgb(218, 218, 218));
+		mPaintGridLinesHorizontal.setColor((int)ChartColor.rgb(239, 239, 239));
+		mPaintGridLinesVertical.setColor((int)ChartColor.rgb(218, 218, 218));
 		
 		mPaintGridLinesHorizontal.setStrokeWidth(1);
 		mPaintGridLinesVertical.setStrokeWidth(1);
 		
-		mPaintOddFill = new Paint();
-		mPaintEvenFill = new Paint();
+		mPaintOddFill = new ChartPaint();
+		mPaintEvenFill = new ChartPaint();
 		
 		mPaintOddFill.setStyle(Style.FILL);
 		mPaintEvenFill.setStyle(Style.FILL);
 		
-		mPaintOddFill.setColor(Color.WHITE);
-		mPaintEvenFill.setColor((int)Color.rgb(239, 239, 239)); 
+		mPaintOddFill.setColor(ChartColor.WHITE);
+		mPaintEvenFill.setColor((int)ChartColor.rgb(239, 239, 239)); 
 		
 		mPaintOddFill.setAntiAlias(true);
 		mPaintEvenFill.setAntiAlias(true);
@@ -189,38 +191,82 @@ public class PlotGrid {
 
 	/**
 	 * 开放横向网格线画笔
+	 * 返回对应的Android画笔,在上面的修改同时改到图表的画笔上,只能在Android上使用,
+	 * 其他平台用getHorizontalLinesChartPaint()
 	 * @return 画笔
 	 */
 	public Paint getHorizontalLinesPaint()
 	{
-		return mPaintGridLinesHorizontal;	
+		return AndroidPaint.of(getHorizontalLinesChartPaint());
+	}
+	
+	/**
+	 * 开放横向网格线画笔
+	 * @return 画笔
+	 */
+	public ChartPaint getHorizontalLinesChartPaint()
+	{
+		return mPaintGridLinesHorizontal;
 	}
 	 
 	/**
 	 * 开放竖向网格线画笔
+	 * 返回对应的Android画笔,在上面的修改同时改到图表的画笔上,只能在Android上使用,
+	 * 其他平台用getVerticalLinesChartPaint()
 	 * @return 画笔
 	 */
 	public Paint getVerticalLinesPaint()
 	{
-		return mPaintGridLinesVertical;	
+		return AndroidPaint.of(getVerticalLinesChartPaint());
+	}
+	
+	/**
+	 * 开放竖向网格线画笔
+	 * @return 画笔
+	 */
+	public ChartPaint getVerticalLinesChartPaint()
+	{
+		return mPaintGridLinesVertical;
 	}
 	
 	/**
 	 * 开放奇数行填充画笔
+	 * 返回对应的Android画笔,在上面的修改同时改到图表的画笔上,只能在Android上使用,
+	 * 其他平台用getOddFillChartPaint()
 	 * @return 画笔
 	 */
 	public Paint getOddFillPaint()
 	{
-		return mPaintOddFill;	
+		return AndroidPaint.of(getOddFillChartPaint());
+	}
+	
+	/**
+	 * 开放奇数行填充画笔
+	 * @return 画笔
+	 */
+	public ChartPaint getOddFillChartPaint()
+	{
+		return mPaintOddFill;
 	}
 	 
 	/**
 	 * 开放偶数行填充画笔
+	 * 返回对应的Android画笔,在上面的修改同时改到图表的画笔上,只能在Android上使用,
+	 * 其他平台用getEvenFillChartPaint()
 	 * @return 画笔
 	 */
 	public Paint getEvenFillPaint()
 	{
-		return mPaintEvenFill;	
+		return AndroidPaint.of(getEvenFillChartPaint());
+	}
+	
+	/**
+	 * 开放偶数行填充画笔
+	 * @return 画笔
+	 */
+	public ChartPaint getEvenFillChartPaint()
+	{
+		return mPaintEvenFill;
 	}
 
 	/**
@@ -24,11 +24,12 @@ package org.xclcharts.renderer.plot;
 
 import org.xclcharts.chart.common.DrawHelper;
 import org.xclcharts.renderer.IRender;
+import org.xclcharts.renderer.canvas.AndroidChartCanvas;
+import org.xclcharts.renderer.canvas.IChartCanvas;
+import org.xclcharts.renderer.canvas.ChartPaint.Style;
+import org.xclcharts.renderer.canvas.ChartPaint;
 
 import android.graphics.Canvas;
-import android.graphics.Color;
-import android.graphics.Paint;
-import android.graphics.Paint.Style;
 
 /**
  * @ClassName PlotGridRender
@@ -38,7 +39,7 @@ import android.graphics.Paint.Style;
 
 public class PlotGridRender extends PlotGrid implements IRender{
 	
-	private Canvas mCanvas = null;	
+	private IChartCanvas mCanvas = null;	
 	private DrawHelper mDrawHelper = new DrawHelper();
 	
 	public PlotGridRender()
@@ -57,7 +58,7 @@ public class PlotGridRender extends PlotGrid implements IRender{
 	{
 		 if(null != mCanvas && getOddRowsFillVisible())
 		 {
-			 mCanvas.drawRect( left,  bottom  ,right, top,getOddFillPaint());
+			 mCanvas.drawRect( left,  bottom  ,right, top,getOddFillChartPaint());
 		 }		
 	}
 	
@@ -72,7 +73,7 @@ public class PlotGridRender extends PlotGrid implements IRender{
 	{
 		 if(null != mCanvas && getEvenRowsFillVisible())
 		 {				
-			 mCanvas.drawRect( left,  bottom  ,right, top,getEvenFillPaint());
+			 mCanvas.drawRect( left,  bottom  ,right, top,getEvenFillChartPaint());
 		 }		
 	}
 	
@@ -88,7 +89,7 @@ public class PlotGridRender extends PlotGrid implements IRender{
 		 if(null != mCanvas &&this.getHorizontalLinesVisible())
 		 {	
 			mDrawHelper.drawLine(this.getHorizontalLinesDashStyle(), startX, startY, stopX, stopY,
-					mCanvas, getHorizontalLinesPaint());
+					mCanvas, getHorizontalLinesChartPaint());
 		 }
 	}
 	
@@ -105,7 +106,7 @@ public class PlotGridRender extends PlotGrid implements IRender{
 		 {
 			if(null == mCanvas) return;
 			mDrawHelper.drawLine(this.getVerticalLinesDashStyle(), startX, startY, stopX, stopY,
-					mCanvas, getVerticalLinesPaint());
+					mCanvas, getVerticalLinesChartPaint());
 			
 		 }
 	}
@@ -113,6 +114,11 @@ public class PlotGridRender extends PlotGrid implements IRender{
 	
 	@Override
 	public void setCanvas(Canvas canvas) {
+		mCanvas = null == canvas ? null : new AndroidChartCanvas(canvas);
+	}
+
+	@Override
+	public void setCanvas(IChartCanvas canvas) {
 		// TODO Auto-generated method stub
 		mCanvas = canvas;
 	}
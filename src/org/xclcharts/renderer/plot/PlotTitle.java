@@ -22,8 +22,10 @@
 package org.xclcharts.renderer.plot;
 
 import org.xclcharts.renderer.XEnum;
+import org.xclcharts.renderer.canvas.ChartColor;
+import org.xclcharts.renderer.canvas.ChartPaint;
+import org.xclcharts.renderer.canvas.AndroidPaint;
 
-import android.graphics.Color;
 import android.graphics.Paint;
 
 /**
@@ -39,8 +41,8 @@ public class PlotTitle {
 	private  String mChartTitle = "";
 	private  String mChartSubTitle = "";	
 	//图表标题画笔
-	private Paint mChartTitlePaint = null;
-	private Paint mChartSubTitlePaint = null;	
+	private ChartPaint mChartTitlePaint = null;
+	private ChartPaint mChartSubTitlePaint = null;	
 	//图表标题显示位置
 	private XEnum.ChartTitleAlign mChartTitleAlign = XEnum.ChartTitleAlign.CENTER;	
 	//标题的显示位置(TOP,CENTER,BOTTOM)即是否靠最上面，还是Chart top与Plot top的中间位置，还是PLOT TOP的位置
@@ -55,13 +57,13 @@ public class PlotTitle {
 	{
 		//标题
 		//图表标题画笔
-		mChartTitlePaint  = new Paint();
-		mChartSubTitlePaint  = new Paint();
+		mChartTitlePaint  = new ChartPaint();
+		mChartSubTitlePaint  = new ChartPaint();
 		mChartTitlePaint.setTextSize(32);
 		mChartSubTitlePaint.setTextSize(22);
 		
-		mChartTitlePaint.setColor(Color.BLACK);
-		mChartSubTitlePaint.setColor(Color.BLACK);	
+		mChartTitlePaint.setColor(ChartColor.BLACK);
+		mChartSubTitlePaint.setColor(ChartColor.BLACK);	
 		
 		mChartTitlePaint.setAntiAlias(true);
 		mChartSubTitlePaint.setAntiAlias(true);		
@@ -108,21 +110,43 @@ public class PlotTitle {
 		
 		/**
 		 * 开放标题画笔
+		 * 返回对应的Android画笔,在上面的修改同时改到图表的画笔上,只能在Android上使用,
+		 * 其他平台用getChartTitleChartPaint()
 		 * @return 画笔
 		 */
 		public Paint getChartTitlePaint()
 		 {
-			 return mChartTitlePaint ;
+		 	return AndroidPaint.of(getChartTitleChartPaint());
+		 }
+		
+		/**
+		 * 开放标题画笔
+		 * @return 画笔
+		 */
+		public ChartPaint getChartTitleChartPaint()
+		 {
+		 	return mChartTitlePaint ;
 		 }
 
 		
 		/**
 		 * 开放子标题画笔
+		 * 返回对应的Android画笔,在上面的修改同时改到图表的画笔上,只能在Android上使用,
+		 * 其他平台用getChartSubTitleChartPaint()
 		 * @return 画笔
 		 */
 		public Paint getChartSubTitlePaint()
 		 {
-			 return mChartSubTitlePaint ;
+		 	return AndroidPaint.of(getChartSubTitleChartPaint());
+		 }
+		
+		/**
+		 * 开放子标题画笔
+		 * @return 画笔
+		 */
+		public ChartPaint getChartSubTitleChartPaint()
+		 {
+		 	return mChartSubTitlePaint ;
 		 }
 				
 		/**
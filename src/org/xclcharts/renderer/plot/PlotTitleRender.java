@@ -23,9 +23,8 @@
 package org.xclcharts.renderer.plot;
 
 import org.xclcharts.chart.common.DrawHelper;
-
-import android.graphics.Canvas;
-import android.graphics.Paint.Align;
+import org.xclcharts.renderer.canvas.IChartCanvas;
+import org.xclcharts.renderer.canvas.ChartPaint.Align;
 
 /**
  * @ClassName PlotTitleRender
@@ -34,6 +33,9 @@ import android.graphics.Paint.Align;
  */
 
 public class PlotTitleRender extends PlotTitle{
+	
+	//量文字高度用,重复使用
+	private final DrawHelper mDrawHelper = new DrawHelper();
 
 	public PlotTitleRender()
 	{
@@ -48,10 +50,10 @@ public class PlotTitleRender extends PlotTitle{
 							float chartTop,
 							float chartWidth,
 							float plotTop,
-							 Canvas canvas)
+							 IChartCanvas canvas)
 	{
 		
-		DrawHelper dw = new DrawHelper();
+		DrawHelper dw = mDrawHelper;
 				
 		int titleHeight = 0;
 		int subtitleHeight = 0;
@@ -69,11 +71,11 @@ public class PlotTitleRender extends PlotTitle{
 
 		if(getChartTitle().length() > 0 )
 		{
-			 titleHeight = dw.getPaintFontHeight(this.getChartTitlePaint());			
+			 titleHeight = dw.getPaintFontHeight(this.getChartTitleChartPaint());			
 		}
 		if(getChartTitle().length() > 0 )
 		{
-			subtitleHeight = dw.getPaintFontHeight(this.getChartSubTitlePaint());
+			subtitleHeight = dw.getPaintFontHeight(this.getChartSubTitleChartPaint());
 		}			
 		totalHegith = titleHeight + subtitleHeight;	
 		float pcHeight = Math.abs(plotTop - chartTop) ;		
@@ -104,8 +106,8 @@ public class PlotTitleRender extends PlotTitle{
 			subtitleX = chartLeft;
 			subtitleY = titleY + subtitleHeight;
 			
-			getChartTitlePaint().setTextAlign(Align.LEFT);			
-			getChartSubTitlePaint().setTextAlign(Align.LEFT);			
+			getChartTitleChartPaint().setTextAlign(Align.LEFT);			
+			getChartSubTitleChartPaint().setTextAlign(Align.LEFT);			
 			break;
 		case CENTER:
 			
@@ -115,8 +117,8 @@ public class PlotTitleRender extends PlotTitle{
 			subtitleX = titleX;
 			subtitleY = (float) (titleY + subtitleHeight);
 			
-			getChartTitlePaint().setTextAlign(Align.CENTER);			
-			getChartSubTitlePaint().setTextAlign(Align.CENTER);	
+			getChartTitleChartPaint().setTextAlign(Align.CENTER);			
+			getChartSubTitleChartPaint().setTextAlign(Align.CENTER);	
 			break;
 		case RIGHT:
 			
@@ -126,20 +128,20 @@ public class PlotTitleRender extends PlotTitle{
 			subtitleX = titleX;
 			subtitleY = titleY + subtitleHeight;
 			
-			getChartTitlePaint().setTextAlign(Align.RIGHT);			
-			getChartSubTitlePaint().setTextAlign(Align.RIGHT);			
+			getChartTitleChartPaint().setTextAlign(Align.RIGHT);			
+			getChartSubTitleChartPaint().setTextAlign(Align.RIGHT);			
 						
 			break;
 		}
 		if(getChartTitle().length() > 0 )
 		{		
 			canvas.drawText(
-					getChartTitle(),titleX , titleY, this.getChartTitlePaint());
+					getChartTitle(),titleX , titleY, this.getChartTitleChartPaint());
 		}
 		if(getChartSubTitle().length() > 0 )
 		{
 			canvas.drawText(
-					getChartSubTitle(),subtitleX , subtitleY, this.getChartSubTitlePaint());
+					getChartSubTitle(),subtitleX , subtitleY, this.getChartSubTitleChartPaint());
 		}
 	}
 }